@@ -19,8 +19,10 @@ package org.springframework.boot.actuate.autoconfigure;
 import javax.servlet.Servlet;
 import javax.servlet.ServletRegistration;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.histogram.Histograms;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -56,16 +58,21 @@ public class MetricFilterAutoConfiguration {
 
 	private final MetricFilterProperties properties;
 
+	private final Histograms histograms;
+
 	public MetricFilterAutoConfiguration(CounterService counterService,
-			GaugeService gaugeService, MetricFilterProperties properties) {
+			GaugeService gaugeService, MetricFilterProperties properties,
+			ObjectProvider<Histograms> histogramsProvider) {
 		this.counterService = counterService;
 		this.gaugeService = gaugeService;
 		this.properties = properties;
+		this.histograms = histogramsProvider.getIfAvailable();
 	}
 
 	@Bean
 	public MetricsFilter metricsFilter() {
-		return new MetricsFilter(this.counterService, this.gaugeService, this.properties);
+		return new MetricsFilter(this.counterService, this.gaugeService, this.properties,
+				this.histograms);
 	}
 
 }
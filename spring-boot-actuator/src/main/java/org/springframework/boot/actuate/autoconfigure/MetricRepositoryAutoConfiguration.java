@@ -25,8 +25,14 @@ import org.springframework.boot.actuate.metrics.buffer.BufferGaugeService;
 import org.springframework.boot.actuate.metrics.buffer.BufferMetricReader;
 import org.springframework.boot.actuate.metrics.buffer.CounterBuffers;
 import org.springframework.boot.actuate.metrics.buffer.GaugeBuffers;
+import org.springframework.boot.actuate.metrics.buffer.StripedBufferCounterService;
+import org.springframework.boot.actuate.metrics.buffer.StripedBufferGaugeService;
+import org.springframework.boot.actuate.metrics.buffer.StripedCounterBuffers;
+import org.springframework.boot.actuate.metrics.buffer.StripedGaugeBuffers;
 import org.springframework.boot.actuate.metrics.export.Exporter;
 import org.springframework.boot.actuate.metrics.export.MetricCopyExporter;
+import org.springframework.boot.actuate.metrics.histogram.HistogramMetricReader;
+import org.springframework.boot.actuate.metrics.histogram.Histograms;
 import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
 import org.springframework.boot.actuate.metrics.repository.MetricRepository;
 import org.springframework.boot.actuate.metrics.writer.MetricWriter;
@@ -35,6 +41,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnJava.JavaVersion;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnJava.Range;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.MessageChannel;
@@ -63,6 +70,15 @@ import org.springframework.messaging.MessageChannel;
  * "histogram.*", "meter.*". "timer.*") and sending them to the {@code GaugeService} or
  * {@code CounterService}.
  * <p>
+ * Setting {@code spring.metrics.buffer.striped=true} switches the default services to
+ * {@link StripedCounterBuffers} and {@link StripedGaugeBuffers}, which stripe updates
+ * across per-core cells to reduce contention on heavily updated metrics.
+ * <p>
+ * Unless Dropwizard is used, setting {@code spring.metrics.histograms.enabled=true} also
+ * creates {@link Histograms} so that latency distributions (for example the ones
+ * recorded by the metrics filter) can be read, including percentiles, through a
+ * {@link HistogramMetricReader}.
+ * <p>
  * By default all metric updates go to all {@link MetricWriter} instances in the
  * application context via a {@link MetricCopyExporter} firing every 5 seconds (disable
  * this by setting {@code spring.metrics.export.enabled=false}).
@@ -80,6 +96,8 @@ public class MetricRepositoryAutoConfiguration {
 
 	@Configuration
 	@ConditionalOnMissingBean(GaugeService.class)
+	@ConditionalOnProperty(prefix = "spring.metrics.buffer", name = "striped",
+			havingValue = "false", matchIfMissing = true)
 	static class FastMetricServicesConfiguration {
 
 		@Bean
@@ -102,6 +120,23 @@ public class MetricRepositoryAutoConfiguration {
 			return new BufferMetricReader(counters, gauges);
 		}
 
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "spring.metrics.histograms", name = "enabled",
+				havingValue = "true")
+		public Histograms histograms() {
+			return new Histograms();
+		}
+
+		@Bean
+		@ExportMetricReader
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "spring.metrics.histograms", name = "enabled",
+				havingValue = "true")
+		public HistogramMetricReader histogramMetricReader(Histograms histograms) {
+			return new HistogramMetricReader(histograms);
+		}
+
 		@Bean
 		@ConditionalOnMissingBean(CounterService.class)
 		public BufferCounterService counterService(CounterBuffers writer) {
@@ -115,6 +150,64 @@ public class MetricRepositoryAutoConfiguration {
 		}
 	}
 
+	@Configuration
+	@ConditionalOnMissingBean(GaugeService.class)
+	@ConditionalOnProperty(prefix = "spring.metrics.buffer", name = "striped",
+			havingValue = "true")
+	static class StripedMetricServicesConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public StripedCounterBuffers counterBuffers() {
+			return new StripedCounterBuffers();
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		public StripedGaugeBuffers gaugeBuffers() {
+			return new StripedGaugeBuffers();
+		}
+
+		@Bean
+		@ExportMetricReader
+		@ConditionalOnMissingBean
+		public BufferMetricReader actuatorMetricReader(StripedCounterBuffers counters,
+				StripedGaugeBuffers gauges) {
+			return new BufferMetricReader(counters, gauges);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "spring.metrics.histograms", name = "enabled",
+				havingValue = "true")
+		public Histograms histograms() {
+			return new Histograms();
+		}
+
+		@Bean
+		@ExportMetricReader
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "spring.metrics.histograms", name = "enabled",
+				havingValue = "true")
+		public HistogramMetricReader histogramMetricReader(Histograms histograms) {
+			return new HistogramMetricReader(histograms);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(CounterService.class)
+		public StripedBufferCounterService counterService(
+				StripedCounterBuffers writer) {
+			return new StripedBufferCounterService(writer);
+		}
+
+		@Bean
+		@ConditionalOnMissingBean(GaugeService.class)
+		public StripedBufferGaugeService gaugeService(StripedGaugeBuffers writer) {
+			return new StripedBufferGaugeService(writer);
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnJava(value = JavaVersion.EIGHT, range = Range.OLDER_THAN)
 	@ConditionalOnMissingBean(name = "actuatorMetricRepository")
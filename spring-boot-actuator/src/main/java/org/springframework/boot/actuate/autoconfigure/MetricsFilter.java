@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,9 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,6 +36,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.histogram.Histograms;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
@@ -55,14 +59,26 @@ final class MetricsFilter extends OncePerRequestFilter {
 
 	private static final String UNKNOWN_PATH_SUFFIX = "/unmapped";
 
+	private static final String MERGED = "";
+
+	private static final int MAX_CACHED_NAMES = 1000;
+
 	private static final Log logger = LogFactory.getLog(MetricsFilter.class);
 
+	private static final AtomicBoolean cacheLimitReached = new AtomicBoolean();
+
 	private final CounterService counterService;
 
 	private final GaugeService gaugeService;
 
 	private final MetricFilterProperties properties;
 
+	private final Histograms histograms;
+
+	private final ConcurrentMap<String, String> patternSuffixes = new ConcurrentHashMap<String, String>();
+
+	private final ConcurrentMap<String, MetricNames> metricNames = new ConcurrentHashMap<String, MetricNames>();
+
 	private static final Set<PatternReplacer> STATUS_REPLACERS;
 
 	static {
@@ -86,9 +102,15 @@ final class MetricsFilter extends OncePerRequestFilter {
 
 	MetricsFilter(CounterService counterService, GaugeService gaugeService,
 			MetricFilterProperties properties) {
+		this(counterService, gaugeService, properties, null);
+	}
+
+	MetricsFilter(CounterService counterService, GaugeService gaugeService,
+			MetricFilterProperties properties, Histograms histograms) {
 		this.counterService = counterService;
 		this.gaugeService = gaugeService;
 		this.properties = properties;
+		this.histograms = histograms;
 	}
 
 	@Override
@@ -137,24 +159,35 @@ final class MetricsFilter extends OncePerRequestFilter {
 
 	private void recordMetrics(HttpServletRequest request, String path, int status,
 			long time) {
-		String suffix = getFinalStatus(request, path, status);
-		submitMetrics(MetricsFilterSubmission.MERGED, request, status, time, suffix);
+		MetricNames names = getMetricNames(request, path, status);
+		submitMetrics(MetricsFilterSubmission.MERGED, request, status, time, names);
 		submitMetrics(MetricsFilterSubmission.PER_HTTP_METHOD, request, status, time,
-				suffix);
+				names);
 	}
 
-	private String getFinalStatus(HttpServletRequest request, String path, int status) {
+	private MetricNames getMetricNames(HttpServletRequest request, String path,
+			int status) {
 		Object bestMatchingPattern = request
 				.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
 		if (bestMatchingPattern != null) {
-			return fixSpecialCharacters(bestMatchingPattern.toString());
+			return getCachedMetricNames(getPatternSuffix(bestMatchingPattern.toString()));
 		}
 		Series series = getSeries(status);
 		if (Series.CLIENT_ERROR.equals(series) || Series.SERVER_ERROR.equals(series)
 				|| Series.REDIRECTION.equals(series)) {
-			return UNKNOWN_PATH_SUFFIX;
+			return getCachedMetricNames(UNKNOWN_PATH_SUFFIX);
 		}
-		return path;
+		// Raw paths are unbounded so they are neither cached nor recorded in histograms
+		return new MetricNames(path);
+	}
+
+	private String getPatternSuffix(String pattern) {
+		String suffix = this.patternSuffixes.get(pattern);
+		if (suffix == null) {
+			suffix = fixSpecialCharacters(pattern);
+			putIfWithinBounds(this.patternSuffixes, pattern, suffix);
+		}
+		return suffix;
 	}
 
 	private String fixSpecialCharacters(String value) {
@@ -181,20 +214,31 @@ final class MetricsFilter extends OncePerRequestFilter {
 	}
 
 	private void submitMetrics(MetricsFilterSubmission submission,
-			HttpServletRequest request, int status, long time, String suffix) {
-		String prefix = "";
-		if (submission == MetricsFilterSubmission.PER_HTTP_METHOD) {
-			prefix = request.getMethod() + ".";
-		}
+			HttpServletRequest request, int status, long time, MetricNames names) {
+		String method = (submission == MetricsFilterSubmission.PER_HTTP_METHOD
+				? request.getMethod() : MERGED);
 		if (this.properties.shouldSubmitToGauge(submission)) {
-			submitToGauge(getKey("response." + prefix + suffix), time);
+			submitToGauge(names.getGaugeName(method), time);
+			if (names.isRecordedInHistogram()) {
+				recordInHistogram(names.getHistogramName(method), time);
+			}
 		}
 		if (this.properties.shouldSubmitToCounter(submission)) {
-			incrementCounter(getKey("status." + prefix + status + suffix));
+			incrementCounter(names.getCounterName(method, status));
+		}
+	}
+
+	private MetricNames getCachedMetricNames(String suffix) {
+		MetricNames names = this.metricNames.get(suffix);
+		if (names == null) {
+			names = new CachedMetricNames(suffix);
+			MetricNames existing = putIfWithinBounds(this.metricNames, suffix, names);
+			names = (existing != null ? existing : names);
 		}
+		return names;
 	}
 
-	private String getKey(String string) {
+	private static String getKey(String string) {
 		// graphite compatible metric names
 		String key = string;
 		for (PatternReplacer replacer : KEY_REPLACERS) {
@@ -218,6 +262,18 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
+	private void recordInHistogram(String metricName, long value) {
+		if (this.histograms == null) {
+			return;
+		}
+		try {
+			this.histograms.record(metricName, value);
+		}
+		catch (Exception ex) {
+			logger.warn("Unable to record histogram metric '" + metricName + "'", ex);
+		}
+	}
+
 	private void incrementCounter(String metricName) {
 		try {
 			this.counterService.increment(metricName);
@@ -227,6 +283,123 @@ final class MetricsFilter extends OncePerRequestFilter {
 		}
 	}
 
+	/**
+	 * Add an entry to a cache unless it has reached {@link #MAX_CACHED_NAMES}. Only
+	 * mapped patterns are cached so the bound is a safety net rather than a limit that
+	 * is expected to be reached. A warning is logged the first time that it is.
+	 * @param <K> the key type
+	 * @param <V> the value type
+	 * @param cache the cache
+	 * @param key the key
+	 * @param value the value
+	 * @return any existing value for the key or {@code null}
+	 */
+	private static <K, V> V putIfWithinBounds(ConcurrentMap<K, V> cache, K key,
+			V value) {
+		if (cache.size() >= MAX_CACHED_NAMES) {
+			if (cacheLimitReached.compareAndSet(false, true)) {
+				logger.warn("Metric name cache reached its limit of " + MAX_CACHED_NAMES
+						+ " entries, further names will be built for every request");
+			}
+			return null;
+		}
+		return cache.putIfAbsent(key, value);
+	}
+
+	/**
+	 * Gauge and counter names for a single path suffix. The names are built each time
+	 * that they are requested and are not recorded in histograms.
+	 */
+	private static class MetricNames {
+
+		protected final String suffix;
+
+		MetricNames(String suffix) {
+			this.suffix = suffix;
+		}
+
+		public boolean isRecordedInHistogram() {
+			return false;
+		}
+
+		public String getGaugeName(String method) {
+			return getKey("response." + getPrefix(method) + this.suffix);
+		}
+
+		public String getHistogramName(String method) {
+			return "histogram." + getGaugeName(method);
+		}
+
+		public String getCounterName(String method, int status) {
+			return getKey("status." + getPrefix(method) + status + this.suffix);
+		}
+
+		private String getPrefix(String method) {
+			return (MERGED.equals(method) ? "" : method + ".");
+		}
+
+	}
+
+	/**
+	 * {@link MetricNames} for a mapped path suffix that lazily resolve and cache their
+	 * names so that repeated requests do not need to rebuild and sanitize them.
+	 */
+	private static final class CachedMetricNames extends MetricNames {
+
+		private final ConcurrentMap<String, String> gaugeNames = new ConcurrentHashMap<String, String>();
+
+		private final ConcurrentMap<String, String> histogramNames = new ConcurrentHashMap<String, String>();
+
+		private final ConcurrentMap<String, ConcurrentMap<Integer, String>> counterNames = new ConcurrentHashMap<String, ConcurrentMap<Integer, String>>();
+
+		CachedMetricNames(String suffix) {
+			super(suffix);
+		}
+
+		@Override
+		public boolean isRecordedInHistogram() {
+			return true;
+		}
+
+		@Override
+		public String getGaugeName(String method) {
+			String name = this.gaugeNames.get(method);
+			if (name == null) {
+				name = super.getGaugeName(method);
+				putIfWithinBounds(this.gaugeNames, method, name);
+			}
+			return name;
+		}
+
+		@Override
+		public String getHistogramName(String method) {
+			String name = this.histogramNames.get(method);
+			if (name == null) {
+				name = super.getHistogramName(method);
+				putIfWithinBounds(this.histogramNames, method, name);
+			}
+			return name;
+		}
+
+		@Override
+		public String getCounterName(String method, int status) {
+			ConcurrentMap<Integer, String> names = this.counterNames.get(method);
+			if (names == null) {
+				names = new ConcurrentHashMap<Integer, String>();
+				ConcurrentMap<Integer, String> existing = putIfWithinBounds(
+						this.counterNames, method, names);
+				names = (existing != null ? existing : names);
+			}
+			String name = names.get(status);
+			if (name == null) {
+				name = super.getCounterName(method, status);
+				putIfWithinBounds(names, status, name);
+			}
+			return name;
+		}
+
+	}
+
 	private static class PatternReplacer {
 
 		private final Pattern pattern;
@@ -27,6 +27,7 @@ import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.cache.CacheStatisticsProvider;
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.EmbeddedServletContainerExecutorPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
@@ -108,6 +109,19 @@ public class PublicMetricsAutoConfiguration {
 
 	}
 
+	@Configuration
+	@ConditionalOnClass(Servlet.class)
+	@ConditionalOnWebApplication
+	static class EmbeddedServletContainerExecutorMetricsConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		public EmbeddedServletContainerExecutorPublicMetrics embeddedServletContainerExecutorPublicMetrics() {
+			return new EmbeddedServletContainerExecutorPublicMetrics();
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnClass({ Servlet.class, Tomcat.class })
 	@ConditionalOnWebApplication
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.embedded.AbstractConfigurableEmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.InstrumentedExecutor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+
+/**
+ * A {@link PublicMetrics} implementation that provides statistics about the
+ * {@link InstrumentedExecutor} used by the embedded servlet container to process
+ * requests.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class EmbeddedServletContainerExecutorPublicMetrics
+		implements PublicMetrics, ApplicationContextAware {
+
+	private ApplicationContext applicationContext;
+
+	@Override
+	public Collection<Metric<?>> metrics() {
+		if (this.applicationContext instanceof EmbeddedWebApplicationContext) {
+			InstrumentedExecutor executor = getExecutor();
+			if (executor != null) {
+				return metrics(executor);
+			}
+		}
+		return Collections.emptySet();
+	}
+
+	private InstrumentedExecutor getExecutor() {
+		for (EmbeddedServletContainerFactory factory : this.applicationContext
+				.getBeansOfType(EmbeddedServletContainerFactory.class).values()) {
+			if (factory instanceof AbstractConfigurableEmbeddedServletContainer) {
+				Executor executor = ((AbstractConfigurableEmbeddedServletContainer) factory)
+						.getExecutor();
+				if (executor instanceof InstrumentedExecutor) {
+					return (InstrumentedExecutor) executor;
+				}
+			}
+		}
+		return null;
+	}
+
+	private Collection<Metric<?>> metrics(InstrumentedExecutor executor) {
+		List<Metric<?>> metrics = new ArrayList<Metric<?>>(3);
+		metrics.add(new Metric<Integer>("server.executor.active",
+				executor.getActiveCount()));
+		metrics.add(new Metric<Integer>("server.executor.queued",
+				executor.getQueuedCount()));
+		metrics.add(new Metric<Long>("server.executor.rejected",
+				executor.getRejectedCount()));
+		return metrics;
+	}
+
+	@Override
+	public void setApplicationContext(ApplicationContext applicationContext)
+			throws BeansException {
+		this.applicationContext = applicationContext;
+	}
+
+}
@@ -17,16 +17,25 @@
 package org.springframework.boot.actuate.endpoint;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.springframework.beans.BeansException;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerShutdownEvent;
+import org.springframework.boot.context.embedded.GracefulShutdown;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
 
 /**
- * {@link Endpoint} to shutdown the {@link ApplicationContext}.
+ * {@link Endpoint} to shutdown the {@link ApplicationContext}. While the embedded servlet
+ * container is being {@link EmbeddedServletContainerShutdownEvent shut down gracefully}
+ * the endpoint reports the progress of the shutdown rather than initiating another one.
+ * As the container no longer accepts new connections at that point, the progress is
+ * only available over HTTP to clients that reuse a keep-alive connection that was
+ * opened before the shutdown began.
  *
  * @author Dave Syer
  * @author Christian Dupuis
@@ -34,7 +43,8 @@ import org.springframework.context.ConfigurableApplicationContext;
  */
 @ConfigurationProperties(prefix = "endpoints.shutdown")
 public class ShutdownEndpoint extends AbstractEndpoint<Map<String, Object>>
-		implements ApplicationContextAware {
+		implements ApplicationContextAware,
+		ApplicationListener<EmbeddedServletContainerShutdownEvent> {
 
 	private static final Map<String, Object> NO_CONTEXT_MESSAGE = Collections
 			.unmodifiableMap(Collections.<String, Object>singletonMap("message",
@@ -46,6 +56,8 @@ public class ShutdownEndpoint extends AbstractEndpoint<Map<String, Object>>
 
 	private ConfigurableApplicationContext context;
 
+	private volatile GracefulShutdown gracefulShutdown;
+
 	/**
 	 * Create a new {@link ShutdownEndpoint} instance.
 	 */
@@ -58,6 +70,10 @@ public class ShutdownEndpoint extends AbstractEndpoint<Map<String, Object>>
 		if (this.context == null) {
 			return NO_CONTEXT_MESSAGE;
 		}
+		GracefulShutdown gracefulShutdown = this.gracefulShutdown;
+		if (gracefulShutdown != null) {
+			return getProgress(gracefulShutdown);
+		}
 		try {
 			return SHUTDOWN_MESSAGE;
 		}
@@ -79,6 +95,22 @@ public class ShutdownEndpoint extends AbstractEndpoint<Map<String, Object>>
 		}
 	}
 
+	private Map<String, Object> getProgress(GracefulShutdown gracefulShutdown) {
+		Map<String, Object> progress = new LinkedHashMap<String, Object>();
+		progress.put("message", "Shutdown in progress.");
+		progress.put("state", gracefulShutdown.getState());
+		progress.put("activeRequests", gracefulShutdown.getActiveRequests());
+		progress.put("timeout", gracefulShutdown.getTimeout());
+		return progress;
+	}
+
+	@Override
+	public void onApplicationEvent(EmbeddedServletContainerShutdownEvent event) {
+		if (event.getApplicationContext() == this.context) {
+			this.gracefulShutdown = event.getGracefulShutdown();
+		}
+	}
+
 	@Override
 	public void setApplicationContext(ApplicationContext context) throws BeansException {
 		if (context instanceof ConfigurableApplicationContext) {
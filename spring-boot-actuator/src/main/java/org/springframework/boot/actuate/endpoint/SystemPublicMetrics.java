@@ -26,6 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.core.Ordered;
 import org.springframework.util.StringUtils;
 
@@ -72,6 +73,10 @@ public class SystemPublicMetrics implements PublicMetrics, Ordered {
 		result.add(new Metric<Integer>("processors", runtime.availableProcessors()));
 		result.add(new Metric<Long>("instance.uptime",
 				System.currentTimeMillis() - this.timestamp));
+		result.add(new Metric<Long>("classes.presence.hits",
+				ClassPresenceCache.getHitCount()));
+		result.add(new Metric<Long>("classes.presence.misses",
+				ClassPresenceCache.getMissCount()));
 	}
 
 	private long getTotalNonHeapMemoryIfPossible() {
@@ -29,7 +29,8 @@ import org.springframework.boot.actuate.metrics.reader.PrefixMetricReader;
 
 /**
  * {@link MetricReader} implementation using {@link CounterBuffers} and
- * {@link GaugeBuffers}.
+ * {@link GaugeBuffers} (or their striped equivalents {@link StripedCounterBuffers} and
+ * {@link StripedGaugeBuffers}, in which case the cells are combined at read time).
  *
  * @author Dave Syer
  * @since 1.3.0
@@ -38,15 +39,21 @@ public class BufferMetricReader implements MetricReader, PrefixMetricReader {
 
 	private static final Predicate<String> ALL = Pattern.compile(".*").asPredicate();
 
-	private final CounterBuffers counterBuffers;
+	private final Buffers<?> counterBuffers;
 
-	private final GaugeBuffers gaugeBuffers;
+	private final Buffers<?> gaugeBuffers;
 
 	public BufferMetricReader(CounterBuffers counterBuffers, GaugeBuffers gaugeBuffers) {
 		this.counterBuffers = counterBuffers;
 		this.gaugeBuffers = gaugeBuffers;
 	}
 
+	public BufferMetricReader(StripedCounterBuffers counterBuffers,
+			StripedGaugeBuffers gaugeBuffers) {
+		this.counterBuffers = counterBuffers;
+		this.gaugeBuffers = gaugeBuffers;
+	}
+
 	@Override
 	public Metric<?> findOne(final String name) {
 		Buffer<?> buffer = this.counterBuffers.find(name);
@@ -78,14 +85,13 @@ public class BufferMetricReader implements MetricReader, PrefixMetricReader {
 		return metrics;
 	}
 
-	private <T extends Number, B extends Buffer<T>> void collectMetrics(
-			Buffers<B> buffers, Predicate<String> predicate,
-			final List<Metric<?>> metrics) {
+	private <B extends Buffer<?>> void collectMetrics(Buffers<B> buffers,
+			Predicate<String> predicate, final List<Metric<?>> metrics) {
 		buffers.forEach(predicate, new BiConsumer<String, B>() {
 
 			@Override
 			public void accept(String name, B value) {
-				metrics.add(asMetric(name, value));
+				metrics.add(asMetric(name, (Buffer<?>) value));
 			}
 
 		});
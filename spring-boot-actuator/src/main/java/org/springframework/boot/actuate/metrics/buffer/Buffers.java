@@ -56,6 +56,15 @@ abstract class Buffers<B extends Buffer<?>> {
 	}
 
 	protected final void doWith(final String name, final Consumer<B> consumer) {
+		consumer.accept(getOrCreate(name));
+	}
+
+	/**
+	 * Return the buffer for the given name, creating it if necessary.
+	 * @param name the buffer name
+	 * @return the buffer (never {@code null})
+	 */
+	protected final B getOrCreate(final String name) {
 		B buffer = this.buffers.get(name);
 		if (buffer == null) {
 			buffer = this.buffers.computeIfAbsent(name, new Function<String, B>() {
@@ -65,7 +74,7 @@ abstract class Buffers<B extends Buffer<?>> {
 				}
 			});
 		}
-		consumer.accept(buffer);
+		return buffer;
 	}
 
 	protected abstract B createBuffer();
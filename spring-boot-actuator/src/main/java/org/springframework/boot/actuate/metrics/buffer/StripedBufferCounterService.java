@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+import org.springframework.boot.actuate.metrics.CounterService;
+
+/**
+ * Fast implementation of {@link CounterService} using {@link StripedCounterBuffers}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class StripedBufferCounterService implements CounterService {
+
+	private final StripedCounterBuffers buffers;
+
+	/**
+	 * Create a {@link StripedBufferCounterService} instance.
+	 * @param buffers the underlying buffers used to store metrics
+	 */
+	public StripedBufferCounterService(StripedCounterBuffers buffers) {
+		this.buffers = buffers;
+	}
+
+	@Override
+	public void increment(String metricName) {
+		getCounter(metricName).increment(1L);
+	}
+
+	@Override
+	public void decrement(String metricName) {
+		getCounter(metricName).increment(-1L);
+	}
+
+	@Override
+	public void reset(String metricName) {
+		getCounter(metricName).reset();
+	}
+
+	/**
+	 * Resolve the buffer backing the given metric so that it can be updated directly.
+	 * @param metricName the name of the metric
+	 * @return the counter buffer
+	 */
+	public StripedCounterBuffer getCounter(String metricName) {
+		return this.buffers.getBuffer(wrap(metricName));
+	}
+
+	private String wrap(String metricName) {
+		if (metricName.startsWith("counter") || metricName.startsWith("meter")) {
+			return metricName;
+		}
+		return "counter." + metricName;
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+import org.springframework.boot.actuate.metrics.GaugeService;
+
+/**
+ * Fast implementation of {@link GaugeService} using {@link StripedGaugeBuffers}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class StripedBufferGaugeService implements GaugeService {
+
+	private final StripedGaugeBuffers buffers;
+
+	/**
+	 * Create a {@link StripedBufferGaugeService} instance.
+	 * @param buffers the underlying buffers used to store metrics
+	 */
+	public StripedBufferGaugeService(StripedGaugeBuffers buffers) {
+		this.buffers = buffers;
+	}
+
+	@Override
+	public void submit(String metricName, double value) {
+		getGauge(metricName).set(value);
+	}
+
+	/**
+	 * Resolve the buffer backing the given metric so that it can be updated directly.
+	 * @param metricName the name of the metric
+	 * @return the gauge buffer
+	 */
+	public StripedGaugeBuffer getGauge(String metricName) {
+		return this.buffers.getBuffer(wrap(metricName));
+	}
+
+	private String wrap(String metricName) {
+		if (metricName.startsWith("gauge") || metricName.startsWith("histogram")
+				|| metricName.startsWith("timer")) {
+			return metricName;
+		}
+		return "gauge." + metricName;
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Mutable counter buffer where both the value and the timestamp are striped across
+ * cells so that concurrent updates from many cores do not contend on a single cache
+ * line. Cells are summed (value) or reduced to their maximum (timestamp) when read.
+ * Instances can be resolved once from {@link StripedCounterBuffers} and then used
+ * directly as a handle.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class StripedCounterBuffer extends Buffer<Long> {
+
+	private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+
+		@Override
+		public long applyAsLong(long left, long right) {
+			return Math.max(left, right);
+		}
+
+	};
+
+	private final LongAdder adder = new LongAdder();
+
+	private final LongAccumulator timestamp;
+
+	public StripedCounterBuffer(long timestamp) {
+		super(timestamp);
+		this.timestamp = new LongAccumulator(MAX, timestamp);
+	}
+
+	/**
+	 * Add the given delta to the counter.
+	 * @param delta the amount to add
+	 */
+	public void increment(long delta) {
+		this.timestamp.accumulate(System.currentTimeMillis());
+		this.adder.add(delta);
+	}
+
+	/**
+	 * Reset the counter to zero.
+	 */
+	public void reset() {
+		this.timestamp.accumulate(System.currentTimeMillis());
+		this.adder.reset();
+	}
+
+	@Override
+	public long getTimestamp() {
+		return this.timestamp.get();
+	}
+
+	@Override
+	public void setTimestamp(long timestamp) {
+		this.timestamp.accumulate(timestamp);
+	}
+
+	@Override
+	public Long getValue() {
+		return this.adder.sum();
+	}
+
+}
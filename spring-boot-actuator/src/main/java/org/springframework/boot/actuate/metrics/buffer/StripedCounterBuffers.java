@@ -0,0 +1,52 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+/**
+ * Fast writes to in-memory metrics store using {@link StripedCounterBuffer}. Callers
+ * that update the same counter repeatedly can {@link #getBuffer(String) resolve} it once
+ * and increment the returned handle directly to avoid the per-call map lookup.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class StripedCounterBuffers extends Buffers<StripedCounterBuffer> {
+
+	/**
+	 * Return the buffer for the given counter, creating it if necessary. The result can
+	 * be retained and updated directly.
+	 * @param name the counter name
+	 * @return the buffer
+	 */
+	public StripedCounterBuffer getBuffer(String name) {
+		return getOrCreate(name);
+	}
+
+	public void increment(String name, long delta) {
+		getOrCreate(name).increment(delta);
+	}
+
+	public void reset(String name) {
+		getOrCreate(name).reset();
+	}
+
+	@Override
+	protected StripedCounterBuffer createBuffer() {
+		return new StripedCounterBuffer(0);
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mutable last-value gauge buffer striped across cells. Each writing thread publishes
+ * an immutable sample to its own cell so concurrent writers on different cores do not
+ * contend on a single cache line. Cells are only allocated once a thread writes to
+ * them, and they are allocated by that thread, so unused stripes cost a single array
+ * slot. Reads return the sample that was written most recently. Instances can be
+ * resolved once from {@link StripedGaugeBuffers} and then used directly as a handle.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class StripedGaugeBuffer extends Buffer<Double> {
+
+	private static final int CELLS = cellCount();
+
+	private final AtomicReferenceArray<Cell> cells = new AtomicReferenceArray<Cell>(
+			CELLS);
+
+	private final Sample initial;
+
+	public StripedGaugeBuffer(long timestamp) {
+		super(timestamp);
+		this.initial = new Sample(0.0, timestamp, 0L);
+	}
+
+	/**
+	 * Set the value of the gauge.
+	 * @param value the value
+	 */
+	public void set(double value) {
+		getCell().sample = new Sample(value, System.currentTimeMillis(),
+				System.nanoTime());
+	}
+
+	@Override
+	public long getTimestamp() {
+		return latest().timestamp;
+	}
+
+	@Override
+	public void setTimestamp(long timestamp) {
+		Cell cell = getCell();
+		Sample sample = cell.sample;
+		double value = (sample != null ? sample : latest()).value;
+		cell.sample = new Sample(value, timestamp, System.nanoTime());
+	}
+
+	@Override
+	public Double getValue() {
+		return latest().value;
+	}
+
+	private Cell getCell() {
+		int index = (int) Thread.currentThread().getId() & (CELLS - 1);
+		Cell cell = this.cells.get(index);
+		if (cell == null) {
+			cell = new Cell();
+			if (!this.cells.compareAndSet(index, null, cell)) {
+				cell = this.cells.get(index);
+			}
+		}
+		return cell;
+	}
+
+	private Sample latest() {
+		Sample latest = this.initial;
+		for (int i = 0; i < CELLS; i++) {
+			Cell cell = this.cells.get(i);
+			Sample sample = (cell != null ? cell.sample : null);
+			if (sample != null && (latest == this.initial
+					|| sample.sequence - latest.sequence > 0)) {
+				latest = sample;
+			}
+		}
+		return latest;
+	}
+
+	private static int cellCount() {
+		int processors = Runtime.getRuntime().availableProcessors();
+		int count = 1;
+		while (count < processors) {
+			count <<= 1;
+		}
+		return count;
+	}
+
+	/**
+	 * A single stripe holding the last sample written by the threads that map to it.
+	 */
+	private static final class Cell {
+
+		private volatile Sample sample;
+
+	}
+
+	/**
+	 * An immutable value and timestamp pair. The sequence is taken from
+	 * {@link System#nanoTime()} so that writes within the same millisecond are still
+	 * ordered.
+	 */
+	private static final class Sample {
+
+		private final double value;
+
+		private final long timestamp;
+
+		private final long sequence;
+
+		Sample(double value, long timestamp, long sequence) {
+			this.value = value;
+			this.timestamp = timestamp;
+			this.sequence = sequence;
+		}
+
+	}
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+/**
+ * Fast writes to in-memory metrics store using {@link StripedGaugeBuffer}. Callers that
+ * update the same gauge repeatedly can {@link #getBuffer(String) resolve} it once and
+ * set values on the returned handle directly to avoid the per-call map lookup.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class StripedGaugeBuffers extends Buffers<StripedGaugeBuffer> {
+
+	/**
+	 * Return the buffer for the given gauge, creating it if necessary. The result can be
+	 * retained and updated directly.
+	 * @param name the gauge name
+	 * @return the buffer
+	 */
+	public StripedGaugeBuffer getBuffer(String name) {
+		return getOrCreate(name);
+	}
+
+	public void set(String name, double value) {
+		getOrCreate(name).set(value);
+	}
+
+	@Override
+	protected StripedGaugeBuffer createBuffer() {
+		return new StripedGaugeBuffer(0L);
+	}
+
+}
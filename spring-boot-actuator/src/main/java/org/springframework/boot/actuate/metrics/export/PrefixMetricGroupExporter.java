@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,16 @@
 
 package org.springframework.boot.actuate.metrics.export;
 
+import java.io.Flushable;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.reader.PrefixMetricReader;
 import org.springframework.boot.actuate.metrics.repository.MultiMetricRepository;
@@ -37,6 +41,8 @@ import org.springframework.boot.actuate.metrics.writer.PrefixMetricWriter;
  */
 public class PrefixMetricGroupExporter extends AbstractMetricExporter {
 
+	private static final Log logger = LogFactory.getLog(PrefixMetricGroupExporter.class);
+
 	private final PrefixMetricReader reader;
 
 	private final PrefixMetricWriter writer;
@@ -103,6 +109,19 @@ public class PrefixMetricGroupExporter extends AbstractMetricExporter {
 		}
 	}
 
+	@Override
+	public void flush() {
+		if (this.writer instanceof Flushable) {
+			try {
+				((Flushable) this.writer).flush();
+			}
+			catch (Exception ex) {
+				logger.warn("Could not flush PrefixMetricWriter: " + ex.getClass() + ": "
+						+ ex.getMessage());
+			}
+		}
+	}
+
 	private Delta<?> calculateDelta(Metric<?> value) {
 		long delta = value.getValue().longValue();
 		Long old = this.counts.replace(value.getName(), delta);
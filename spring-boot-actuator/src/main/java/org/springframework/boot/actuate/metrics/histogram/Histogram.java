@@ -0,0 +1,160 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A lock-free histogram of non-negative {@code long} values (typically durations in
+ * milliseconds). Values are counted in logarithmic buckets, each power of two being
+ * split into 16 linear sub-buckets, so any recorded value can be recovered to within
+ * roughly 6% while the memory used stays constant regardless of the range of values.
+ * <p>
+ * Recording never blocks. {@link #snapshot()} returns the distribution of everything
+ * recorded so far and {@link #intervalSnapshot()} the distribution of values recorded
+ * since the previous interval snapshot.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see HistogramSnapshot
+ */
+public class Histogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private static final LongBinaryOperator MIN = new LongBinaryOperator() {
+
+		@Override
+		public long applyAsLong(long left, long right) {
+			return Math.min(left, right);
+		}
+
+	};
+
+	private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+
+		@Override
+		public long applyAsLong(long left, long right) {
+			return Math.max(left, right);
+		}
+
+	};
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sum = new LongAdder();
+
+	private final LongAccumulator min = new LongAccumulator(MIN, Long.MAX_VALUE);
+
+	private final LongAccumulator max = new LongAccumulator(MAX, 0);
+
+	private final Object intervalMonitor = new Object();
+
+	private long[] intervalCounts = new long[BUCKET_COUNT];
+
+	private long intervalSum;
+
+	/**
+	 * Record a value. Negative values are recorded as zero.
+	 * @param value the value to record
+	 */
+	public void record(long value) {
+		long recorded = Math.max(value, 0);
+		this.counts.incrementAndGet(indexOf(recorded));
+		this.count.increment();
+		this.sum.add(recorded);
+		this.min.accumulate(recorded);
+		this.max.accumulate(recorded);
+	}
+
+	/**
+	 * Return a snapshot of all values recorded so far.
+	 * @return the snapshot
+	 */
+	public HistogramSnapshot snapshot() {
+		long[] counts = copyCounts();
+		long min = this.min.get();
+		return new HistogramSnapshot(counts, this.sum.sum(),
+				(min == Long.MAX_VALUE ? 0 : min), this.max.get());
+	}
+
+	/**
+	 * Return a snapshot of the values recorded since the last call to this method (or
+	 * since the histogram was created). The minimum and maximum of the interval are
+	 * derived from its buckets and so are subject to the histogram's precision.
+	 * @return the interval snapshot
+	 */
+	public HistogramSnapshot intervalSnapshot() {
+		synchronized (this.intervalMonitor) {
+			long[] counts = copyCounts();
+			long sum = this.sum.sum();
+			long[] interval = new long[BUCKET_COUNT];
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				interval[i] = counts[i] - this.intervalCounts[i];
+			}
+			long intervalSum = sum - this.intervalSum;
+			this.intervalCounts = counts;
+			this.intervalSum = sum;
+			return new HistogramSnapshot(interval, intervalSum);
+		}
+	}
+
+	private long[] copyCounts() {
+		long[] counts = new long[BUCKET_COUNT];
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.counts.get(i);
+		}
+		return counts;
+	}
+
+	static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+		return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	static long lowestValueAt(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+		return subBucket << shift;
+	}
+
+	static long highestValueAt(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		return lowestValueAt(index) + (1L << shift) - 1;
+	}
+
+}
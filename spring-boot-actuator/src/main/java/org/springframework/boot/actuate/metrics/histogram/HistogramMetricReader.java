@@ -0,0 +1,214 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.reader.MetricReader;
+import org.springframework.boot.actuate.metrics.reader.PrefixMetricReader;
+
+/**
+ * {@link MetricReader} exposing each of the {@link Histograms} as a group of metrics
+ * named after the histogram with the suffixes {@code .count}, {@code .min},
+ * {@code .max}, {@code .mean}, {@code .p50}, {@code .p95} and {@code .p99}.
+ * <p>
+ * The metrics describe the values recorded during the last {@link #setInterval(long)
+ * interval} so that they follow the current latency rather than the whole lifetime of
+ * the application. An interval ends when a histogram is read once it has elapsed, so all
+ * readers (for example an exporter and the {@code /metrics} endpoint) see the same
+ * values.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class HistogramMetricReader implements MetricReader, PrefixMetricReader {
+
+	/**
+	 * The suffix for count metrics.
+	 */
+	public static final String COUNT = ".count";
+
+	/**
+	 * The suffix for minimum value metrics.
+	 */
+	public static final String MIN = ".min";
+
+	/**
+	 * The suffix for maximum value metrics.
+	 */
+	public static final String MAX = ".max";
+
+	/**
+	 * The suffix for mean value metrics.
+	 */
+	public static final String MEAN = ".mean";
+
+	/**
+	 * The suffix for median metrics.
+	 */
+	public static final String P50 = ".p50";
+
+	/**
+	 * The suffix for 95th percentile metrics.
+	 */
+	public static final String P95 = ".p95";
+
+	/**
+	 * The suffix for 99th percentile metrics.
+	 */
+	public static final String P99 = ".p99";
+
+	private static final String[] SUFFIXES = { COUNT, MIN, MAX, MEAN, P50, P95, P99 };
+
+	private final Histograms histograms;
+
+	private final Object monitor = new Object();
+
+	private final Map<String, Interval> intervals = new HashMap<String, Interval>();
+
+	private long interval = 60000;
+
+	public HistogramMetricReader(Histograms histograms) {
+		this.histograms = histograms;
+	}
+
+	/**
+	 * Set the length of the interval described by the metrics.
+	 * @param interval the interval in milliseconds (default 60000)
+	 */
+	public void setInterval(long interval) {
+		this.interval = interval;
+	}
+
+	@Override
+	public Metric<?> findOne(String metricName) {
+		for (String suffix : SUFFIXES) {
+			if (metricName.endsWith(suffix)) {
+				String name = metricName.substring(0,
+						metricName.length() - suffix.length());
+				Histogram histogram = this.histograms.find(name);
+				if (histogram != null) {
+					Date timestamp = new Date();
+					return getMetric(name, suffix,
+							getSnapshot(name, histogram, timestamp), timestamp);
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Iterable<Metric<?>> findAll() {
+		return findAll("");
+	}
+
+	@Override
+	public Iterable<Metric<?>> findAll(final String prefix) {
+		final List<Metric<?>> metrics = new ArrayList<Metric<?>>();
+		final Date timestamp = new Date();
+		this.histograms.forEach(new BiConsumer<String, Histogram>() {
+
+			@Override
+			public void accept(String name, Histogram histogram) {
+				if (name.startsWith(prefix)) {
+					HistogramSnapshot snapshot = getSnapshot(name, histogram, timestamp);
+					for (String suffix : SUFFIXES) {
+						metrics.add(getMetric(name, suffix, snapshot, timestamp));
+					}
+				}
+			}
+
+		});
+		return metrics;
+	}
+
+	@Override
+	public long count() {
+		return (long) this.histograms.count() * SUFFIXES.length;
+	}
+
+	private HistogramSnapshot getSnapshot(String name, Histogram histogram,
+			Date timestamp) {
+		synchronized (this.monitor) {
+			Interval interval = this.intervals.get(name);
+			if (interval == null
+					|| timestamp.getTime() - interval.getTime() >= this.interval) {
+				interval = new Interval(histogram.intervalSnapshot(), timestamp.getTime());
+				this.intervals.put(name, interval);
+			}
+			return interval.getSnapshot();
+		}
+	}
+
+	private Metric<?> getMetric(String name, String suffix, HistogramSnapshot snapshot,
+			Date timestamp) {
+		String metricName = name + suffix;
+		if (COUNT.equals(suffix)) {
+			return new Metric<Long>(metricName, snapshot.getCount(), timestamp);
+		}
+		if (MIN.equals(suffix)) {
+			return new Metric<Long>(metricName, snapshot.getMin(), timestamp);
+		}
+		if (MAX.equals(suffix)) {
+			return new Metric<Long>(metricName, snapshot.getMax(), timestamp);
+		}
+		if (MEAN.equals(suffix)) {
+			return new Metric<Double>(metricName, snapshot.getMean(), timestamp);
+		}
+		if (P50.equals(suffix)) {
+			return new Metric<Long>(metricName, snapshot.getValueAtPercentile(50),
+					timestamp);
+		}
+		if (P95.equals(suffix)) {
+			return new Metric<Long>(metricName, snapshot.getValueAtPercentile(95),
+					timestamp);
+		}
+		return new Metric<Long>(metricName, snapshot.getValueAtPercentile(99),
+				timestamp);
+	}
+
+	/**
+	 * The snapshot of a histogram for an interval and the time at which it was taken.
+	 */
+	private static final class Interval {
+
+		private final HistogramSnapshot snapshot;
+
+		private final long time;
+
+		Interval(HistogramSnapshot snapshot, long time) {
+			this.snapshot = snapshot;
+			this.time = time;
+		}
+
+		HistogramSnapshot getSnapshot() {
+			return this.snapshot;
+		}
+
+		long getTime() {
+			return this.time;
+		}
+
+	}
+
+}
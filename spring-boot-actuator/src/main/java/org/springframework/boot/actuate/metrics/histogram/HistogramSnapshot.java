@@ -0,0 +1,142 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import org.springframework.util.Assert;
+
+/**
+ * An immutable snapshot of the distribution of values recorded by a {@link Histogram}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public final class HistogramSnapshot {
+
+	private final long[] counts;
+
+	private final long count;
+
+	private final long sum;
+
+	private final long min;
+
+	private final long max;
+
+	HistogramSnapshot(long[] counts, long sum) {
+		this(counts, sum, lowestRecorded(counts), highestRecorded(counts));
+	}
+
+	HistogramSnapshot(long[] counts, long sum, long min, long max) {
+		this.counts = counts;
+		this.count = total(counts);
+		this.sum = sum;
+		this.min = min;
+		this.max = max;
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 * @return the count
+	 */
+	public long getCount() {
+		return this.count;
+	}
+
+	/**
+	 * Return the sum of the recorded values.
+	 * @return the sum
+	 */
+	public long getSum() {
+		return this.sum;
+	}
+
+	/**
+	 * Return the smallest recorded value or {@code 0} if the snapshot is empty.
+	 * @return the minimum
+	 */
+	public long getMin() {
+		return this.min;
+	}
+
+	/**
+	 * Return the largest recorded value or {@code 0} if the snapshot is empty.
+	 * @return the maximum
+	 */
+	public long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Return the arithmetic mean of the recorded values or {@code 0} if the snapshot is
+	 * empty.
+	 * @return the mean
+	 */
+	public double getMean() {
+		return (this.count == 0 ? 0 : (double) this.sum / this.count);
+	}
+
+	/**
+	 * Return the value below which the given percentage of recorded values fall. The
+	 * result is the highest value equivalent to the matching bucket, capped at the
+	 * maximum recorded value.
+	 * @param percentile the percentile (between 0 and 100)
+	 * @return the value at the percentile or {@code 0} if the snapshot is empty
+	 */
+	public long getValueAtPercentile(double percentile) {
+		Assert.isTrue(percentile >= 0 && percentile <= 100,
+				"Percentile must be between 0 and 100");
+		if (this.count == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(percentile / 100 * this.count));
+		long seen = 0;
+		for (int i = 0; i < this.counts.length; i++) {
+			seen += this.counts[i];
+			if (seen >= target) {
+				return Math.max(this.min, Math.min(this.max, Histogram.highestValueAt(i)));
+			}
+		}
+		return this.max;
+	}
+
+	private static long total(long[] counts) {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		return total;
+	}
+
+	private static long lowestRecorded(long[] counts) {
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] > 0) {
+				return Histogram.lowestValueAt(i);
+			}
+		}
+		return 0;
+	}
+
+	private static long highestRecorded(long[] counts) {
+		for (int i = counts.length - 1; i >= 0; i--) {
+			if (counts[i] > 0) {
+				return Histogram.highestValueAt(i);
+			}
+		}
+		return 0;
+	}
+
+}
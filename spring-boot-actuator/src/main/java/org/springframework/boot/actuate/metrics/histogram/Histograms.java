@@ -0,0 +1,90 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Registry of named {@link Histogram Histograms}. Callers that record into the same
+ * histogram repeatedly can {@link #getHistogram(String) resolve} it once and record into
+ * it directly.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class Histograms {
+
+	private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+	/**
+	 * Record a value in the named histogram, creating the histogram if necessary.
+	 * @param name the histogram name
+	 * @param value the value to record
+	 */
+	public void record(String name, long value) {
+		getHistogram(name).record(value);
+	}
+
+	/**
+	 * Return the named histogram, creating it if necessary.
+	 * @param name the histogram name
+	 * @return the histogram (never {@code null})
+	 */
+	public Histogram getHistogram(String name) {
+		Histogram histogram = this.histograms.get(name);
+		if (histogram == null) {
+			histogram = this.histograms.computeIfAbsent(name,
+					new Function<String, Histogram>() {
+
+						@Override
+						public Histogram apply(String name) {
+							return new Histogram();
+						}
+
+					});
+		}
+		return histogram;
+	}
+
+	/**
+	 * Return the named histogram if it exists.
+	 * @param name the histogram name
+	 * @return the histogram or {@code null}
+	 */
+	public Histogram find(String name) {
+		return this.histograms.get(name);
+	}
+
+	/**
+	 * Remove the named histogram.
+	 * @param name the histogram name
+	 */
+	public void reset(String name) {
+		this.histograms.remove(name);
+	}
+
+	public int count() {
+		return this.histograms.size();
+	}
+
+	public void forEach(BiConsumer<String, Histogram> consumer) {
+		this.histograms.forEach(consumer);
+	}
+
+}
@@ -16,12 +16,21 @@
 
 package org.springframework.boot.actuate.metrics.opentsdb;
 
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -43,12 +52,20 @@ import org.springframework.web.client.RestTemplate;
  * the buffer size is reached. Users should either manually {@link #flush()} after writing
  * a batch of data if that makes sense, or consider adding a {@link Scheduled Scheduled}
  * task to flush periodically.
+ * <p>
+ * In {@link #setAsync(boolean) asynchronous} mode writes never block on the server:
+ * data are added to a bounded queue (dropping the oldest data if it is full) and posted
+ * by a background thread whenever a full buffer is available or the
+ * {@link #setFlushInterval(long) flushInterval} has elapsed. The number of data points
+ * sent and dropped are available from {@link #getSentCount()} and
+ * {@link #getDroppedCount()}. The background thread is stopped, and the remaining data
+ * posted, when the writer is {@link #close() closed}.
  *
  * @author Dave Syer
  * @author Thomas Badie
  * @since 1.3.0
  */
-public class OpenTsdbGaugeWriter implements GaugeWriter {
+public class OpenTsdbGaugeWriter implements GaugeWriter, Closeable {
 
 	private static final int DEFAULT_CONNECT_TIMEOUT = 10000;
 
@@ -74,11 +91,47 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 	 */
 	private MediaType mediaType = MediaType.APPLICATION_JSON;
 
+	/**
+	 * Whether to compress posted data with gzip (the data are then always serialized as
+	 * JSON).
+	 */
+	private boolean compressed;
+
+	/**
+	 * Whether to queue data and post them from a background thread.
+	 */
+	private boolean async;
+
+	/**
+	 * Maximum number of data to queue in asynchronous mode before dropping the oldest.
+	 */
+	private int queueCapacity = 10000;
+
+	/**
+	 * Maximum time in milliseconds that queued data wait before being posted in
+	 * asynchronous mode.
+	 */
+	private long flushInterval = 5000;
+
 	private final List<OpenTsdbData> buffer = new ArrayList<OpenTsdbData>(
 			this.bufferSize);
 
 	private OpenTsdbNamingStrategy namingStrategy = new DefaultOpenTsdbNamingStrategy();
 
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final AtomicLong sentCount = new AtomicLong();
+
+	private final AtomicLong droppedCount = new AtomicLong();
+
+	private final Object monitor = new Object();
+
+	private volatile BlockingQueue<OpenTsdbData> queue;
+
+	private Flusher flusher;
+
+	private volatile boolean closed;
+
 	/**
 	 * Creates a new {@code OpenTsdbGaugeWriter} with the default connect (10 seconds) and
 	 * read (30 seconds) timeouts.
@@ -125,10 +178,47 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		this.namingStrategy = namingStrategy;
 	}
 
+	public void setCompressed(boolean compressed) {
+		this.compressed = compressed;
+	}
+
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public void setFlushInterval(long flushInterval) {
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Return the number of data points successfully posted to the server.
+	 * @return the sent count
+	 */
+	public long getSentCount() {
+		return this.sentCount.get();
+	}
+
+	/**
+	 * Return the number of data points discarded, either because the asynchronous queue
+	 * was full or because the server could not accept them.
+	 * @return the dropped count
+	 */
+	public long getDroppedCount() {
+		return this.droppedCount.get();
+	}
+
 	@Override
 	public void set(Metric<?> value) {
 		OpenTsdbData data = new OpenTsdbData(this.namingStrategy.getName(value.getName()),
 				value.getValue(), value.getTimestamp().getTime());
+		if (this.async) {
+			enqueue(data);
+			return;
+		}
 		synchronized (this.buffer) {
 			this.buffer.add(data);
 			if (this.buffer.size() >= this.bufferSize) {
@@ -138,22 +228,131 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 	}
 
 	/**
-	 * Flush the buffer without waiting for it to fill any further.
+	 * Flush the buffer without waiting for it to fill any further. In asynchronous mode
+	 * the queue is left to the background thread, so this method never blocks.
 	 */
-	@SuppressWarnings("rawtypes")
 	public void flush() {
 		List<OpenTsdbData> snapshot = getBufferSnapshot();
-		if (snapshot.isEmpty()) {
-			return;
+		if (!snapshot.isEmpty()) {
+			post(snapshot);
 		}
+	}
+
+	/**
+	 * Stop the background thread, if any, and post all remaining data. Data set in
+	 * asynchronous mode once the writer is closed are counted as dropped.
+	 */
+	@Override
+	public void close() {
+		Flusher flusher;
+		BlockingQueue<OpenTsdbData> queue;
+		synchronized (this.monitor) {
+			this.closed = true;
+			flusher = this.flusher;
+			queue = this.queue;
+			this.flusher = null;
+			this.queue = null;
+		}
+		if (flusher != null) {
+			flusher.shutdown();
+		}
+		if (queue != null) {
+			// Data may have been queued while the flusher was stopping
+			drain(queue);
+		}
+		flush();
+	}
+
+	@SuppressWarnings("rawtypes")
+	private void post(List<OpenTsdbData> data) {
 		HttpHeaders headers = new HttpHeaders();
 		headers.setAccept(Arrays.asList(this.mediaType));
 		headers.setContentType(this.mediaType);
+		Object body = data;
+		if (this.compressed) {
+			headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+			body = compress(data);
+		}
 		ResponseEntity<Map> response = this.restTemplate.postForEntity(this.url,
-				new HttpEntity<List<OpenTsdbData>>(snapshot, headers), Map.class);
-		if (!response.getStatusCode().is2xxSuccessful()) {
-			logger.warn("Cannot write metrics (discarded " + snapshot.size()
-					+ " values): " + response.getBody());
+				new HttpEntity<Object>(body, headers), Map.class);
+		if (response.getStatusCode().is2xxSuccessful()) {
+			this.sentCount.addAndGet(data.size());
+		}
+		else {
+			this.droppedCount.addAndGet(data.size());
+			logger.warn("Cannot write metrics (discarded " + data.size() + " values): "
+					+ response.getBody());
+		}
+	}
+
+	private byte[] compress(List<OpenTsdbData> data) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try {
+			GZIPOutputStream stream = new GZIPOutputStream(bytes);
+			try {
+				this.objectMapper.writeValue(stream, data);
+			}
+			finally {
+				stream.close();
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Cannot compress metrics", ex);
+		}
+		return bytes.toByteArray();
+	}
+
+	private void enqueue(OpenTsdbData data) {
+		BlockingQueue<OpenTsdbData> queue = getQueue();
+		if (queue == null) {
+			this.droppedCount.incrementAndGet();
+			return;
+		}
+		while (!queue.offer(data)) {
+			// Make room by dropping the oldest data rather than blocking the caller
+			if (queue.poll() != null) {
+				this.droppedCount.incrementAndGet();
+			}
+		}
+		if (this.closed) {
+			// The writer was closed concurrently and may have drained the queue already
+			drain(queue);
+		}
+	}
+
+	private BlockingQueue<OpenTsdbData> getQueue() {
+		BlockingQueue<OpenTsdbData> queue = this.queue;
+		if (queue == null) {
+			synchronized (this.monitor) {
+				queue = this.queue;
+				if (queue == null && !this.closed) {
+					queue = new ArrayBlockingQueue<OpenTsdbData>(this.queueCapacity);
+					this.flusher = new Flusher(queue);
+					this.flusher.start();
+					this.queue = queue;
+				}
+			}
+		}
+		return queue;
+	}
+
+	private void drain(BlockingQueue<OpenTsdbData> queue) {
+		List<OpenTsdbData> remaining = new ArrayList<OpenTsdbData>();
+		queue.drainTo(remaining);
+		send(remaining);
+	}
+
+	private void send(List<OpenTsdbData> data) {
+		if (data.isEmpty()) {
+			return;
+		}
+		try {
+			post(data);
+		}
+		catch (Exception ex) {
+			this.droppedCount.addAndGet(data.size());
+			logger.warn("Cannot write metrics (discarded " + data.size() + " values): "
+					+ ex.getClass() + ": " + ex.getMessage());
 		}
 	}
 
@@ -168,4 +367,88 @@ public class OpenTsdbGaugeWriter implements GaugeWriter {
 		}
 	}
 
+	/**
+	 * Background thread that posts queued data when a full buffer is available or when
+	 * the flush interval has elapsed.
+	 */
+	private class Flusher extends Thread {
+
+		private final BlockingQueue<OpenTsdbData> queue;
+
+		private final Object lock = new Object();
+
+		private volatile boolean running = true;
+
+		private boolean idle;
+
+		Flusher(BlockingQueue<OpenTsdbData> queue) {
+			super("opentsdb-flusher");
+			setDaemon(true);
+			this.queue = queue;
+		}
+
+		void shutdown() {
+			synchronized (this.lock) {
+				this.running = false;
+				// Only wake the thread while it waits, never while it posts
+				if (this.idle) {
+					interrupt();
+				}
+			}
+			try {
+				join();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		@Override
+		public void run() {
+			int batchSize = Math.max(OpenTsdbGaugeWriter.this.bufferSize, 1);
+			long interval = OpenTsdbGaugeWriter.this.flushInterval;
+			List<OpenTsdbData> batch = new ArrayList<OpenTsdbData>(batchSize);
+			long deadline = System.currentTimeMillis() + interval;
+			while (this.running) {
+				OpenTsdbData data = poll(deadline - System.currentTimeMillis());
+				if (data != null) {
+					batch.add(data);
+					this.queue.drainTo(batch, batchSize - batch.size());
+				}
+				if (batch.size() >= batchSize || System.currentTimeMillis() >= deadline) {
+					send(batch);
+					batch = new ArrayList<OpenTsdbData>(batchSize);
+					deadline = System.currentTimeMillis() + interval;
+				}
+			}
+			this.queue.drainTo(batch);
+			send(batch);
+		}
+
+		private OpenTsdbData poll(long wait) {
+			if (wait <= 0) {
+				return null;
+			}
+			synchronized (this.lock) {
+				if (!this.running) {
+					return null;
+				}
+				this.idle = true;
+			}
+			try {
+				return this.queue.poll(wait, TimeUnit.MILLISECONDS);
+			}
+			catch (InterruptedException ex) {
+				return null;
+			}
+			finally {
+				synchronized (this.lock) {
+					this.idle = false;
+					Thread.interrupted();
+				}
+			}
+		}
+
+	}
+
 }
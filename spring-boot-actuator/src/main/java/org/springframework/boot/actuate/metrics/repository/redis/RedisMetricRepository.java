@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,7 +16,9 @@
 
 package org.springframework.boot.actuate.metrics.repository.redis;
 
+import java.io.Flushable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
@@ -28,6 +30,8 @@ import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.BoundZSetOperations;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
 import org.springframework.util.Assert;
 
 /**
@@ -37,10 +41,15 @@ import org.springframework.util.Assert;
  * multiple metrics repositories all point at the same instance of Redis, it may be useful
  * to change the prefix to be unique (but not if you want them to contribute to the same
  * metrics).
+ * <p>
+ * Writes are sent to Redis in a single pipelined call per {@link #setBufferSize(int)
+ * bufferSize} writes, so a large export can be batched by raising the buffer size and
+ * calling {@link #flush()} at the end of it (as the {@code MetricCopyExporter} does).
+ * Buffered writes are always flushed before the repository is read or reset.
  *
  * @author Dave Syer
  */
-public class RedisMetricRepository implements MetricRepository {
+public class RedisMetricRepository implements MetricRepository, Flushable {
 
 	private static final String DEFAULT_METRICS_PREFIX = "spring.metrics.";
 
@@ -54,6 +63,12 @@ public class RedisMetricRepository implements MetricRepository {
 
 	private final RedisOperations<String, String> redisOperations;
 
+	private final List<Metric<?>> buffer = new ArrayList<Metric<?>>();
+
+	private final Object flushMonitor = new Object();
+
+	private volatile int bufferSize = 1;
+
 	/**
 	 * Create a RedisMetricRepository with a default prefix to apply to all metric names.
 	 * If multiple repositories share a redis instance they will feed into the same global
@@ -113,25 +128,57 @@ public class RedisMetricRepository implements MetricRepository {
 		this.zSetOperations = this.redisOperations.boundZSetOps(this.key);
 	}
 
+	/**
+	 * The number of writes to buffer before sending them to Redis in a single pipelined
+	 * call. Default is 1 (every write is sent immediately).
+	 * @param bufferSize the buffer size to set
+	 */
+	public void setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "BufferSize must be greater than 0");
+		this.bufferSize = bufferSize;
+	}
+
 	@Override
 	public Metric<?> findOne(String metricName) {
-		String redisKey = keyFor(metricName);
-		String raw = this.redisOperations.opsForValue().get(redisKey);
-		return deserialize(redisKey, raw, this.zSetOperations.score(redisKey));
+		flush();
+		final String redisKey = keyFor(metricName);
+		List<Object> results = this.redisOperations
+				.executePipelined(new SessionCallback<Object>() {
+
+					@Override
+					public <K, V> Object execute(RedisOperations<K, V> operations) {
+						RedisOperations<String, String> redis = RedisUtils
+								.stringOperations(operations);
+						redis.opsForValue().get(redisKey);
+						redis.opsForZSet().score(RedisMetricRepository.this.key,
+								redisKey);
+						return null;
+					}
+
+				});
+		return deserialize(redisKey, (String) results.get(0), (Double) results.get(1));
 	}
 
 	@Override
 	public Iterable<Metric<?>> findAll() {
+		flush();
 
-		// This set is sorted
-		Set<String> keys = this.zSetOperations.range(0, -1);
-		Iterator<String> keysIt = keys.iterator();
+		// This set is sorted and already carries the values
+		Set<TypedTuple<String>> entries = this.zSetOperations.rangeWithScores(0, -1);
+		if (entries.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> keys = new ArrayList<String>(entries.size());
+		for (TypedTuple<String> entry : entries) {
+			keys.add(entry.getValue());
+		}
 
 		List<Metric<?>> result = new ArrayList<Metric<?>>(keys.size());
-		List<String> values = this.redisOperations.opsForValue().multiGet(keys);
-		for (String v : values) {
-			String key = keysIt.next();
-			Metric<?> value = deserialize(key, v, this.zSetOperations.score(key));
+		Iterator<String> values = this.redisOperations.opsForValue().multiGet(keys)
+				.iterator();
+		for (TypedTuple<String> entry : entries) {
+			Metric<?> value = deserialize(entry.getValue(), values.next(),
+					entry.getScore());
 			if (value != null) {
 				result.add(value);
 			}
@@ -142,38 +189,91 @@ public class RedisMetricRepository implements MetricRepository {
 
 	@Override
 	public long count() {
+		flush();
 		return this.zSetOperations.size();
 	}
 
 	@Override
 	public void increment(Delta<?> delta) {
-		String name = delta.getName();
-		String key = keyFor(name);
-		trackMembership(key);
-		double value = this.zSetOperations.incrementScore(key,
-				delta.getValue().doubleValue());
-		String raw = serialize(new Metric<Double>(name, value, delta.getTimestamp()));
-		this.redisOperations.opsForValue().set(key, raw);
+		write(delta);
 	}
 
 	@Override
 	public void set(Metric<?> value) {
-		String name = value.getName();
-		String key = keyFor(name);
-		trackMembership(key);
-		this.zSetOperations.add(key, value.getValue().doubleValue());
-		String raw = serialize(value);
-		this.redisOperations.opsForValue().set(key, raw);
+		write(value);
 	}
 
 	@Override
 	public void reset(String metricName) {
+		flush();
 		String key = keyFor(metricName);
 		if (this.zSetOperations.remove(key) == 1) {
 			this.redisOperations.delete(key);
 		}
 	}
 
+	/**
+	 * Send any buffered writes to Redis without waiting for the buffer to fill.
+	 */
+	@Override
+	public void flush() {
+		synchronized (this.flushMonitor) {
+			List<Metric<?>> snapshot = getBufferSnapshot();
+			if (!snapshot.isEmpty()) {
+				send(snapshot);
+			}
+		}
+	}
+
+	private void write(Metric<?> metric) {
+		boolean full;
+		synchronized (this.buffer) {
+			this.buffer.add(metric);
+			full = this.buffer.size() >= this.bufferSize;
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	private List<Metric<?>> getBufferSnapshot() {
+		synchronized (this.buffer) {
+			if (this.buffer.isEmpty()) {
+				return Collections.emptyList();
+			}
+			List<Metric<?>> snapshot = new ArrayList<Metric<?>>(this.buffer);
+			this.buffer.clear();
+			return snapshot;
+		}
+	}
+
+	private void send(final List<Metric<?>> metrics) {
+		this.redisOperations.executePipelined(new SessionCallback<Object>() {
+
+			@Override
+			public <K, V> Object execute(RedisOperations<K, V> operations) {
+				RedisOperations<String, String> redis = RedisUtils
+						.stringOperations(operations);
+				BoundZSetOperations<String, String> zSetOperations = redis
+						.boundZSetOps(RedisMetricRepository.this.key);
+				for (Metric<?> metric : metrics) {
+					String key = keyFor(metric.getName());
+					double value = metric.getValue().doubleValue();
+					// The zset entry both holds the value and tracks membership
+					if (metric instanceof Delta) {
+						zSetOperations.incrementScore(key, value);
+					}
+					else {
+						zSetOperations.add(key, value);
+					}
+					redis.opsForValue().set(key, serialize(metric));
+				}
+				return null;
+			}
+
+		});
+	}
+
 	private Metric<?> deserialize(String redisKey, String v, Double value) {
 		if (redisKey == null || v == null || !redisKey.startsWith(this.prefix)) {
 			return null;
@@ -194,8 +294,4 @@ public class RedisMetricRepository implements MetricRepository {
 		return redisKey.substring(this.prefix.length());
 	}
 
-	private void trackMembership(String redisKey) {
-		this.zSetOperations.incrementScore(redisKey, 0.0D);
-	}
-
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,12 @@
 
 package org.springframework.boot.actuate.metrics.repository.redis;
 
+import java.io.Flushable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -29,6 +32,8 @@ import org.springframework.boot.actuate.metrics.writer.Delta;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.BoundZSetOperations;
 import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
 import org.springframework.util.Assert;
 
 /**
@@ -36,10 +41,15 @@ import org.springframework.util.Assert;
  * stored as zset values and the timestamps as regular values, both against a key composed
  * of the group name prefixed with a constant prefix (default "spring.groups."). The group
  * names are stored as a zset under "keys." + {@code [prefix]}.
+ * <p>
+ * Each call to {@link #set(String, Collection)} is sent to Redis in a single pipelined
+ * call. Increments are buffered in the same way according to the
+ * {@link #setBufferSize(int) bufferSize} property and sent on {@link #flush()}. Buffered
+ * writes are always flushed before the repository is read or reset.
  *
  * @author Dave Syer
  */
-public class RedisMultiMetricRepository implements MultiMetricRepository {
+public class RedisMultiMetricRepository implements MultiMetricRepository, Flushable {
 
 	private static final String DEFAULT_METRICS_PREFIX = "spring.groups.";
 
@@ -51,6 +61,12 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 
 	private final RedisOperations<String, String> redisOperations;
 
+	private final List<GroupedMetric> buffer = new ArrayList<GroupedMetric>();
+
+	private final Object flushMonitor = new Object();
+
+	private volatile int bufferSize = 1;
+
 	public RedisMultiMetricRepository(RedisConnectionFactory redisConnectionFactory) {
 		this(redisConnectionFactory, DEFAULT_METRICS_PREFIX);
 	}
@@ -67,20 +83,39 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 		this.zSetOperations = this.redisOperations.boundZSetOps(this.keys);
 	}
 
+	/**
+	 * The number of writes to buffer before sending them to Redis in a single pipelined
+	 * call. Default is 1 (every call is sent immediately).
+	 * @param bufferSize the buffer size to set
+	 */
+	public void setBufferSize(int bufferSize) {
+		Assert.isTrue(bufferSize > 0, "BufferSize must be greater than 0");
+		this.bufferSize = bufferSize;
+	}
+
 	@Override
 	public Iterable<Metric<?>> findAll(String group) {
+		flush();
 
 		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
 				.boundZSetOps(keyFor(group));
 
-		Set<String> keys = zSetOperations.range(0, -1);
-		Iterator<String> keysIt = keys.iterator();
+		// The scores are the values, so no further round trip is needed for them
+		Set<TypedTuple<String>> entries = zSetOperations.rangeWithScores(0, -1);
+		if (entries.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<String> keys = new ArrayList<String>(entries.size());
+		for (TypedTuple<String> entry : entries) {
+			keys.add(entry.getValue());
+		}
 
 		List<Metric<?>> result = new ArrayList<Metric<?>>(keys.size());
-		List<String> values = this.redisOperations.opsForValue().multiGet(keys);
-		for (String v : values) {
-			String key = keysIt.next();
-			result.add(deserialize(group, key, v, zSetOperations.score(key)));
+		Iterator<String> values = this.redisOperations.opsForValue().multiGet(keys)
+				.iterator();
+		for (TypedTuple<String> entry : entries) {
+			result.add(deserialize(group, entry.getValue(), values.next(),
+					entry.getScore()));
 		}
 		return result;
 
@@ -88,33 +123,21 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 
 	@Override
 	public void set(String group, Collection<Metric<?>> values) {
-		String groupKey = keyFor(group);
-		trackMembership(groupKey);
-		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
-				.boundZSetOps(groupKey);
+		List<GroupedMetric> metrics = new ArrayList<GroupedMetric>(values.size());
 		for (Metric<?> metric : values) {
-			String raw = serialize(metric);
-			String key = keyFor(metric.getName());
-			zSetOperations.add(key, metric.getValue().doubleValue());
-			this.redisOperations.opsForValue().set(key, raw);
+			metrics.add(new GroupedMetric(group, metric));
 		}
+		write(metrics);
 	}
 
 	@Override
 	public void increment(String group, Delta<?> delta) {
-		String groupKey = keyFor(group);
-		trackMembership(groupKey);
-		BoundZSetOperations<String, String> zSetOperations = this.redisOperations
-				.boundZSetOps(groupKey);
-		String key = keyFor(delta.getName());
-		double value = zSetOperations.incrementScore(key, delta.getValue().doubleValue());
-		String raw = serialize(
-				new Metric<Double>(delta.getName(), value, delta.getTimestamp()));
-		this.redisOperations.opsForValue().set(key, raw);
+		write(Collections.singletonList(new GroupedMetric(group, delta)));
 	}
 
 	@Override
 	public Iterable<String> groups() {
+		flush();
 		Set<String> range = this.zSetOperations.range(0, -1);
 		Collection<String> result = new ArrayList<String>();
 		for (String key : range) {
@@ -125,11 +148,13 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 
 	@Override
 	public long countGroups() {
+		flush();
 		return this.zSetOperations.size();
 	}
 
 	@Override
 	public void reset(String group) {
+		flush();
 		String groupKey = keyFor(group);
 		if (this.redisOperations.hasKey(groupKey)) {
 			BoundZSetOperations<String, String> zSetOperations = this.redisOperations
@@ -143,6 +168,73 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 		this.zSetOperations.remove(groupKey);
 	}
 
+	/**
+	 * Send any buffered writes to Redis without waiting for the buffer to fill.
+	 */
+	@Override
+	public void flush() {
+		synchronized (this.flushMonitor) {
+			List<GroupedMetric> snapshot = getBufferSnapshot();
+			if (!snapshot.isEmpty()) {
+				send(snapshot);
+			}
+		}
+	}
+
+	private void write(List<GroupedMetric> metrics) {
+		boolean full;
+		synchronized (this.buffer) {
+			this.buffer.addAll(metrics);
+			full = this.buffer.size() >= this.bufferSize;
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	private List<GroupedMetric> getBufferSnapshot() {
+		synchronized (this.buffer) {
+			if (this.buffer.isEmpty()) {
+				return Collections.emptyList();
+			}
+			List<GroupedMetric> snapshot = new ArrayList<GroupedMetric>(this.buffer);
+			this.buffer.clear();
+			return snapshot;
+		}
+	}
+
+	private void send(final List<GroupedMetric> metrics) {
+		this.redisOperations.executePipelined(new SessionCallback<Object>() {
+
+			@Override
+			public <K, V> Object execute(RedisOperations<K, V> operations) {
+				RedisOperations<String, String> redis = RedisUtils
+						.stringOperations(operations);
+				BoundZSetOperations<String, String> groups = redis
+						.boundZSetOps(RedisMultiMetricRepository.this.keys);
+				Set<String> tracked = new HashSet<String>();
+				for (GroupedMetric grouped : metrics) {
+					String groupKey = keyFor(grouped.group);
+					if (tracked.add(groupKey)) {
+						groups.incrementScore(groupKey, 0.0D);
+					}
+					Metric<?> metric = grouped.metric;
+					String key = keyFor(metric.getName());
+					double value = metric.getValue().doubleValue();
+					if (metric instanceof Delta) {
+						redis.opsForZSet().incrementScore(groupKey, key, value);
+					}
+					else {
+						redis.opsForZSet().add(groupKey, key, value);
+					}
+					redis.opsForValue().set(key, serialize(metric));
+				}
+				return null;
+			}
+
+		});
+	}
+
 	private Metric<?> deserialize(String group, String redisKey, String v, Double value) {
 		Date timestamp = new Date(Long.valueOf(v));
 		return new Metric<Double>(nameFor(redisKey), value, timestamp);
@@ -162,8 +254,20 @@ public class RedisMultiMetricRepository implements MultiMetricRepository {
 		return redisKey.substring(this.prefix.length());
 	}
 
-	private void trackMembership(String redisKey) {
-		this.zSetOperations.incrementScore(redisKey, 0.0D);
+	/**
+	 * A buffered write of a metric to a group.
+	 */
+	private static final class GroupedMetric {
+
+		private final String group;
+
+		private final Metric<?> metric;
+
+		GroupedMetric(String group, Metric<?> metric) {
+			this.group = group;
+			this.metric = metric;
+		}
+
 	}
 
 }
@@ -51,4 +51,16 @@ final class RedisUtils {
 			RedisConnectionFactory redisConnectionFactory) {
 		return new StringRedisTemplate(redisConnectionFactory);
 	}
+
+	/**
+	 * Narrow the operations passed to a {@code SessionCallback} by a string template.
+	 * @param operations the operations
+	 * @return the operations typed for string keys and values
+	 */
+	@SuppressWarnings("unchecked")
+	static RedisOperations<String, String> stringOperations(
+			RedisOperations<?, ?> operations) {
+		return (RedisOperations<String, String>) operations;
+	}
+
 }
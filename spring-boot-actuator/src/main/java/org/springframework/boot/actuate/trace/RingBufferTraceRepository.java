@@ -0,0 +1,136 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+/**
+ * Bounded, lock-free implementation of {@link TraceRepository} backed by a
+ * preallocated ring buffer. Writers claim a slot by atomically incrementing a sequence
+ * so that {@link #add(Map)} never blocks, and {@link #findAll()} takes a snapshot of the
+ * most recent traces in {@code O(capacity)}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class RingBufferTraceRepository implements TraceRepository {
+
+	private static final int DEFAULT_CAPACITY = 100;
+
+	private final AtomicReferenceArray<Slot> slots;
+
+	private final AtomicLong sequence = new AtomicLong();
+
+	private final int capacity;
+
+	private volatile boolean reverse = true;
+
+	/**
+	 * Create a new {@link RingBufferTraceRepository} with a default capacity of 100.
+	 */
+	public RingBufferTraceRepository() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@link RingBufferTraceRepository} with the specified capacity.
+	 * @param capacity the maximum number of traces to retain
+	 */
+	public RingBufferTraceRepository(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+		this.slots = new AtomicReferenceArray<Slot>(capacity);
+	}
+
+	/**
+	 * Flag to say that the repository lists traces in reverse order.
+	 * @param reverse flag value (default true)
+	 */
+	public void setReverse(boolean reverse) {
+		this.reverse = reverse;
+	}
+
+	/**
+	 * Return the capacity of the repository.
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	@Override
+	public List<Trace> findAll() {
+		long end = this.sequence.get();
+		long start = Math.max(0, end - this.capacity);
+		List<Trace> traces = new ArrayList<Trace>((int) (end - start));
+		for (long position = start; position < end; position++) {
+			Slot slot = this.slots.get(indexOf(position));
+			// Skip slots that have not been published yet or that have already been
+			// overwritten by a writer that claimed a later sequence
+			if (slot != null && slot.sequence == position) {
+				traces.add(slot.trace);
+			}
+		}
+		if (this.reverse) {
+			Collections.reverse(traces);
+		}
+		return Collections.unmodifiableList(traces);
+	}
+
+	@Override
+	public void add(Map<String, Object> map) {
+		Trace trace = new Trace(new Date(), map);
+		long position = this.sequence.getAndIncrement();
+		int index = indexOf(position);
+		Slot slot = new Slot(position, trace);
+		Slot current = this.slots.get(index);
+		// A slow writer must not overwrite a slot already claimed by a newer trace
+		while ((current == null || current.sequence < position)
+				&& !this.slots.compareAndSet(index, current, slot)) {
+			current = this.slots.get(index);
+		}
+	}
+
+	private int indexOf(long position) {
+		return (int) (position % this.capacity);
+	}
+
+	/**
+	 * A published entry in the ring buffer.
+	 */
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final Trace trace;
+
+		Slot(long sequence, Trace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
+	}
+
+}
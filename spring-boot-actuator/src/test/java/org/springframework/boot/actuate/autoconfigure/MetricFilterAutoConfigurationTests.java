@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.autoconfigure;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
 import javax.servlet.Filter;
@@ -31,6 +32,7 @@ import org.mockito.stubbing.Answer;
 
 import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
+import org.springframework.boot.actuate.metrics.histogram.Histograms;
 import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -41,6 +43,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.stereotype.Component;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -114,6 +117,37 @@ public class MetricFilterAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void recordsHttpInteractionsInHistogram() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, HistogramConfig.class,
+				MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		mvc.perform(get("/templateVarTest/bar")).andExpect(status().isOk());
+		Histograms histograms = context.getBean(Histograms.class);
+		assertThat(histograms
+				.find("histogram.response.templateVarTest.someVariable").snapshot()
+				.getCount()).isEqualTo(2);
+		context.close();
+	}
+
+	@Test
+	public void doesNotRecordUnmappedHttpInteractionsInHistogram() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, HistogramConfig.class,
+				MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		filter.doFilter(new MockHttpServletRequest("GET", "/test/path"),
+				new MockHttpServletResponse(), mock(FilterChain.class));
+		verify(context.getBean(GaugeService.class)).submit(eq("response.test.path"),
+				anyDouble());
+		assertThat(context.getBean(Histograms.class).count()).isEqualTo(0);
+		context.close();
+	}
+
 	@Test
 	public void recordsHttpInteractionsWithTemplateVariable() throws Exception {
 		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
@@ -129,6 +163,60 @@ public class MetricFilterAutoConfigurationTests {
 		context.close();
 	}
 
+	@Test
+	public void recordsRepeatedHttpInteractionsWithTemplateVariable() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		mvc.perform(get("/templateVarTest/bar")).andExpect(status().isOk());
+		verify(context.getBean(CounterService.class), times(2))
+				.increment("status.200.templateVarTest.someVariable");
+		verify(context.getBean(GaugeService.class), times(2))
+				.submit(eq("response.templateVarTest.someVariable"), anyDouble());
+		context.close();
+	}
+
+	@Test
+	public void recordsHttpInteractionsForManyDistinctPaths() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		for (int i = 0; i < 1500; i++) {
+			final MockHttpServletRequest request = new MockHttpServletRequest("GET",
+					"/test/path" + i);
+			final MockHttpServletResponse response = new MockHttpServletResponse();
+			filter.doFilter(request, response, mock(FilterChain.class));
+		}
+		verify(context.getBean(CounterService.class)).increment("status.200.test.path0");
+		verify(context.getBean(CounterService.class))
+				.increment("status.200.test.path1499");
+		verify(context.getBean(GaugeService.class))
+				.submit(eq("response.test.path1499"), anyDouble());
+		context.close();
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void doesNotCacheMetricNamesForUnmappedPaths() throws Exception {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				Config.class, MetricFilterAutoConfiguration.class);
+		Filter filter = context.getBean(Filter.class);
+		for (int i = 0; i < 1500; i++) {
+			filter.doFilter(new MockHttpServletRequest("GET", "/test/path" + i),
+					new MockHttpServletResponse(), mock(FilterChain.class));
+		}
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new MetricFilterTestController())
+				.addFilter(filter).build();
+		mvc.perform(get("/templateVarTest/foo")).andExpect(status().isOk());
+		Map<String, ?> metricNames = (Map<String, ?>) ReflectionTestUtils
+				.getField(filter, "metricNames");
+		assertThat(metricNames).containsOnlyKeys("/templateVarTest/someVariable");
+		context.close();
+	}
+
 	@Test
 	public void recordsKnown404HttpInteractionsAsSingleMetricWithPathAndTemplateVariable()
 			throws Exception {
@@ -380,6 +468,16 @@ public class MetricFilterAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	public static class HistogramConfig {
+
+		@Bean
+		public Histograms histograms() {
+			return new Histograms();
+		}
+
+	}
+
 	@RestController
 	class MetricFilterTestController {
 
@@ -25,10 +25,16 @@ import org.springframework.boot.actuate.metrics.CounterService;
 import org.springframework.boot.actuate.metrics.GaugeService;
 import org.springframework.boot.actuate.metrics.buffer.BufferCounterService;
 import org.springframework.boot.actuate.metrics.buffer.BufferGaugeService;
+import org.springframework.boot.actuate.metrics.buffer.BufferMetricReader;
+import org.springframework.boot.actuate.metrics.buffer.StripedBufferCounterService;
+import org.springframework.boot.actuate.metrics.buffer.StripedBufferGaugeService;
 import org.springframework.boot.actuate.metrics.dropwizard.DropwizardMetricServices;
+import org.springframework.boot.actuate.metrics.histogram.HistogramMetricReader;
+import org.springframework.boot.actuate.metrics.histogram.Histograms;
 import org.springframework.boot.actuate.metrics.reader.MetricReader;
 import org.springframework.boot.actuate.metrics.reader.PrefixMetricReader;
 import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -60,12 +66,52 @@ public class MetricRepositoryAutoConfigurationTests {
 		GaugeService gaugeService = this.context.getBean(BufferGaugeService.class);
 		assertThat(gaugeService).isNotNull();
 		assertThat(this.context.getBean(BufferCounterService.class)).isNotNull();
-		assertThat(this.context.getBean(PrefixMetricReader.class)).isNotNull();
+		assertThat(this.context.getBean(BufferMetricReader.class))
+				.isInstanceOf(PrefixMetricReader.class);
 		gaugeService.submit("foo", 2.7);
-		MetricReader bean = this.context.getBean(MetricReader.class);
+		MetricReader bean = this.context.getBean(BufferMetricReader.class);
 		assertThat(bean.findOne("gauge.foo").getValue()).isEqualTo(2.7);
 	}
 
+	@Test
+	public void histogramsAreDisabledByDefault() throws Exception {
+		this.context = new AnnotationConfigApplicationContext(
+				MetricRepositoryAutoConfiguration.class);
+		assertThat(this.context.getBeansOfType(Histograms.class)).isEmpty();
+		assertThat(this.context.getBeansOfType(HistogramMetricReader.class)).isEmpty();
+	}
+
+	@Test
+	public void createHistograms() throws Exception {
+		this.context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.metrics.histograms.enabled=true");
+		this.context.register(MetricRepositoryAutoConfiguration.class);
+		this.context.refresh();
+		this.context.getBean(Histograms.class).record("histogram.foo", 5);
+		MetricReader reader = this.context.getBean(HistogramMetricReader.class);
+		assertThat(reader.findOne("histogram.foo.p99").getValue()).isEqualTo(5L);
+	}
+
+	@Test
+	public void createStripedServices() throws Exception {
+		this.context = new AnnotationConfigApplicationContext();
+		EnvironmentTestUtils.addEnvironment(this.context,
+				"spring.metrics.buffer.striped=true");
+		this.context.register(MetricRepositoryAutoConfiguration.class);
+		this.context.refresh();
+		GaugeService gaugeService = this.context
+				.getBean(StripedBufferGaugeService.class);
+		CounterService counterService = this.context
+				.getBean(StripedBufferCounterService.class);
+		assertThat(this.context.getBeansOfType(BufferGaugeService.class)).isEmpty();
+		gaugeService.submit("foo", 2.7);
+		counterService.increment("bar");
+		MetricReader bean = this.context.getBean(BufferMetricReader.class);
+		assertThat(bean.findOne("gauge.foo").getValue()).isEqualTo(2.7);
+		assertThat(bean.findOne("counter.bar").getValue()).isEqualTo(1L);
+	}
+
 	@Test
 	public void dropwizardInstalledIfPresent() {
 		this.context = new AnnotationConfigApplicationContext(
@@ -89,6 +135,7 @@ public class MetricRepositoryAutoConfigurationTests {
 				MetricRepositoryAutoConfiguration.class);
 		assertThat(this.context.getBeansOfType(BufferGaugeService.class)).isEmpty();
 		assertThat(this.context.getBeansOfType(BufferCounterService.class)).isEmpty();
+		assertThat(this.context.getBeansOfType(Histograms.class)).isEmpty();
 	}
 
 	@Configuration
@@ -32,6 +32,7 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.endpoint.CachePublicMetrics;
 import org.springframework.boot.actuate.endpoint.DataSourcePublicMetrics;
+import org.springframework.boot.actuate.endpoint.EmbeddedServletContainerExecutorPublicMetrics;
 import org.springframework.boot.actuate.endpoint.MetricReaderPublicMetrics;
 import org.springframework.boot.actuate.endpoint.PublicMetrics;
 import org.springframework.boot.actuate.endpoint.RichGaugeReaderPublicMetrics;
@@ -193,6 +194,14 @@ public class PublicMetricsAutoConfigurationTests {
 		assertThat(this.context.getBeansOfType(TomcatPublicMetrics.class)).hasSize(1);
 	}
 
+	@Test
+	public void embeddedServletContainerExecutorMetrics() throws Exception {
+		loadWeb(TomcatConfiguration.class);
+		assertThat(this.context
+				.getBeansOfType(EmbeddedServletContainerExecutorPublicMetrics.class))
+						.hasSize(1);
+	}
+
 	@Test
 	public void noCacheMetrics() {
 		load();
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerExecutors;
+import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.SocketUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link EmbeddedServletContainerExecutorPublicMetrics}.
+ *
+ * @author Agent Local
+ */
+public class EmbeddedServletContainerExecutorPublicMetricsTests {
+
+	@Test
+	public void executorMetrics() throws Exception {
+		AnnotationConfigEmbeddedWebApplicationContext context = new AnnotationConfigEmbeddedWebApplicationContext(
+				ExecutorConfig.class);
+		try {
+			Iterator<Metric<?>> metrics = context
+					.getBean(EmbeddedServletContainerExecutorPublicMetrics.class)
+					.metrics().iterator();
+			assertThat(metrics.next().getName()).isEqualTo("server.executor.active");
+			assertThat(metrics.next().getName()).isEqualTo("server.executor.queued");
+			assertThat(metrics.next().getName()).isEqualTo("server.executor.rejected");
+			assertThat(metrics.hasNext()).isFalse();
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	@Test
+	public void noMetricsWithContainerThreadPool() throws Exception {
+		AnnotationConfigEmbeddedWebApplicationContext context = new AnnotationConfigEmbeddedWebApplicationContext(
+				Config.class);
+		try {
+			assertThat(context
+					.getBean(EmbeddedServletContainerExecutorPublicMetrics.class)
+					.metrics()).isEmpty();
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	@Configuration
+	static class Config {
+
+		@Bean
+		public TomcatEmbeddedServletContainerFactory containerFactory() {
+			TomcatEmbeddedServletContainerFactory factory = new TomcatEmbeddedServletContainerFactory();
+			factory.setPort(SocketUtils.findAvailableTcpPort(40000));
+			return factory;
+		}
+
+		@Bean
+		public EmbeddedServletContainerExecutorPublicMetrics metrics() {
+			return new EmbeddedServletContainerExecutorPublicMetrics();
+		}
+
+	}
+
+	@Configuration
+	static class ExecutorConfig extends Config {
+
+		@Override
+		public TomcatEmbeddedServletContainerFactory containerFactory() {
+			TomcatEmbeddedServletContainerFactory factory = super.containerFactory();
+			factory.setExecutor(
+					EmbeddedServletContainerExecutors.platformThreads("test-", 10, 10));
+			return factory;
+		}
+
+	}
+
+}
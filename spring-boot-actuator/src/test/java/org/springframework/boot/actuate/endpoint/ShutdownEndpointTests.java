@@ -24,6 +24,11 @@ import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
+import org.springframework.boot.context.embedded.EmbeddedServletContainer;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerShutdownEvent;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.boot.context.embedded.GracefulShutdown;
+import org.springframework.boot.context.embedded.GracefulShutdown.State;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
@@ -31,6 +36,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextClosedEvent;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link ShutdownEndpoint}.
@@ -72,6 +81,25 @@ public class ShutdownEndpointTests extends AbstractEndpointTests<ShutdownEndpoin
 				.isEqualTo(getClass().getClassLoader());
 	}
 
+	@Test
+	public void invokeDuringGracefulShutdownReportsProgress() throws Exception {
+		EmbeddedWebApplicationContext context = mock(EmbeddedWebApplicationContext.class);
+		ShutdownEndpoint endpoint = new ShutdownEndpoint();
+		endpoint.setApplicationContext(context);
+		GracefulShutdown gracefulShutdown = new GracefulShutdown(30000);
+		gracefulShutdown.requestStarted();
+		EmbeddedServletContainer container = mock(EmbeddedServletContainer.class);
+		given(container.getGracefulShutdown()).willReturn(gracefulShutdown);
+		endpoint.onApplicationEvent(new EmbeddedServletContainerShutdownEvent(context,
+				container, State.DRAINING));
+		Map<String, Object> result = endpoint.invoke();
+		assertThat(result.get("message")).isEqualTo("Shutdown in progress.");
+		assertThat(result.get("state")).isEqualTo(State.RUNNING);
+		assertThat(result.get("activeRequests")).isEqualTo(1);
+		assertThat(result.get("timeout")).isEqualTo(30000L);
+		verify(context, never()).close();
+	}
+
 	@Configuration
 	@EnableConfigurationProperties
 	public static class Config {
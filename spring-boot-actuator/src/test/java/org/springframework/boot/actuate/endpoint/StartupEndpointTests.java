@@ -0,0 +1,61 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.endpoint;
+
+import org.junit.Test;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.startup.BufferingStartupRecorder;
+import org.springframework.boot.startup.StartupTimeline;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupEndpoint}.
+ *
+ * @author Agent Local
+ */
+public class StartupEndpointTests extends AbstractEndpointTests<StartupEndpoint> {
+
+	public StartupEndpointTests() {
+		super(Config.class, StartupEndpoint.class, "startup", true, "endpoints.startup");
+	}
+
+	@Test
+	public void invoke() throws Exception {
+		StartupTimeline timeline = getEndpointBean().invoke();
+		assertThat(timeline.getEvents()).hasSize(1);
+		assertThat(timeline.getEvents().get(0).getName()).isEqualTo("test");
+		assertThat(timeline.getEvents().get(0).getTags()).containsEntry("a", "b");
+	}
+
+	@Configuration
+	@EnableConfigurationProperties
+	public static class Config {
+
+		@Bean
+		public StartupEndpoint endpoint() {
+			BufferingStartupRecorder recorder = new BufferingStartupRecorder();
+			recorder.start("test").tag("a", "b").end();
+			return new StartupEndpoint(recorder);
+		}
+
+	}
+
+}
@@ -59,6 +59,8 @@ public class SystemPublicMetricsTests {
 		assertThat(results).containsKey("classes.loaded");
 		assertThat(results).containsKey("classes.unloaded");
 		assertThat(results).containsKey("classes");
+		assertThat(results).containsKey("classes.presence.hits");
+		assertThat(results).containsKey("classes.presence.misses");
 	}
 
 }
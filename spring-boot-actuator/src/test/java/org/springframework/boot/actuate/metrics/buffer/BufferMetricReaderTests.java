@@ -48,6 +48,20 @@ public class BufferMetricReaderTests {
 		assertThat(this.reader.count()).isEqualTo(1);
 	}
 
+	@Test
+	public void findStripedMetrics() {
+		StripedCounterBuffers counters = new StripedCounterBuffers();
+		StripedGaugeBuffers gauges = new StripedGaugeBuffers();
+		BufferMetricReader reader = new BufferMetricReader(counters, gauges);
+		counters.increment("foo", 2);
+		counters.increment("foo", 3);
+		gauges.set("bar", 1.5);
+		assertThat(reader.findOne("foo").getValue()).isEqualTo(5L);
+		assertThat(reader.findOne("bar").getValue()).isEqualTo(1.5);
+		assertThat(reader.findAll()).hasSize(2);
+		assertThat(reader.count()).isEqualTo(2);
+	}
+
 	@Test
 	public void findCounter() {
 		this.counters.increment("foo", 1);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StripedCounterBuffers}.
+ *
+ * @author Agent Local
+ */
+public class StripedCounterBuffersTests {
+
+	private StripedCounterBuffers buffers = new StripedCounterBuffers();
+
+	@Test
+	public void inAndOut() {
+		this.buffers.increment("foo", 2);
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(2);
+		assertThat(this.buffers.find("foo").getTimestamp()).isGreaterThan(0);
+	}
+
+	@Test
+	public void handleIsShared() {
+		StripedCounterBuffer handle = this.buffers.getBuffer("foo");
+		handle.increment(3);
+		this.buffers.increment("foo", 1);
+		assertThat(this.buffers.getBuffer("foo")).isSameAs(handle);
+		assertThat(handle.getValue()).isEqualTo(4);
+	}
+
+	@Test
+	public void reset() {
+		this.buffers.increment("foo", 2);
+		this.buffers.reset("foo");
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(0);
+	}
+
+	@Test
+	public void findNonExistent() {
+		assertThat(this.buffers.find("foo")).isNull();
+	}
+
+	@Test
+	public void concurrentIncrementsAreSummed() throws Exception {
+		final StripedCounterBuffer handle = this.buffers.getBuffer("foo");
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		final CountDownLatch latch = new CountDownLatch(10000);
+		for (int i = 0; i < 10000; i++) {
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					handle.increment(1);
+					latch.countDown();
+				}
+
+			});
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		assertThat(handle.getValue()).isEqualTo(10000);
+	}
+
+}
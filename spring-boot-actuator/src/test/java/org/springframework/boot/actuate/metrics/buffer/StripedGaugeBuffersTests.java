@@ -0,0 +1,82 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.buffer;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StripedGaugeBuffers}.
+ *
+ * @author Agent Local
+ */
+public class StripedGaugeBuffersTests {
+
+	private StripedGaugeBuffers buffers = new StripedGaugeBuffers();
+
+	@Test
+	public void inAndOut() {
+		this.buffers.set("foo", 2.5);
+		assertThat(this.buffers.find("foo").getValue()).isEqualTo(2.5);
+		assertThat(this.buffers.find("foo").getTimestamp()).isGreaterThan(0);
+	}
+
+	@Test
+	public void lastValueFromAnotherThreadWins() throws Exception {
+		final StripedGaugeBuffer handle = this.buffers.getBuffer("foo");
+		handle.set(1.0);
+		Thread.sleep(5);
+		Thread thread = new Thread(new Runnable() {
+
+			@Override
+			public void run() {
+				handle.set(2.0);
+			}
+
+		});
+		thread.start();
+		thread.join();
+		assertThat(handle.getValue()).isEqualTo(2.0);
+	}
+
+	@Test
+	public void lastValueWinsWithinTheSameMillisecond() throws Exception {
+		final StripedGaugeBuffer handle = this.buffers.getBuffer("foo");
+		for (int i = 0; i < 100; i++) {
+			final double value = i;
+			Thread thread = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					handle.set(value);
+				}
+
+			});
+			thread.start();
+			thread.join();
+			handle.set(value + 0.5);
+			assertThat(handle.getValue()).isEqualTo(value + 0.5);
+		}
+	}
+
+	@Test
+	public void findNonExistent() {
+		assertThat(this.buffers.find("foo")).isNull();
+	}
+
+}
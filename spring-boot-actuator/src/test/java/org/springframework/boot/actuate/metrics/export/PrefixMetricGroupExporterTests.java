@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.metrics.export;
 
+import java.io.Flushable;
 import java.util.Arrays;
 import java.util.Collections;
 
@@ -25,8 +26,12 @@ import org.springframework.boot.actuate.metrics.Iterables;
 import org.springframework.boot.actuate.metrics.Metric;
 import org.springframework.boot.actuate.metrics.repository.InMemoryMetricRepository;
 import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.boot.actuate.metrics.writer.PrefixMetricWriter;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
 /**
  * Tests for {@link PrefixMetricGroupExporter}.
@@ -89,4 +94,16 @@ public class PrefixMetricGroupExporterTests {
 		assertThat(Iterables.collection(this.writer.groups())).hasSize(1);
 	}
 
+	@Test
+	public void flushableWriterFlushed() throws Exception {
+		PrefixMetricWriter writer = mock(PrefixMetricWriter.class,
+				withSettings().extraInterfaces(Flushable.class));
+		PrefixMetricGroupExporter exporter = new PrefixMetricGroupExporter(this.reader,
+				writer);
+		this.reader.set(new Metric<Number>("foo.bar", 2.3));
+		exporter.setGroups(Collections.singleton("foo"));
+		exporter.export();
+		verify((Flushable) writer).flush();
+	}
+
 }
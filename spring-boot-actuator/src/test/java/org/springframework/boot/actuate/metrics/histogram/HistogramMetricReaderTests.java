@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link HistogramMetricReader}.
+ *
+ * @author Agent Local
+ */
+public class HistogramMetricReaderTests {
+
+	private final Histograms histograms = new Histograms();
+
+	private final HistogramMetricReader reader = new HistogramMetricReader(
+			this.histograms);
+
+	@Test
+	public void findAll() {
+		this.histograms.record("histogram.foo", 5);
+		this.histograms.record("histogram.foo", 7);
+		assertThat(this.reader.count()).isEqualTo(7);
+		assertThat(this.reader.findAll()).extracting("name").containsOnly(
+				"histogram.foo.count", "histogram.foo.min", "histogram.foo.max",
+				"histogram.foo.mean", "histogram.foo.p50", "histogram.foo.p95",
+				"histogram.foo.p99");
+	}
+
+	@Test
+	public void findOne() {
+		this.histograms.record("histogram.foo", 5);
+		this.histograms.record("histogram.foo", 7);
+		Metric<?> metric = this.reader.findOne("histogram.foo.p99");
+		assertThat(metric.getValue()).isEqualTo(7L);
+		assertThat(this.reader.findOne("histogram.foo.count").getValue()).isEqualTo(2L);
+		assertThat(this.reader.findOne("histogram.foo.mean").getValue()).isEqualTo(6.0);
+	}
+
+	@Test
+	public void secondIntervalDoesNotIncludeValuesOfFirst() {
+		this.reader.setInterval(0);
+		this.histograms.record("histogram.foo", 1000);
+		this.histograms.record("histogram.foo", 2000);
+		assertThat(getValue(this.reader.findAll(), "histogram.foo.count"))
+				.isEqualTo(2L);
+		this.histograms.record("histogram.foo", 5);
+		Iterable<Metric<?>> interval = this.reader.findAll();
+		assertThat(getValue(interval, "histogram.foo.count")).isEqualTo(1L);
+		assertThat(getValue(interval, "histogram.foo.max")).isEqualTo(5L);
+		assertThat(getValue(interval, "histogram.foo.p99")).isEqualTo(5L);
+		assertThat(getValue(interval, "histogram.foo.mean")).isEqualTo(5.0);
+		assertThat(getValue(this.reader.findAll(), "histogram.foo.count"))
+				.isEqualTo(0L);
+	}
+
+	@Test
+	public void readsWithinAnIntervalReportTheSameValues() {
+		this.histograms.record("histogram.foo", 5);
+		assertThat(getValue(this.reader.findAll(), "histogram.foo.count"))
+				.isEqualTo(1L);
+		this.histograms.record("histogram.foo", 7);
+		assertThat(getValue(this.reader.findAll(), "histogram.foo.count"))
+				.isEqualTo(1L);
+		assertThat(this.reader.findOne("histogram.foo.max").getValue()).isEqualTo(5L);
+	}
+
+	@Test
+	public void findOneNonExistent() {
+		assertThat(this.reader.findOne("histogram.foo.p99")).isNull();
+		assertThat(this.reader.findOne("histogram.foo")).isNull();
+	}
+
+	@Test
+	public void findAllWithPrefix() {
+		this.histograms.record("histogram.foo", 5);
+		this.histograms.record("histogram.bar", 5);
+		assertThat(this.reader.findAll("histogram.foo")).hasSize(7);
+	}
+
+	private Object getValue(Iterable<Metric<?>> metrics, String name) {
+		for (Metric<?> metric : metrics) {
+			if (metric.getName().equals(name)) {
+				return metric.getValue();
+			}
+		}
+		throw new IllegalStateException("No metric named " + name);
+	}
+
+}
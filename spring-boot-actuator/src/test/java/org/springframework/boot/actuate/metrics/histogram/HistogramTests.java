@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.histogram;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Tests for {@link Histogram}.
+ *
+ * @author Agent Local
+ */
+public class HistogramTests {
+
+	private final Histogram histogram = new Histogram();
+
+	@Test
+	public void emptySnapshot() {
+		HistogramSnapshot snapshot = this.histogram.snapshot();
+		assertThat(snapshot.getCount()).isEqualTo(0);
+		assertThat(snapshot.getMin()).isEqualTo(0);
+		assertThat(snapshot.getMax()).isEqualTo(0);
+		assertThat(snapshot.getMean()).isEqualTo(0.0);
+		assertThat(snapshot.getValueAtPercentile(99)).isEqualTo(0);
+	}
+
+	@Test
+	public void smallValuesAreExact() {
+		for (int i = 1; i <= 10; i++) {
+			this.histogram.record(i);
+		}
+		HistogramSnapshot snapshot = this.histogram.snapshot();
+		assertThat(snapshot.getCount()).isEqualTo(10);
+		assertThat(snapshot.getMin()).isEqualTo(1);
+		assertThat(snapshot.getMax()).isEqualTo(10);
+		assertThat(snapshot.getMean()).isEqualTo(5.5);
+		assertThat(snapshot.getValueAtPercentile(50)).isEqualTo(5);
+		assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(10);
+	}
+
+	@Test
+	public void percentilesWithinPrecision() {
+		for (int i = 1; i <= 10000; i++) {
+			this.histogram.record(i);
+		}
+		HistogramSnapshot snapshot = this.histogram.snapshot();
+		assertThat(snapshot.getValueAtPercentile(50)).isCloseTo(5000L, within(350L));
+		assertThat(snapshot.getValueAtPercentile(99)).isCloseTo(9900L, within(650L));
+		assertThat(snapshot.getValueAtPercentile(100)).isEqualTo(10000);
+	}
+
+	@Test
+	public void negativeValuesRecordedAsZero() {
+		this.histogram.record(-5);
+		assertThat(this.histogram.snapshot().getMax()).isEqualTo(0);
+		assertThat(this.histogram.snapshot().getCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void largeValues() {
+		this.histogram.record(Long.MAX_VALUE);
+		assertThat(this.histogram.snapshot().getValueAtPercentile(50))
+				.isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	public void bucketBoundaries() {
+		for (long value : new long[] { 0, 15, 16, 17, 31, 32, 33, 1000, 1L << 40 }) {
+			int index = Histogram.indexOf(value);
+			assertThat(Histogram.lowestValueAt(index)).isLessThanOrEqualTo(value);
+			assertThat(Histogram.highestValueAt(index)).isGreaterThanOrEqualTo(value);
+		}
+	}
+
+	@Test
+	public void intervalSnapshot() {
+		this.histogram.record(10);
+		this.histogram.record(20);
+		assertThat(this.histogram.intervalSnapshot().getCount()).isEqualTo(2);
+		this.histogram.record(100);
+		HistogramSnapshot interval = this.histogram.intervalSnapshot();
+		assertThat(interval.getCount()).isEqualTo(1);
+		assertThat(interval.getSum()).isEqualTo(100);
+		assertThat(interval.getValueAtPercentile(50)).isEqualTo(Histogram
+				.highestValueAt(Histogram.indexOf(100)));
+		assertThat(this.histogram.intervalSnapshot().getCount()).isEqualTo(0);
+		assertThat(this.histogram.snapshot().getCount()).isEqualTo(3);
+	}
+
+}
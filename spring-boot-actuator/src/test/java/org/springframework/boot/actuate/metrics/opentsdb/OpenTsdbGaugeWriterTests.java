@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2015 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,21 +16,35 @@
 
 package org.springframework.boot.actuate.metrics.opentsdb;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestOperations;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -50,6 +64,11 @@ public class OpenTsdbGaugeWriterTests {
 		this.writer.setRestTemplate(this.restTemplate);
 	}
 
+	@After
+	public void close() {
+		this.writer.close();
+	}
+
 	@Test
 	public void postSuccessfullyOnFlush() {
 		this.writer.set(new Metric<Double>("foo", 2.4));
@@ -68,6 +87,92 @@ public class OpenTsdbGaugeWriterTests {
 		verify(this.restTemplate).postForEntity(anyString(), any(Object.class), anyMap());
 	}
 
+	@Test
+	public void postCompressed() throws Exception {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setCompressed(true);
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.flush();
+		ArgumentCaptor<HttpEntity> entity = ArgumentCaptor.forClass(HttpEntity.class);
+		verify(this.restTemplate).postForEntity(anyString(), entity.capture(), anyMap());
+		assertThat(entity.getValue().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))
+				.isEqualTo("gzip");
+		String json = StreamUtils.copyToString(
+				new GZIPInputStream(
+						new ByteArrayInputStream((byte[]) entity.getValue().getBody())),
+				Charset.forName("UTF-8"));
+		assertThat(json).startsWith("[{").contains("\"metric\":\"foo\"");
+		assertThat(this.writer.getSentCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void postAsynchronously() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setAsync(true);
+		this.writer.setBufferSize(2);
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.set(new Metric<Double>("bar", 2.4));
+		verify(this.restTemplate, timeout(5000)).postForEntity(anyString(),
+				any(Object.class), anyMap());
+		this.writer.close();
+		assertThat(this.writer.getSentCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void postRemainingDataOnClose() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setAsync(true);
+		this.writer.setFlushInterval(60000);
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.close();
+		assertThat(this.writer.getSentCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void dropDataSetAfterClose() {
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willReturn(emptyResponse());
+		this.writer.setAsync(true);
+		this.writer.set(new Metric<Double>("foo", 2.4));
+		this.writer.close();
+		this.writer.set(new Metric<Double>("bar", 2.4));
+		this.writer.close();
+		assertThat(this.writer.getSentCount()).isEqualTo(1);
+		assertThat(this.writer.getDroppedCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void dropOldestWhenQueueIsFull() throws Exception {
+		final CountDownLatch posting = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		given(this.restTemplate.postForEntity(anyString(), any(Object.class), anyMap()))
+				.willAnswer(new Answer<Object>() {
+
+					@Override
+					public Object answer(InvocationOnMock invocation) throws Throwable {
+						posting.countDown();
+						release.await(5, TimeUnit.SECONDS);
+						return emptyResponse();
+					}
+
+				});
+		this.writer.setAsync(true);
+		this.writer.setBufferSize(1);
+		this.writer.setQueueCapacity(2);
+		this.writer.set(new Metric<Double>("foo", 1.0));
+		assertThat(posting.await(5, TimeUnit.SECONDS)).isTrue();
+		for (int i = 0; i < 5; i++) {
+			this.writer.set(new Metric<Double>("foo", 2.0 + i));
+		}
+		assertThat(this.writer.getDroppedCount()).isEqualTo(3);
+		release.countDown();
+		this.writer.close();
+		assertThat(this.writer.getSentCount()).isEqualTo(3);
+	}
+
 	@SuppressWarnings("rawtypes")
 	private ResponseEntity<Map> emptyResponse() {
 		return new ResponseEntity<Map>(Collections.emptyMap(), HttpStatus.OK);
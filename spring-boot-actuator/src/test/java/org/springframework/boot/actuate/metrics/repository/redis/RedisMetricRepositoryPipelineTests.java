@@ -0,0 +1,100 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.repository.redis;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.boot.actuate.metrics.writer.Delta;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for pipelining in {@link RedisMetricRepository} and
+ * {@link RedisMultiMetricRepository} against a stand-in connection.
+ *
+ * @author Agent Local
+ */
+public class RedisMetricRepositoryPipelineTests {
+
+	private final RedisConnectionFactory connectionFactory = mock(
+			RedisConnectionFactory.class);
+
+	private final RedisConnection connection = mock(RedisConnection.class);
+
+	@Before
+	public void init() {
+		given(this.connectionFactory.getConnection()).willReturn(this.connection);
+	}
+
+	@Test
+	public void writesSentInSinglePipeline() {
+		RedisMetricRepository repository = new RedisMetricRepository(
+				this.connectionFactory);
+		repository.setBufferSize(100);
+		repository.set(new Metric<Number>("foo", 12.3));
+		repository.increment(new Delta<Long>("bar", 3L));
+		repository.set(new Metric<Number>("spam", 1.3));
+		verify(this.connection, never()).openPipeline();
+		repository.flush();
+		verify(this.connection, times(1)).openPipeline();
+		verify(this.connection, times(2)).zAdd(any(byte[].class), anyDouble(),
+				any(byte[].class));
+		verify(this.connection, times(1)).zIncrBy(any(byte[].class), anyDouble(),
+				any(byte[].class));
+		verify(this.connection, times(3)).set(any(byte[].class), any(byte[].class));
+		verify(this.connection, times(1)).closePipeline();
+	}
+
+	@Test
+	public void writesSentWhenBufferIsFull() {
+		RedisMetricRepository repository = new RedisMetricRepository(
+				this.connectionFactory);
+		repository.setBufferSize(2);
+		repository.set(new Metric<Number>("foo", 12.3));
+		verify(this.connection, never()).openPipeline();
+		repository.set(new Metric<Number>("bar", 1.3));
+		verify(this.connection, times(1)).openPipeline();
+	}
+
+	@Test
+	public void groupWritesSentInSinglePipeline() {
+		RedisMultiMetricRepository repository = new RedisMultiMetricRepository(
+				this.connectionFactory);
+		repository.set("foo", Arrays.<Metric<?>>asList(new Metric<Number>("foo.bar", 1),
+				new Metric<Number>("foo.spam", 2), new Metric<Number>("foo.baz", 3)));
+		verify(this.connection, times(1)).openPipeline();
+		// Group membership is tracked once per pipeline
+		verify(this.connection, times(1)).zIncrBy(any(byte[].class), anyDouble(),
+				any(byte[].class));
+		verify(this.connection, times(3)).zAdd(any(byte[].class), anyDouble(),
+				any(byte[].class));
+		verify(this.connection, times(3)).set(any(byte[].class), any(byte[].class));
+	}
+
+}
@@ -105,4 +105,26 @@ public class RedisMetricRepositoryTests {
 		assertThat(this.repository.count()).isEqualTo(2);
 	}
 
+	@Test
+	public void bufferedWritesSentOnFlush() {
+		StringRedisTemplate template = new StringRedisTemplate(
+				this.redis.getConnectionFactory());
+		this.repository.setBufferSize(10);
+		this.repository.set(new Metric<Number>("foo", 12.3));
+		this.repository.increment(new Delta<Long>("foo", 3L));
+		assertThat(template.opsForValue().get(this.prefix + ".foo")).isNull();
+		this.repository.flush();
+		assertThat(template.opsForValue().get(this.prefix + ".foo")).isNotNull();
+		assertThat(this.repository.findOne("foo").getValue().doubleValue())
+				.isEqualTo(15.3, offset(0.01));
+	}
+
+	@Test
+	public void bufferedWritesSentBeforeRead() {
+		this.repository.setBufferSize(10);
+		this.repository.increment(new Delta<Long>("foo", 3L));
+		this.repository.set(new Metric<Number>("bar", 12.3));
+		assertThat(Iterables.collection(this.repository.findAll())).hasSize(2);
+	}
+
 }
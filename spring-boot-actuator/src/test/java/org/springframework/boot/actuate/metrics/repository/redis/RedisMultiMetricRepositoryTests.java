@@ -143,4 +143,18 @@ public class RedisMultiMetricRepositoryTests {
 		assertThat(bar.getValue()).isEqualTo(3d);
 	}
 
+	@Test
+	public void bufferedIncrementsSentOnFlush() {
+		StringRedisTemplate template = new StringRedisTemplate(
+				this.redis.getConnectionFactory());
+		this.repository.setBufferSize(10);
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 1));
+		this.repository.increment("foo", new Delta<Number>("foo.bar", 2));
+		assertThat(template.opsForValue().get(this.prefix + ".foo.bar")).isNull();
+		this.repository.flush();
+		assertThat(template.opsForValue().get(this.prefix + ".foo.bar")).isNotNull();
+		assertThat(Iterables.collection(this.repository.findAll("foo")).iterator().next()
+				.getValue()).isEqualTo(3d);
+	}
+
 }
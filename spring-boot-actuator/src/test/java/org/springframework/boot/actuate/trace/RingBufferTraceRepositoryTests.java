@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RingBufferTraceRepository}.
+ *
+ * @author Agent Local
+ */
+public class RingBufferTraceRepositoryTests {
+
+	@Test
+	public void capacityLimited() {
+		RingBufferTraceRepository repository = new RingBufferTraceRepository(2);
+		repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void reverseFalse() {
+		RingBufferTraceRepository repository = new RingBufferTraceRepository(2);
+		repository.setReverse(false);
+		repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "foo"));
+		repository.add(Collections.<String, Object>singletonMap("bar", "bar"));
+		List<Trace> traces = repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(1).getInfo().get("bar")).isEqualTo("bar");
+		assertThat(traces.get(0).getInfo().get("bar")).isEqualTo("foo");
+	}
+
+	@Test
+	public void emptyRepository() {
+		assertThat(new RingBufferTraceRepository().findAll()).isEmpty();
+	}
+
+	@Test
+	public void concurrentAddsAreBoundedByCapacity() throws Exception {
+		final RingBufferTraceRepository repository = new RingBufferTraceRepository(10);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		final CountDownLatch latch = new CountDownLatch(1000);
+		for (int i = 0; i < 1000; i++) {
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					repository.add(Collections.<String, Object>singletonMap("foo", "bar"));
+					latch.countDown();
+				}
+
+			});
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		assertThat(repository.findAll()).hasSize(10);
+	}
+
+}
@@ -23,8 +23,13 @@ import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.Aware;
 import org.springframework.beans.factory.BeanClassLoaderAware;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
@@ -34,6 +39,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionEvaluationRepor
 import org.springframework.boot.bind.PropertySourcesPropertyValues;
 import org.springframework.boot.bind.RelaxedDataBinder;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.startup.StartupRecorder;
+import org.springframework.boot.startup.StartupStep;
 import org.springframework.context.EnvironmentAware;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.annotation.DeferredImportSelector;
@@ -66,6 +73,9 @@ public class EnableAutoConfigurationImportSelector
 
 	private static final String[] NO_IMPORTS = {};
 
+	private static final Log logger = LogFactory
+			.getLog(EnableAutoConfigurationImportSelector.class);
+
 	private ConfigurableListableBeanFactory beanFactory;
 
 	private Environment environment;
@@ -79,20 +89,30 @@ public class EnableAutoConfigurationImportSelector
 		if (!isEnabled(metadata)) {
 			return NO_IMPORTS;
 		}
+		StartupStep step = getStartupRecorder()
+				.start("spring.boot.autoconfigure.select-imports");
 		try {
+			AutoConfigurationMetadata autoConfigurationMetadata = AutoConfigurationMetadataLoader
+					.loadMetadata(this.beanClassLoader);
 			AnnotationAttributes attributes = getAttributes(metadata);
 			List<String> configurations = getCandidateConfigurations(metadata,
 					attributes);
 			configurations = removeDuplicates(configurations);
+			step.tag("candidates", configurations.size());
 			Set<String> exclusions = getExclusions(metadata, attributes);
 			configurations.removeAll(exclusions);
-			configurations = sort(configurations);
+			configurations = filter(configurations, autoConfigurationMetadata);
+			configurations = sort(configurations, autoConfigurationMetadata);
 			recordWithConditionEvaluationReport(configurations, exclusions);
+			step.tag("imports", configurations.size());
 			return configurations.toArray(new String[configurations.size()]);
 		}
 		catch (IOException ex) {
 			throw new IllegalStateException(ex);
 		}
+		finally {
+			step.end();
+		}
 	}
 
 	protected boolean isEnabled(AnnotationMetadata metadata) {
@@ -188,12 +208,95 @@ public class EnableAutoConfigurationImportSelector
 		return (Arrays.asList(exclude == null ? new String[0] : exclude));
 	}
 
-	private List<String> sort(List<String> configurations) throws IOException {
-		configurations = new AutoConfigurationSorter(getMetadataReaderFactory())
-				.getInPriorityOrder(configurations);
+	private List<String> sort(List<String> configurations,
+			AutoConfigurationMetadata autoConfigurationMetadata) throws IOException {
+		configurations = new AutoConfigurationSorter(getMetadataReaderFactory(),
+				autoConfigurationMetadata).getInPriorityOrder(configurations);
 		return configurations;
 	}
 
+	private List<String> filter(List<String> configurations,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		long startTime = System.nanoTime();
+		String[] candidates = configurations.toArray(new String[configurations.size()]);
+		boolean[] skip = new boolean[candidates.length];
+		boolean skipped = false;
+		StartupRecorder startupRecorder = getStartupRecorder();
+		for (AutoConfigurationImportFilter filter : getAutoConfigurationImportFilters()) {
+			StartupStep step = startupRecorder
+					.start("spring.boot.autoconfigure.import-filter")
+					.tag("filter", filter.getClass().getName());
+			try {
+				invokeAwareMethods(filter);
+				boolean[] match = filter.match(candidates, autoConfigurationMetadata);
+				for (int i = 0; i < match.length; i++) {
+					if (!match[i]) {
+						skip[i] = true;
+						skipped = true;
+					}
+				}
+			}
+			finally {
+				step.end();
+			}
+		}
+		if (!skipped) {
+			return configurations;
+		}
+		List<String> result = new ArrayList<String>(candidates.length);
+		for (int i = 0; i < candidates.length; i++) {
+			if (!skip[i]) {
+				result.add(candidates[i]);
+			}
+		}
+		if (logger.isTraceEnabled()) {
+			int numberFiltered = configurations.size() - result.size();
+			logger.trace("Filtered " + numberFiltered + " auto configuration classes in "
+					+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
+					+ " ms");
+		}
+		return result;
+	}
+
+	private StartupRecorder getStartupRecorder() {
+		if (this.beanFactory != null
+				&& this.beanFactory.containsSingleton(StartupRecorder.BEAN_NAME)) {
+			return this.beanFactory.getBean(StartupRecorder.BEAN_NAME,
+					StartupRecorder.class);
+		}
+		return StartupRecorder.NONE;
+	}
+
+	/**
+	 * Return the {@link AutoConfigurationImportFilter filters} that should be applied to
+	 * the candidate configurations before their bytecode is read. By default this
+	 * method will load filters using {@link SpringFactoriesLoader}.
+	 * @return the import filters
+	 * @since 2.0.0
+	 */
+	protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+		return SpringFactoriesLoader.loadFactories(AutoConfigurationImportFilter.class,
+				this.beanClassLoader);
+	}
+
+	private void invokeAwareMethods(Object instance) {
+		if (instance instanceof Aware) {
+			if (instance instanceof BeanClassLoaderAware) {
+				((BeanClassLoaderAware) instance)
+						.setBeanClassLoader(this.beanClassLoader);
+			}
+			if (instance instanceof BeanFactoryAware) {
+				((BeanFactoryAware) instance).setBeanFactory(this.beanFactory);
+			}
+			if (instance instanceof EnvironmentAware) {
+				((EnvironmentAware) instance).setEnvironment(this.environment);
+			}
+			if (instance instanceof ResourceLoaderAware) {
+				((ResourceLoaderAware) instance).setResourceLoader(this.resourceLoader);
+			}
+		}
+	}
+
 	private MetadataReaderFactory getMetadataReaderFactory() {
 		try {
 			return getBeanFactory().getBean(
@@ -255,7 +255,9 @@ abstract class BeanTypeRegistry {
 
 	/**
 	 * {@link BeanTypeRegistry} optimized for {@link DefaultListableBeanFactory}
-	 * implementations that allow eager class loading.
+	 * implementations that allow eager class loading. Bean names are indexed by every
+	 * type that their bean type is assignable to as they are discovered so that a lookup
+	 * does not need to check every bean.
 	 */
 	static class OptimizedBeanTypeRegistry extends BeanTypeRegistry
 			implements SmartInitializingSingleton {
@@ -266,6 +268,10 @@ abstract class BeanTypeRegistry {
 
 		private final Map<String, Class<?>> beanTypes = new HashMap<String, Class<?>>();
 
+		private final Map<Class<?>, Set<String>> namesByType = new HashMap<Class<?>, Set<String>>();
+
+		private final Map<Class<?>, Set<Class<?>>> assignableTypes = new HashMap<Class<?>, Set<Class<?>>>();
+
 		private int lastBeanDefinitionCount = 0;
 
 		OptimizedBeanTypeRegistry(DefaultListableBeanFactory beanFactory) {
@@ -276,6 +282,8 @@ abstract class BeanTypeRegistry {
 		public void afterSingletonsInstantiated() {
 			// We're done at this point, free up some memory
 			this.beanTypes.clear();
+			this.namesByType.clear();
+			this.assignableTypes.clear();
 			this.lastBeanDefinitionCount = 0;
 		}
 
@@ -292,6 +300,16 @@ abstract class BeanTypeRegistry {
 				}
 				this.lastBeanDefinitionCount = this.beanFactory.getBeanDefinitionCount();
 			}
+			if (type.isArray()) {
+				return getNamesForArrayType(type);
+			}
+			Set<String> names = this.namesByType.get(type);
+			return (names != null ? new LinkedHashSet<String>(names)
+					: new LinkedHashSet<String>());
+		}
+
+		private Set<String> getNamesForArrayType(Class<?> type) {
+			// Arrays are covariant so they are not indexed by their assignable types
 			Set<String> matches = new LinkedHashSet<String>();
 			for (Map.Entry<String, Class<?>> entry : this.beanTypes.entrySet()) {
 				if (entry.getValue() != null && type.isAssignableFrom(entry.getValue())) {
@@ -301,9 +319,46 @@ abstract class BeanTypeRegistry {
 			return matches;
 		}
 
+		private void putBeanType(String name, Class<?> type) {
+			this.beanTypes.put(name, type);
+			if (type != null) {
+				for (Class<?> assignableType : getAssignableTypes(type)) {
+					Set<String> names = this.namesByType.get(assignableType);
+					if (names == null) {
+						names = new LinkedHashSet<String>();
+						this.namesByType.put(assignableType, names);
+					}
+					names.add(name);
+				}
+			}
+		}
+
+		private Set<Class<?>> getAssignableTypes(Class<?> type) {
+			Set<Class<?>> assignableTypes = this.assignableTypes.get(type);
+			if (assignableTypes == null) {
+				assignableTypes = new LinkedHashSet<Class<?>>();
+				for (Class<?> candidate = type; candidate != null; candidate = candidate
+						.getSuperclass()) {
+					assignableTypes.add(candidate);
+					addInterfaces(candidate, assignableTypes);
+				}
+				assignableTypes.add(Object.class);
+				this.assignableTypes.put(type, assignableTypes);
+			}
+			return assignableTypes;
+		}
+
+		private void addInterfaces(Class<?> type, Set<Class<?>> assignableTypes) {
+			for (Class<?> candidate : type.getInterfaces()) {
+				if (assignableTypes.add(candidate)) {
+					addInterfaces(candidate, assignableTypes);
+				}
+			}
+		}
+
 		private void addBeanType(String name) {
 			if (this.beanFactory.containsSingleton(name)) {
-				this.beanTypes.put(name, this.beanFactory.getType(name));
+				putBeanType(name, this.beanFactory.getType(name));
 			}
 			else if (!this.beanFactory.isAlias(name)) {
 				addBeanTypeForNonAliasDefinition(name);
@@ -320,12 +375,11 @@ abstract class BeanTypeRegistry {
 					if (this.beanFactory.isFactoryBean(factoryName)) {
 						Class<?> factoryBeanGeneric = getFactoryBeanGeneric(
 								this.beanFactory, beanDefinition, name);
-						this.beanTypes.put(name, factoryBeanGeneric);
-						this.beanTypes.put(factoryName,
-								this.beanFactory.getType(factoryName));
+						putBeanType(name, factoryBeanGeneric);
+						putBeanType(factoryName, this.beanFactory.getType(factoryName));
 					}
 					else {
-						this.beanTypes.put(name, this.beanFactory.getType(name));
+						putBeanType(name, this.beanFactory.getType(name));
 					}
 				}
 			}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.Charset;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * Fingerprint of the classes that can be loaded by a {@link ClassLoader}, derived from
+ * the Java version and from the size and modification time of every class path entry.
+ * Directories are walked so that adding, removing or changing a class is detected.
+ *
+ * @author Agent Local
+ */
+final class ClassPathFingerprint {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private ClassPathFingerprint() {
+	}
+
+	/**
+	 * Return the fingerprint of the class path of the given class loader.
+	 * @param classLoader the class loader (may be {@code null})
+	 * @return the fingerprint
+	 */
+	static String get(ClassLoader classLoader) {
+		StringBuilder identity = new StringBuilder();
+		identity.append(System.getProperty("java.version")).append('\n');
+		for (String entry : getEntries(classLoader)) {
+			identity.append(entry).append('=').append(describe(getFile(entry)))
+					.append('\n');
+		}
+		return DigestUtils.md5DigestAsHex(identity.toString().getBytes(UTF_8));
+	}
+
+	private static Set<String> getEntries(ClassLoader classLoader) {
+		Set<String> entries = new LinkedHashSet<String>();
+		for (ClassLoader candidate = classLoader; candidate != null; candidate = candidate
+				.getParent()) {
+			if (candidate instanceof URLClassLoader) {
+				for (URL url : ((URLClassLoader) candidate).getURLs()) {
+					entries.add(url.toString());
+				}
+			}
+		}
+		for (String path : StringUtils.tokenizeToStringArray(
+				System.getProperty("java.class.path"), File.pathSeparator)) {
+			entries.add(path);
+		}
+		return entries;
+	}
+
+	private static File getFile(String entry) {
+		try {
+			if (entry.startsWith(ResourceUtils.JAR_URL_PREFIX)) {
+				return ResourceUtils
+						.getFile(ResourceUtils.extractArchiveURL(new URL(entry)));
+			}
+			if (entry.startsWith(ResourceUtils.FILE_URL_PREFIX)) {
+				return ResourceUtils.getFile(new URL(entry));
+			}
+			return new File(entry);
+		}
+		catch (Exception ex) {
+			return null;
+		}
+	}
+
+	private static String describe(File file) {
+		if (file == null || !file.exists()) {
+			return "none";
+		}
+		if (file.isDirectory()) {
+			long[] summary = new long[2];
+			summarize(file, summary);
+			return "directory:" + summary[0] + ":" + summary[1];
+		}
+		return "file:" + file.length() + ":" + file.lastModified();
+	}
+
+	private static void summarize(File directory, long[] summary) {
+		File[] files = directory.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				summary[0]++;
+				summary[1] = Math.max(summary[1], file.lastModified());
+				if (file.isDirectory()) {
+					summarize(file, summary);
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.env.Environment;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Opt-in cache of the outcomes of class presence conditions that is persisted between
+ * runs of an application. Such outcomes only depend on the classes that are available
+ * so they are stored alongside a fingerprint of the class path and are discarded as
+ * soon as the fingerprint no longer matches. Conditions that depend on beans or on the
+ * environment are always evaluated.
+ * <p>
+ * The cache is enabled by setting {@value #LOCATION_PROPERTY} to the directory in which
+ * the outcomes should be stored. They are written once the application context has
+ * been refreshed.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public final class ConditionOutcomeCache
+		implements ApplicationListener<ContextRefreshedEvent> {
+
+	/**
+	 * The name of the property that holds the directory in which the cache is stored.
+	 */
+	public static final String LOCATION_PROPERTY = "spring.autoconfigure.condition-cache-location";
+
+	static final String FILE_NAME = "condition-outcomes.properties";
+
+	private static final String BEAN_NAME = "autoConfigurationConditionOutcomeCache";
+
+	private static final String FINGERPRINT_KEY = "fingerprint";
+
+	private static final String MATCH = "match:";
+
+	private static final String NO_MATCH = "no-match:";
+
+	private static final Log logger = LogFactory.getLog(ConditionOutcomeCache.class);
+
+	private final File file;
+
+	private final String fingerprint;
+
+	private final Map<String, ConditionOutcome> outcomes = new ConcurrentHashMap<String, ConditionOutcome>();
+
+	private volatile boolean modified;
+
+	ConditionOutcomeCache(File file, ClassLoader classLoader) {
+		Assert.notNull(file, "File must not be null");
+		this.file = file;
+		this.fingerprint = ClassPathFingerprint.get(classLoader);
+		load();
+	}
+
+	private void load() {
+		if (!this.file.exists()) {
+			return;
+		}
+		Properties properties = new Properties();
+		try {
+			InputStream inputStream = new FileInputStream(this.file);
+			try {
+				properties.load(inputStream);
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to read condition outcome cache " + this.file, ex);
+			return;
+		}
+		if (!this.fingerprint.equals(properties.getProperty(FINGERPRINT_KEY))) {
+			logger.debug("Ignoring condition outcome cache " + this.file
+					+ " as the class path has changed");
+			this.modified = true;
+			return;
+		}
+		for (String key : properties.stringPropertyNames()) {
+			ConditionOutcome outcome = decode(properties.getProperty(key));
+			if (outcome != null) {
+				this.outcomes.put(key, outcome);
+			}
+		}
+	}
+
+	/**
+	 * Return the cached outcome for the given key.
+	 * @param key the key identifying the condition
+	 * @return the cached outcome or {@code null}
+	 */
+	public ConditionOutcome get(String key) {
+		return this.outcomes.get(key);
+	}
+
+	/**
+	 * Cache the outcome for the given key.
+	 * @param key the key identifying the condition. Only the classes that the outcome
+	 * depends on should contribute to the key.
+	 * @param outcome the outcome
+	 */
+	public void put(String key, ConditionOutcome outcome) {
+		Assert.notNull(key, "Key must not be null");
+		Assert.notNull(outcome, "Outcome must not be null");
+		if (!outcome.equals(this.outcomes.put(key, outcome))) {
+			this.modified = true;
+		}
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		save();
+	}
+
+	/**
+	 * Write any new outcomes to disk. Failures are logged and otherwise ignored.
+	 */
+	public void save() {
+		if (!this.modified) {
+			return;
+		}
+		this.modified = false;
+		try {
+			write();
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to write condition outcome cache " + this.file, ex);
+		}
+	}
+
+	private void write() throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty(FINGERPRINT_KEY, this.fingerprint);
+		for (Map.Entry<String, ConditionOutcome> entry : this.outcomes.entrySet()) {
+			properties.setProperty(entry.getKey(), encode(entry.getValue()));
+		}
+		File directory = this.file.getAbsoluteFile().getParentFile();
+		directory.mkdirs();
+		File temp = File.createTempFile(FILE_NAME, ".tmp", directory);
+		try {
+			OutputStream outputStream = new FileOutputStream(temp);
+			try {
+				properties.store(outputStream, "Spring Boot condition outcomes");
+			}
+			finally {
+				outputStream.close();
+			}
+			if (!temp.renameTo(this.file)) {
+				// Another process may have written the cache in the meantime
+				this.file.delete();
+				if (!temp.renameTo(this.file)) {
+					throw new IOException("Unable to rename " + temp + " to " + this.file);
+				}
+			}
+		}
+		finally {
+			temp.delete();
+		}
+	}
+
+	private String encode(ConditionOutcome outcome) {
+		String message = outcome.getMessage();
+		return (outcome.isMatch() ? MATCH : NO_MATCH) + (message == null ? "" : message);
+	}
+
+	private ConditionOutcome decode(String value) {
+		if (value.startsWith(MATCH)) {
+			return new ConditionOutcome(true, value.substring(MATCH.length()));
+		}
+		if (value.startsWith(NO_MATCH)) {
+			return new ConditionOutcome(false, value.substring(NO_MATCH.length()));
+		}
+		return null;
+	}
+
+	/**
+	 * Obtain the {@link ConditionOutcomeCache} for the specified bean factory, creating
+	 * it if {@value #LOCATION_PROPERTY} is set.
+	 * @param beanFactory the bean factory
+	 * @param environment the environment (may be {@code null})
+	 * @return the cache or {@code null} if caching is disabled
+	 */
+	public static ConditionOutcomeCache get(ConfigurableListableBeanFactory beanFactory,
+			Environment environment) {
+		synchronized (beanFactory) {
+			if (beanFactory.containsSingleton(BEAN_NAME)) {
+				return beanFactory.getBean(BEAN_NAME, ConditionOutcomeCache.class);
+			}
+			String location = (environment == null ? null
+					: environment.getProperty(LOCATION_PROPERTY));
+			if (!StringUtils.hasText(location)) {
+				return null;
+			}
+			ConditionOutcomeCache cache = new ConditionOutcomeCache(
+					new File(location, FILE_NAME), beanFactory.getBeanClassLoader());
+			beanFactory.registerSingleton(BEAN_NAME, cache);
+			return cache;
+		}
+	}
+
+}
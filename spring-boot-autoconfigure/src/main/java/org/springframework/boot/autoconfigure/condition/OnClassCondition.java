@@ -20,32 +20,150 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
 import org.springframework.boot.autoconfigure.condition.ConditionMessage.Style;
+import org.springframework.boot.type.ClassPresenceCache;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.AnnotatedTypeMetadata;
-import org.springframework.util.ClassUtils;
 import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
 
 /**
- * {@link Condition} that checks for the presence or absence of specific classes.
+ * {@link Condition} and {@link AutoConfigurationImportFilter} that checks for the
+ * presence or absence of specific classes.
  *
  * @author Phillip Webb
  * @see ConditionalOnClass
  * @see ConditionalOnMissingClass
  */
 @Order(Ordered.HIGHEST_PRECEDENCE)
-class OnClassCondition extends SpringBootCondition {
+class OnClassCondition extends SpringBootCondition implements
+		AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware,
+		EnvironmentAware {
+
+	private BeanFactory beanFactory;
+
+	private ClassLoader beanClassLoader;
+
+	private Environment environment;
+
+	@Override
+	public boolean[] match(String[] autoConfigurationClasses,
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		ConditionEvaluationReport report = getConditionEvaluationReport();
+		ConditionOutcomeCache cache = getConditionOutcomeCache(this.beanFactory,
+				this.environment);
+		boolean[] match = new boolean[autoConfigurationClasses.length];
+		for (int i = 0; i < autoConfigurationClasses.length; i++) {
+			String autoConfigurationClass = autoConfigurationClasses[i];
+			ConditionOutcome outcome = (autoConfigurationClass != null
+					? getOutcome(autoConfigurationClass, autoConfigurationMetadata,
+							cache)
+					: null);
+			match[i] = (outcome == null || outcome.isMatch());
+			if (!match[i]) {
+				logOutcome(autoConfigurationClass, outcome);
+				if (report != null) {
+					report.recordConditionEvaluation(autoConfigurationClass, this,
+							outcome);
+				}
+			}
+		}
+		return match;
+	}
+
+	private ConditionEvaluationReport getConditionEvaluationReport() {
+		if (this.beanFactory instanceof ConfigurableListableBeanFactory) {
+			return ConditionEvaluationReport
+					.get((ConfigurableListableBeanFactory) this.beanFactory);
+		}
+		return null;
+	}
+
+	private ConditionOutcomeCache getConditionOutcomeCache(BeanFactory beanFactory,
+			Environment environment) {
+		if (beanFactory instanceof ConfigurableListableBeanFactory) {
+			return ConditionOutcomeCache.get(
+					(ConfigurableListableBeanFactory) beanFactory, environment);
+		}
+		return null;
+	}
+
+	private ConditionOutcome getOutcome(String autoConfigurationClass,
+			AutoConfigurationMetadata autoConfigurationMetadata,
+			ConditionOutcomeCache cache) {
+		Set<String> candidates = autoConfigurationMetadata
+				.getSet(autoConfigurationClass, "ConditionalOnClass");
+		if (candidates == null) {
+			return null;
+		}
+		if (cache == null) {
+			return getOutcome(candidates);
+		}
+		String key = "filter:" + StringUtils.collectionToCommaDelimitedString(candidates);
+		ConditionOutcome outcome = cache.get(key);
+		if (outcome == null) {
+			outcome = getOutcome(candidates);
+			cache.put(key, (outcome != null ? outcome : ConditionOutcome.match()));
+		}
+		return (outcome != null && !outcome.isMatch() ? outcome : null);
+	}
+
+	private ConditionOutcome getOutcome(Set<String> candidates) {
+		List<String> missing = new LinkedList<String>();
+		for (String candidate : candidates) {
+			if (!ClassPresenceCache.isPresent(candidate, this.beanClassLoader)) {
+				missing.add(candidate);
+			}
+		}
+		if (!missing.isEmpty()) {
+			return ConditionOutcome
+					.noMatch(ConditionMessage.forCondition(ConditionalOnClass.class)
+							.didNotFind("required class", "required classes")
+							.items(Style.QUOTE, missing));
+		}
+		return null;
+	}
 
 	@Override
 	public ConditionOutcome getMatchOutcome(ConditionContext context,
 			AnnotatedTypeMetadata metadata) {
-		ConditionMessage matchMessage = ConditionMessage.empty();
 		MultiValueMap<String, Object> onClasses = getAttributes(metadata,
 				ConditionalOnClass.class);
+		MultiValueMap<String, Object> onMissingClasses = getAttributes(metadata,
+				ConditionalOnMissingClass.class);
+		ConditionOutcomeCache cache = getConditionOutcomeCache(context.getBeanFactory(),
+				context.getEnvironment());
+		if (cache == null) {
+			return getMatchOutcome(context, onClasses, onMissingClasses);
+		}
+		String key = "condition:" + getCandidates(onClasses) + ":"
+				+ getCandidates(onMissingClasses);
+		ConditionOutcome outcome = cache.get(key);
+		if (outcome == null) {
+			outcome = getMatchOutcome(context, onClasses, onMissingClasses);
+			cache.put(key, outcome);
+		}
+		return outcome;
+	}
+
+	private ConditionOutcome getMatchOutcome(ConditionContext context,
+			MultiValueMap<String, Object> onClasses,
+			MultiValueMap<String, Object> onMissingClasses) {
+		ConditionMessage matchMessage = ConditionMessage.empty();
 		if (onClasses != null) {
 			List<String> missing = getMatchingClasses(onClasses, MatchType.MISSING,
 					context);
@@ -59,8 +177,6 @@ class OnClassCondition extends SpringBootCondition {
 					.found("required class", "required classes").items(Style.QUOTE,
 							getMatchingClasses(onClasses, MatchType.PRESENT, context));
 		}
-		MultiValueMap<String, Object> onMissingClasses = getAttributes(metadata,
-				ConditionalOnMissingClass.class);
 		if (onMissingClasses != null) {
 			List<String> present = getMatchingClasses(onMissingClasses, MatchType.PRESENT,
 					context);
@@ -83,11 +199,18 @@ class OnClassCondition extends SpringBootCondition {
 		return metadata.getAllAnnotationAttributes(annotationType.getName(), true);
 	}
 
+	private List<String> getCandidates(MultiValueMap<String, Object> attributes) {
+		List<String> candidates = new LinkedList<String>();
+		if (attributes != null) {
+			addAll(candidates, attributes.get("value"));
+			addAll(candidates, attributes.get("name"));
+		}
+		return candidates;
+	}
+
 	private List<String> getMatchingClasses(MultiValueMap<String, Object> attributes,
 			MatchType matchType, ConditionContext context) {
-		List<String> matches = new LinkedList<String>();
-		addAll(matches, attributes.get("value"));
-		addAll(matches, attributes.get("name"));
+		List<String> matches = getCandidates(attributes);
 		Iterator<String> iterator = matches.iterator();
 		while (iterator.hasNext()) {
 			if (!matchType.matches(iterator.next(), context)) {
@@ -111,7 +234,7 @@ class OnClassCondition extends SpringBootCondition {
 
 			@Override
 			public boolean matches(String className, ConditionContext context) {
-				return ClassUtils.isPresent(className, context.getClassLoader());
+				return ClassPresenceCache.isPresent(className, context.getClassLoader());
 			}
 
 		},
@@ -120,7 +243,7 @@ class OnClassCondition extends SpringBootCondition {
 
 			@Override
 			public boolean matches(String className, ConditionContext context) {
-				return !ClassUtils.isPresent(className, context.getClassLoader());
+				return !ClassPresenceCache.isPresent(className, context.getClassLoader());
 			}
 
 		};
@@ -129,4 +252,19 @@ class OnClassCondition extends SpringBootCondition {
 
 	}
 
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		this.beanClassLoader = classLoader;
+	}
+
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
 }
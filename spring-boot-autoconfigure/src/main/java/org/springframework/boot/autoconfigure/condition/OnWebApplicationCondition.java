@@ -16,12 +16,12 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.core.type.AnnotatedTypeMetadata;
-import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.context.support.StandardServletEnvironment;
@@ -59,7 +59,7 @@ class OnWebApplicationCondition extends SpringBootCondition {
 			AnnotatedTypeMetadata metadata, boolean required) {
 		ConditionMessage.Builder message = ConditionMessage.forCondition(
 				ConditionalOnWebApplication.class, required ? "(required)" : "");
-		if (!ClassUtils.isPresent(WEB_CONTEXT_CLASS, context.getClassLoader())) {
+		if (!ClassPresenceCache.isPresent(WEB_CONTEXT_CLASS, context.getClassLoader())) {
 			return ConditionOutcome
 					.noMatch(message.didNotFind("web application classes").atAll());
 		}
@@ -18,9 +18,9 @@ package org.springframework.boot.autoconfigure.freemarker;
 
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.core.env.Environment;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.util.ClassUtils;
 
 /**
  * {@link TemplateAvailabilityProvider} that provides availability information for
@@ -35,7 +35,8 @@ public class FreeMarkerTemplateAvailabilityProvider
 	@Override
 	public boolean isTemplateAvailable(String view, Environment environment,
 			ClassLoader classLoader, ResourceLoader resourceLoader) {
-		if (ClassUtils.isPresent("freemarker.template.Configuration", classLoader)) {
+		if (ClassPresenceCache.isPresent("freemarker.template.Configuration",
+				classLoader)) {
 			RelaxedPropertyResolver resolver = new RelaxedPropertyResolver(environment,
 					"spring.freemarker.");
 			String loaderPath = resolver.getProperty("template-loader-path",
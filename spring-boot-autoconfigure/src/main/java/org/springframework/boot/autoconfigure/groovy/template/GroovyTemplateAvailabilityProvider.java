@@ -18,10 +18,10 @@ package org.springframework.boot.autoconfigure.groovy.template;
 
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.util.ClassUtils;
 
 /**
  * {@link TemplateAvailabilityProvider} that provides availability information for Groovy
@@ -35,7 +35,7 @@ public class GroovyTemplateAvailabilityProvider implements TemplateAvailabilityP
 	@Override
 	public boolean isTemplateAvailable(String view, Environment environment,
 			ClassLoader classLoader, ResourceLoader resourceLoader) {
-		if (ClassUtils.isPresent("groovy.text.TemplateEngine", classLoader)) {
+		if (ClassPresenceCache.isPresent("groovy.text.TemplateEngine", classLoader)) {
 			PropertyResolver resolver = new RelaxedPropertyResolver(environment,
 					"spring.groovy.template.");
 			String prefix = resolver.getProperty("prefix",
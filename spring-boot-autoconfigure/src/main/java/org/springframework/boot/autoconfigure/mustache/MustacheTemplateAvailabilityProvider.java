@@ -18,10 +18,10 @@ package org.springframework.boot.autoconfigure.mustache;
 
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.util.ClassUtils;
 
 /**
  * {@link TemplateAvailabilityProvider} that provides availability information for
@@ -36,7 +36,8 @@ public class MustacheTemplateAvailabilityProvider
 	@Override
 	public boolean isTemplateAvailable(String view, Environment environment,
 			ClassLoader classLoader, ResourceLoader resourceLoader) {
-		if (ClassUtils.isPresent("com.samskivert.mustache.Template", classLoader)) {
+		if (ClassPresenceCache.isPresent("com.samskivert.mustache.Template",
+				classLoader)) {
 			PropertyResolver resolver = new RelaxedPropertyResolver(environment,
 					"spring.mustache.");
 			String prefix = resolver.getProperty("prefix",
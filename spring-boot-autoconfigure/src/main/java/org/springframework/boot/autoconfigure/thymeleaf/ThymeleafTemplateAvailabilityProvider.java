@@ -18,10 +18,10 @@ package org.springframework.boot.autoconfigure.thymeleaf;
 
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.util.ClassUtils;
 
 /**
  * {@link TemplateAvailabilityProvider} that provides availability information for
@@ -36,7 +36,7 @@ public class ThymeleafTemplateAvailabilityProvider
 	@Override
 	public boolean isTemplateAvailable(String view, Environment environment,
 			ClassLoader classLoader, ResourceLoader resourceLoader) {
-		if (ClassUtils.isPresent("org.thymeleaf.spring4.SpringTemplateEngine",
+		if (ClassPresenceCache.isPresent("org.thymeleaf.spring4.SpringTemplateEngine",
 				classLoader)) {
 			PropertyResolver resolver = new RelaxedPropertyResolver(environment,
 					"spring.thymeleaf.");
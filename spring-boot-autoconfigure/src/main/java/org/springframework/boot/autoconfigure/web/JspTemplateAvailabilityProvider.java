@@ -18,10 +18,10 @@ package org.springframework.boot.autoconfigure.web;
 
 import org.springframework.boot.autoconfigure.template.TemplateAvailabilityProvider;
 import org.springframework.boot.bind.RelaxedPropertyResolver;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.PropertyResolver;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.util.ClassUtils;
 
 /**
  * {@link TemplateAvailabilityProvider} that provides availability information for JSP
@@ -36,7 +36,8 @@ public class JspTemplateAvailabilityProvider implements TemplateAvailabilityProv
 	@Override
 	public boolean isTemplateAvailable(String view, Environment environment,
 			ClassLoader classLoader, ResourceLoader resourceLoader) {
-		if (ClassUtils.isPresent("org.apache.jasper.compiler.JspConfig", classLoader)) {
+		if (ClassPresenceCache.isPresent("org.apache.jasper.compiler.JspConfig",
+				classLoader)) {
 			String resourceName = getResourceName(view, environment);
 			return resourceLoader.getResource(resourceName).exists();
 		}
@@ -21,11 +21,11 @@ import org.springframework.boot.autoconfigure.condition.ConditionOutcome;
 import org.springframework.boot.autoconfigure.condition.SpringBootCondition;
 import org.springframework.boot.bind.PropertySourcesPropertyValues;
 import org.springframework.boot.bind.RelaxedDataBinder;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.context.annotation.Condition;
 import org.springframework.context.annotation.ConditionContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.type.AnnotatedTypeMetadata;
-import org.springframework.util.ClassUtils;
 
 /**
  * {@link Condition} that checks whether or not the Spring resource handling chain is
@@ -50,7 +50,7 @@ class OnEnabledResourceChainCondition extends SpringBootCondition {
 		ConditionMessage.Builder message = ConditionMessage
 				.forCondition(ConditionalOnEnabledResourceChain.class);
 		if (match == null) {
-			if (ClassUtils.isPresent(WEBJAR_ASSET_LOCATOR,
+			if (ClassPresenceCache.isPresent(WEBJAR_ASSET_LOCATOR,
 					getClass().getClassLoader())) {
 				return ConditionOutcome
 						.match(message.found("class").items(WEBJAR_ASSET_LOCATOR));
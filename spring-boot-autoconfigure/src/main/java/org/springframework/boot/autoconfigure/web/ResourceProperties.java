@@ -72,6 +72,12 @@ public class ResourceProperties implements ResourceLoaderAware {
 	 */
 	private boolean addMappings = true;
 
+	/**
+	 * Let the servlet container transfer resources that are files without copying them
+	 * through the heap (using sendfile with Tomcat and memory-mapped buffers with Jetty).
+	 */
+	private boolean zeroCopy = false;
+
 	private final Chain chain = new Chain();
 
 	private ResourceLoader resourceLoader;
@@ -145,6 +151,14 @@ public class ResourceProperties implements ResourceLoaderAware {
 		this.addMappings = addMappings;
 	}
 
+	public boolean isZeroCopy() {
+		return this.zeroCopy;
+	}
+
+	public void setZeroCopy(boolean zeroCopy) {
+		this.zeroCopy = zeroCopy;
+	}
+
 	public Chain getChain() {
 		return this.chain;
 	}
@@ -179,6 +193,9 @@ public class ResourceProperties implements ResourceLoaderAware {
 		@NestedConfigurationProperty
 		private final Strategy strategy = new Strategy();
 
+		@NestedConfigurationProperty
+		private final Compressed compressed = new Compressed();
+
 		/**
 		 * Return whether the resource chain is enabled. Return {@code null} if no
 		 * specific settings are present.
@@ -223,6 +240,59 @@ public class ResourceProperties implements ResourceLoaderAware {
 			this.gzipped = gzipped;
 		}
 
+		public Compressed getCompressed() {
+			return this.compressed;
+		}
+
+	}
+
+	/**
+	 * Serving of compressed variants of resources.
+	 */
+	public static class Compressed {
+
+		/**
+		 * Enable resolution of compressed resource variants based on the
+		 * "Accept-Encoding" request header. Checks for resource name variants with the
+		 * "*.br" and "*.gz" extensions. Takes precedence over "gzipped".
+		 */
+		private boolean enabled;
+
+		/**
+		 * Generate gzip variants of compressible resources that have none and cache them
+		 * in a temporary directory.
+		 */
+		private boolean generate = true;
+
+		/**
+		 * Minimum size in bytes of a resource for a gzip variant to be generated.
+		 */
+		private int minSize = 2048;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public boolean isGenerate() {
+			return this.generate;
+		}
+
+		public void setGenerate(boolean generate) {
+			this.generate = generate;
+		}
+
+		public int getMinSize() {
+			return this.minSize;
+		}
+
+		public void setMinSize(int minSize) {
+			this.minSize = minSize;
+		}
+
 	}
 
 	/**
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -50,12 +51,16 @@ import org.eclipse.jetty.server.handler.HandlerWrapper;
 
 import org.springframework.boot.autoconfigure.web.ServerProperties.Session.Cookie;
 import org.springframework.boot.cloud.CloudPlatform;
+import org.springframework.boot.context.embedded.AsyncAccessLog;
 import org.springframework.boot.context.embedded.Compression;
 import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerCustomizerBeanPostProcessor;
+import org.springframework.boot.context.embedded.EmbeddedServletContainerExecutors;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.Http2;
 import org.springframework.boot.context.embedded.InitParameterConfiguringServletContextInitializer;
+import org.springframework.boot.context.embedded.InstrumentedExecutor;
 import org.springframework.boot.context.embedded.JspServlet;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
@@ -152,6 +157,13 @@ public class ServerProperties
 	 */
 	private Integer connectionTimeout;
 
+	/**
+	 * Time in seconds to wait for active requests to complete when the server is shut
+	 * down. New requests are no longer accepted during this time. When not set, the
+	 * server is stopped immediately.
+	 */
+	private Integer shutdownTimeout;
+
 	private Session session = new Session();
 
 	@NestedConfigurationProperty
@@ -160,9 +172,17 @@ public class ServerProperties
 	@NestedConfigurationProperty
 	private Compression compression = new Compression();
 
+	@NestedConfigurationProperty
+	private Http2 http2 = new Http2();
+
 	@NestedConfigurationProperty
 	private JspServlet jspServlet;
 
+	@NestedConfigurationProperty
+	private AsyncAccessLog asyncAccesslog = new AsyncAccessLog();
+
+	private final ExecutorProperties executor = new ExecutorProperties();
+
 	private final Tomcat tomcat = new Tomcat();
 
 	private final Jetty jetty = new Jetty();
@@ -209,6 +229,18 @@ public class ServerProperties
 		if (getCompression() != null) {
 			container.setCompression(getCompression());
 		}
+		if (getHttp2() != null) {
+			container.setHttp2(getHttp2());
+		}
+		if (getExecutor().getType() != ExecutorType.CONTAINER) {
+			container.setExecutor(getExecutor().createExecutor());
+		}
+		if (getShutdownTimeout() != null) {
+			container.setShutdownTimeout(getShutdownTimeout(), TimeUnit.SECONDS);
+		}
+		if (getAsyncAccesslog() != null) {
+			container.setAsyncAccessLog(getAsyncAccesslog());
+		}
 		container.setServerHeader(getServerHeader());
 		if (container instanceof TomcatEmbeddedServletContainerFactory) {
 			getTomcat().customizeTomcat(this,
@@ -381,6 +413,14 @@ public class ServerProperties
 		this.connectionTimeout = connectionTimeout;
 	}
 
+	public Integer getShutdownTimeout() {
+		return this.shutdownTimeout;
+	}
+
+	public void setShutdownTimeout(Integer shutdownTimeout) {
+		this.shutdownTimeout = shutdownTimeout;
+	}
+
 	public ErrorProperties getError() {
 		return this.error;
 	}
@@ -405,6 +445,10 @@ public class ServerProperties
 		return this.compression;
 	}
 
+	public Http2 getHttp2() {
+		return this.http2;
+	}
+
 	public JspServlet getJspServlet() {
 		return this.jspServlet;
 	}
@@ -413,6 +457,14 @@ public class ServerProperties
 		this.jspServlet = jspServlet;
 	}
 
+	public AsyncAccessLog getAsyncAccesslog() {
+		return this.asyncAccesslog;
+	}
+
+	public ExecutorProperties getExecutor() {
+		return this.executor;
+	}
+
 	public Tomcat getTomcat() {
 		return this.tomcat;
 	}
@@ -582,6 +634,91 @@ public class ServerProperties
 
 	}
 
+	/**
+	 * Type of executor used to process requests.
+	 */
+	public enum ExecutorType {
+
+		/**
+		 * Use the embedded container's own thread pool.
+		 */
+		CONTAINER,
+
+		/**
+		 * Use a pool of platform threads.
+		 */
+		PLATFORM,
+
+		/**
+		 * Use a new virtual thread for each request. Requires a JVM that supports
+		 * virtual threads.
+		 */
+		VIRTUAL
+
+	}
+
+	public static class ExecutorProperties {
+
+		/**
+		 * Type of executor used to process requests.
+		 */
+		private ExecutorType type = ExecutorType.CONTAINER;
+
+		/**
+		 * Maximum number of requests processed concurrently. When not set, 200 is used
+		 * for platform threads and concurrency is unbounded for virtual threads. Use a
+		 * value of -1 to indicate no limit.
+		 */
+		private Integer maxConcurrency;
+
+		/**
+		 * Maximum number of requests waiting to be processed once the maximum
+		 * concurrency has been reached. Requests that cannot be queued are rejected. Use
+		 * a value of -1 to indicate an unbounded queue.
+		 */
+		private int queueCapacity = -1;
+
+		public ExecutorType getType() {
+			return this.type;
+		}
+
+		public void setType(ExecutorType type) {
+			this.type = type;
+		}
+
+		public Integer getMaxConcurrency() {
+			return this.maxConcurrency;
+		}
+
+		public void setMaxConcurrency(Integer maxConcurrency) {
+			this.maxConcurrency = maxConcurrency;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		InstrumentedExecutor createExecutor() {
+			if (this.type == ExecutorType.VIRTUAL) {
+				return EmbeddedServletContainerExecutors.virtualThreads(
+						getMaxConcurrency(InstrumentedExecutor.UNBOUNDED),
+						this.queueCapacity);
+			}
+			return EmbeddedServletContainerExecutors.platformThreads("http-exec-",
+					getMaxConcurrency(200), this.queueCapacity);
+		}
+
+		private int getMaxConcurrency(int defaultMaxConcurrency) {
+			return (this.maxConcurrency != null ? this.maxConcurrency
+					: defaultMaxConcurrency);
+		}
+
+	}
+
 	public static class Tomcat {
 
 		/**
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure.web;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -30,10 +31,12 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationTemp;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
@@ -47,6 +50,11 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.web.filter.OrderedHiddenHttpMethodFilter;
 import org.springframework.boot.web.filter.OrderedHttpPutFormContentFilter;
 import org.springframework.boot.web.filter.OrderedRequestContextFilter;
+import org.springframework.boot.web.servlet.resource.EncodingAwareCachingResourceResolver;
+import org.springframework.boot.web.servlet.resource.PrecompressedResourceResolver;
+import org.springframework.boot.web.servlet.resource.ZeroCopyResourceHttpMessageConverter;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -71,6 +79,7 @@ import org.springframework.web.filter.HttpPutFormContentFilter;
 import org.springframework.web.filter.RequestContextFilter;
 import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.LocaleResolver;
 import org.springframework.web.servlet.View;
 import org.springframework.web.servlet.ViewResolver;
@@ -93,6 +102,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ExceptionHandlerExc
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.servlet.resource.AppCacheManifestTransformer;
+import org.springframework.web.servlet.resource.CachingResourceTransformer;
 import org.springframework.web.servlet.resource.GzipResourceResolver;
 import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
 import org.springframework.web.servlet.resource.ResourceResolver;
@@ -352,15 +362,19 @@ public class WebMvcAutoConfiguration {
 
 		private final WebMvcProperties mvcProperties;
 
+		private final ResourceProperties resourceProperties;
+
 		private final ListableBeanFactory beanFactory;
 
 		private final WebMvcRegistrations mvcRegistrations;
 
 		public EnableWebMvcConfiguration(
 				ObjectProvider<WebMvcProperties> mvcPropertiesProvider,
+				ObjectProvider<ResourceProperties> resourcePropertiesProvider,
 				ObjectProvider<WebMvcRegistrations> mvcRegistrationsProvider,
 				ListableBeanFactory beanFactory) {
 			this.mvcProperties = mvcPropertiesProvider.getIfAvailable();
+			this.resourceProperties = resourcePropertiesProvider.getIfAvailable();
 			this.mvcRegistrations = mvcRegistrationsProvider.getIfUnique();
 			this.beanFactory = beanFactory;
 		}
@@ -400,6 +414,24 @@ public class WebMvcAutoConfiguration {
 			return super.createRequestMappingHandlerMapping();
 		}
 
+		@Bean
+		@Override
+		public HandlerMapping resourceHandlerMapping() {
+			HandlerMapping mapping = super.resourceHandlerMapping();
+			if (this.resourceProperties != null && this.resourceProperties.isZeroCopy()
+					&& mapping instanceof SimpleUrlHandlerMapping) {
+				for (Object handler : ((SimpleUrlHandlerMapping) mapping).getUrlMap()
+						.values()) {
+					if (handler instanceof ResourceHttpRequestHandler) {
+						((ResourceHttpRequestHandler) handler)
+								.setResourceHttpMessageConverter(
+										new ZeroCopyResourceHttpMessageConverter());
+					}
+				}
+			}
+			return mapping;
+		}
+
 		@Override
 		protected ConfigurableWebBindingInitializer getConfigurableWebBindingInitializer() {
 			try {
@@ -456,16 +488,32 @@ public class WebMvcAutoConfiguration {
 	}
 
 	private static class ResourceChainResourceHandlerRegistrationCustomizer
-			implements ResourceHandlerRegistrationCustomizer {
+			implements ResourceHandlerRegistrationCustomizer, DisposableBean {
 
 		@Autowired
 		private ResourceProperties resourceProperties = new ResourceProperties();
 
+		private final List<PrecompressedResourceResolver> precompressedResolvers = new ArrayList<PrecompressedResourceResolver>();
+
 		@Override
 		public void customize(ResourceHandlerRegistration registration) {
 			ResourceProperties.Chain properties = this.resourceProperties.getChain();
 			configureResourceChain(properties,
-					registration.resourceChain(properties.isCache()));
+					createResourceChain(registration, properties));
+		}
+
+		private ResourceChainRegistration createResourceChain(
+				ResourceHandlerRegistration registration,
+				ResourceProperties.Chain properties) {
+			if (!properties.isCache() || !properties.getCompressed().isEnabled()) {
+				return registration.resourceChain(properties.isCache());
+			}
+			// The default caching resolver only distinguishes requests that accept gzip
+			ResourceChainRegistration chain = registration.resourceChain(false);
+			Cache cache = new ConcurrentMapCache("spring-resource-chain-cache");
+			chain.addResolver(new EncodingAwareCachingResourceResolver(cache));
+			chain.addTransformer(new CachingResourceTransformer(cache));
+			return chain;
 		}
 
 		private void configureResourceChain(ResourceProperties.Chain properties,
@@ -474,7 +522,11 @@ public class WebMvcAutoConfiguration {
 			if (strategy.getFixed().isEnabled() || strategy.getContent().isEnabled()) {
 				chain.addResolver(getVersionResourceResolver(strategy));
 			}
-			if (properties.isGzipped()) {
+			if (properties.getCompressed().isEnabled()) {
+				chain.addResolver(
+						getPrecompressedResourceResolver(properties.getCompressed()));
+			}
+			else if (properties.isGzipped()) {
 				chain.addResolver(new GzipResourceResolver());
 			}
 			if (properties.isHtmlApplicationCache()) {
@@ -482,6 +534,18 @@ public class WebMvcAutoConfiguration {
 			}
 		}
 
+		private ResourceResolver getPrecompressedResourceResolver(
+				ResourceProperties.Compressed properties) {
+			PrecompressedResourceResolver resolver = new PrecompressedResourceResolver();
+			if (properties.isGenerate()) {
+				resolver.setCacheDirectory(
+						new ApplicationTemp().getDir("compressed-resources"));
+				resolver.setMinResponseSize(properties.getMinSize());
+				this.precompressedResolvers.add(resolver);
+			}
+			return resolver;
+		}
+
 		private ResourceResolver getVersionResourceResolver(
 				ResourceProperties.Strategy properties) {
 			VersionResourceResolver resolver = new VersionResourceResolver();
@@ -497,6 +561,13 @@ public class WebMvcAutoConfiguration {
 			return resolver;
 		}
 
+		@Override
+		public void destroy() {
+			for (PrecompressedResourceResolver resolver : this.precompressedResolvers) {
+				resolver.clearCache();
+			}
+		}
+
 	}
 
 	static final class WelcomePageHandlerMapping extends AbstractUrlHandlerMapping {
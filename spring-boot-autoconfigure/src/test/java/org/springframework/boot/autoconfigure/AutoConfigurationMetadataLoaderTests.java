@@ -0,0 +1,106 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure;
+
+import java.util.Collections;
+import java.util.Properties;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AutoConfigurationMetadataLoader}.
+ *
+ * @author Agent Local
+ */
+public class AutoConfigurationMetadataLoaderTests {
+
+	@Test
+	public void loadShouldLoadProperties() throws Exception {
+		assertThat(load()).isNotNull();
+	}
+
+	@Test
+	public void wasProcessedWhenProcessedShouldReturnTrue() throws Exception {
+		assertThat(load("test", "").wasProcessed("test")).isTrue();
+	}
+
+	@Test
+	public void wasProcessedWhenNotProcessedShouldReturnFalse() throws Exception {
+		assertThat(load("test", "").wasProcessed("testx")).isFalse();
+	}
+
+	@Test
+	public void getIntegerShouldReturnValue() throws Exception {
+		assertThat(load("test.foo", "123").getInteger("test", "foo")).isEqualTo(123);
+	}
+
+	@Test
+	public void getIntegerWhenMissingShouldReturnNull() throws Exception {
+		assertThat(load("test.foo", "123").getInteger("test", "bar")).isNull();
+	}
+
+	@Test
+	public void getIntegerWithDefaultWhenMissingShouldReturnDefault() throws Exception {
+		assertThat(load("test.foo", "123").getInteger("test", "bar", 345))
+				.isEqualTo(345);
+	}
+
+	@Test
+	public void getSetShouldReturnValue() throws Exception {
+		assertThat(load("test.foo", "a,b,c").getSet("test", "foo"))
+				.containsExactly("a", "b", "c");
+	}
+
+	@Test
+	public void getSetWhenMissingShouldReturnNull() throws Exception {
+		assertThat(load("test.foo", "a,b,c").getSet("test", "bar")).isNull();
+	}
+
+	@Test
+	public void getSetWithDefaultWhenMissingShouldReturnDefault() throws Exception {
+		assertThat(load("test.foo", "a,b,c").getSet("test", "bar",
+				Collections.singleton("x"))).containsExactly("x");
+	}
+
+	@Test
+	public void getShouldReturnValue() throws Exception {
+		assertThat(load("test.foo", "bar").get("test", "foo")).isEqualTo("bar");
+	}
+
+	@Test
+	public void getWhenMissingShouldReturnNull() throws Exception {
+		assertThat(load("test.foo", "bar").get("test", "bar")).isNull();
+	}
+
+	@Test
+	public void getWithDefaultWhenMissingShouldReturnDefault() throws Exception {
+		assertThat(load("test.foo", "bar").get("test", "bar", "baz")).isEqualTo("baz");
+	}
+
+	private AutoConfigurationMetadata load() {
+		return AutoConfigurationMetadataLoader.loadMetadata((ClassLoader) null);
+	}
+
+	private AutoConfigurationMetadata load(String key, String value) {
+		Properties properties = new Properties();
+		properties.setProperty(key, value);
+		return AutoConfigurationMetadataLoader.loadMetadata(properties);
+	}
+
+}
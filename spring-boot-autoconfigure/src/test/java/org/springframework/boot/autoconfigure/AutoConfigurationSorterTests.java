@@ -18,6 +18,7 @@ package org.springframework.boot.autoconfigure;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Properties;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -120,6 +121,54 @@ public class AutoConfigurationSorterTests {
 		this.sorter.getInPriorityOrder(Arrays.asList(A, B, C, D));
 	}
 
+	@Test
+	public void byAutoConfigureOrderFromMetadata() throws Exception {
+		Properties properties = new Properties();
+		addMetadata(properties, "test.Lowest", "AutoConfigureOrder",
+				String.valueOf(Ordered.LOWEST_PRECEDENCE));
+		addMetadata(properties, "test.Highest", "AutoConfigureOrder",
+				String.valueOf(Ordered.HIGHEST_PRECEDENCE));
+		List<String> actual = createSorter(properties)
+				.getInPriorityOrder(Arrays.asList("test.Lowest", "test.Highest"));
+		assertThat(actual).containsExactly("test.Highest", "test.Lowest");
+	}
+
+	@Test
+	public void byAutoConfigureBeforeAndAfterFromMetadata() throws Exception {
+		Properties properties = new Properties();
+		addMetadata(properties, "test.A", "AutoConfigureAfter", "test.B");
+		addMetadata(properties, "test.B", "AutoConfigureAfter", "test.C,test.E");
+		addMetadata(properties, "test.C", null, null);
+		addMetadata(properties, "test.E", null, null);
+		addMetadata(properties, "test.W", "AutoConfigureBefore", "test.B");
+		List<String> actual = createSorter(properties).getInPriorityOrder(
+				Arrays.asList("test.A", "test.B", "test.C", "test.E", "test.W"));
+		assertThat(actual).containsExactly("test.C", "test.E", "test.W", "test.B",
+				"test.A");
+	}
+
+	@Test
+	public void byAutoConfigureAfterFromMetadataAndAnnotations() throws Exception {
+		Properties properties = new Properties();
+		addMetadata(properties, "test.A", "AutoConfigureAfter", B);
+		List<String> actual = createSorter(properties)
+				.getInPriorityOrder(Arrays.asList("test.A", B, C, E));
+		assertThat(actual).containsExactly(C, E, B, "test.A");
+	}
+
+	private AutoConfigurationSorter createSorter(Properties properties) {
+		return new AutoConfigurationSorter(new CachingMetadataReaderFactory(),
+				AutoConfigurationMetadataLoader.loadMetadata(properties));
+	}
+
+	private void addMetadata(Properties properties, String className, String key,
+			String value) {
+		properties.setProperty(className, "");
+		if (key != null) {
+			properties.setProperty(className + "." + key, value);
+		}
+	}
+
 	@AutoConfigureOrder(Ordered.LOWEST_PRECEDENCE)
 	public static class OrderLowest {
 
@@ -16,6 +16,9 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Before;
@@ -23,6 +26,9 @@ import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport;
@@ -166,6 +172,42 @@ public class EnableAutoConfigurationImportSelectorTests {
 		assertThat(imports).isEmpty();
 	}
 
+	@Test
+	public void filterShouldRemoveCandidates() throws Exception {
+		configureExclusions(new String[0], new String[0], new String[0]);
+		TestAutoConfigurationImportFilter filter = new TestAutoConfigurationImportFilter(
+				FreeMarkerAutoConfiguration.class.getName(),
+				ThymeleafAutoConfiguration.class.getName());
+		String[] imports = createFilteringImportSelector(filter)
+				.selectImports(this.annotationMetadata);
+		assertThat(imports).hasSize(getAutoConfigurationClassNames().size() - 2);
+		assertThat(imports).doesNotContain(FreeMarkerAutoConfiguration.class.getName(),
+				ThymeleafAutoConfiguration.class.getName());
+		assertThat(filter.beanFactory).isSameAs(this.beanFactory);
+	}
+
+	@Test
+	public void filterShouldNotChangeOrderOfRemainingCandidates() throws Exception {
+		configureExclusions(new String[0], new String[0], new String[0]);
+		String[] unfiltered = this.importSelector.selectImports(this.annotationMetadata);
+		String[] imports = createFilteringImportSelector(
+				new TestAutoConfigurationImportFilter(
+						MustacheAutoConfiguration.class.getName()))
+								.selectImports(this.annotationMetadata);
+		List<String> expected = new ArrayList<String>(Arrays.asList(unfiltered));
+		expected.remove(MustacheAutoConfiguration.class.getName());
+		assertThat(imports).containsExactly(expected.toArray(new String[0]));
+	}
+
+	private EnableAutoConfigurationImportSelector createFilteringImportSelector(
+			AutoConfigurationImportFilter... filters) {
+		FilteringImportSelector importSelector = new FilteringImportSelector(filters);
+		importSelector.setBeanFactory(this.beanFactory);
+		importSelector.setEnvironment(this.environment);
+		importSelector.setResourceLoader(new DefaultResourceLoader());
+		return importSelector;
+	}
+
 	private void configureExclusions(String[] classExclusion, String[] nameExclusion,
 			String[] propertyExclusion) {
 		String annotationName = EnableAutoConfiguration.class.getName();
@@ -187,4 +229,48 @@ public class EnableAutoConfigurationImportSelectorTests {
 				getClass().getClassLoader());
 	}
 
+	private static class FilteringImportSelector
+			extends EnableAutoConfigurationImportSelector {
+
+		private final List<AutoConfigurationImportFilter> filters;
+
+		FilteringImportSelector(AutoConfigurationImportFilter... filters) {
+			this.filters = Arrays.asList(filters);
+		}
+
+		@Override
+		protected List<AutoConfigurationImportFilter> getAutoConfigurationImportFilters() {
+			return this.filters;
+		}
+
+	}
+
+	private static class TestAutoConfigurationImportFilter
+			implements AutoConfigurationImportFilter, BeanFactoryAware {
+
+		private final List<String> nonMatching;
+
+		private BeanFactory beanFactory;
+
+		TestAutoConfigurationImportFilter(String... nonMatching) {
+			this.nonMatching = Collections.unmodifiableList(Arrays.asList(nonMatching));
+		}
+
+		@Override
+		public boolean[] match(String[] autoConfigurationClasses,
+				AutoConfigurationMetadata autoConfigurationMetadata) {
+			boolean[] result = new boolean[autoConfigurationClasses.length];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = !this.nonMatching.contains(autoConfigurationClasses[i]);
+			}
+			return result;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+			this.beanFactory = beanFactory;
+		}
+
+	}
+
 }
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.Serializable;
+
+import org.junit.Test;
+
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanTypeRegistry}.
+ *
+ * @author Agent Local
+ */
+public class BeanTypeRegistryTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	@Test
+	public void namesAreIndexedBySuperclassesAndInterfaces() {
+		this.beanFactory.registerBeanDefinition("example",
+				new RootBeanDefinition(ExampleBean.class));
+		this.beanFactory.registerBeanDefinition("base",
+				new RootBeanDefinition(BaseBean.class));
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ExampleBean.class))
+				.containsExactly("example");
+		assertThat(registry.getNamesForType(BaseBean.class)).containsExactly("example",
+				"base");
+		assertThat(registry.getNamesForType(Serializable.class))
+				.containsExactly("example", "base");
+		assertThat(registry.getNamesForType(Runnable.class)).containsExactly("example");
+		assertThat(registry.getNamesForType(Object.class)).contains("example", "base");
+		assertThat(registry.getNamesForType(String.class)).isEmpty();
+	}
+
+	@Test
+	public void indexIsUpdatedWhenDefinitionsAreAdded() {
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(Runnable.class)).isEmpty();
+		this.beanFactory.registerBeanDefinition("example",
+				new RootBeanDefinition(ExampleBean.class));
+		assertThat(registry.getNamesForType(Runnable.class)).containsExactly("example");
+	}
+
+	@Test
+	public void singletonsAreIndexed() {
+		this.beanFactory.registerSingleton("example", new ExampleBean());
+		this.beanFactory.registerBeanDefinition("base",
+				new RootBeanDefinition(BaseBean.class));
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(Runnable.class)).containsExactly("example");
+	}
+
+	@Test
+	public void namesAreIndexedBySuperInterfaces() {
+		this.beanFactory.registerBeanDefinition("child",
+				new RootBeanDefinition(ChildBean.class));
+		this.beanFactory.registerBeanDefinition("subclass",
+				new RootBeanDefinition(ChildBeanSubclass.class));
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		assertThat(registry.getNamesForType(ChildInterface.class))
+				.containsExactly("child", "subclass");
+		assertThat(registry.getNamesForType(ParentInterface.class))
+				.containsExactly("child", "subclass");
+		assertThat(registry.getNamesForType(GrandparentInterface.class))
+				.containsExactly("child", "subclass");
+	}
+
+	@Test
+	public void interfaceTypesAreIndexedBySuperInterfaces() {
+		this.beanFactory.registerSingleton("child", new ChildBean());
+		BeanTypeRegistry registry = BeanTypeRegistry.get(this.beanFactory);
+		this.beanFactory.registerBeanDefinition("factory",
+				new RootBeanDefinition(ChildInterfaceFactoryBean.class));
+		assertThat(registry.getNamesForType(GrandparentInterface.class))
+				.containsOnly("child", "factory");
+	}
+
+	@SuppressWarnings("serial")
+	public static class BaseBean implements Serializable {
+
+	}
+
+	@SuppressWarnings("serial")
+	public static class ExampleBean extends BaseBean implements Runnable {
+
+		@Override
+		public void run() {
+		}
+
+	}
+
+	public interface GrandparentInterface {
+
+	}
+
+	public interface ParentInterface extends GrandparentInterface {
+
+	}
+
+	public interface ChildInterface extends ParentInterface {
+
+	}
+
+	public static class ChildBean implements ChildInterface {
+
+	}
+
+	public static class ChildBeanSubclass extends ChildBean {
+
+	}
+
+	public static class ChildInterfaceFactoryBean
+			implements FactoryBean<ChildInterface> {
+
+		@Override
+		public ChildInterface getObject() {
+			return new ChildBean();
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return ChildInterface.class;
+		}
+
+		@Override
+		public boolean isSingleton() {
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.support.TestPropertySourceUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConditionOutcomeCache}.
+ *
+ * @author Agent Local
+ */
+public class ConditionOutcomeCacheTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private AnnotationConfigApplicationContext context;
+
+	@After
+	public void close() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+	@Test
+	public void outcomesAreWrittenAndReadBack() throws Exception {
+		File file = new File(this.temp.getRoot(), ConditionOutcomeCache.FILE_NAME);
+		ConditionOutcomeCache cache = new ConditionOutcomeCache(file, getClassLoader());
+		cache.put("one", ConditionOutcome.match("found"));
+		cache.put("two", ConditionOutcome.noMatch("missing"));
+		cache.save();
+		ConditionOutcomeCache reloaded = new ConditionOutcomeCache(file,
+				getClassLoader());
+		assertThat(reloaded.get("one").isMatch()).isTrue();
+		assertThat(reloaded.get("one").getMessage()).isEqualTo("found");
+		assertThat(reloaded.get("two").isMatch()).isFalse();
+		assertThat(reloaded.get("two").getMessage()).isEqualTo("missing");
+	}
+
+	@Test
+	public void outcomesForDifferentClassPathAreIgnored() throws Exception {
+		File file = new File(this.temp.getRoot(), ConditionOutcomeCache.FILE_NAME);
+		ConditionOutcomeCache cache = new ConditionOutcomeCache(file, getClassLoader());
+		cache.put("one", ConditionOutcome.match("found"));
+		cache.save();
+		Properties properties = load(file);
+		properties.setProperty("fingerprint", "changed");
+		store(file, properties);
+		assertThat(new ConditionOutcomeCache(file, getClassLoader()).get("one"))
+				.isNull();
+	}
+
+	@Test
+	public void disabledByDefault() {
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.register(OnClassConfiguration.class);
+		this.context.refresh();
+		assertThat(ConditionOutcomeCache.get(this.context.getBeanFactory(),
+				this.context.getEnvironment())).isNull();
+		assertThat(this.context.containsBean("foo")).isTrue();
+	}
+
+	@Test
+	public void classConditionOutcomeIsCachedBetweenContexts() throws Exception {
+		this.context = createContext();
+		assertThat(this.context.containsBean("foo")).isTrue();
+		this.context.close();
+		File file = new File(this.temp.getRoot(), ConditionOutcomeCache.FILE_NAME);
+		Properties properties = load(file);
+		String key = "condition:[" + String.class.getName() + "]:[]";
+		assertThat(properties.getProperty(key)).startsWith("match:");
+		properties.setProperty(key, "no-match:cached");
+		store(file, properties);
+		this.context = createContext();
+		assertThat(this.context.containsBean("foo")).isFalse();
+	}
+
+	private AnnotationConfigApplicationContext createContext() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(context,
+				ConditionOutcomeCache.LOCATION_PROPERTY + "="
+						+ this.temp.getRoot().getAbsolutePath());
+		context.register(OnClassConfiguration.class);
+		context.refresh();
+		return context;
+	}
+
+	private ClassLoader getClassLoader() {
+		return getClass().getClassLoader();
+	}
+
+	private Properties load(File file) throws Exception {
+		Properties properties = new Properties();
+		InputStream inputStream = new FileInputStream(file);
+		try {
+			properties.load(inputStream);
+		}
+		finally {
+			inputStream.close();
+		}
+		return properties;
+	}
+
+	private void store(File file, Properties properties) throws Exception {
+		OutputStream outputStream = new FileOutputStream(file);
+		try {
+			properties.store(outputStream, null);
+		}
+		finally {
+			outputStream.close();
+		}
+	}
+
+	@Configuration
+	@ConditionalOnClass(String.class)
+	static class OnClassConfiguration {
+
+		@Bean
+		public String foo() {
+			return "foo";
+		}
+
+	}
+
+}
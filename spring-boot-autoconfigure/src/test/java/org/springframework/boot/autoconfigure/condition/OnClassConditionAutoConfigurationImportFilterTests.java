@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
+import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.boot.autoconfigure.condition.ConditionEvaluationReport.ConditionAndOutcomes;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the {@link AutoConfigurationImportFilter} implementation of
+ * {@link OnClassCondition}.
+ *
+ * @author Agent Local
+ */
+public class OnClassConditionAutoConfigurationImportFilterTests {
+
+	private final OnClassCondition filter = new OnClassCondition();
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+	private final AutoConfigurationMetadata metadata = mock(
+			AutoConfigurationMetadata.class);
+
+	@Before
+	public void setup() {
+		this.filter.setBeanClassLoader(getClass().getClassLoader());
+		this.filter.setBeanFactory(this.beanFactory);
+	}
+
+	@Test
+	public void shouldBeRegistered() {
+		assertThat(SpringFactoriesLoader.loadFactories(
+				AutoConfigurationImportFilter.class, getClass().getClassLoader()))
+						.hasAtLeastOneElementOfType(OnClassCondition.class);
+	}
+
+	@Test
+	public void matchShouldMatchClasses() throws Exception {
+		given(this.metadata.getSet("test.match", "ConditionalOnClass"))
+				.willReturn(asSet("java.io.InputStream"));
+		given(this.metadata.getSet("test.nomatch", "ConditionalOnClass"))
+				.willReturn(asSet("java.io.DoesNotExist"));
+		boolean[] result = this.filter.match(
+				new String[] { "test.match", "test.nomatch", "test.unknown" },
+				this.metadata);
+		assertThat(result).containsExactly(true, false, true);
+	}
+
+	@Test
+	public void matchShouldIgnoreNullCandidates() throws Exception {
+		boolean[] result = this.filter.match(new String[] { null, "test.unknown" },
+				this.metadata);
+		assertThat(result).containsExactly(true, true);
+	}
+
+	@Test
+	public void matchShouldRecordOutcome() throws Exception {
+		given(this.metadata.getSet("test.nomatch", "ConditionalOnClass"))
+				.willReturn(asSet("java.io.DoesNotExist"));
+		this.filter.match(new String[] { "test.nomatch" }, this.metadata);
+		ConditionEvaluationReport report = ConditionEvaluationReport
+				.get(this.beanFactory);
+		ConditionAndOutcomes outcomes = report.getConditionAndOutcomesBySource()
+				.get("test.nomatch");
+		assertThat(outcomes).isNotNull();
+		assertThat(outcomes.isFullMatch()).isFalse();
+		assertThat(outcomes.iterator().next().getOutcome().getMessage())
+				.contains("java.io.DoesNotExist");
+	}
+
+	private Set<String> asSet(String value) {
+		return Collections.singleton(value);
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -40,7 +41,9 @@ import org.mockito.MockitoAnnotations;
 
 import org.springframework.beans.MutablePropertyValues;
 import org.springframework.boot.bind.RelaxedDataBinder;
+import org.springframework.boot.context.embedded.AsyncAccessLog;
 import org.springframework.boot.context.embedded.ConfigurableEmbeddedServletContainer;
+import org.springframework.boot.context.embedded.InstrumentedExecutor;
 import org.springframework.boot.context.embedded.jetty.JettyEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.tomcat.TomcatContextCustomizer;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainer;
@@ -51,6 +54,7 @@ import org.springframework.mock.env.MockEnvironment;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
@@ -218,6 +222,74 @@ public class ServerPropertiesTests {
 		verify(factory).setDisplayName("TestName");
 	}
 
+	@Test
+	public void executorIsNotConfiguredByDefault() throws Exception {
+		ConfigurableEmbeddedServletContainer factory = mock(
+				ConfigurableEmbeddedServletContainer.class);
+		this.properties.customize(factory);
+		verify(factory, never()).setExecutor(any(Executor.class));
+	}
+
+	@Test
+	public void customizePlatformThreadExecutor() throws Exception {
+		Map<String, String> map = new HashMap<String, String>();
+		map.put("server.executor.type", "platform");
+		map.put("server.executor.max-concurrency", "800");
+		map.put("server.executor.queue-capacity", "50");
+		bindProperties(map);
+		TomcatEmbeddedServletContainerFactory container = new TomcatEmbeddedServletContainerFactory();
+		this.properties.customize(container);
+		assertThat(container.getExecutor()).isInstanceOf(InstrumentedExecutor.class);
+		InstrumentedExecutor executor = (InstrumentedExecutor) container.getExecutor();
+		assertThat(executor.getMaxConcurrency()).isEqualTo(800);
+		assertThat(executor.getQueueCapacity()).isEqualTo(50);
+	}
+
+	@Test
+	public void platformThreadExecutorDefaults() throws Exception {
+		bindProperties(Collections.singletonMap("server.executor.type", "platform"));
+		TomcatEmbeddedServletContainerFactory container = new TomcatEmbeddedServletContainerFactory();
+		this.properties.customize(container);
+		InstrumentedExecutor executor = (InstrumentedExecutor) container.getExecutor();
+		assertThat(executor.getMaxConcurrency()).isEqualTo(200);
+		assertThat(executor.getQueueCapacity()).isEqualTo(InstrumentedExecutor.UNBOUNDED);
+	}
+
+	@Test
+	public void customizeShutdownTimeout() throws Exception {
+		bindProperties(Collections.singletonMap("server.shutdown-timeout", "30"));
+		TomcatEmbeddedServletContainerFactory container = new TomcatEmbeddedServletContainerFactory();
+		this.properties.customize(container);
+		assertThat(container.getShutdownTimeout()).isEqualTo(30000);
+	}
+
+	@Test
+	public void gracefulShutdownIsDisabledByDefault() throws Exception {
+		TomcatEmbeddedServletContainerFactory container = new TomcatEmbeddedServletContainerFactory();
+		this.properties.customize(container);
+		assertThat(container.getShutdownTimeout()).isEqualTo(0);
+	}
+
+	@Test
+	public void customizeAsyncAccessLog() throws Exception {
+		Map<String, String> map = new HashMap<String, String>();
+		map.put("server.async-accesslog.enabled", "true");
+		map.put("server.async-accesslog.directory", "target/access-logs");
+		map.put("server.async-accesslog.buffer-size", "1024");
+		map.put("server.async-accesslog.max-file-size", "4096");
+		map.put("server.async-accesslog.rotate", "false");
+		bindProperties(map);
+		TomcatEmbeddedServletContainerFactory container = new TomcatEmbeddedServletContainerFactory();
+		this.properties.customize(container);
+		AsyncAccessLog accessLog = container.getAsyncAccessLog();
+		assertThat(accessLog.isEnabled()).isTrue();
+		assertThat(accessLog.getDirectory()).isEqualTo(new File("target/access-logs"));
+		assertThat(accessLog.getPrefix()).isEqualTo("access_log");
+		assertThat(accessLog.getBufferSize()).isEqualTo(1024);
+		assertThat(accessLog.getMaxFileSize()).isEqualTo(4096);
+		assertThat(accessLog.isRotate()).isFalse();
+	}
+
 	@Test
 	public void customizeSessionProperties() throws Exception {
 		Map<String, String> map = new HashMap<String, String>();
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure.web;
 
+import java.io.File;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -46,6 +47,9 @@ import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory
 import org.springframework.boot.context.embedded.MockEmbeddedServletContainerFactory;
 import org.springframework.boot.test.util.EnvironmentTestUtils;
 import org.springframework.boot.web.filter.OrderedHttpPutFormContentFilter;
+import org.springframework.boot.web.servlet.resource.EncodingAwareCachingResourceResolver;
+import org.springframework.boot.web.servlet.resource.PrecompressedResourceResolver;
+import org.springframework.boot.web.servlet.resource.ZeroCopyResourceHttpMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -54,6 +58,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.format.support.FormattingConversionService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
@@ -263,6 +268,62 @@ public class WebMvcAutoConfigurationTests {
 				.isInstanceOf(FixedVersionStrategy.class);
 	}
 
+	@Test
+	public void resourceHandlerChainCompressedEnabled() throws Exception {
+		load("spring.resources.chain.enabled:true",
+				"spring.resources.chain.compressed.enabled:true",
+				"spring.resources.chain.gzipped:true");
+		assertThat(getResourceResolvers("/**")).extractingResultOf("getClass")
+				.containsExactly(EncodingAwareCachingResourceResolver.class,
+						PrecompressedResourceResolver.class, PathResourceResolver.class);
+		assertThat(getResourceTransformers("/**")).extractingResultOf("getClass")
+				.containsOnly(CachingResourceTransformer.class);
+		PrecompressedResourceResolver resolver = (PrecompressedResourceResolver) getResourceResolvers(
+				"/**").get(1);
+		assertThat(resolver.getCacheDirectory()).isNotNull();
+	}
+
+	@Test
+	public void resourceHandlerChainCompressedVariantsAreDeletedOnClose()
+			throws Exception {
+		load("spring.resources.chain.enabled:true",
+				"spring.resources.chain.compressed.enabled:true");
+		PrecompressedResourceResolver resolver = (PrecompressedResourceResolver) getResourceResolvers(
+				"/**").get(1);
+		File cacheDirectory = resolver.getCacheDirectory();
+		assertThat(new File(cacheDirectory, "test.css.gz").createNewFile()).isTrue();
+		this.context.close();
+		assertThat(cacheDirectory).doesNotExist();
+	}
+
+	@Test
+	public void resourceHandlerChainCompressedWithoutCacheOrGeneration()
+			throws Exception {
+		load("spring.resources.chain.enabled:true", "spring.resources.chain.cache:false",
+				"spring.resources.chain.compressed.enabled:true",
+				"spring.resources.chain.compressed.generate:false");
+		assertThat(getResourceResolvers("/**")).extractingResultOf("getClass")
+				.containsExactly(PrecompressedResourceResolver.class,
+						PathResourceResolver.class);
+		PrecompressedResourceResolver resolver = (PrecompressedResourceResolver) getResourceResolvers(
+				"/**").get(0);
+		assertThat(resolver.getCacheDirectory()).isNull();
+	}
+
+	@Test
+	public void resourceHandlerZeroCopy() throws Exception {
+		load("spring.resources.zero-copy:true");
+		assertThat(getResourceHttpMessageConverter("/**"))
+				.isInstanceOf(ZeroCopyResourceHttpMessageConverter.class);
+	}
+
+	@Test
+	public void resourceHandlerZeroCopyDisabledByDefault() throws Exception {
+		load();
+		assertThat(getResourceHttpMessageConverter("/**"))
+				.isNotInstanceOf(ZeroCopyResourceHttpMessageConverter.class);
+	}
+
 	@Test
 	public void noLocaleResolver() throws Exception {
 		load(AllResources.class);
@@ -367,6 +428,15 @@ public class WebMvcAutoConfigurationTests {
 		return resourceHandler.getResourceResolvers();
 	}
 
+	protected ResourceHttpMessageConverter getResourceHttpMessageConverter(
+			String mapping) {
+		SimpleUrlHandlerMapping handler = (SimpleUrlHandlerMapping) this.context
+				.getBean("resourceHandlerMapping");
+		ResourceHttpRequestHandler resourceHandler = (ResourceHttpRequestHandler) handler
+				.getHandlerMap().get(mapping);
+		return resourceHandler.getResourceHttpMessageConverter();
+	}
+
 	protected List<ResourceTransformer> getResourceTransformers(String mapping) {
 		SimpleUrlHandlerMapping handler = (SimpleUrlHandlerMapping) this.context
 				.getBean("resourceHandlerMapping");
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.json;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark comparing the {@link JsonParser} implementations on small, medium and
+ * large documents. Run with {@code java -jar target/benchmarks.jar JsonParserBenchmark}.
+ *
+ * @author Agent Local
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonParserBenchmark {
+
+	@Param({ "basic", "jackson", "gson", "json-simple", "json", "yaml" })
+	private String parser;
+
+	@Param({ "small", "medium", "large" })
+	private String document;
+
+	private JsonParser jsonParser;
+
+	private String map;
+
+	private String list;
+
+	@Setup
+	public void setup() {
+		this.jsonParser = createParser(this.parser);
+		int entries = getEntries(this.document);
+		this.map = createMap(entries);
+		this.list = "[" + this.map + "," + this.map + "]";
+	}
+
+	@Benchmark
+	public Map<String, Object> parseMap() {
+		return this.jsonParser.parseMap(this.map);
+	}
+
+	@Benchmark
+	public List<Object> parseList() {
+		return this.jsonParser.parseList(this.list);
+	}
+
+	private JsonParser createParser(String name) {
+		if ("basic".equals(name)) {
+			return new BasicJsonParser();
+		}
+		if ("jackson".equals(name)) {
+			return new JacksonJsonParser();
+		}
+		if ("gson".equals(name)) {
+			return new GsonJsonParser();
+		}
+		if ("json-simple".equals(name)) {
+			return new JsonSimpleJsonParser();
+		}
+		if ("json".equals(name)) {
+			return new JsonJsonParser();
+		}
+		if ("yaml".equals(name)) {
+			return new YamlJsonParser();
+		}
+		throw new IllegalArgumentException("Unknown parser " + name);
+	}
+
+	private int getEntries(String document) {
+		if ("small".equals(document)) {
+			return 4;
+		}
+		if ("medium".equals(document)) {
+			return 64;
+		}
+		if ("large".equals(document)) {
+			return 2048;
+		}
+		throw new IllegalArgumentException("Unknown document " + document);
+	}
+
+	/**
+	 * Create a JSON object similar to a typical {@code SPRING_APPLICATION_JSON} payload
+	 * with the given number of entries, some of which are nested.
+	 * @param entries the number of entries
+	 * @return the JSON
+	 */
+	private String createMap(int entries) {
+		StringBuilder json = new StringBuilder("{");
+		for (int i = 0; i < entries; i++) {
+			if (i > 0) {
+				json.append(",");
+			}
+			json.append("\"property").append(i).append("\":");
+			switch (i % 4) {
+			case 0:
+				json.append("\"value-").append(i).append("\"");
+				break;
+			case 1:
+				json.append(i * 31L);
+				break;
+			case 2:
+				json.append("{\"name\":\"nested-").append(i)
+						.append("\",\"enabled\":\"true\",\"ratio\":").append(i / 3.0)
+						.append("}");
+				break;
+			default:
+				json.append("[\"a\",\"b\",").append(i).append("]");
+			}
+		}
+		return json.append("}").toString();
+	}
+
+}
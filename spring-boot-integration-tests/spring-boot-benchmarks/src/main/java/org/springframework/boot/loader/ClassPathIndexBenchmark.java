@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.loader.jar.JarFile;
+
+/**
+ * JMH benchmark comparing the time taken by a {@link LaunchedURLClassLoader} to look up
+ * classes and resources in an application with many nested jars, with and without an
+ * index of its archives. Each invocation uses a fresh jar file and class loader so that
+ * the cost of building the index is included. Run with
+ * {@code java -jar target/benchmarks.jar ClassPathIndexBenchmark}.
+ *
+ * @author Agent Local
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ClassPathIndexBenchmark {
+
+	private static final int JARS = 250;
+
+	private static final int ENTRIES_PER_JAR = 40;
+
+	@Param({ "true", "false" })
+	private boolean useIndex;
+
+	private File file;
+
+	@Setup
+	public void setup() throws IOException {
+		this.file = File.createTempFile("benchmark", ".jar");
+		createJar(this.file);
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.file.delete();
+	}
+
+	@Benchmark
+	public void coldLookups() throws Exception {
+		JarFile jarFile = new JarFile(this.file);
+		try {
+			URL[] urls = new URL[JARS];
+			for (int i = 0; i < JARS; i++) {
+				urls[i] = jarFile.getNestedJarFile(jarFile.getEntry(getJarName(i)))
+						.getUrl();
+			}
+			LaunchedURLClassLoader loader = new LaunchedURLClassLoader(urls, null,
+					this.useIndex);
+			for (int i = 0; i < JARS; i++) {
+				// Resources that are present in the last jars
+				loader.getResource(getEntryName(i, ENTRIES_PER_JAR - 1));
+				// Classes that are probed for but are not present
+				try {
+					loader.loadClass("com.example.missing" + i + ".Missing");
+				}
+				catch (ClassNotFoundException ex) {
+					// Expected
+				}
+			}
+			Collections.list(loader.getResources("META-INF/spring.factories"));
+			loader.close();
+		}
+		finally {
+			jarFile.close();
+		}
+	}
+
+	private static void createJar(File file) throws IOException {
+		JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file));
+		try {
+			for (int i = 0; i < JARS; i++) {
+				byte[] nested = createNestedJar(i);
+				JarEntry entry = new JarEntry(getJarName(i));
+				CRC32 crc = new CRC32();
+				crc.update(nested);
+				entry.setSize(nested.length);
+				entry.setCompressedSize(nested.length);
+				entry.setCrc(crc.getValue());
+				entry.setMethod(ZipEntry.STORED);
+				jarOutputStream.putNextEntry(entry);
+				jarOutputStream.write(nested);
+				jarOutputStream.closeEntry();
+			}
+		}
+		finally {
+			jarOutputStream.close();
+		}
+	}
+
+	private static byte[] createNestedJar(int jar) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		JarOutputStream jarOutputStream = new JarOutputStream(bytes);
+		try {
+			if (jar % 10 == 0) {
+				jarOutputStream.putNextEntry(new JarEntry("META-INF/spring.factories"));
+				jarOutputStream.closeEntry();
+			}
+			for (int i = 0; i < ENTRIES_PER_JAR; i++) {
+				jarOutputStream.putNextEntry(new JarEntry(getEntryName(jar, i)));
+				jarOutputStream.write(new byte[] { (byte) i });
+				jarOutputStream.closeEntry();
+			}
+		}
+		finally {
+			jarOutputStream.close();
+		}
+		return bytes.toByteArray();
+	}
+
+	private static String getJarName(int jar) {
+		return "BOOT-INF/lib/library-" + jar + ".jar";
+	}
+
+	private static String getEntryName(int jar, int entry) {
+		return "com/example/library" + jar + "/Resource" + entry + ".properties";
+	}
+
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.zip.CRC32;
+
+/**
+ * Generates the index of the entries of a nested jar that the launcher reads instead of
+ * parsing the central directory of the jar. The format must be kept in sync with
+ * {@code org.springframework.boot.loader.jar.JarEntryIndex}.
+ *
+ * @author Agent Local
+ */
+final class JarEntryIndex {
+
+	private static final String LOCATION = "META-INF/jar-index/";
+
+	private static final String SUFFIX = ".idx";
+
+	private static final int MAGIC = 0x4A494458;
+
+	private static final int VERSION = 1;
+
+	private static final int SIGNED = 1;
+
+	private static final int END_RECORD_SIGNATURE = 0x06054b50;
+
+	private static final int END_RECORD_MINIMUM_SIZE = 22;
+
+	private static final int END_RECORD_MAXIMUM_SIZE = END_RECORD_MINIMUM_SIZE + 0xFFFF;
+
+	private static final int FILE_HEADER_SIGNATURE = 0x02014b50;
+
+	private static final int FILE_HEADER_SIZE = 46;
+
+	private static final int BUFFER_SIZE = 32 * 1024;
+
+	private JarEntryIndex() {
+	}
+
+	/**
+	 * Return the name of the entry that holds the index of the given nested jar entry.
+	 * @param entryName the name of the nested jar entry
+	 * @return the name of the index entry
+	 */
+	static String getIndexName(String entryName) {
+		return LOCATION + entryName + SUFFIX;
+	}
+
+	/**
+	 * Generate the index of the given jar file.
+	 * @param file the jar file
+	 * @return the index
+	 * @throws IOException if the jar cannot be read
+	 */
+	static byte[] generate(File file) throws IOException {
+		RandomAccessFile jar = new RandomAccessFile(file, "r");
+		try {
+			return generate(jar, getCrc(jar));
+		}
+		finally {
+			jar.close();
+		}
+	}
+
+	private static byte[] generate(RandomAccessFile jar, long crc) throws IOException {
+		byte[] endRecord = readEndRecord(jar);
+		int numberOfRecords = (int) littleEndianValue(endRecord, 10, 2);
+		long centralDirectoryLength = littleEndianValue(endRecord, 12, 4);
+		byte[] centralDirectory = new byte[(int) centralDirectoryLength];
+		jar.seek(jar.length() - endRecord.length - centralDirectoryLength);
+		jar.readFully(centralDirectory);
+		final int[] hashCodes = new int[numberOfRecords];
+		int[] offsets = new int[numberOfRecords];
+		boolean signed = false;
+		int offset = 0;
+		for (int i = 0; i < numberOfRecords; i++) {
+			if (littleEndianValue(centralDirectory, offset, 4) != FILE_HEADER_SIGNATURE) {
+				throw new IOException("Invalid central directory file header");
+			}
+			int nameLength = (int) littleEndianValue(centralDirectory, offset + 28, 2);
+			int extraLength = (int) littleEndianValue(centralDirectory, offset + 30, 2);
+			int commentLength = (int) littleEndianValue(centralDirectory, offset + 32, 2);
+			String name = new String(centralDirectory, offset + FILE_HEADER_SIZE,
+					nameLength, "UTF-8");
+			signed = signed || (name.startsWith("META-INF/") && name.endsWith(".SF"));
+			hashCodes[i] = hashCode(centralDirectory, offset + FILE_HEADER_SIZE,
+					nameLength);
+			offsets[i] = offset;
+			offset += FILE_HEADER_SIZE + nameLength + extraLength + commentLength;
+		}
+		Integer[] order = new Integer[numberOfRecords];
+		for (int i = 0; i < numberOfRecords; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				int h1 = hashCodes[o1];
+				int h2 = hashCodes[o2];
+				return (h1 < h2 ? -1 : (h1 == h2 ? 0 : 1));
+			}
+
+		});
+		int[] positions = new int[numberOfRecords];
+		for (int i = 0; i < numberOfRecords; i++) {
+			positions[order[i]] = i;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeLong(crc);
+		output.writeInt(numberOfRecords);
+		output.writeInt(signed ? SIGNED : 0);
+		output.writeInt(numberOfRecords);
+		for (int i = 0; i < numberOfRecords; i++) {
+			output.writeInt(hashCodes[order[i]]);
+		}
+		for (int i = 0; i < numberOfRecords; i++) {
+			output.writeInt(offsets[order[i]]);
+		}
+		for (int i = 0; i < numberOfRecords; i++) {
+			output.writeInt(positions[i]);
+		}
+		output.close();
+		return bytes.toByteArray();
+	}
+
+	private static long getCrc(RandomAccessFile jar) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int bytesRead;
+		jar.seek(0);
+		while ((bytesRead = jar.read(buffer)) != -1) {
+			crc.update(buffer, 0, bytesRead);
+		}
+		return crc.getValue();
+	}
+
+	private static byte[] readEndRecord(RandomAccessFile jar) throws IOException {
+		int length = (int) Math.min(jar.length(), END_RECORD_MAXIMUM_SIZE);
+		byte[] block = new byte[length];
+		jar.seek(jar.length() - length);
+		jar.readFully(block);
+		for (int size = END_RECORD_MINIMUM_SIZE; size <= length; size++) {
+			int offset = length - size;
+			if (littleEndianValue(block, offset, 4) == END_RECORD_SIGNATURE
+					&& size == END_RECORD_MINIMUM_SIZE
+							+ littleEndianValue(block, offset + 20, 2)) {
+				return Arrays.copyOfRange(block, offset, length);
+			}
+		}
+		throw new IOException("Unable to find ZIP central directory records");
+	}
+
+	/**
+	 * Calculate the hash code of a UTF-8 encoded name in the same way as the launcher.
+	 * @param bytes the source bytes
+	 * @param offset the offset of the name
+	 * @param length the length of the name
+	 * @return the hash code
+	 */
+	private static int hashCode(byte[] bytes, int offset, int length) {
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) {
+			int b = bytes[i] & 0xff;
+			if (b > 0x7F) {
+				// Decode multi-byte UTF
+				for (int size = 0; size < 3; size++) {
+					if ((b & (0x40 >> size)) == 0) {
+						b = b & (0x1F >> size);
+						for (int j = 0; j < size; j++) {
+							b <<= 6;
+							b |= bytes[++i] & 0x3F;
+						}
+						break;
+					}
+				}
+			}
+			hash = 31 * hash + b;
+		}
+		return hash;
+	}
+
+	private static long littleEndianValue(byte[] bytes, int offset, int length) {
+		long value = 0;
+		for (int i = length - 1; i >= 0; i--) {
+			value = ((value << 8) | (bytes[offset + i] & 0xFF));
+		}
+		return value;
+	}
+
+}
@@ -178,6 +178,24 @@ public class JarWriter {
 		writeEntry(entry, new InputStreamEntryWriter(new FileInputStream(file), true));
 	}
 
+	/**
+	 * Write the {@link JarEntryIndex index} of a nested library so that the launcher does
+	 * not need to parse its central directory. The index is stored uncompressed so that
+	 * it can be mapped directly.
+	 * @param destination the destination of the library
+	 * @param library the library
+	 * @throws IOException if the write fails
+	 */
+	void writeNestedLibraryIndex(String destination, Library library)
+			throws IOException {
+		byte[] index = JarEntryIndex.generate(library.getFile());
+		JarEntry entry = new JarEntry(
+				JarEntryIndex.getIndexName(destination + library.getName()));
+		new CrcAndSize(new ByteArrayInputStream(index)).setupStoredEntry(entry);
+		writeEntry(entry, new InputStreamEntryWriter(new ByteArrayInputStream(index),
+				true));
+	}
+
 	private long getNestedLibraryTime(File file) {
 		try {
 			JarFile jarFile = new JarFile(file);
@@ -56,6 +56,8 @@ public class Repackager {
 
 	private boolean backupSource = true;
 
+	private boolean indexEntries;
+
 	private final File source;
 
 	private Layout layout;
@@ -86,6 +88,16 @@ public class Repackager {
 		this.backupSource = backupSource;
 	}
 
+	/**
+	 * Sets if an index of the entries of each nested library should be written so that
+	 * the launcher can open nested jars without parsing their central directory.
+	 * Libraries that require unpacking are not indexed.
+	 * @param indexEntries if nested library entries should be indexed
+	 */
+	public void setIndexEntries(boolean indexEntries) {
+		this.indexEntries = indexEntries;
+	}
+
 	/**
 	 * Sets the layout to use for the jar. Defaults to {@link Layouts#forFile(File)}.
 	 * @param layout the layout
@@ -240,6 +252,9 @@ public class Repackager {
 							"Duplicate library " + library.getName());
 				}
 				writer.writeNestedLibrary(destination, library);
+				if (this.indexEntries && !library.isUnpackRequired()) {
+					writer.writeNestedLibraryIndex(destination, library);
+				}
 			}
 		}
 	}
@@ -20,7 +20,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Enumeration;
+import java.util.List;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -316,6 +319,48 @@ public class RepackagerTests {
 		assertThat(entry.getComment().length()).isEqualTo(47);
 	}
 
+	@Test
+	public void librariesWithIndexedEntries() throws Exception {
+		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
+		libJar.addClass("a/b/C.class", ClassWithoutMainMethod.class);
+		libJar.addClass("a/b/D.class", ClassWithoutMainMethod.class);
+		libJar.addClass("a/\u00e9/E.class", ClassWithoutMainMethod.class);
+		final File libJarFile = libJar.getFile();
+		this.testJarFile.addClass("a/b/C.class", ClassWithMainMethod.class);
+		File file = this.testJarFile.getFile();
+		Repackager repackager = new Repackager(file);
+		repackager.setIndexEntries(true);
+		repackager.repackage(new Libraries() {
+			@Override
+			public void doWithLibraries(LibraryCallback callback) throws IOException {
+				callback.library(new Library(libJarFile, LibraryScope.COMPILE));
+			}
+		});
+		String libName = "BOOT-INF/lib/" + libJarFile.getName();
+		JarEntry entry = getEntry(file, JarEntryIndex.getIndexName(libName));
+		assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+		org.springframework.boot.loader.jar.JarFile jarFile = new org.springframework.boot.loader.jar.JarFile(
+				file);
+		try {
+			JarFile nested = jarFile.getNestedJarFile(jarFile.getEntry(libName));
+			JarFile expected = new JarFile(libJarFile);
+			try {
+				assertThat(getEntryNames(nested))
+						.containsExactlyElementsOf(getEntryNames(expected));
+				for (String name : getEntryNames(expected)) {
+					assertThat(nested.getEntry(name)).isNotNull();
+				}
+				assertThat(nested.getEntry("a/b/X.class")).isNull();
+			}
+			finally {
+				expected.close();
+			}
+		}
+		finally {
+			jarFile.close();
+		}
+	}
+
 	@Test
 	public void duplicateLibraries() throws Exception {
 		TestJarFile libJar = new TestJarFile(this.temporaryFolder);
@@ -555,6 +600,15 @@ public class RepackagerTests {
 		}
 	}
 
+	private List<String> getEntryNames(JarFile jarFile) {
+		List<String> names = new ArrayList<String>();
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			names.add(entries.nextElement().getName());
+		}
+		return names;
+	}
+
 	private Manifest getManifest(File file) throws IOException {
 		JarFile jarFile = new JarFile(file);
 		try {
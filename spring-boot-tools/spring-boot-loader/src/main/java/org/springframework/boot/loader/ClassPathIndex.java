@@ -0,0 +1,132 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.loader.jar.JarFile;
+
+/**
+ * An index of the directories contained in each archive of a class path. Used by the
+ * {@link LaunchedURLClassLoader} to find the archives that may contain a class or
+ * resource without probing every archive in turn. The index is built from the entries of
+ * each archive so it is only available when all the URLs of the class path refer to a
+ * {@link JarFile}.
+ *
+ * @author Agent Local
+ * @see LaunchedURLClassLoader
+ */
+final class ClassPathIndex {
+
+	private static final int[] NO_ARCHIVES = {};
+
+	private final URL[] urls;
+
+	private final JarFile[] jarFiles;
+
+	private final Map<String, int[]> directories = new HashMap<String, int[]>();
+
+	private ClassPathIndex(URL[] urls, JarFile[] jarFiles) {
+		this.urls = urls;
+		this.jarFiles = jarFiles;
+		for (int archive = 0; archive < jarFiles.length; archive++) {
+			Enumeration<java.util.jar.JarEntry> entries = jarFiles[archive].entries();
+			while (entries.hasMoreElements()) {
+				add(getDirectory(entries.nextElement().getName()), archive);
+			}
+		}
+	}
+
+	private void add(String directory, int archive) {
+		int[] archives = this.directories.get(directory);
+		if (archives == null) {
+			this.directories.put(directory, new int[] { archive });
+		}
+		else if (archives[archives.length - 1] != archive) {
+			int[] extended = new int[archives.length + 1];
+			System.arraycopy(archives, 0, extended, 0, archives.length);
+			extended[archives.length] = archive;
+			this.directories.put(directory, extended);
+		}
+	}
+
+	/**
+	 * Return the archives, in class path order, that contain entries in the same
+	 * directory as the given resource.
+	 * @param name the resource name
+	 * @return the positions of the archives (never {@code null})
+	 */
+	int[] getArchives(String name) {
+		int[] archives = this.directories.get(getDirectory(name));
+		return (archives == null ? NO_ARCHIVES : archives);
+	}
+
+	URL getUrl(int archive) {
+		return this.urls[archive];
+	}
+
+	JarFile getJarFile(int archive) {
+		return this.jarFiles[archive];
+	}
+
+	/**
+	 * Return if the index can answer lookups for the given resource name. Directories,
+	 * the root and names that refer to nested archives must be resolved by probing the
+	 * class path.
+	 * @param name the resource name
+	 * @return if the name can be looked up in the index
+	 */
+	static boolean isIndexable(String name) {
+		return name.length() > 0 && !name.startsWith("/") && !name.endsWith("/")
+				&& !name.contains("!/");
+	}
+
+	private static String getDirectory(String name) {
+		return name.substring(0, name.lastIndexOf('/') + 1);
+	}
+
+	/**
+	 * Create a new {@link ClassPathIndex} for the given URLs.
+	 * @param urls the class path URLs
+	 * @return the index or {@code null} if one or more of the URLs do not refer to a
+	 * {@link JarFile}
+	 */
+	static ClassPathIndex get(URL[] urls) {
+		JarFile[] jarFiles = new JarFile[urls.length];
+		for (int i = 0; i < urls.length; i++) {
+			if (!"jar".equals(urls[i].getProtocol())) {
+				return null;
+			}
+			try {
+				Object content = urls[i].getContent();
+				if (!(content instanceof JarFile)) {
+					return null;
+				}
+				jarFiles[i] = (JarFile) content;
+			}
+			catch (IOException ex) {
+				return null;
+			}
+		}
+		return new ClassPathIndex(urls.clone(), jarFiles);
+	}
+
+}
@@ -16,20 +16,40 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.security.AccessController;
+import java.security.CodeSource;
+import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.Manifest;
 
 import org.springframework.boot.loader.jar.Handler;
 import org.springframework.boot.loader.jar.JarFile;
 
 /**
- * {@link ClassLoader} used by the {@link Launcher}.
+ * {@link ClassLoader} used by the {@link Launcher}. The class loader is registered as
+ * parallel capable so that classes can be loaded concurrently from nested jars. When
+ * {@link #LaunchedURLClassLoader(URL[], ClassLoader, boolean) enabled} and all of its
+ * URLs refer to jar files, a {@link ClassPathIndex} is used so that a class or resource
+ * is only looked up in the archives that can contain it. A class that the index cannot
+ * find is not searched for on the class path.
  *
  * @author Phillip Webb
  * @author Dave Syer
@@ -37,19 +57,69 @@ import org.springframework.boot.loader.jar.JarFile;
  */
 public class LaunchedURLClassLoader extends URLClassLoader {
 
+	private static final int BUFFER_SIZE = 4096;
+
+	static {
+		ClassLoader.registerAsParallelCapable();
+	}
+
+	private final boolean useIndex;
+
+	private final Lock indexLock = new ReentrantLock();
+
+	private volatile boolean indexResolved;
+
+	private volatile ClassPathIndex index;
+
 	/**
-	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * Create a new {@link LaunchedURLClassLoader} instance that does not use an index.
 	 * @param urls the URLs from which to load classes and resources
 	 * @param parent the parent class loader for delegation
 	 */
 	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent) {
+		this(urls, parent, false);
+	}
+
+	/**
+	 * Create a new {@link LaunchedURLClassLoader} instance.
+	 * @param urls the URLs from which to load classes and resources
+	 * @param parent the parent class loader for delegation
+	 * @param useIndex if an index of the archives should be built when classes and
+	 * resources are first loaded so that only the archives that can contain them are
+	 * searched
+	 * @since 2.0.0
+	 */
+	public LaunchedURLClassLoader(URL[] urls, ClassLoader parent, boolean useIndex) {
 		super(urls, parent);
+		this.useIndex = useIndex;
+	}
+
+	@Override
+	protected void addURL(URL url) {
+		this.indexLock.lock();
+		try {
+			super.addURL(url);
+			this.index = null;
+			this.indexResolved = false;
+		}
+		finally {
+			this.indexLock.unlock();
+		}
 	}
 
 	@Override
 	public URL findResource(String name) {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
+			ClassPathIndex index = getIndex(name);
+			if (index != null) {
+				for (int archive : index.getArchives(name)) {
+					if (index.getJarFile(archive).getEntry(name) != null) {
+						return createResourceUrl(index.getUrl(archive), name);
+					}
+				}
+				return null;
+			}
 			return super.findResource(name);
 		}
 		finally {
@@ -61,6 +131,16 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 	public Enumeration<URL> findResources(String name) throws IOException {
 		Handler.setUseFastConnectionExceptions(true);
 		try {
+			ClassPathIndex index = getIndex(name);
+			if (index != null) {
+				List<URL> urls = new ArrayList<URL>();
+				for (int archive : index.getArchives(name)) {
+					if (index.getJarFile(archive).getEntry(name) != null) {
+						urls.add(createResourceUrl(index.getUrl(archive), name));
+					}
+				}
+				return Collections.enumeration(urls);
+			}
 			return super.findResources(name);
 		}
 		finally {
@@ -68,6 +148,154 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	@Override
+	protected Class<?> findClass(final String name) throws ClassNotFoundException {
+		String path = name.replace('.', '/').concat(".class");
+		final ClassPathIndex index = getIndex(path);
+		if (index != null) {
+			for (final int archive : index.getArchives(path)) {
+				final JarEntry entry = index.getJarFile(archive).getJarEntry(path);
+				if (entry != null && !entry.isDirectory()) {
+					try {
+						return AccessController
+								.doPrivileged(new PrivilegedExceptionAction<Class<?>>() {
+									@Override
+									public Class<?> run() throws IOException {
+										return defineClass(name, index.getUrl(archive),
+												index.getJarFile(archive), entry);
+									}
+								}, AccessController.getContext());
+					}
+					catch (PrivilegedActionException ex) {
+						throw new ClassNotFoundException(name, ex.getException());
+					}
+				}
+			}
+			throw new ClassNotFoundException(name);
+		}
+		return super.findClass(name);
+	}
+
+	private Class<?> defineClass(String name, URL url, JarFile jarFile, JarEntry entry)
+			throws IOException {
+		int lastDot = name.lastIndexOf('.');
+		if (lastDot >= 0) {
+			defineOrVerifyPackage(name.substring(0, lastDot), jarFile.getManifest(), url);
+		}
+		byte[] bytes = getBytes(jarFile.getInputStream(entry));
+		CodeSource codeSource = new CodeSource(url, entry.getCodeSigners());
+		return defineClass(name, bytes, 0, bytes.length, codeSource);
+	}
+
+	/**
+	 * Define the package of a class that is being loaded from the given archive or, if it
+	 * has already been defined, verify that loading the class does not violate the
+	 * package's sealing. Mirrors the checks made by {@link URLClassLoader} when it
+	 * defines a class.
+	 * @param packageName the package name
+	 * @param manifest the manifest of the archive (may be {@code null})
+	 * @param url the URL of the archive
+	 */
+	private void defineOrVerifyPackage(String packageName, Manifest manifest, URL url) {
+		Package pkg = getPackage(packageName);
+		if (pkg == null) {
+			try {
+				if (manifest != null) {
+					definePackage(packageName, manifest, url);
+				}
+				else {
+					definePackage(packageName, null, null, null, null, null, null, null);
+				}
+				return;
+			}
+			catch (IllegalArgumentException ex) {
+				// Tolerate race condition due to being parallel capable
+				pkg = getPackage(packageName);
+			}
+		}
+		if (pkg != null) {
+			if (pkg.isSealed()) {
+				if (!pkg.isSealed(url)) {
+					throw new SecurityException(
+							"sealing violation: package " + packageName + " is sealed");
+				}
+			}
+			else if (manifest != null && isSealed(packageName, manifest)) {
+				throw new SecurityException("sealing violation: can't seal package "
+						+ packageName + ": already loaded");
+			}
+		}
+	}
+
+	private boolean isSealed(String packageName, Manifest manifest) {
+		String path = packageName.replace('.', '/').concat("/");
+		Attributes attributes = manifest.getAttributes(path);
+		String sealed = (attributes != null
+				? attributes.getValue(Attributes.Name.SEALED) : null);
+		if (sealed == null) {
+			attributes = manifest.getMainAttributes();
+			sealed = (attributes != null
+					? attributes.getValue(Attributes.Name.SEALED) : null);
+		}
+		return "true".equalsIgnoreCase(sealed);
+	}
+
+	private byte[] getBytes(InputStream inputStream) throws IOException {
+		try {
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				outputStream.write(buffer, 0, bytesRead);
+			}
+			return outputStream.toByteArray();
+		}
+		finally {
+			inputStream.close();
+		}
+	}
+
+	private URL createResourceUrl(URL base, String name) {
+		try {
+			return new URL(base, new URI(null, null, name, null).toASCIIString());
+		}
+		catch (MalformedURLException ex) {
+			throw new IllegalStateException(ex);
+		}
+		catch (URISyntaxException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Return the {@link ClassPathIndex} that should be used to find the given resource.
+	 * @param name the resource name
+	 * @return the index or {@code null} if the class path must be searched
+	 */
+	private ClassPathIndex getIndex(String name) {
+		if (!this.useIndex || !ClassPathIndex.isIndexable(name)) {
+			return null;
+		}
+		if (this.indexResolved) {
+			return this.index;
+		}
+		// Threads that arrive while the index is being built search the class path
+		// rather than waiting for it
+		if (!this.indexLock.tryLock()) {
+			return null;
+		}
+		try {
+			if (!this.indexResolved) {
+				this.index = ClassPathIndex.get(getURLs());
+				this.indexResolved = true;
+			}
+			return this.index;
+		}
+		finally {
+			this.indexLock.unlock();
+		}
+	}
+
 	@Override
 	protected Class<?> loadClass(String name, boolean resolve)
 			throws ClassNotFoundException {
@@ -129,15 +357,23 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 				public Object run() throws ClassNotFoundException {
 					String packageEntryName = packageName.replace(".", "/") + "/";
 					String classEntryName = className.replace(".", "/") + ".class";
+					ClassPathIndex index = getIndex(classEntryName);
+					if (index != null) {
+						for (int archive : index.getArchives(classEntryName)) {
+							if (definePackage(packageName, packageEntryName,
+									classEntryName, index.getUrl(archive),
+									index.getJarFile(archive))) {
+								return null;
+							}
+						}
+						return null;
+					}
 					for (URL url : getURLs()) {
 						try {
 							if (url.getContent() instanceof JarFile) {
 								JarFile jarFile = (JarFile) url.getContent();
-								if (jarFile.getEntry(classEntryName) != null
-										&& jarFile.getEntry(packageEntryName) != null
-										&& jarFile.getManifest() != null) {
-									definePackage(packageName, jarFile.getManifest(),
-											url);
+								if (definePackage(packageName, packageEntryName,
+										classEntryName, url, jarFile)) {
 									return null;
 								}
 							}
@@ -150,9 +386,25 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 				}
 			}, AccessController.getContext());
 		}
-		catch (java.security.PrivilegedActionException ex) {
+		catch (PrivilegedActionException ex) {
+			// Ignore
+		}
+	}
+
+	private boolean definePackage(String packageName, String packageEntryName,
+			String classEntryName, URL url, JarFile jarFile) {
+		try {
+			if (jarFile.getEntry(classEntryName) != null
+					&& jarFile.getEntry(packageEntryName) != null
+					&& jarFile.getManifest() != null) {
+				definePackage(packageName, jarFile.getManifest(), url);
+				return true;
+			}
+		}
+		catch (IOException ex) {
 			// Ignore
 		}
+		return false;
 	}
 
 	/**
@@ -20,22 +20,25 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Semaphore;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 
 /**
- * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}.
+ * {@link RandomAccessData} implementation backed by a {@link FileChannel}. All
+ * subsections share a single channel that is read using positional reads so that
+ * concurrent reads never block each other.
  *
  * @author Phillip Webb
  */
 public class RandomAccessDataFile implements RandomAccessData {
 
-	private static final int DEFAULT_CONCURRENT_READS = 4;
-
 	private final File file;
 
-	private final FilePool filePool;
+	private final FileAccess fileAccess;
 
 	private final long offset;
 
@@ -45,21 +48,8 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 * Create a new {@link RandomAccessDataFile} backed by the specified file.
 	 * @param file the underlying file
 	 * @throws IllegalArgumentException if the file is null or does not exist
-	 * @see #RandomAccessDataFile(File, int)
 	 */
 	public RandomAccessDataFile(File file) {
-		this(file, DEFAULT_CONCURRENT_READS);
-	}
-
-	/**
-	 * Create a new {@link RandomAccessDataFile} backed by the specified file.
-	 * @param file the underlying file
-	 * @param concurrentReads the maximum number of concurrent reads allowed on the
-	 * underlying file before blocking
-	 * @throws IllegalArgumentException if the file is null or does not exist
-	 * @see #RandomAccessDataFile(File)
-	 */
-	public RandomAccessDataFile(File file, int concurrentReads) {
 		if (file == null) {
 			throw new IllegalArgumentException("File must not be null");
 		}
@@ -67,21 +57,35 @@ public class RandomAccessDataFile implements RandomAccessData {
 			throw new IllegalArgumentException("File must exist");
 		}
 		this.file = file;
-		this.filePool = new FilePool(concurrentReads);
+		this.fileAccess = new FileAccess();
 		this.offset = 0L;
 		this.length = file.length();
 	}
 
+	/**
+	 * Create a new {@link RandomAccessDataFile} backed by the specified file.
+	 * @param file the underlying file
+	 * @param concurrentReads ignored as concurrent reads are no longer limited
+	 * @throws IllegalArgumentException if the file is null or does not exist
+	 * @see #RandomAccessDataFile(File)
+	 * @deprecated as of 2.0.0 in favor of {@link #RandomAccessDataFile(File)}
+	 */
+	@Deprecated
+	public RandomAccessDataFile(File file, int concurrentReads) {
+		this(file);
+	}
+
 	/**
 	 * Private constructor used to create a {@link #getSubsection(long, long) subsection}.
 	 * @param file the underlying file
-	 * @param pool the underlying pool
+	 * @param fileAccess the shared access to the underlying file
 	 * @param offset the offset of the section
 	 * @param length the length of the section
 	 */
-	private RandomAccessDataFile(File file, FilePool pool, long offset, long length) {
+	private RandomAccessDataFile(File file, FileAccess fileAccess, long offset,
+			long length) {
 		this.file = file;
-		this.filePool = pool;
+		this.fileAccess = fileAccess;
 		this.offset = offset;
 		this.length = length;
 	}
@@ -96,7 +100,7 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	@Override
 	public InputStream getInputStream(ResourceAccess access) throws IOException {
-		return new DataInputStream(access);
+		return new DataInputStream();
 	}
 
 	@Override
@@ -104,8 +108,8 @@ public class RandomAccessDataFile implements RandomAccessData {
 		if (offset < 0 || length < 0 || offset + length > this.length) {
 			throw new IndexOutOfBoundsException();
 		}
-		return new RandomAccessDataFile(this.file, this.filePool, this.offset + offset,
-				length);
+		return new RandomAccessDataFile(this.file, this.fileAccess,
+				this.offset + offset, length);
 	}
 
 	@Override
@@ -113,8 +117,30 @@ public class RandomAccessDataFile implements RandomAccessData {
 		return this.length;
 	}
 
+	/**
+	 * Map the data into memory. The returned buffer remains valid after this instance
+	 * has been closed.
+	 * @return a read-only buffer of the data
+	 * @throws IOException if the data cannot be mapped
+	 */
+	public MappedByteBuffer map() throws IOException {
+		RandomAccessFile file = new RandomAccessFile(this.file, "r");
+		try {
+			FileChannel channel = file.getChannel();
+			return channel.map(MapMode.READ_ONLY, this.offset, this.length);
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	/**
+	 * Close the underlying file. The file is opened again if it is subsequently read,
+	 * either directly or through a subsection or stream.
+	 * @throws IOException if the file cannot be closed
+	 */
 	public void close() throws IOException {
-		this.filePool.close();
+		this.fileAccess.close();
 	}
 
 	/**
@@ -123,20 +149,14 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 */
 	private class DataInputStream extends InputStream {
 
-		private RandomAccessFile file;
+		private final byte[] single = new byte[1];
 
 		private int position;
 
-		DataInputStream(ResourceAccess access) throws IOException {
-			if (access == ResourceAccess.ONCE) {
-				this.file = new RandomAccessFile(RandomAccessDataFile.this.file, "r");
-				this.file.seek(RandomAccessDataFile.this.offset);
-			}
-		}
-
 		@Override
 		public int read() throws IOException {
-			return doRead(null, 0, 1);
+			int amountRead = doRead(this.single, 0, 1);
+			return (amountRead <= 0 ? -1 : this.single[0] & 0xFF);
 		}
 
 		@Override
@@ -154,11 +174,11 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 		/**
 		 * Perform the actual read.
-		 * @param b the bytes to read or {@code null} when reading a single byte
+		 * @param b the bytes to read into
 		 * @param off the offset of the byte array
 		 * @param len the length of data to read
-		 * @return the number of bytes read into {@code b} or the actual read byte if
-		 * {@code b} is {@code null}. Returns -1 when the end of the stream is reached
+		 * @return the number of bytes read into {@code b}. Returns -1 when the end of
+		 * the stream is reached
 		 * @throws IOException in case of I/O errors
 		 */
 		public int doRead(byte[] b, int off, int len) throws IOException {
@@ -169,26 +189,9 @@ public class RandomAccessDataFile implements RandomAccessData {
 			if (cappedLen <= 0) {
 				return -1;
 			}
-			RandomAccessFile file = this.file;
-			if (file == null) {
-				file = RandomAccessDataFile.this.filePool.acquire();
-				file.seek(RandomAccessDataFile.this.offset + this.position);
-			}
-			try {
-				if (b == null) {
-					int rtn = file.read();
-					moveOn(rtn == -1 ? 0 : 1);
-					return rtn;
-				}
-				else {
-					return (int) moveOn(file.read(b, off, cappedLen));
-				}
-			}
-			finally {
-				if (this.file == null) {
-					RandomAccessDataFile.this.filePool.release(file);
-				}
-			}
+			int amountRead = RandomAccessDataFile.this.fileAccess.read(b, off, cappedLen,
+					RandomAccessDataFile.this.offset + this.position);
+			return (amountRead == -1 ? -1 : (int) moveOn(amountRead));
 		}
 
 		@Override
@@ -196,13 +199,6 @@ public class RandomAccessDataFile implements RandomAccessData {
 			return (n <= 0 ? 0 : moveOn(cap(n)));
 		}
 
-		@Override
-		public void close() throws IOException {
-			if (this.file != null) {
-				this.file.close();
-			}
-		}
-
 		/**
 		 * Cap the specified value such that it cannot exceed the number of bytes
 		 * remaining.
@@ -226,49 +222,77 @@ public class RandomAccessDataFile implements RandomAccessData {
 	}
 
 	/**
-	 * Manage a pool that can be used to perform concurrent reads on the underlying
-	 * {@link RandomAccessFile}.
+	 * Manage a {@link FileChannel} that is shared by all readers of the underlying file.
+	 * Positional reads do not change the state of the channel so they can be performed
+	 * concurrently. The channel is opened lazily, so reading after the file has been
+	 * {@link #close() closed} opens a new one. A channel is also closed when a thread
+	 * blocked reading it is interrupted so, in that case, the read is retried with a new
+	 * channel.
 	 */
-	private class FilePool {
-
-		private final int size;
+	private class FileAccess {
 
-		private final Semaphore available;
+		private final Object monitor = new Object();
 
-		private final Queue<RandomAccessFile> files;
+		private volatile FileChannel channel;
 
-		FilePool(int size) {
-			this.size = size;
-			this.available = new Semaphore(size);
-			this.files = new ConcurrentLinkedQueue<RandomAccessFile>();
+		public int read(byte[] bytes, int off, int len, long position)
+				throws IOException {
+			// Clear any pending interrupt so that it does not close the shared channel
+			boolean interrupted = Thread.interrupted();
+			try {
+				while (true) {
+					FileChannel channel = getChannel();
+					try {
+						return channel.read(ByteBuffer.wrap(bytes, off, len), position);
+					}
+					catch (ClosedByInterruptException ex) {
+						interrupted = true;
+						Thread.interrupted();
+					}
+					catch (ClosedChannelException ex) {
+						// Closed by another thread, try again with a new channel
+					}
+					reopen(channel);
+				}
+			}
+			finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
 		}
 
-		public RandomAccessFile acquire() throws IOException {
-			this.available.acquireUninterruptibly();
-			RandomAccessFile file = this.files.poll();
-			if (file != null) {
-				return file;
+		private FileChannel getChannel() throws IOException {
+			FileChannel channel = this.channel;
+			if (channel == null) {
+				synchronized (this.monitor) {
+					channel = this.channel;
+					if (channel == null) {
+						channel = new RandomAccessFile(RandomAccessDataFile.this.file,
+								"r").getChannel();
+						this.channel = channel;
+					}
+				}
 			}
-			return new RandomAccessFile(RandomAccessDataFile.this.file, "r");
+			return channel;
 		}
 
-		public void release(RandomAccessFile file) {
-			this.files.add(file);
-			this.available.release();
+		private void reopen(FileChannel closed) {
+			synchronized (this.monitor) {
+				if (this.channel == closed) {
+					this.channel = null;
+				}
+			}
 		}
 
 		public void close() throws IOException {
-			this.available.acquireUninterruptibly(this.size);
-			try {
-				RandomAccessFile pooledFile = this.files.poll();
-				while (pooledFile != null) {
-					pooledFile.close();
-					pooledFile = this.files.poll();
+			synchronized (this.monitor) {
+				FileChannel channel = this.channel;
+				this.channel = null;
+				if (channel != null) {
+					channel.close();
 				}
 			}
-			finally {
-				this.available.release(this.size);
-			}
 		}
 
 	}
@@ -48,13 +48,33 @@ class CentralDirectoryParser {
 	 */
 	public RandomAccessData parse(RandomAccessData data, boolean skipPrefixBytes)
 			throws IOException {
+		return parse(data, skipPrefixBytes, null);
+	}
+
+	/**
+	 * Parse the source data, triggering {@link CentralDirectoryVisitor visitors}. If an
+	 * index that matches the data is provided and all visitors can use it, the file
+	 * headers are not parsed.
+	 * @param data the source data
+	 * @param skipPrefixBytes if prefix bytes should be skipped
+	 * @param index a precomputed index of the entries or {@code null}
+	 * @return The actual archive data without any prefix bytes
+	 * @throws IOException on error
+	 */
+	public RandomAccessData parse(RandomAccessData data, boolean skipPrefixBytes,
+			JarEntryIndex index) throws IOException {
 		CentralDirectoryEndRecord endRecord = new CentralDirectoryEndRecord(data);
 		if (skipPrefixBytes) {
 			data = getArchiveData(endRecord, data);
 		}
 		RandomAccessData centralDirectoryData = endRecord.getCentralDirectory(data);
-		visitStart(endRecord, centralDirectoryData);
-		parseEntries(endRecord, centralDirectoryData);
+		if (index != null && index.matches(endRecord) && isIndexable()) {
+			visitStart(endRecord, centralDirectoryData, index);
+		}
+		else {
+			visitStart(endRecord, centralDirectoryData);
+			parseEntries(endRecord, centralDirectoryData);
+		}
 		visitEnd();
 		return data;
 	}
@@ -82,6 +102,23 @@ class CentralDirectoryParser {
 		return data.getSubsection(offset, data.getSize() - offset);
 	}
 
+	private boolean isIndexable() {
+		for (CentralDirectoryVisitor visitor : this.visitors) {
+			if (!(visitor instanceof IndexedCentralDirectoryVisitor)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void visitStart(CentralDirectoryEndRecord endRecord,
+			RandomAccessData centralDirectoryData, JarEntryIndex index) {
+		for (CentralDirectoryVisitor visitor : this.visitors) {
+			((IndexedCentralDirectoryVisitor) visitor).visitStart(endRecord,
+					centralDirectoryData, index);
+		}
+	}
+
 	private void visitStart(CentralDirectoryEndRecord endRecord,
 			RandomAccessData centralDirectoryData) {
 		for (CentralDirectoryVisitor visitor : this.visitors) {
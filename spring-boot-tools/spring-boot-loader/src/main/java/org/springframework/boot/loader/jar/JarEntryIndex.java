@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import org.springframework.boot.loader.data.RandomAccessData;
+import org.springframework.boot.loader.data.RandomAccessDataFile;
+
+/**
+ * A precomputed index of the entries of a nested jar, written alongside it when the
+ * archive is repackaged. The index holds the same {@code hashCodes},
+ * {@code centralDirectoryOffsets} and {@code positions} arrays that
+ * {@link JarFileEntries} would otherwise build by parsing the central directory of the
+ * nested jar. The index is memory mapped and searched in place.
+ * <p>
+ * The format (big-endian) is a header holding a magic number, a version, the CRC of the
+ * nested jar, its number of central directory records, some flags and the number of
+ * indexed entries, followed by the three arrays. An index that does not match the nested
+ * jar is ignored.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+final class JarEntryIndex {
+
+	private static final String LOCATION = "META-INF/jar-index/";
+
+	private static final String SUFFIX = ".idx";
+
+	private static final int MAGIC = 0x4A494458;
+
+	private static final int VERSION = 1;
+
+	private static final int HEADER_SIZE = 28;
+
+	private static final int SIGNED = 1;
+
+	private final int numberOfRecords;
+
+	private final boolean signed;
+
+	private final int size;
+
+	private final IntBuffer hashCodes;
+
+	private final IntBuffer centralDirectoryOffsets;
+
+	private final IntBuffer positions;
+
+	private JarEntryIndex(ByteBuffer buffer, int numberOfRecords, boolean signed,
+			int size) {
+		this.numberOfRecords = numberOfRecords;
+		this.signed = signed;
+		this.size = size;
+		this.hashCodes = slice(buffer, 0);
+		this.centralDirectoryOffsets = slice(buffer, 1);
+		this.positions = slice(buffer, 2);
+	}
+
+	private IntBuffer slice(ByteBuffer buffer, int array) {
+		ByteBuffer slice = buffer.duplicate();
+		int offset = HEADER_SIZE + array * this.size * 4;
+		slice.limit(offset + this.size * 4);
+		slice.position(offset);
+		return slice.slice().asIntBuffer();
+	}
+
+	/**
+	 * Return {@code true} if the index describes a central directory with the given end
+	 * record.
+	 * @param endRecord the end record
+	 * @return if the index matches
+	 */
+	boolean matches(CentralDirectoryEndRecord endRecord) {
+		return this.numberOfRecords == endRecord.getNumberOfRecords();
+	}
+
+	boolean isSigned() {
+		return this.signed;
+	}
+
+	int size() {
+		return this.size;
+	}
+
+	int getHashCode(int index) {
+		return this.hashCodes.get(index);
+	}
+
+	int getCentralDirectoryOffset(int index) {
+		return this.centralDirectoryOffsets.get(index);
+	}
+
+	int getPosition(int index) {
+		return this.positions.get(index);
+	}
+
+	/**
+	 * Return the first index of an entry with the given hash code.
+	 * @param hashCode the hash code
+	 * @return the first index or {@code -1} if there is no such entry
+	 */
+	int getFirstIndex(int hashCode) {
+		int low = 0;
+		int high = this.size - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (this.hashCodes.get(mid) < hashCode) {
+				low = mid + 1;
+			}
+			else {
+				high = mid - 1;
+			}
+		}
+		return (low < this.size && this.hashCodes.get(low) == hashCode ? low : -1);
+	}
+
+	/**
+	 * Return the name of the entry that holds the index of the given nested jar entry.
+	 * @param entryName the name of the nested jar entry
+	 * @return the name of the index entry
+	 */
+	static String getIndexName(String entryName) {
+		return LOCATION + entryName + SUFFIX;
+	}
+
+	/**
+	 * Load an index, memory mapping it if it is held in a file.
+	 * @param data the index data
+	 * @param crc the CRC of the nested jar that the index must describe
+	 * @return the index or {@code null} if the data is not a valid index for the jar
+	 * @throws IOException if the data cannot be read
+	 */
+	static JarEntryIndex load(RandomAccessData data, long crc) throws IOException {
+		ByteBuffer buffer = (data instanceof RandomAccessDataFile
+				? ((RandomAccessDataFile) data).map() : ByteBuffer.wrap(Bytes.get(data)));
+		if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC
+				|| buffer.getInt(4) != VERSION || buffer.getLong(8) != crc) {
+			return null;
+		}
+		int numberOfRecords = buffer.getInt(16);
+		int flags = buffer.getInt(20);
+		int size = buffer.getInt(24);
+		if (size < 0 || size > numberOfRecords
+				|| buffer.capacity() != HEADER_SIZE + size * 12L) {
+			return null;
+		}
+		return new JarEntryIndex(buffer, numberOfRecords, (flags & SIGNED) != 0, size);
+	}
+
+}
@@ -42,6 +42,8 @@ import org.springframework.boot.loader.data.RandomAccessDataFile;
  * on any directory entry.</li>
  * <li>A nested {@link JarFile} can be {@link #getNestedJarFile(ZipEntry) obtained} for
  * embedded JAR files (as long as their entry is not compressed).</li>
+ * <li>The entries of an embedded JAR file are read from a precomputed index, rather than
+ * from its central directory, when the archive contains one.</li>
  * </ul>
  *
  * @author Phillip Webb
@@ -70,7 +72,7 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private JarFileEntries entries;
 
-	private SoftReference<Manifest> manifest;
+	private volatile SoftReference<Manifest> manifest;
 
 	private boolean signed;
 
@@ -103,30 +105,36 @@ public class JarFile extends java.util.jar.JarFile {
 	 */
 	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
 			RandomAccessData data, JarFileType type) throws IOException {
-		this(rootFile, pathFromRoot, data, null, type);
+		this(rootFile, pathFromRoot, data, null, null, type);
 	}
 
 	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
-			RandomAccessData data, JarEntryFilter filter, JarFileType type)
-					throws IOException {
+			RandomAccessData data, JarEntryFilter filter, JarEntryIndex index,
+			JarFileType type) throws IOException {
 		super(rootFile.getFile());
 		this.rootFile = rootFile;
 		this.pathFromRoot = pathFromRoot;
 		CentralDirectoryParser parser = new CentralDirectoryParser();
 		this.entries = parser.addVisitor(new JarFileEntries(this, filter));
 		parser.addVisitor(centralDirectoryVisitor());
-		this.data = parser.parse(data, filter == null);
+		this.data = parser.parse(data, filter == null, index);
 		this.type = type;
 	}
 
 	private CentralDirectoryVisitor centralDirectoryVisitor() {
-		return new CentralDirectoryVisitor() {
+		return new IndexedCentralDirectoryVisitor() {
 
 			@Override
 			public void visitStart(CentralDirectoryEndRecord endRecord,
 					RandomAccessData centralDirectoryData) {
 			}
 
+			@Override
+			public void visitStart(CentralDirectoryEndRecord endRecord,
+					RandomAccessData centralDirectoryData, JarEntryIndex index) {
+				JarFile.this.signed = index.isSigned();
+			}
+
 			@Override
 			public void visitFileHeader(CentralDirectoryFileHeader fileHeader,
 					int dataOffset) {
@@ -210,7 +218,7 @@ public class JarFile extends java.util.jar.JarFile {
 	}
 
 	@Override
-	public synchronized InputStream getInputStream(ZipEntry ze) throws IOException {
+	public InputStream getInputStream(ZipEntry ze) throws IOException {
 		return getInputStream(ze, ResourceAccess.PER_READ);
 	}
 
@@ -232,7 +240,7 @@ public class JarFile extends java.util.jar.JarFile {
 	 * @return a {@link JarFile} for the entry
 	 * @throws IOException if the nested jar file cannot be read
 	 */
-	public synchronized JarFile getNestedJarFile(final ZipEntry entry)
+	public JarFile getNestedJarFile(final ZipEntry entry)
 			throws IOException {
 		return getNestedJarFile((JarEntry) entry);
 	}
@@ -243,7 +251,7 @@ public class JarFile extends java.util.jar.JarFile {
 	 * @return a {@link JarFile} for the entry
 	 * @throws IOException if the nested jar file cannot be read
 	 */
-	public synchronized JarFile getNestedJarFile(JarEntry entry) throws IOException {
+	public JarFile getNestedJarFile(JarEntry entry) throws IOException {
 		try {
 			return createJarFileFromEntry(entry);
 		}
@@ -276,7 +284,7 @@ public class JarFile extends java.util.jar.JarFile {
 		return new JarFile(this.rootFile,
 				this.pathFromRoot + "!/"
 						+ entry.getName().substring(0, sourceName.length() - 1),
-				this.data, filter, JarFileType.NESTED_DIRECTORY);
+				this.data, filter, null, JarFileType.NESTED_DIRECTORY);
 	}
 
 	private JarFile createJarFileFromFileEntry(JarEntry entry) throws IOException {
@@ -288,7 +296,20 @@ public class JarFile extends java.util.jar.JarFile {
 		}
 		RandomAccessData entryData = this.entries.getEntryData(entry.getName());
 		return new JarFile(this.rootFile, this.pathFromRoot + "!/" + entry.getName(),
-				entryData, JarFileType.NESTED_JAR);
+				entryData, null, getEntryIndex(entry), JarFileType.NESTED_JAR);
+	}
+
+	private JarEntryIndex getEntryIndex(JarEntry entry) throws IOException {
+		if (this.type != JarFileType.DIRECT) {
+			return null;
+		}
+		JarEntry indexEntry = this.entries
+				.getEntry(JarEntryIndex.getIndexName(entry.getName()));
+		if (indexEntry == null || indexEntry.getMethod() != ZipEntry.STORED) {
+			return null;
+		}
+		return JarEntryIndex.load(this.entries.getEntryData(indexEntry.getName()),
+				entry.getCrc());
 	}
 
 	@Override
@@ -298,7 +319,10 @@ public class JarFile extends java.util.jar.JarFile {
 
 	@Override
 	public void close() throws IOException {
-		this.rootFile.close();
+		// Nested jars share the root file so only the root jar may close it
+		if (this.type == JarFileType.DIRECT) {
+			this.rootFile.close();
+		}
 	}
 
 	/**
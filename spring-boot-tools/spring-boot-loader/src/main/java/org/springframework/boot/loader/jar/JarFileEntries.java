@@ -35,14 +35,15 @@ import org.springframework.boot.loader.data.RandomAccessData.ResourceAccess;
  * stores the hash code of the entry name, the {@code centralDirectoryOffsets} provides
  * the offset to the central directory record and {@code positions} provides the original
  * order position of the entry. The arrays are stored in hashCode order so that a binary
- * search can be used to find a name.
+ * search can be used to find a name. When the jar has been indexed at build time the
+ * same data is read from a memory mapped {@link JarEntryIndex} instead.
  * <p>
  * A typical Spring Boot application will have somewhere in the region of 10,500 entries
  * which should consume about 122K.
  *
  * @author Phillip Webb
  */
-class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
+class JarFileEntries implements IndexedCentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private static final long LOCAL_FILE_HEADER_SIZE = 30;
 
@@ -66,6 +67,8 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	private int[] positions;
 
+	private JarEntryIndex index;
+
 	private final Map<Integer, FileHeader> entriesCache = Collections
 			.synchronizedMap(new LinkedHashMap<Integer, FileHeader>(16, 0.75f, true) {
 
@@ -95,6 +98,14 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		this.positions = new int[maxSize];
 	}
 
+	@Override
+	public void visitStart(CentralDirectoryEndRecord endRecord,
+			RandomAccessData centralDirectoryData, JarEntryIndex index) {
+		this.centralDirectoryData = centralDirectoryData;
+		this.index = index;
+		this.size = index.size();
+	}
+
 	@Override
 	public void visitFileHeader(CentralDirectoryFileHeader fileHeader, int dataOffset) {
 		AsciiBytes name = applyFilter(fileHeader.getName());
@@ -113,6 +124,9 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 
 	@Override
 	public void visitEnd() {
+		if (this.index != null) {
+			return;
+		}
 		sort(0, this.size - 1);
 		int[] positions = this.positions;
 		this.positions = new int[positions.length];
@@ -227,7 +241,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	private <T extends FileHeader> T getEntry(int hashCode, String name, String suffix,
 			Class<T> type, boolean cacheEntry) {
 		int index = getFirstIndex(hashCode);
-		while (index >= 0 && index < this.size && this.hashCodes[index] == hashCode) {
+		while (index >= 0 && index < this.size && getHashCode(index) == hashCode) {
 			T entry = getEntry(index, type, cacheEntry);
 			if (entry.hasName(name, suffix)) {
 				return entry;
@@ -244,8 +258,8 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 			FileHeader cached = this.entriesCache.get(index);
 			FileHeader entry = (cached != null ? cached
 					: CentralDirectoryFileHeader.fromRandomAccessData(
-							this.centralDirectoryData,
-							this.centralDirectoryOffsets[index], this.filter));
+							this.centralDirectoryData, getCentralDirectoryOffset(index),
+							this.filter));
 			if (CentralDirectoryFileHeader.class.equals(entry.getClass())
 					&& type.equals(JarEntry.class)) {
 				entry = new JarEntry(this.jarFile, (CentralDirectoryFileHeader) entry);
@@ -261,6 +275,9 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 	}
 
 	private int getFirstIndex(int hashCode) {
+		if (this.index != null) {
+			return this.index.getFirstIndex(hashCode);
+		}
 		int index = Arrays.binarySearch(this.hashCodes, 0, this.size, hashCode);
 		if (index < 0) {
 			return -1;
@@ -271,6 +288,21 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		return index;
 	}
 
+	private int getHashCode(int index) {
+		return (this.index != null ? this.index.getHashCode(index)
+				: this.hashCodes[index]);
+	}
+
+	private int getCentralDirectoryOffset(int index) {
+		return (this.index != null ? this.index.getCentralDirectoryOffset(index)
+				: this.centralDirectoryOffsets[index]);
+	}
+
+	private int getPosition(int index) {
+		return (this.index != null ? this.index.getPosition(index)
+				: this.positions[index]);
+	}
+
 	public void clearCache() {
 		this.entriesCache.clear();
 	}
@@ -296,7 +328,7 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 			if (!hasNext()) {
 				throw new NoSuchElementException();
 			}
-			int entryIndex = JarFileEntries.this.positions[this.index];
+			int entryIndex = getPosition(this.index);
 			this.index++;
 			return getEntry(entryIndex, JarEntry.class, false);
 		}
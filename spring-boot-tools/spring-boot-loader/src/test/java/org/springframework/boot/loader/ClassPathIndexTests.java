@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.File;
+import java.net.URL;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.jar.JarFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassPathIndex}.
+ *
+ * @author Agent Local
+ */
+public class ClassPathIndexTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void getArchivesInClassPathOrder() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL[] urls = { jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl(),
+				jarFile.getUrl() };
+		ClassPathIndex index = ClassPathIndex.get(urls);
+		assertThat(index.getArchives("3.dat")).containsExactly(0, 1);
+		assertThat(index.getArchives("d/9.dat")).containsExactly(1);
+		assertThat(index.getArchives("META-INF/MANIFEST.MF")).containsExactly(0, 1);
+		assertThat(index.getArchives("e/missing.dat")).isEmpty();
+		assertThat(index.getUrl(1)).isEqualTo(jarFile.getUrl());
+	}
+
+	@Test
+	public void getWhenUrlIsNotJarFileReturnsNull() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL[] urls = { jarFile.getUrl(), this.temporaryFolder.getRoot().toURI().toURL() };
+		assertThat(ClassPathIndex.get(urls)).isNull();
+	}
+
+	@Test
+	public void isIndexable() throws Exception {
+		assertThat(ClassPathIndex.isIndexable("a/b.class")).isTrue();
+		assertThat(ClassPathIndex.isIndexable("b.class")).isTrue();
+		assertThat(ClassPathIndex.isIndexable("")).isFalse();
+		assertThat(ClassPathIndex.isIndexable("a/")).isFalse();
+		assertThat(ClassPathIndex.isIndexable("/a/b.class")).isFalse();
+		assertThat(ClassPathIndex.isIndexable("nested.jar!/3.dat")).isFalse();
+	}
+
+}
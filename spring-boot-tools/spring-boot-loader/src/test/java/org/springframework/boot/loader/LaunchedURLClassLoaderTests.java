@@ -17,13 +17,26 @@
 package org.springframework.boot.loader;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.lang.reflect.Method;
+import java.net.URI;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -40,6 +53,9 @@ public class LaunchedURLClassLoaderTests {
 	@Rule
 	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	@Test
 	public void resolveResourceFromArchive() throws Exception {
 		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
@@ -105,4 +121,113 @@ public class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	public void isParallelCapable() throws Exception {
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[0], null);
+		Method getClassLoadingLock = ClassLoader.class
+				.getDeclaredMethod("getClassLoadingLock", String.class);
+		getClassLoadingLock.setAccessible(true);
+		assertThat(getClassLoadingLock.invoke(loader, "a.A")).isNotSameAs(loader)
+				.isNotSameAs(getClassLoadingLock.invoke(loader, "a.B"));
+	}
+
+	@Test
+	public void resolveResourcesFromIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL[] urls = { jarFile.getUrl(),
+				jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl(),
+				jarFile.getNestedJarFile(jarFile.getEntry("another-nested.jar"))
+						.getUrl() };
+		LaunchedURLClassLoader indexed = new LaunchedURLClassLoader(urls, null, true);
+		LaunchedURLClassLoader unindexed = new LaunchedURLClassLoader(urls, null,
+				false);
+		for (String name : new String[] { "3.dat", "d/9.dat", "special/\u00EB.dat",
+				"META-INF/MANIFEST.MF", "missing.dat", "d/missing.dat" }) {
+			assertThat(toUris(indexed.getResources(name)))
+					.isEqualTo(toUris(unindexed.getResources(name)));
+			assertThat(toUris(indexed.getResource(name)))
+					.isEqualTo(toUris(unindexed.getResource(name)));
+		}
+		URL resource = indexed.getResource("special/\u00EB.dat");
+		assertThat(resource.openConnection().getInputStream().read()).isEqualTo(0xEB);
+		assertThat(Collections.list(indexed.getResources("3.dat"))).containsExactly(
+				new URL(urls[1] + "3.dat"), new URL(urls[2] + "3.dat"));
+	}
+
+	@Test
+	public void loadClassFromIndex() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		String name = TestJarCreator.class.getName().replace('.', '/') + ".class";
+		JarOutputStream jarOutputStream = new JarOutputStream(
+				new FileOutputStream(file));
+		try {
+			jarOutputStream.putNextEntry(new JarEntry(name));
+			StreamUtils.copy(getClass().getResourceAsStream("/" + name),
+					jarOutputStream);
+			jarOutputStream.closeEntry();
+		}
+		finally {
+			jarOutputStream.close();
+		}
+		JarFile jarFile = new JarFile(file);
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				new URL[] { jarFile.getUrl() }, null, true);
+		Class<?> type = loader.loadClass(TestJarCreator.class.getName());
+		assertThat(type.getClassLoader()).isSameAs(loader);
+		assertThat(type.getPackage()).isNotNull();
+		assertThat(type.getProtectionDomain().getCodeSource().getLocation())
+				.isEqualTo(jarFile.getUrl());
+		this.thrown.expect(ClassNotFoundException.class);
+		loader.loadClass("org.springframework.boot.loader.Missing");
+	}
+
+	@Test
+	public void loadClassFromIndexEnforcesPackageSealing() throws Exception {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.SEALED, "true");
+		JarFile sealed = new JarFile(createJar(manifest, TestJarCreator.class));
+		JarFile other = new JarFile(createJar(null, MainMethodRunner.class));
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				new URL[] { sealed.getUrl(), other.getUrl() }, null, true);
+		Class<?> type = loader.loadClass(TestJarCreator.class.getName());
+		assertThat(type.getPackage().isSealed(sealed.getUrl())).isTrue();
+		this.thrown.expect(SecurityException.class);
+		this.thrown.expectMessage("sealing violation");
+		loader.loadClass(MainMethodRunner.class.getName());
+	}
+
+	private File createJar(Manifest manifest, Class<?> type) throws Exception {
+		File file = this.temporaryFolder.newFile();
+		String name = type.getName().replace('.', '/') + ".class";
+		JarOutputStream jarOutputStream = (manifest != null
+				? new JarOutputStream(new FileOutputStream(file), manifest)
+				: new JarOutputStream(new FileOutputStream(file)));
+		try {
+			jarOutputStream.putNextEntry(new JarEntry(name));
+			StreamUtils.copy(getClass().getResourceAsStream("/" + name),
+					jarOutputStream);
+			jarOutputStream.closeEntry();
+		}
+		finally {
+			jarOutputStream.close();
+		}
+		return file;
+	}
+
+	private List<URI> toUris(Enumeration<URL> urls) throws Exception {
+		List<URI> uris = new ArrayList<URI>();
+		for (URL url : Collections.list(urls)) {
+			uris.add(url.toURI());
+		}
+		return uris;
+	}
+
+	private List<URI> toUris(URL url) throws Exception {
+		return toUris(Collections.enumeration(url == null
+				? Collections.<URL>emptyList() : Collections.singletonList(url)));
+	}
+
 }
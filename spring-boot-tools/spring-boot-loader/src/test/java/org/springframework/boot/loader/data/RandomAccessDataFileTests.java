@@ -23,7 +23,6 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -300,13 +299,45 @@ public class RandomAccessDataFileTests {
 	public void close() throws Exception {
 		this.file.getInputStream(ResourceAccess.PER_READ).read();
 		this.file.close();
-		Field filePoolField = RandomAccessDataFile.class.getDeclaredField("filePool");
-		filePoolField.setAccessible(true);
-		Object filePool = filePoolField.get(this.file);
-		Field filesField = filePool.getClass().getDeclaredField("files");
-		filesField.setAccessible(true);
-		Queue<?> queue = (Queue<?>) filesField.get(filePool);
-		assertThat(queue.size()).isEqualTo(0);
+		Field fileAccessField = RandomAccessDataFile.class.getDeclaredField("fileAccess");
+		fileAccessField.setAccessible(true);
+		Object fileAccess = fileAccessField.get(this.file);
+		Field channelField = fileAccess.getClass().getDeclaredField("channel");
+		channelField.setAccessible(true);
+		assertThat(channelField.get(fileAccess)).isNull();
+	}
+
+	@Test
+	public void readAfterCloseReopensFile() throws Exception {
+		assertThat(this.inputStream.read()).isEqualTo(0);
+		this.file.close();
+		assertThat(this.inputStream.read()).isEqualTo(1);
+		assertThat(this.file.getInputStream(ResourceAccess.PER_READ).read())
+				.isEqualTo(0);
+	}
+
+	@Test
+	public void readFromSubsectionAfterCloseReopensFile() throws Exception {
+		RandomAccessData subsection = this.file.getSubsection(1, 1);
+		this.inputStream.read();
+		this.file.close();
+		assertThat(subsection.getInputStream(ResourceAccess.PER_READ).read())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void readWhileThreadIsInterrupted() throws Exception {
+		try {
+			Thread.currentThread().interrupt();
+			assertThat(this.inputStream.read()).isEqualTo(0);
+			assertThat(Thread.currentThread().isInterrupted()).isTrue();
+			assertThat(this.file.getSubsection(1, 1)
+					.getInputStream(ResourceAccess.PER_READ).read()).isEqualTo(1);
+		}
+		finally {
+			Thread.interrupted();
+		}
+		assertThat(this.inputStream.read()).isEqualTo(1);
 	}
 
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.data.ByteArrayRandomAccessData;
+import org.springframework.boot.loader.data.RandomAccessDataFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JarEntryIndex}.
+ *
+ * @author Agent Local
+ */
+public class JarEntryIndexTests {
+
+	private static final long CRC = 123L;
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void getIndexName() throws Exception {
+		assertThat(JarEntryIndex.getIndexName("BOOT-INF/lib/a.jar"))
+				.isEqualTo("META-INF/jar-index/BOOT-INF/lib/a.jar.idx");
+	}
+
+	@Test
+	public void load() throws Exception {
+		JarEntryIndex index = load(createIndex(0x4A494458, CRC, true, 1, 3, 3, 7));
+		assertThat(index).isNotNull();
+		assertThat(index.isSigned()).isTrue();
+		assertThat(index.size()).isEqualTo(4);
+		assertThat(index.getHashCode(1)).isEqualTo(3);
+		assertThat(index.getCentralDirectoryOffset(1)).isEqualTo(10);
+		assertThat(index.getPosition(1)).isEqualTo(2);
+	}
+
+	@Test
+	public void loadFromFileIsMapped() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		FileOutputStream outputStream = new FileOutputStream(file);
+		try {
+			outputStream.write(new byte[] { 1, 2 });
+			outputStream.write(createIndex(0x4A494458, CRC, false, 1, 3, 3, 7));
+		}
+		finally {
+			outputStream.close();
+		}
+		RandomAccessDataFile data = new RandomAccessDataFile(file);
+		try {
+			JarEntryIndex index = JarEntryIndex
+					.load(data.getSubsection(2, data.getSize() - 2), CRC);
+			assertThat(index).isNotNull();
+			assertThat(index.isSigned()).isFalse();
+			assertThat(index.getFirstIndex(7)).isEqualTo(3);
+		}
+		finally {
+			data.close();
+		}
+	}
+
+	@Test
+	public void loadWithDifferentCrcReturnsNull() throws Exception {
+		assertThat(JarEntryIndex.load(
+				new ByteArrayRandomAccessData(createIndex(0x4A494458, CRC, false, 1)),
+				CRC + 1)).isNull();
+	}
+
+	@Test
+	public void loadWithBadMagicReturnsNull() throws Exception {
+		assertThat(load(createIndex(0xCAFEBABE, CRC, false, 1))).isNull();
+	}
+
+	@Test
+	public void loadTruncatedReturnsNull() throws Exception {
+		byte[] bytes = createIndex(0x4A494458, CRC, false, 1, 2);
+		byte[] truncated = new byte[bytes.length - 4];
+		System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+		assertThat(load(truncated)).isNull();
+	}
+
+	@Test
+	public void getFirstIndex() throws Exception {
+		JarEntryIndex index = load(createIndex(0x4A494458, CRC, false, -5, 1, 3, 3, 3, 7));
+		assertThat(index.getFirstIndex(-5)).isEqualTo(0);
+		assertThat(index.getFirstIndex(3)).isEqualTo(2);
+		assertThat(index.getFirstIndex(7)).isEqualTo(5);
+		assertThat(index.getFirstIndex(2)).isEqualTo(-1);
+		assertThat(index.getFirstIndex(8)).isEqualTo(-1);
+		assertThat(index.getFirstIndex(-6)).isEqualTo(-1);
+	}
+
+	private JarEntryIndex load(byte[] bytes) throws IOException {
+		return JarEntryIndex.load(new ByteArrayRandomAccessData(bytes), CRC);
+	}
+
+	private byte[] createIndex(int magic, long crc, boolean signed, int... hashCodes)
+			throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(bytes);
+		output.writeInt(magic);
+		output.writeInt(1);
+		output.writeLong(crc);
+		output.writeInt(hashCodes.length);
+		output.writeInt(signed ? 1 : 0);
+		output.writeInt(hashCodes.length);
+		for (int hashCode : hashCodes) {
+			output.writeInt(hashCode);
+		}
+		for (int i = 0; i < hashCodes.length; i++) {
+			output.writeInt(i * 10);
+		}
+		for (int i = 0; i < hashCodes.length; i++) {
+			output.writeInt(hashCodes.length - 1 - i);
+		}
+		output.close();
+		return bytes.toByteArray();
+	}
+
+}
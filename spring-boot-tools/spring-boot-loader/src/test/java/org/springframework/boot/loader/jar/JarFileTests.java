@@ -187,6 +187,18 @@ public class JarFileTests {
 		verify(randomAccessDataFile).close();
 	}
 
+	@Test
+	public void closingNestedJarDoesNotCloseRootFile() throws Exception {
+		JarFile nestedJarFile = this.jarFile
+				.getNestedJarFile(this.jarFile.getEntry("nested.jar"));
+		nestedJarFile.close();
+		assertThat(this.jarFile.getEntry("1.dat")).isNotNull();
+		InputStream inputStream = this.jarFile
+				.getInputStream(this.jarFile.getEntry("1.dat"));
+		assertThat(inputStream.read()).isEqualTo(1);
+		inputStream.close();
+	}
+
 	@Test
 	public void getUrl() throws Exception {
 		URL url = this.jarFile.getUrl();
@@ -180,6 +180,14 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	@Parameter(defaultValue = "false")
 	public boolean includeSystemScope;
 
+	/**
+	 * Write an index of the entries of each nested library so that they can be opened
+	 * without parsing their central directory when the application starts.
+	 * @since 2.0.0
+	 */
+	@Parameter(defaultValue = "false")
+	private boolean indexEntries;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.project.getPackaging().equals("pom")) {
@@ -226,6 +234,7 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	private Repackager getRepackager(File source) {
 		Repackager repackager = new LoggingRepackager(source, getLog());
 		repackager.setMainClass(this.mainClass);
+		repackager.setIndexEntries(this.indexEntries);
 		if (this.layout != null) {
 			getLog().info("Layout: " + this.layout);
 			repackager.setLayout(this.layout.layout());
@@ -29,6 +29,7 @@ import org.springframework.beans.factory.support.BeanDefinitionReader;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
 import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
 import org.springframework.core.annotation.AnnotationUtils;
@@ -219,7 +220,7 @@ class BeanDefinitionLoader {
 	}
 
 	private boolean isGroovyPresent() {
-		return ClassUtils.isPresent("groovy.lang.MetaClass", null);
+		return ClassPresenceCache.isPresent("groovy.lang.MetaClass", null);
 	}
 
 	private Resource[] findResources(String source) {
@@ -37,9 +37,16 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.groovy.GroovyBeanDefinitionReader;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.boot.Banner.Mode;
+import org.springframework.boot.context.ParallelInstantiationBeanFactory;
 import org.springframework.boot.diagnostics.FailureAnalyzers;
+import org.springframework.boot.startup.BufferingStartupRecorder;
+import org.springframework.boot.startup.StartupRecorder;
+import org.springframework.boot.startup.StartupStep;
+import org.springframework.boot.startup.StartupStepBeanPostProcessor;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationListener;
@@ -222,6 +229,10 @@ public class SpringApplication {
 
 	private Set<String> additionalProfiles = new HashSet<String>();
 
+	private StartupRecorder startupRecorder = StartupRecorder.NONE;
+
+	private boolean parallelInstantiation;
+
 	/**
 	 * Create a new {@link SpringApplication} instance. The application context will load
 	 * beans from the specified sources (see {@link SpringApplication class-level}
@@ -264,7 +275,7 @@ public class SpringApplication {
 
 	private boolean deduceWebEnvironment() {
 		for (String className : WEB_ENVIRONMENT_CLASSES) {
-			if (!ClassUtils.isPresent(className, null)) {
+			if (!ClassPresenceCache.isPresent(className, null)) {
 				return false;
 			}
 		}
@@ -295,6 +306,7 @@ public class SpringApplication {
 	public ConfigurableApplicationContext run(String... args) {
 		StopWatch stopWatch = new StopWatch();
 		stopWatch.start();
+		StartupStep step = this.startupRecorder.start("spring.boot.application.run");
 		ConfigurableApplicationContext context = null;
 		FailureAnalyzers analyzers = null;
 		configureHeadlessProperty();
@@ -313,14 +325,17 @@ public class SpringApplication {
 			refreshContext(context);
 			afterRefresh(context, applicationArguments);
 			listeners.finished(context, null);
+			step.end();
 			stopWatch.stop();
 			if (this.logStartupInfo) {
 				new StartupInfoLogger(this.mainApplicationClass)
 						.logStarted(getApplicationLog(), stopWatch);
+				logStartupTimeline();
 			}
 			return context;
 		}
 		catch (Throwable ex) {
+			step.end();
 			handleRunFailure(context, listeners, analyzers, ex);
 			throw new IllegalStateException(ex);
 		}
@@ -354,6 +369,9 @@ public class SpringApplication {
 		// Add boot specific singleton beans
 		context.getBeanFactory().registerSingleton("springApplicationArguments",
 				applicationArguments);
+		if (this.startupRecorder != StartupRecorder.NONE) {
+			registerStartupRecorder(context);
+		}
 		if (printedBanner != null) {
 			context.getBeanFactory().registerSingleton("springBootBanner", printedBanner);
 		}
@@ -365,8 +383,23 @@ public class SpringApplication {
 		listeners.contextLoaded(context);
 	}
 
+	private void registerStartupRecorder(ConfigurableApplicationContext context) {
+		context.getBeanFactory().registerSingleton(StartupRecorder.BEAN_NAME,
+				this.startupRecorder);
+		StartupStepBeanPostProcessor postProcessor = new StartupStepBeanPostProcessor(
+				this.startupRecorder, context);
+		context.getBeanFactory().addBeanPostProcessor(postProcessor);
+		context.addApplicationListener(postProcessor);
+	}
+
 	private void refreshContext(ConfigurableApplicationContext context) {
-		refresh(context);
+		StartupStep step = this.startupRecorder.start("spring.context.refresh");
+		try {
+			refresh(context);
+		}
+		finally {
+			step.end();
+		}
 		if (this.registerShutdownHook) {
 			try {
 				context.registerShutdownHook();
@@ -385,7 +418,8 @@ public class SpringApplication {
 	private SpringApplicationRunListeners getRunListeners(String[] args) {
 		Class<?>[] types = new Class<?>[] { SpringApplication.class, String[].class };
 		return new SpringApplicationRunListeners(logger, getSpringFactoriesInstances(
-				SpringApplicationRunListener.class, types, this, args));
+				SpringApplicationRunListener.class, types, this, args),
+				this.startupRecorder);
 	}
 
 	private <T> Collection<? extends T> getSpringFactoriesInstances(Class<T> type) {
@@ -569,6 +603,19 @@ public class SpringApplication {
 						ex);
 			}
 		}
+		if (this.parallelInstantiation) {
+			Constructor<?> constructor = ClassUtils.getConstructorIfAvailable(contextClass,
+					DefaultListableBeanFactory.class);
+			if (constructor != null) {
+				ParallelInstantiationBeanFactory beanFactory = new ParallelInstantiationBeanFactory();
+				beanFactory.setStartupRecorder(this.startupRecorder);
+				return (ConfigurableApplicationContext) BeanUtils
+						.instantiateClass(constructor, beanFactory);
+			}
+			logger.warn("Parallel instantiation is not supported by "
+					+ contextClass.getName() + ", singletons will be instantiated "
+					+ "sequentially");
+		}
 		return (ConfigurableApplicationContext) BeanUtils.instantiateClass(contextClass);
 	}
 
@@ -746,6 +793,13 @@ public class SpringApplication {
 		callRunners(context, args);
 	}
 
+	private void logStartupTimeline() {
+		if (this.startupRecorder instanceof BufferingStartupRecorder) {
+			new StartupTimelineLogger().logTimeline(getApplicationLog(),
+					((BufferingStartupRecorder) this.startupRecorder).getTimeline());
+		}
+	}
+
 	private void callRunners(ApplicationContext context, ApplicationArguments args) {
 		List<Object> runners = new ArrayList<Object>();
 		runners.addAll(context.getBeansOfType(ApplicationRunner.class).values());
@@ -968,6 +1022,42 @@ public class SpringApplication {
 		this.logStartupInfo = logStartupInfo;
 	}
 
+	/**
+	 * Sets the {@link StartupRecorder} used to record the steps taken while the
+	 * application starts. Defaults to {@link StartupRecorder#NONE}. When a
+	 * {@link BufferingStartupRecorder} is used, a summary of the slowest steps is logged
+	 * once the application has started.
+	 * @param startupRecorder the startup recorder
+	 * @since 2.0.0
+	 */
+	public void setStartupRecorder(StartupRecorder startupRecorder) {
+		Assert.notNull(startupRecorder, "StartupRecorder must not be null");
+		this.startupRecorder = startupRecorder;
+	}
+
+	/**
+	 * Returns the {@link StartupRecorder} used to record the steps taken while the
+	 * application starts.
+	 * @return the startup recorder
+	 * @since 2.0.0
+	 */
+	public StartupRecorder getStartupRecorder() {
+		return this.startupRecorder;
+	}
+
+	/**
+	 * Sets if independent non-lazy singletons should be instantiated in parallel when the
+	 * application context is refreshed. Defaults to {@code false}. Requires an
+	 * application context class with a constructor that accepts a
+	 * {@link DefaultListableBeanFactory}, as is the case for the default context classes.
+	 * @param parallelInstantiation if singletons should be instantiated in parallel
+	 * @since 2.0.0
+	 * @see ParallelInstantiationBeanFactory
+	 */
+	public void setParallelInstantiation(boolean parallelInstantiation) {
+		this.parallelInstantiation = parallelInstantiation;
+	}
+
 	/**
 	 * Sets if a {@link CommandLinePropertySource} should be added to the application
 	 * context in order to expose arguments. Defaults to {@code true}.
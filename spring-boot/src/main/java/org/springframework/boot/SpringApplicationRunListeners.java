@@ -22,6 +22,8 @@ import java.util.List;
 
 import org.apache.commons.logging.Log;
 
+import org.springframework.boot.startup.StartupRecorder;
+import org.springframework.boot.startup.StartupStep;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.util.ReflectionUtils;
@@ -37,39 +39,76 @@ class SpringApplicationRunListeners {
 
 	private final List<SpringApplicationRunListener> listeners;
 
+	private final StartupRecorder startupRecorder;
+
 	SpringApplicationRunListeners(Log log,
-			Collection<? extends SpringApplicationRunListener> listeners) {
+			Collection<? extends SpringApplicationRunListener> listeners,
+			StartupRecorder startupRecorder) {
 		this.log = log;
 		this.listeners = new ArrayList<SpringApplicationRunListener>(listeners);
+		this.startupRecorder = startupRecorder;
 	}
 
 	public void started() {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.started();
+		StartupStep step = this.startupRecorder.start("spring.boot.application.starting");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.started();
+			}
+		}
+		finally {
+			step.end();
 		}
 	}
 
 	public void environmentPrepared(ConfigurableEnvironment environment) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.environmentPrepared(environment);
+		StartupStep step = this.startupRecorder
+				.start("spring.boot.application.environment-prepared");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.environmentPrepared(environment);
+			}
+		}
+		finally {
+			step.end();
 		}
 	}
 
 	public void contextPrepared(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.contextPrepared(context);
+		StartupStep step = this.startupRecorder
+				.start("spring.boot.application.context-prepared");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.contextPrepared(context);
+			}
+		}
+		finally {
+			step.end();
 		}
 	}
 
 	public void contextLoaded(ConfigurableApplicationContext context) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			listener.contextLoaded(context);
+		StartupStep step = this.startupRecorder
+				.start("spring.boot.application.context-loaded");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				listener.contextLoaded(context);
+			}
+		}
+		finally {
+			step.end();
 		}
 	}
 
 	public void finished(ConfigurableApplicationContext context, Throwable exception) {
-		for (SpringApplicationRunListener listener : this.listeners) {
-			callFinishedListener(listener, context, exception);
+		StartupStep step = this.startupRecorder.start("spring.boot.application.finished");
+		try {
+			for (SpringApplicationRunListener listener : this.listeners) {
+				callFinishedListener(listener, context, exception);
+			}
+		}
+		finally {
+			step.end();
 		}
 	}
 
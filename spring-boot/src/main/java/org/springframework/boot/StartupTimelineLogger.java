@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+
+import org.springframework.boot.startup.StartupTimeline;
+import org.springframework.boot.startup.StartupTimeline.Event;
+
+/**
+ * Logs a summary of the steps that took the most time in a {@link StartupTimeline}.
+ *
+ * @author Agent Local
+ */
+class StartupTimelineLogger {
+
+	private static final int LIMIT = 10;
+
+	public void logTimeline(Log log, StartupTimeline timeline) {
+		if (log.isInfoEnabled()) {
+			log.info(getSummary(timeline));
+		}
+	}
+
+	private String getSummary(StartupTimeline timeline) {
+		final Map<Long, Double> selfTimes = getSelfTimes(timeline.getEvents());
+		List<Event> events = new ArrayList<Event>(timeline.getEvents());
+		Collections.sort(events, new Comparator<Event>() {
+
+			@Override
+			public int compare(Event o1, Event o2) {
+				return Double.compare(selfTimes.get(o2.getId()),
+						selfTimes.get(o1.getId()));
+			}
+
+		});
+		StringBuilder message = new StringBuilder();
+		message.append("Recorded ").append(events.size()).append(" startup steps");
+		if (!events.isEmpty()) {
+			message.append(", slowest (excluding nested steps):");
+		}
+		for (Event event : events.subList(0, Math.min(LIMIT, events.size()))) {
+			message.append(String.format("%n  %10.3f ms  %s",
+					selfTimes.get(event.getId()), event));
+		}
+		return message.toString();
+	}
+
+	private Map<Long, Double> getSelfTimes(List<Event> events) {
+		Map<Long, Double> selfTimes = new HashMap<Long, Double>();
+		for (Event event : events) {
+			selfTimes.put(event.getId(), event.getDuration());
+		}
+		for (Event event : events) {
+			Double parentTime = selfTimes.get(event.getParentId());
+			if (parentTime != null) {
+				selfTimes.put(event.getParentId(),
+						Math.max(0, parentTime - event.getDuration()));
+			}
+		}
+		return selfTimes;
+	}
+
+}
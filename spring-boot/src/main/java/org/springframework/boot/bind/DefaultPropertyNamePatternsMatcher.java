@@ -99,6 +99,14 @@ class DefaultPropertyNamePatternsMatcher implements PropertyNamePatternsMatcher
 		return false;
 	}
 
+	char[] getDelimiters() {
+		return this.delimiters;
+	}
+
+	String[] getNames() {
+		return this.names;
+	}
+
 	private boolean isCharMatch(char c1, char c2) {
 		if (this.ignoreCase) {
 			return Character.toLowerCase(c1) == Character.toLowerCase(c2);
@@ -84,6 +84,8 @@ public class PropertiesConfigurationFactory<T>
 
 	private boolean resolvePlaceholders = true;
 
+	private PropertyNameIndex propertyNameIndex;
+
 	/**
 	 * Create a new {@link PropertiesConfigurationFactory} instance.
 	 * @param target the target object to bind too
@@ -165,6 +167,19 @@ public class PropertiesConfigurationFactory<T>
 		this.propertySources = propertySources;
 	}
 
+	/**
+	 * Set an index of the property names contained in the
+	 * {@link #setPropertySources(PropertySources) property sources}. When set, binding
+	 * only visits the properties that can apply to the target rather than every property
+	 * of every source. The index must be {@link PropertyNameIndex#isCurrent current} for
+	 * the property sources.
+	 * @param propertyNameIndex the property name index
+	 * @since 2.0.0
+	 */
+	public void setPropertyNameIndex(PropertyNameIndex propertyNameIndex) {
+		this.propertyNameIndex = propertyNameIndex;
+	}
+
 	/**
 	 * Set the conversion service.
 	 * @param conversionService the conversion service
@@ -307,7 +322,7 @@ public class PropertiesConfigurationFactory<T>
 		PropertyNamePatternsMatcher includes = getPropertyNamePatternsMatcher(names,
 				relaxedTargetNames);
 		return new PropertySourcesPropertyValues(this.propertySources, names, includes,
-				this.resolvePlaceholders);
+				this.resolvePlaceholders, this.propertyNameIndex);
 	}
 
 	private PropertyNamePatternsMatcher getPropertyNamePatternsMatcher(Set<String> names,
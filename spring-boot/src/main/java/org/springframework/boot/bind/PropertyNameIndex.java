@@ -0,0 +1,269 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.env.PropertySources;
+import org.springframework.util.Assert;
+
+/**
+ * A prefix index over the names of all {@link EnumerablePropertySource enumerable}
+ * property sources contained in some {@link PropertySources}. Names are normalized to
+ * lower case and held in sorted order so that the properties starting with a given
+ * prefix can be located with a binary search, rather than by testing every name of
+ * every source. A single index can be shared when binding many targets against the same
+ * sources.
+ * <p>
+ * An index is a snapshot, use {@link #isCurrent(PropertySources)} to check that it still
+ * reflects the sources before reusing it.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see PropertiesConfigurationFactory#setPropertyNameIndex(PropertyNameIndex)
+ */
+public final class PropertyNameIndex {
+
+	private final List<SourceIndex> sources;
+
+	private final Map<PropertySource<?>, SourceIndex> sourcesByIdentity;
+
+	/**
+	 * Create a new {@link PropertyNameIndex} instance for the given sources.
+	 * @param propertySources the property sources to index
+	 */
+	public PropertyNameIndex(PropertySources propertySources) {
+		Assert.notNull(propertySources, "PropertySources must not be null");
+		List<SourceIndex> sources = new ArrayList<SourceIndex>();
+		Map<PropertySource<?>, SourceIndex> sourcesByIdentity = new IdentityHashMap<PropertySource<?>, SourceIndex>();
+		for (EnumerablePropertySource<?> source : getEnumerableSources(
+				propertySources)) {
+			SourceIndex sourceIndex = new SourceIndex(source);
+			sources.add(sourceIndex);
+			sourcesByIdentity.put(source, sourceIndex);
+		}
+		this.sources = Collections.unmodifiableList(sources);
+		this.sourcesByIdentity = sourcesByIdentity;
+	}
+
+	/**
+	 * Return {@code true} if this index still reflects the given sources, i.e. they
+	 * contain the same enumerable sources with the same property names as when the index
+	 * was built. The keys of {@link MapPropertySource map backed} sources are compared
+	 * in place rather than being copied.
+	 * @param propertySources the property sources to check
+	 * @return if the index is current
+	 */
+	public boolean isCurrent(PropertySources propertySources) {
+		List<EnumerablePropertySource<?>> current = getEnumerableSources(
+				propertySources);
+		if (current.size() != this.sources.size()) {
+			return false;
+		}
+		for (int i = 0; i < current.size(); i++) {
+			if (!this.sources.get(i).isCurrent(current.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return the names of the given source that are equal to one of the given prefixes
+	 * (ignoring case) or that start with one followed by one of the delimiters. Names
+	 * are returned in the order of the source.
+	 * @param source the source to search
+	 * @param prefixes the prefixes
+	 * @param delimiters the delimiters that may follow a prefix
+	 * @return the matching names or {@code null} if the source is not indexed
+	 */
+	String[] getPropertyNames(EnumerablePropertySource<?> source, String[] prefixes,
+			char[] delimiters) {
+		SourceIndex sourceIndex = this.sourcesByIdentity.get(source);
+		return (sourceIndex != null ? sourceIndex.getPropertyNames(prefixes, delimiters)
+				: null);
+	}
+
+	private static List<EnumerablePropertySource<?>> getEnumerableSources(
+			PropertySources propertySources) {
+		List<EnumerablePropertySource<?>> sources = new ArrayList<EnumerablePropertySource<?>>();
+		for (PropertySource<?> source : propertySources) {
+			addEnumerableSources(source, sources);
+		}
+		return sources;
+	}
+
+	private static void addEnumerableSources(PropertySource<?> source,
+			List<EnumerablePropertySource<?>> sources) {
+		if (source instanceof CompositePropertySource) {
+			for (PropertySource<?> nested : ((CompositePropertySource) source)
+					.getPropertySources()) {
+				addEnumerableSources(nested, sources);
+			}
+		}
+		else if (source instanceof EnumerablePropertySource) {
+			sources.add((EnumerablePropertySource<?>) source);
+		}
+	}
+
+	private static String toLowerCase(String name) {
+		// Lower case each char in turn so that indexes are the same as the original
+		char[] chars = name.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = Character.toLowerCase(chars[i]);
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Index of a single {@link EnumerablePropertySource}.
+	 */
+	private static final class SourceIndex {
+
+		private final EnumerablePropertySource<?> source;
+
+		private final String[] names;
+
+		private final String[] sortedNames;
+
+		private final int[] positions;
+
+		SourceIndex(EnumerablePropertySource<?> source) {
+			this.source = source;
+			this.names = source.getPropertyNames();
+			Entry[] entries = new Entry[this.names.length];
+			for (int i = 0; i < entries.length; i++) {
+				entries[i] = new Entry(toLowerCase(this.names[i]), i);
+			}
+			Arrays.sort(entries);
+			this.sortedNames = new String[entries.length];
+			this.positions = new int[entries.length];
+			for (int i = 0; i < entries.length; i++) {
+				this.sortedNames[i] = entries[i].name;
+				this.positions[i] = entries[i].position;
+			}
+		}
+
+		boolean isCurrent(EnumerablePropertySource<?> source) {
+			if (this.source != source) {
+				return false;
+			}
+			if (source instanceof PropertiesPropertySource) {
+				// Properties must be locked while their keys are iterated
+				Map<String, Object> map = ((PropertiesPropertySource) source).getSource();
+				synchronized (map) {
+					return hasSameKeys(map);
+				}
+			}
+			if (source instanceof MapPropertySource) {
+				// Avoid copying the keys of a (possibly large) map for every check
+				return hasSameKeys(((MapPropertySource) source).getSource());
+			}
+			return Arrays.equals(this.names, source.getPropertyNames());
+		}
+
+		private boolean hasSameKeys(Map<String, Object> map) {
+			if (map.size() != this.names.length) {
+				return false;
+			}
+			int i = 0;
+			for (Object name : map.keySet()) {
+				if (i >= this.names.length || !this.names[i++].equals(name)) {
+					return false;
+				}
+			}
+			return i == this.names.length;
+		}
+
+		String[] getPropertyNames(String[] prefixes, char[] delimiters) {
+			BitSet matches = new BitSet(this.names.length);
+			for (String prefix : getLowerCasePrefixes(prefixes)) {
+				int index = Arrays.binarySearch(this.sortedNames, prefix);
+				index = (index < 0 ? -index - 1 : index);
+				while (index < this.sortedNames.length
+						&& this.sortedNames[index].startsWith(prefix)) {
+					String name = this.sortedNames[index];
+					if (name.length() == prefix.length()
+							|| isDelimiter(name.charAt(prefix.length()), delimiters)) {
+						matches.set(this.positions[index]);
+					}
+					index++;
+				}
+			}
+			String[] result = new String[matches.cardinality()];
+			int resultIndex = 0;
+			for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+				result[resultIndex++] = this.names[i];
+			}
+			return result;
+		}
+
+		private Set<String> getLowerCasePrefixes(String[] prefixes) {
+			Set<String> lowerCasePrefixes = new LinkedHashSet<String>(prefixes.length);
+			for (String prefix : prefixes) {
+				lowerCasePrefixes.add(toLowerCase(prefix));
+			}
+			return lowerCasePrefixes;
+		}
+
+		private boolean isDelimiter(char c, char[] delimiters) {
+			for (char delimiter : delimiters) {
+				if (c == delimiter) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * A normalized name and its position in the source.
+	 */
+	private static final class Entry implements Comparable<Entry> {
+
+		private final String name;
+
+		private final int position;
+
+		Entry(String name, int position) {
+			this.name = name;
+			this.position = position;
+		}
+
+		@Override
+		public int compareTo(Entry other) {
+			int result = this.name.compareTo(other.name);
+			return (result != 0 ? result : this.position - other.position);
+		}
+
+	}
+
+}
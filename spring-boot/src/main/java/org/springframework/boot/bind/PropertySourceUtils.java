@@ -18,7 +18,9 @@ package org.springframework.boot.bind;
 
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.PropertySource;
@@ -59,14 +61,16 @@ public abstract class PropertySourceUtils {
 	 */
 	public static Map<String, Object> getSubProperties(PropertySources propertySources,
 			String rootPrefix, String keyPrefix) {
+		RelaxedNames rootPrefixes = new RelaxedNames(rootPrefix == null ? "" : rootPrefix);
 		RelaxedNames keyPrefixes = new RelaxedNames(keyPrefix);
+		Set<String> canonicalPrefixes = getCanonicalPrefixes(rootPrefixes, keyPrefixes);
 		Map<String, Object> subProperties = new LinkedHashMap<String, Object>();
 		for (PropertySource<?> source : propertySources) {
 			if (source instanceof EnumerablePropertySource) {
 				for (String name : ((EnumerablePropertySource<?>) source)
 						.getPropertyNames()) {
-					String key = PropertySourceUtils.getSubKey(name, rootPrefix,
-							keyPrefixes);
+					String key = PropertySourceUtils.getSubKey(name, canonicalPrefixes,
+							rootPrefixes, keyPrefixes);
 					if (key != null && !subProperties.containsKey(key)) {
 						subProperties.put(key, source.getProperty(name));
 					}
@@ -76,11 +80,26 @@ public abstract class PropertySourceUtils {
 		return Collections.unmodifiableMap(subProperties);
 	}
 
-	private static String getSubKey(String name, String rootPrefixes,
-			RelaxedNames keyPrefix) {
-		rootPrefixes = (rootPrefixes == null ? "" : rootPrefixes);
-		for (String rootPrefix : new RelaxedNames(rootPrefixes)) {
-			for (String candidateKeyPrefix : keyPrefix) {
+	private static Set<String> getCanonicalPrefixes(RelaxedNames rootPrefixes,
+			RelaxedNames keyPrefixes) {
+		Set<String> canonicalPrefixes = new LinkedHashSet<String>();
+		for (String canonicalRootPrefix : rootPrefixes.getCanonicalForms()) {
+			for (String canonicalKeyPrefix : keyPrefixes.getCanonicalForms()) {
+				canonicalPrefixes.add(canonicalRootPrefix + canonicalKeyPrefix);
+			}
+		}
+		return canonicalPrefixes;
+	}
+
+	private static String getSubKey(String name, Set<String> canonicalPrefixes,
+			RelaxedNames rootPrefixes, RelaxedNames keyPrefixes) {
+		// Any name starting with a relaxed prefix also starts with its canonical form
+		// so most names can be ruled out without trying every variation
+		if (!startsWithAny(RelaxedNames.toCanonicalForm(name), canonicalPrefixes)) {
+			return null;
+		}
+		for (String rootPrefix : rootPrefixes) {
+			for (String candidateKeyPrefix : keyPrefixes) {
 				if (name.startsWith(rootPrefix + candidateKeyPrefix)) {
 					return name.substring((rootPrefix + candidateKeyPrefix).length());
 				}
@@ -89,4 +108,13 @@ public abstract class PropertySourceUtils {
 		return null;
 	}
 
+	private static boolean startsWithAny(String name, Set<String> prefixes) {
+		for (String prefix : prefixes) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 }
@@ -58,6 +58,8 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 
 	private final boolean resolvePlaceholders;
 
+	private final PropertyNameIndex propertyNameIndex;
+
 	/**
 	 * Create a new PropertyValues from the given PropertySources.
 	 * @param propertySources a PropertySources instance
@@ -93,12 +95,31 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 	PropertySourcesPropertyValues(PropertySources propertySources,
 			Collection<String> nonEnumerableFallbackNames,
 			PropertyNamePatternsMatcher includes, boolean resolvePlaceholders) {
+		this(propertySources, nonEnumerableFallbackNames, includes, resolvePlaceholders,
+				null);
+	}
+
+	/**
+	 * Create a new PropertyValues from the given PropertySources.
+	 * @param propertySources a PropertySources instance
+	 * @param nonEnumerableFallbackNames the property names to try in lieu of an
+	 * {@link EnumerablePropertySource}.
+	 * @param includes the property name patterns to include
+	 * @param resolvePlaceholders flag to indicate the placeholders should be resolved
+	 * @param propertyNameIndex an optional index of the property names of the sources
+	 * used to avoid visiting names that cannot match the includes
+	 */
+	PropertySourcesPropertyValues(PropertySources propertySources,
+			Collection<String> nonEnumerableFallbackNames,
+			PropertyNamePatternsMatcher includes, boolean resolvePlaceholders,
+			PropertyNameIndex propertyNameIndex) {
 		Assert.notNull(propertySources, "PropertySources must not be null");
 		Assert.notNull(includes, "Includes must not be null");
 		this.propertySources = propertySources;
 		this.nonEnumerableFallbackNames = nonEnumerableFallbackNames;
 		this.includes = includes;
 		this.resolvePlaceholders = resolvePlaceholders;
+		this.propertyNameIndex = propertyNameIndex;
 		PropertySourcesPropertyResolver resolver = new PropertySourcesPropertyResolver(
 				propertySources);
 		for (PropertySource<?> source : propertySources) {
@@ -130,14 +151,26 @@ public class PropertySourcesPropertyValues implements PropertyValues {
 	private void processEnumerablePropertySource(EnumerablePropertySource<?> source,
 			PropertySourcesPropertyResolver resolver,
 			PropertyNamePatternsMatcher includes) {
-		if (source.getPropertyNames().length > 0) {
-			for (String propertyName : source.getPropertyNames()) {
-				if (includes.matches(propertyName)) {
-					Object value = getEnumerableProperty(source, resolver, propertyName);
-					putIfAbsent(propertyName, value, source);
-				}
+		for (String propertyName : getCandidatePropertyNames(source, includes)) {
+			if (includes.matches(propertyName)) {
+				Object value = getEnumerableProperty(source, resolver, propertyName);
+				putIfAbsent(propertyName, value, source);
+			}
+		}
+	}
+
+	private String[] getCandidatePropertyNames(EnumerablePropertySource<?> source,
+			PropertyNamePatternsMatcher includes) {
+		if (this.propertyNameIndex != null
+				&& includes instanceof DefaultPropertyNamePatternsMatcher) {
+			DefaultPropertyNamePatternsMatcher matcher = (DefaultPropertyNamePatternsMatcher) includes;
+			String[] candidates = this.propertyNameIndex.getPropertyNames(source,
+					matcher.getNames(), matcher.getDelimiters());
+			if (candidates != null) {
+				return candidates;
 			}
 		}
+		return source.getPropertyNames();
 	}
 
 	private Object getEnumerableProperty(EnumerablePropertySource<?> source,
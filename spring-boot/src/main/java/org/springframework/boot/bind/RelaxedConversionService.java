@@ -128,12 +128,8 @@ class RelaxedConversionService implements ConversionService {
 				for (T candidate : (Set<T>) EnumSet.allOf(this.enumType)) {
 					RelaxedNames names = new RelaxedNames(
 							candidate.name().replace("_", "-").toLowerCase());
-					for (String name : names) {
-						if (name.equals(source)) {
-							return candidate;
-						}
-					}
-					if (candidate.name().equalsIgnoreCase(source)) {
+					if (names.contains(source)
+							|| candidate.name().equalsIgnoreCase(source)) {
 						return candidate;
 					}
 				}
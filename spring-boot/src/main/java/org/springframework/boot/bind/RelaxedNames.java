@@ -16,16 +16,21 @@
 
 package org.springframework.boot.bind;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.springframework.util.StringUtils;
 
 /**
- * Generates relaxed name variations from a given source.
+ * Generates relaxed name variations from a given source. Variations are shared between
+ * instances created for the same source using a bounded cache.
  *
  * @author Phillip Webb
  * @author Dave Syer
@@ -39,9 +44,24 @@ public final class RelaxedNames implements Iterable<String> {
 	private static final Pattern SEPARATED_TO_CAMEL_CASE_PATTERN = Pattern
 			.compile("[_\\-.]");
 
-	private final String name;
+	private static final int CACHE_LIMIT = 1024;
 
-	private final Set<String> values = new LinkedHashSet<String>();
+	/**
+	 * Resolved variations, returning already cached instances without a global lock.
+	 */
+	private static final Map<String, Variations> resolved = new ConcurrentHashMap<String, Variations>(
+			CACHE_LIMIT);
+
+	/**
+	 * Map from source name to variations in least recently used order, synchronized
+	 * when accessed. Hits on {@link #resolved} cannot reorder it without the lock, so
+	 * they mark the variations as used instead and such variations are moved to the
+	 * most recently used end, rather than evicted, when they become the eldest.
+	 */
+	private static final Map<String, Variations> cache = new LinkedHashMap<String, Variations>(
+			CACHE_LIMIT, 0.75f, true);
+
+	private final Variations variations;
 
 	/**
 	 * Create a new {@link RelaxedNames} instance.
@@ -49,16 +69,68 @@ public final class RelaxedNames implements Iterable<String> {
 	 * using dashed notation (e.g. {@literal my-property-name}
 	 */
 	public RelaxedNames(String name) {
-		this.name = (name == null ? "" : name);
-		initialize(RelaxedNames.this.name, this.values);
+		this.variations = getVariations(name == null ? "" : name);
 	}
 
 	@Override
 	public Iterator<String> iterator() {
-		return this.values.iterator();
+		return this.variations.values.iterator();
+	}
+
+	/**
+	 * Return {@code true} if the given name is one of the relaxed variations.
+	 * @param name the name to check
+	 * @return if the name is a variation
+	 * @since 2.0.0
+	 */
+	public boolean contains(String name) {
+		return this.variations.values.contains(name);
+	}
+
+	/**
+	 * Return the {@link #toCanonicalForm(String) canonical forms} of all of the relaxed
+	 * variations. Usually a single value.
+	 * @return the canonical forms
+	 */
+	Set<String> getCanonicalForms() {
+		return this.variations.canonicalForms;
+	}
+
+	private static Variations getVariations(String name) {
+		Variations variations = resolved.get(name);
+		if (variations != null) {
+			variations.markUsed();
+			return variations;
+		}
+		synchronized (cache) {
+			variations = cache.get(name);
+			if (variations == null) {
+				Set<String> values = new LinkedHashSet<String>();
+				initialize(name, values);
+				variations = new Variations(values);
+				cache.put(name, variations);
+				evictLeastRecentlyUsed();
+			}
+			resolved.put(name, variations);
+		}
+		return variations;
+	}
+
+	private static void evictLeastRecentlyUsed() {
+		while (cache.size() > CACHE_LIMIT) {
+			Map.Entry<String, Variations> eldest = cache.entrySet().iterator().next();
+			if (eldest.getValue().clearUsed()) {
+				// Refresh the recency of variations that have been used since
+				cache.get(eldest.getKey());
+			}
+			else {
+				cache.remove(eldest.getKey());
+				resolved.remove(eldest.getKey());
+			}
+		}
 	}
 
-	private void initialize(String name, Set<String> values) {
+	private static void initialize(String name, Set<String> values) {
 		if (values.contains(name)) {
 			return;
 		}
@@ -226,6 +298,26 @@ public final class RelaxedNames implements Iterable<String> {
 		}
 	}
 
+	/**
+	 * Return the canonical form of the given name, that is the name in lower case with
+	 * all {@code '-'}, {@code '_'} and {@code '.'} separators removed. A name and its
+	 * relaxed variations (usually) share the same canonical form, so it can be used to
+	 * quickly rule out names that cannot match before checking the variations.
+	 * @param name the source name
+	 * @return the canonical form
+	 * @since 2.0.0
+	 */
+	public static String toCanonicalForm(String name) {
+		StringBuilder result = new StringBuilder(name.length());
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c != '-' && c != '_' && c != '.') {
+				result.append(Character.toLowerCase(c));
+			}
+		}
+		return result.toString();
+	}
+
 	/**
 	 * Return a {@link RelaxedNames} for the given source camelCase source name.
 	 * @param name the source name in camelCase
@@ -241,4 +333,39 @@ public final class RelaxedNames implements Iterable<String> {
 		return new RelaxedNames(result.toString());
 	}
 
+	/**
+	 * Immutable variations of a source name along with whether they have been used
+	 * since they were last moved in the {@link RelaxedNames#cache cache}.
+	 */
+	private static final class Variations {
+
+		private final Set<String> values;
+
+		private final Set<String> canonicalForms;
+
+		private volatile boolean used;
+
+		Variations(Set<String> values) {
+			Set<String> canonicalForms = new LinkedHashSet<String>();
+			for (String value : values) {
+				canonicalForms.add(toCanonicalForm(value));
+			}
+			this.values = Collections.unmodifiableSet(values);
+			this.canonicalForms = Collections.unmodifiableSet(canonicalForms);
+		}
+
+		void markUsed() {
+			if (!this.used) {
+				this.used = true;
+			}
+		}
+
+		boolean clearUsed() {
+			boolean used = this.used;
+			this.used = false;
+			return used;
+		}
+
+	}
+
 }
@@ -34,6 +34,8 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 
 	private final String prefix;
 
+	private final RelaxedNames prefixes;
+
 	public RelaxedPropertyResolver(PropertyResolver resolver) {
 		this(resolver, null);
 	}
@@ -42,6 +44,7 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 		Assert.notNull(resolver, "PropertyResolver must not be null");
 		this.resolver = resolver;
 		this.prefix = (prefix == null ? "" : prefix);
+		this.prefixes = new RelaxedNames(this.prefix);
 	}
 
 	@Override
@@ -74,9 +77,8 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 
 	@Override
 	public <T> T getProperty(String key, Class<T> targetType, T defaultValue) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
 		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
+		for (String prefix : this.prefixes) {
 			for (String relaxedKey : keys) {
 				if (this.resolver.containsProperty(prefix + relaxedKey)) {
 					return this.resolver.getProperty(prefix + relaxedKey, targetType);
@@ -88,9 +90,8 @@ public class RelaxedPropertyResolver implements PropertyResolver {
 
 	@Override
 	public boolean containsProperty(String key) {
-		RelaxedNames prefixes = new RelaxedNames(this.prefix);
 		RelaxedNames keys = new RelaxedNames(key);
-		for (String prefix : prefixes) {
+		for (String prefix : this.prefixes) {
 			for (String relaxedKey : keys) {
 				if (this.resolver.containsProperty(prefix + relaxedKey)) {
 					return true;
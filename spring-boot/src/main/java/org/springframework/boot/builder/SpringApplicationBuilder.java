@@ -30,6 +30,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.startup.StartupRecorder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ApplicationListener;
@@ -302,6 +303,30 @@ public class SpringApplicationBuilder {
 		return this;
 	}
 
+	/**
+	 * The {@link StartupRecorder} used to record the steps taken while the application
+	 * starts.
+	 * @param startupRecorder the startup recorder
+	 * @return the current builder
+	 * @since 2.0.0
+	 */
+	public SpringApplicationBuilder startupRecorder(StartupRecorder startupRecorder) {
+		this.application.setStartupRecorder(startupRecorder);
+		return this;
+	}
+
+	/**
+	 * Flag to indicate that independent singletons should be instantiated in parallel
+	 * when the application context is refreshed.
+	 * @param parallelInstantiation the flag to set. Default false.
+	 * @return the current builder
+	 * @since 2.0.0
+	 */
+	public SpringApplicationBuilder parallelInstantiation(boolean parallelInstantiation) {
+		this.application.setParallelInstantiation(parallelInstantiation);
+		return this;
+	}
+
 	/**
 	 * Flag to indicate the startup information should be logged.
 	 * @param logStartupInfo the flag to set. Default true.
@@ -0,0 +1,698 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyValue;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanCreationNotAllowedException;
+import org.springframework.beans.factory.BeanCurrentlyInCreationException;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.config.ConstructorArgumentValues.ValueHolder;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.startup.StartupRecorder;
+import org.springframework.boot.startup.StartupStep;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link DefaultListableBeanFactory} that can instantiate non-lazy singletons in
+ * parallel. A dependency graph is built from the bean definitions ({@code depends-on},
+ * factory beans and explicit bean references) and independent subgraphs are
+ * instantiated concurrently on a {@link ForkJoinPool}, a bean only being scheduled once
+ * all of its declared dependencies have been created. Dependencies that are only
+ * discovered during creation (for example through autowiring) are honored by waiting
+ * for the thread that is already creating them.
+ * <p>
+ * Once the parallel phase is complete, the regular sequential pass is run so that eager
+ * {@link org.springframework.beans.factory.SmartFactoryBean factory beans}, beans that
+ * take part in a dependency cycle and
+ * {@link org.springframework.beans.factory.SmartInitializingSingleton} callbacks are
+ * processed exactly as they would be otherwise. The time spent creating each singleton
+ * is recorded, both as a step of the {@link #setStartupRecorder(StartupRecorder) startup
+ * recorder} and so that the {@link #getCriticalPath() critical path} of the
+ * instantiation can be reported.
+ * <p>
+ * A thread that holds the factory's singleton mutex (typically from within
+ * {@link org.springframework.beans.factory.FactoryBean#getObject()
+ * FactoryBean.getObject()}) cannot wait for a bean that another thread is still creating
+ * as that thread will need the mutex to complete. When this happens no further beans
+ * are scheduled and the bean whose creation could not complete is left to the sequential
+ * pass.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class ParallelInstantiationBeanFactory extends DefaultListableBeanFactory {
+
+	private final int parallelism;
+
+	private volatile ParallelInstantiation instantiation;
+
+	private volatile List<String> criticalPath = Collections.emptyList();
+
+	private volatile StartupRecorder startupRecorder = StartupRecorder.NONE;
+
+	private volatile boolean singletonsInDestruction;
+
+	private final ThreadLocal<Set<Exception>> suppressedExceptions = new ThreadLocal<Set<Exception>>();
+
+	/**
+	 * Create a new {@link ParallelInstantiationBeanFactory} using one thread per
+	 * available processor.
+	 */
+	public ParallelInstantiationBeanFactory() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Create a new {@link ParallelInstantiationBeanFactory} instance.
+	 * @param parallelism the maximum number of singletons to instantiate concurrently. A
+	 * value of {@code 1} disables parallel instantiation.
+	 */
+	public ParallelInstantiationBeanFactory(int parallelism) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than 0");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Return the maximum number of singletons that are instantiated concurrently.
+	 * @return the parallelism
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Set the {@link StartupRecorder} used to record the creation of each singleton that
+	 * is instantiated in parallel. Defaults to {@link StartupRecorder#NONE}.
+	 * @param startupRecorder the startup recorder
+	 */
+	public void setStartupRecorder(StartupRecorder startupRecorder) {
+		Assert.notNull(startupRecorder, "StartupRecorder must not be null");
+		this.startupRecorder = startupRecorder;
+	}
+
+	/**
+	 * Return the names of the singletons on the critical path of the last parallel
+	 * instantiation, starting with the bean that was created first. The critical path is
+	 * the chain of dependencies that took the longest to create and so bounds the time
+	 * that the parallel instantiation can take.
+	 * @return the beans on the critical path or an empty list
+	 */
+	public List<String> getCriticalPath() {
+		return this.criticalPath;
+	}
+
+	@Override
+	public void preInstantiateSingletons() throws BeansException {
+		if (this.parallelism > 1) {
+			instantiateInParallel();
+		}
+		super.preInstantiateSingletons();
+	}
+
+	private void instantiateInParallel() {
+		Collection<Node> nodes = getSchedulableNodes(buildGraph());
+		if (nodes.isEmpty()) {
+			return;
+		}
+		ParallelInstantiation instantiation = new ParallelInstantiation(nodes.size());
+		long startTime = System.nanoTime();
+		StartupStep step = this.startupRecorder.start("spring.beans.parallel-instantiation")
+				.tag("parallelism", this.parallelism);
+		this.instantiation = instantiation;
+		try {
+			instantiation.run(nodes);
+		}
+		finally {
+			this.instantiation = null;
+			step.tag("singletons", instantiation.records.size()).end();
+		}
+		this.criticalPath = instantiation.getCriticalPath();
+		if (this.logger.isInfoEnabled()) {
+			this.logger.info("Instantiated " + instantiation.records.size()
+					+ " singletons using " + this.parallelism + " threads in "
+					+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)
+					+ " ms, critical path (" + instantiation.getDuration(this.criticalPath)
+					+ " ms): "
+					+ StringUtils.collectionToDelimitedString(this.criticalPath, " -> "));
+			if (instantiation.stopped) {
+				this.logger.info("Parallel instantiation was stopped early, remaining "
+						+ "singletons will be instantiated sequentially");
+			}
+		}
+	}
+
+	private Map<String, Node> buildGraph() {
+		Map<String, Node> nodes = new LinkedHashMap<String, Node>();
+		for (String beanName : getBeanDefinitionNames()) {
+			RootBeanDefinition definition = getMergedLocalBeanDefinition(beanName);
+			if (!definition.isAbstract() && definition.isSingleton()
+					&& !definition.isLazyInit()) {
+				nodes.put(beanName, new Node(isFactoryBean(beanName)
+						? FACTORY_BEAN_PREFIX + beanName : beanName));
+			}
+		}
+		for (Map.Entry<String, Node> entry : nodes.entrySet()) {
+			Node node = entry.getValue();
+			for (String dependencyName : getDeclaredDependencies(entry.getKey())) {
+				Node dependency = nodes.get(transformedBeanName(dependencyName));
+				if (dependency != null && dependency != node
+						&& node.dependencies.add(dependency)) {
+					dependency.dependents.add(node);
+				}
+			}
+			node.pending.set(node.dependencies.size());
+		}
+		return nodes;
+	}
+
+	private Set<String> getDeclaredDependencies(String beanName) {
+		RootBeanDefinition definition = getMergedLocalBeanDefinition(beanName);
+		Set<String> dependencies = new LinkedHashSet<String>();
+		if (definition.getDependsOn() != null) {
+			Collections.addAll(dependencies, definition.getDependsOn());
+		}
+		if (definition.getFactoryBeanName() != null) {
+			dependencies.add(definition.getFactoryBeanName());
+		}
+		List<Object> values = new ArrayList<Object>();
+		for (ValueHolder holder : definition.getConstructorArgumentValues()
+				.getIndexedArgumentValues().values()) {
+			values.add(holder.getValue());
+		}
+		for (ValueHolder holder : definition.getConstructorArgumentValues()
+				.getGenericArgumentValues()) {
+			values.add(holder.getValue());
+		}
+		for (PropertyValue propertyValue : definition.getPropertyValues()
+				.getPropertyValues()) {
+			values.add(propertyValue.getValue());
+		}
+		for (Object value : values) {
+			if (value instanceof RuntimeBeanReference) {
+				dependencies.add(((RuntimeBeanReference) value).getBeanName());
+			}
+		}
+		return dependencies;
+	}
+
+	/**
+	 * Return the nodes that can be scheduled, in topological order. Nodes that take part
+	 * in (or depend on) a dependency cycle are left for the sequential pass.
+	 * @param nodes all nodes
+	 * @return the schedulable nodes
+	 */
+	private Collection<Node> getSchedulableNodes(Map<String, Node> nodes) {
+		Map<Node, Integer> pending = new HashMap<Node, Integer>();
+		LinkedList<Node> ready = new LinkedList<Node>();
+		for (Node node : nodes.values()) {
+			pending.put(node, node.dependencies.size());
+			if (node.dependencies.isEmpty()) {
+				ready.add(node);
+			}
+		}
+		Set<Node> schedulable = new LinkedHashSet<Node>();
+		while (!ready.isEmpty()) {
+			Node node = ready.removeFirst();
+			schedulable.add(node);
+			for (Node dependent : node.dependents) {
+				int remaining = pending.get(dependent) - 1;
+				pending.put(dependent, remaining);
+				if (remaining == 0) {
+					ready.add(dependent);
+				}
+			}
+		}
+		return schedulable;
+	}
+
+	@Override
+	protected Object getSingleton(String beanName, boolean allowEarlyReference) {
+		ParallelInstantiation instantiation = this.instantiation;
+		if (instantiation != null && allowEarlyReference
+				&& isSingletonCurrentlyInCreation(beanName)) {
+			// Rather than exposing an early reference to a bean that another thread is
+			// still creating, wait for it unless that would cause a deadlock
+			CreationLock lock = instantiation.locks.get(beanName);
+			if (lock != null && !lock.isHeldByCurrentThread()
+					&& instantiation.lock(lock)) {
+				lock.unlock();
+			}
+		}
+		return super.getSingleton(beanName, allowEarlyReference);
+	}
+
+	@Override
+	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
+		ParallelInstantiation instantiation = this.instantiation;
+		if (instantiation == null) {
+			return super.getSingleton(beanName, singletonFactory);
+		}
+		CreationLock lock = instantiation.getLock(beanName);
+		if (!instantiation.lock(lock)) {
+			Object earlyReference = super.getSingleton(beanName, true);
+			if (earlyReference == null) {
+				// Give up on the parallel instantiation, the bean that needed this one
+				// will be created again by the sequential pass
+				instantiation.stop();
+				throw new BeanCurrentlyInCreationException(beanName,
+						"Bean is being created by another thread and cannot be "
+								+ "waited for without causing a deadlock");
+			}
+			return earlyReference;
+		}
+		try {
+			Object singleton = super.getSingleton(beanName, false);
+			if (singleton != null) {
+				return singleton;
+			}
+			return createSingleton(beanName, singletonFactory, instantiation);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private Object createSingleton(String beanName, ObjectFactory<?> singletonFactory,
+			ParallelInstantiation instantiation) {
+		if (this.singletonsInDestruction) {
+			throw new BeanCreationNotAllowedException(beanName,
+					"Singleton bean creation not allowed while singletons of this "
+							+ "factory are in destruction (Do not request a bean from a "
+							+ "BeanFactory in a destroy method implementation!)");
+		}
+		if (this.logger.isDebugEnabled()) {
+			this.logger.debug(
+					"Creating shared instance of singleton bean '" + beanName + "'");
+		}
+		beforeSingletonCreation(beanName);
+		boolean recordSuppressedExceptions = (this.suppressedExceptions.get() == null);
+		if (recordSuppressedExceptions) {
+			this.suppressedExceptions.set(new LinkedHashSet<Exception>());
+		}
+		Record record = instantiation.start(beanName);
+		boolean newSingleton = false;
+		Object singleton;
+		try {
+			singleton = singletonFactory.getObject();
+			newSingleton = true;
+		}
+		catch (IllegalStateException ex) {
+			// Has the singleton object implicitly appeared in the meantime?
+			singleton = super.getSingleton(beanName, false);
+			if (singleton == null) {
+				throw ex;
+			}
+		}
+		catch (BeanCreationException ex) {
+			if (recordSuppressedExceptions) {
+				for (Exception suppressedException : this.suppressedExceptions.get()) {
+					ex.addRelatedCause(suppressedException);
+				}
+			}
+			throw ex;
+		}
+		finally {
+			if (recordSuppressedExceptions) {
+				this.suppressedExceptions.remove();
+			}
+			instantiation.end(record);
+			afterSingletonCreation(beanName);
+		}
+		if (newSingleton) {
+			addSingleton(beanName, singleton);
+		}
+		return singleton;
+	}
+
+	@Override
+	protected void onSuppressedException(Exception ex) {
+		Set<Exception> suppressedExceptions = this.suppressedExceptions.get();
+		if (suppressedExceptions != null) {
+			suppressedExceptions.add(ex);
+		}
+		else {
+			super.onSuppressedException(ex);
+		}
+	}
+
+	@Override
+	public void destroySingletons() {
+		this.singletonsInDestruction = true;
+		try {
+			super.destroySingletons();
+		}
+		finally {
+			this.singletonsInDestruction = false;
+		}
+	}
+
+	/**
+	 * A bean to instantiate and its declared dependencies.
+	 */
+	private static final class Node {
+
+		private final String name;
+
+		private final Set<Node> dependencies = new LinkedHashSet<Node>();
+
+		private final List<Node> dependents = new ArrayList<Node>();
+
+		private final AtomicInteger pending = new AtomicInteger();
+
+		Node(String name) {
+			this.name = name;
+		}
+
+	}
+
+	/**
+	 * The time taken to create a singleton, excluding the time spent creating or waiting
+	 * for its dependencies.
+	 */
+	private static final class Record {
+
+		private final String beanName;
+
+		private final Record parent;
+
+		private final StartupStep step;
+
+		private final long startTime = System.nanoTime();
+
+		private long endTime;
+
+		private long dependencyTime;
+
+		Record(String beanName, Record parent, StartupStep step) {
+			this.beanName = beanName;
+			this.parent = parent;
+			this.step = step;
+		}
+
+		long getSelfTime() {
+			return this.endTime - this.startTime - this.dependencyTime;
+		}
+
+	}
+
+	/**
+	 * Lock held by the thread that is creating a singleton.
+	 */
+	private static final class CreationLock extends ReentrantLock {
+
+		Thread getOwnerThread() {
+			return getOwner();
+		}
+
+	}
+
+	/**
+	 * State of a parallel instantiation.
+	 */
+	private final class ParallelInstantiation {
+
+		private final ConcurrentMap<String, CreationLock> locks = new ConcurrentHashMap<String, CreationLock>();
+
+		private final Map<Thread, CreationLock> waiting = new HashMap<Thread, CreationLock>();
+
+		private final Map<String, Record> records = new ConcurrentHashMap<String, Record>();
+
+		private final ThreadLocal<Record> current = new ThreadLocal<Record>();
+
+		private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+		private final ThreadLocal<Boolean> stoppedByCurrentThread = new ThreadLocal<Boolean>();
+
+		private volatile boolean stopped;
+
+		private final CountDownLatch latch;
+
+		private final ForkJoinPool pool;
+
+		ParallelInstantiation(int size) {
+			this.latch = new CountDownLatch(size);
+			this.pool = new ForkJoinPool(ParallelInstantiationBeanFactory.this.parallelism);
+		}
+
+		void run(Collection<Node> nodes) {
+			try {
+				for (Node node : nodes) {
+					if (node.dependencies.isEmpty()) {
+						submit(node);
+					}
+				}
+				this.latch.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				this.failure.compareAndSet(null, new BeanCreationException(
+						"Interrupted while instantiating singletons"));
+			}
+			finally {
+				this.pool.shutdown();
+			}
+			awaitTermination();
+			Throwable failure = this.failure.get();
+			if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			}
+		}
+
+		private void awaitTermination() {
+			try {
+				// Make sure nothing is still being created when the caller handles a
+				// failure by destroying the singletons
+				this.pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void submit(final Node node) {
+			this.pool.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					instantiate(node);
+				}
+
+			});
+		}
+
+		private void instantiate(Node node) {
+			try {
+				if (this.failure.get() == null && !this.stopped) {
+					getBean(node.name);
+				}
+			}
+			catch (Throwable ex) {
+				if (this.stoppedByCurrentThread.get() == null) {
+					this.failure.compareAndSet(null, ex);
+				}
+				else if (ParallelInstantiationBeanFactory.this.logger.isDebugEnabled()) {
+					ParallelInstantiationBeanFactory.this.logger.debug("Deferring '"
+							+ node.name + "' to the sequential pass", ex);
+				}
+			}
+			finally {
+				this.stoppedByCurrentThread.remove();
+				for (Node dependent : node.dependents) {
+					if (dependent.pending.decrementAndGet() == 0) {
+						submit(dependent);
+					}
+				}
+				this.latch.countDown();
+			}
+		}
+
+		void stop() {
+			this.stopped = true;
+			this.stoppedByCurrentThread.set(Boolean.TRUE);
+		}
+
+		CreationLock getLock(String beanName) {
+			CreationLock lock = this.locks.get(beanName);
+			if (lock == null) {
+				CreationLock created = new CreationLock();
+				lock = this.locks.putIfAbsent(beanName, created);
+				if (lock == null) {
+					lock = created;
+				}
+			}
+			return lock;
+		}
+
+		/**
+		 * Acquire the given lock unless waiting for it would deadlock, either because
+		 * its owner is (indirectly) waiting for a lock held by the current thread or
+		 * because the current thread holds the singleton mutex that the owner will need
+		 * to complete.
+		 * @param lock the lock to acquire
+		 * @return {@code true} if the lock was acquired
+		 */
+		boolean lock(CreationLock lock) {
+			if (lock.tryLock()) {
+				return true;
+			}
+			Thread currentThread = Thread.currentThread();
+			synchronized (this.waiting) {
+				if (Thread.holdsLock(getSingletonMutex())
+						|| isWaitingFor(lock.getOwnerThread(), currentThread)) {
+					return false;
+				}
+				this.waiting.put(currentThread, lock);
+			}
+			long startTime = System.nanoTime();
+			try {
+				lock.lock();
+				return true;
+			}
+			finally {
+				synchronized (this.waiting) {
+					this.waiting.remove(currentThread);
+				}
+				Record record = this.current.get();
+				if (record != null) {
+					record.dependencyTime += System.nanoTime() - startTime;
+				}
+			}
+		}
+
+		private boolean isWaitingFor(Thread owner, Thread thread) {
+			Set<Thread> seen = new HashSet<Thread>();
+			while (owner != null && seen.add(owner)) {
+				if (owner == thread) {
+					return true;
+				}
+				CreationLock lock = this.waiting.get(owner);
+				owner = (lock == null ? null : lock.getOwnerThread());
+			}
+			return false;
+		}
+
+		Record start(String beanName) {
+			StartupStep step = ParallelInstantiationBeanFactory.this.startupRecorder
+					.start("spring.beans.parallel-instantiation.create")
+					.tag("beanName", beanName)
+					.tag("thread", Thread.currentThread().getName());
+			Record record = new Record(beanName, this.current.get(), step);
+			this.current.set(record);
+			return record;
+		}
+
+		void end(Record record) {
+			record.endTime = System.nanoTime();
+			record.step.tag("selfTime",
+					TimeUnit.NANOSECONDS.toMillis(record.getSelfTime())).end();
+			this.current.set(record.parent);
+			if (record.parent != null) {
+				record.parent.dependencyTime += record.endTime - record.startTime;
+			}
+			this.records.put(record.beanName, record);
+			if (ParallelInstantiationBeanFactory.this.logger.isDebugEnabled()) {
+				ParallelInstantiationBeanFactory.this.logger.debug("Created singleton '"
+						+ record.beanName + "' on " + Thread.currentThread().getName()
+						+ " in " + TimeUnit.NANOSECONDS.toMillis(record.getSelfTime())
+						+ " ms");
+			}
+		}
+
+		List<String> getCriticalPath() {
+			Map<String, Long> finishTimes = new HashMap<String, Long>();
+			Map<String, String> previous = new HashMap<String, String>();
+			String last = null;
+			for (String beanName : this.records.keySet()) {
+				long finishTime = getFinishTime(beanName, finishTimes, previous,
+						new HashSet<String>());
+				if (last == null || finishTime > finishTimes.get(last)) {
+					last = beanName;
+				}
+			}
+			LinkedList<String> path = new LinkedList<String>();
+			for (String beanName = last; beanName != null; beanName = previous
+					.get(beanName)) {
+				path.addFirst(beanName);
+			}
+			return Collections.unmodifiableList(path);
+		}
+
+		private long getFinishTime(String beanName, Map<String, Long> finishTimes,
+				Map<String, String> previous, Set<String> visiting) {
+			Long finishTime = finishTimes.get(beanName);
+			if (finishTime != null) {
+				return finishTime;
+			}
+			if (!visiting.add(beanName)) {
+				return 0;
+			}
+			long longest = 0;
+			for (String dependency : getDependenciesForBean(beanName)) {
+				if (this.records.containsKey(dependency)) {
+					long dependencyTime = getFinishTime(dependency, finishTimes,
+							previous, visiting);
+					if (dependencyTime > longest) {
+						longest = dependencyTime;
+						previous.put(beanName, dependency);
+					}
+				}
+			}
+			visiting.remove(beanName);
+			finishTime = longest + this.records.get(beanName).getSelfTime();
+			finishTimes.put(beanName, finishTime);
+			return finishTime;
+		}
+
+		long getDuration(List<String> beanNames) {
+			long duration = 0;
+			for (String beanName : beanNames) {
+				duration += this.records.get(beanName).getSelfTime();
+			}
+			return TimeUnit.NANOSECONDS.toMillis(duration);
+		}
+
+	}
+
+}
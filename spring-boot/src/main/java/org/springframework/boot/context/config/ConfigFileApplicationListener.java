@@ -16,7 +16,9 @@
 
 package org.springframework.boot.context.config;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -27,6 +29,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 import org.apache.commons.logging.Log;
 
@@ -41,8 +49,11 @@ import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEven
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.env.EnumerableCompositePropertySource;
 import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.env.PropertySourceSnapshotCache;
 import org.springframework.boot.env.PropertySourcesLoader;
 import org.springframework.boot.logging.DeferredLog;
+import org.springframework.boot.startup.StartupRecorder;
+import org.springframework.boot.startup.StartupStep;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -59,6 +70,7 @@ import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import org.springframework.util.ResourceUtils;
 import org.springframework.util.StringUtils;
@@ -108,6 +120,12 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 
 	private static final String DEFAULT_NAMES = "application";
 
+	// Checking for candidate config files is I/O bound so a small pool is enough
+	private static final int MAX_LOOKUP_THREADS = 4;
+
+	// Below this number of candidates it is not worth handing them to other threads
+	private static final int PARALLEL_LOOKUP_THRESHOLD = 32;
+
 	/**
 	 * The "active profiles" property name.
 	 */
@@ -128,6 +146,18 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 	 */
 	public static final String CONFIG_LOCATION_PROPERTY = "spring.config.location";
 
+	/**
+	 * The "config snapshot location" property name.
+	 * @since 2.0.0
+	 */
+	public static final String CONFIG_SNAPSHOT_LOCATION_PROPERTY = "spring.config.snapshot-location";
+
+	/**
+	 * The "config parallel lookup" property name.
+	 * @since 2.0.0
+	 */
+	public static final String CONFIG_PARALLEL_LOOKUP_PROPERTY = "spring.config.parallel-lookup";
+
 	/**
 	 * The default order for the processor.
 	 */
@@ -164,9 +194,19 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 		List<EnvironmentPostProcessor> postProcessors = loadPostProcessors();
 		postProcessors.add(this);
 		AnnotationAwareOrderComparator.sort(postProcessors);
+		StartupRecorder startupRecorder = event.getSpringApplication()
+				.getStartupRecorder();
 		for (EnvironmentPostProcessor postProcessor : postProcessors) {
-			postProcessor.postProcessEnvironment(event.getEnvironment(),
-					event.getSpringApplication());
+			StartupStep step = startupRecorder
+					.start("spring.boot.environment.post-processor")
+					.tag("postProcessor", postProcessor.getClass().getName());
+			try {
+				postProcessor.postProcessEnvironment(event.getEnvironment(),
+						event.getSpringApplication());
+			}
+			finally {
+				step.end();
+			}
 		}
 	}
 
@@ -333,6 +373,8 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 
 		private boolean activatedProfiles;
 
+		private ExecutorService executor;
+
 		Loader(ConfigurableEnvironment environment, ResourceLoader resourceLoader) {
 			this.environment = environment;
 			this.resourceLoader = resourceLoader == null ? new DefaultResourceLoader()
@@ -341,6 +383,7 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 
 		public void load() throws IOException {
 			this.propertiesLoader = new PropertySourcesLoader();
+			this.propertiesLoader.setSnapshotCache(getSnapshotCache());
 			this.activatedProfiles = false;
 			this.profiles = Collections.asLifoQueue(new LinkedList<Profile>());
 			this.processedProfiles = new LinkedList<Profile>();
@@ -364,26 +407,72 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			// override any settings in the defaults when the list is reversed later).
 			this.profiles.add(null);
 
-			while (!this.profiles.isEmpty()) {
-				Profile profile = this.profiles.poll();
-				for (String location : getSearchLocations()) {
-					if (!location.endsWith("/")) {
-						// location is a filename already, so don't search for more
-						// filenames
-						load(location, null, profile);
-					}
-					else {
-						for (String name : getSearchNames()) {
-							load(location, name, profile);
+			try {
+				while (!this.profiles.isEmpty()) {
+					Profile profile = this.profiles.poll();
+					List<ConfigFile> configFiles = new ArrayList<ConfigFile>();
+					for (String location : getSearchLocations()) {
+						if (!location.endsWith("/")) {
+							// location is a filename already, so don't search for more
+							// filenames
+							addConfigFiles(configFiles, location, null, profile);
+						}
+						else {
+							for (String name : getSearchNames()) {
+								addConfigFiles(configFiles, location, name, profile);
+							}
 						}
 					}
+					// Check that candidates exist up-front (possibly concurrently) but load
+					// them one at a time so that precedence and profile activation are
+					// unchanged
+					Executor executor = getExecutor(configFiles.size());
+					for (ConfigFile configFile : configFiles) {
+						configFile.lookup(executor);
+					}
+					for (ConfigFile configFile : configFiles) {
+						loadIntoGroup(configFile);
+					}
+					this.processedProfiles.add(profile);
+				}
+			}
+			finally {
+				if (this.executor != null) {
+					this.executor.shutdownNow();
+					this.executor = null;
 				}
-				this.processedProfiles.add(profile);
 			}
 
 			addConfigurationProperties(this.propertiesLoader.getPropertySources());
 		}
 
+		private PropertySourceSnapshotCache getSnapshotCache() {
+			String location = this.environment
+					.getProperty(CONFIG_SNAPSHOT_LOCATION_PROPERTY);
+			if (!StringUtils.hasText(location)) {
+				return null;
+			}
+			return new PropertySourceSnapshotCache(
+					new File(StringUtils.cleanPath(location.trim())));
+		}
+
+		private Executor getExecutor(int candidates) {
+			if (this.executor == null && candidates >= PARALLEL_LOOKUP_THRESHOLD
+					&& isParallelLookupEnabled()) {
+				CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+						"config-file-lookup-");
+				threadFactory.setDaemon(true);
+				this.executor = Executors.newFixedThreadPool(MAX_LOOKUP_THREADS,
+						threadFactory);
+			}
+			return this.executor;
+		}
+
+		private boolean isParallelLookupEnabled() {
+			return this.environment.getProperty(CONFIG_PARALLEL_LOOKUP_PROPERTY,
+					Boolean.class, false);
+		}
+
 		private Set<Profile> initializeActiveProfiles() {
 			if (!this.environment.containsProperty(ACTIVE_PROFILES_PROPERTY)) {
 				return Collections.emptySet();
@@ -423,46 +512,50 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			return unprocessedActiveProfiles;
 		}
 
-		private void load(String location, String name, Profile profile)
-				throws IOException {
+		private void addConfigFiles(List<ConfigFile> configFiles, String location,
+				String name, Profile profile) {
 			String group = "profile=" + (profile == null ? "" : profile);
 			if (!StringUtils.hasText(name)) {
 				// Try to load directly from the location
-				loadIntoGroup(group, location, profile);
+				configFiles.add(new ConfigFile(group, location, profile));
 			}
 			else {
 				// Search for a file with the given name
 				for (String ext : this.propertiesLoader.getAllFileExtensions()) {
 					if (profile != null) {
 						// Try the profile-specific file
-						loadIntoGroup(group, location + name + "-" + profile + "." + ext,
-								null);
+						configFiles.add(new ConfigFile(group,
+								location + name + "-" + profile + "." + ext, null));
 						for (Profile processedProfile : this.processedProfiles) {
 							if (processedProfile != null) {
-								loadIntoGroup(group, location + name + "-"
-										+ processedProfile + "." + ext, profile);
+								configFiles.add(new ConfigFile(group, location + name
+										+ "-" + processedProfile + "." + ext, profile));
 							}
 						}
 						// Sometimes people put "spring.profiles: dev" in
 						// application-dev.yml (gh-340). Arguably we should try and error
 						// out on that, but we can be kind and load it anyway.
-						loadIntoGroup(group, location + name + "-" + profile + "." + ext,
-								profile);
+						configFiles.add(new ConfigFile(group,
+								location + name + "-" + profile + "." + ext, profile));
 					}
 					// Also try the profile-specific section (if any) of the normal file
-					loadIntoGroup(group, location + name + "." + ext, profile);
+					configFiles.add(
+							new ConfigFile(group, location + name + "." + ext, profile));
 				}
 			}
 		}
 
-		private PropertySource<?> loadIntoGroup(String identifier, String location,
-				Profile profile) throws IOException {
-			Resource resource = this.resourceLoader.getResource(location);
+		private PropertySource<?> loadIntoGroup(ConfigFile configFile)
+				throws IOException {
+			String location = configFile.getLocation();
+			Profile profile = configFile.getProfile();
+			Resource resource = configFile.getResource();
 			PropertySource<?> propertySource = null;
 			StringBuilder msg = new StringBuilder();
-			if (resource != null && resource.exists()) {
+			boolean exists = configFile.exists();
+			if (exists) {
 				String name = "applicationConfig: [" + location + "]";
-				String group = "applicationConfig: [" + identifier + "]";
+				String group = "applicationConfig: [" + configFile.getGroup() + "]";
 				propertySource = this.propertiesLoader.load(resource, group, name,
 						(profile == null ? null : profile.getName()));
 				if (propertySource != null) {
@@ -481,7 +574,7 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			if (profile != null) {
 				msg.append(" for profile ").append(profile);
 			}
-			if (resource == null || !resource.exists()) {
+			if (!exists) {
 				msg.append(" resource not found");
 				this.logger.trace(msg);
 			}
@@ -638,6 +731,84 @@ public class ConfigFileApplicationListener implements EnvironmentPostProcessor,
 			}
 		}
 
+		/**
+		 * A candidate config file that is looked up ahead of being loaded into its group.
+		 */
+		private class ConfigFile implements Callable<Boolean> {
+
+			private final String group;
+
+			private final String location;
+
+			private final Profile profile;
+
+			private final Resource resource;
+
+			private FutureTask<Boolean> lookup;
+
+			ConfigFile(String group, String location, Profile profile) {
+				this.group = group;
+				this.location = location;
+				this.profile = profile;
+				this.resource = Loader.this.resourceLoader.getResource(location);
+			}
+
+			void lookup(Executor executor) {
+				Assert.state(this.lookup == null, "Config file already looked up");
+				this.lookup = new FutureTask<Boolean>(this);
+				if (executor != null) {
+					executor.execute(this.lookup);
+				}
+				else {
+					this.lookup.run();
+				}
+			}
+
+			@Override
+			public Boolean call() {
+				return (this.resource != null && this.resource.exists());
+			}
+
+			public String getGroup() {
+				return this.group;
+			}
+
+			public String getLocation() {
+				return this.location;
+			}
+
+			public Profile getProfile() {
+				return this.profile;
+			}
+
+			public Resource getResource() {
+				return this.resource;
+			}
+
+			public boolean exists() throws IOException {
+				Assert.state(this.lookup != null, "Config file not looked up");
+				try {
+					return this.lookup.get();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException(
+							"Interrupted looking up config file " + this.location);
+				}
+				catch (ExecutionException ex) {
+					Throwable cause = ex.getCause();
+					if (cause instanceof RuntimeException) {
+						throw (RuntimeException) cause;
+					}
+					if (cause instanceof Error) {
+						throw (Error) cause;
+					}
+					throw new IllegalStateException(cause);
+				}
+			}
+
+		}
+
 	}
 
 	private static class Profile {
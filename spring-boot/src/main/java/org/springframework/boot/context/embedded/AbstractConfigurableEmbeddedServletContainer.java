@@ -27,6 +27,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.boot.web.servlet.ErrorPage;
@@ -84,6 +85,14 @@ public abstract class AbstractConfigurableEmbeddedServletContainer
 
 	private Compression compression;
 
+	private Http2 http2;
+
+	private Executor executor;
+
+	private AsyncAccessLog asyncAccessLog;
+
+	private long shutdownTimeout;
+
 	private String serverHeader;
 
 	private Map<Locale, Charset> localeCharsetMappings = new HashMap<Locale, Charset>();
@@ -325,6 +334,52 @@ public abstract class AbstractConfigurableEmbeddedServletContainer
 		this.compression = compression;
 	}
 
+	public Http2 getHttp2() {
+		return this.http2;
+	}
+
+	@Override
+	public void setHttp2(Http2 http2) {
+		this.http2 = http2;
+	}
+
+	/**
+	 * Return the {@link Executor} that should be used to process requests.
+	 * @return the executor or {@code null} if the container's default should be used
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	@Override
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	public AsyncAccessLog getAsyncAccessLog() {
+		return this.asyncAccessLog;
+	}
+
+	@Override
+	public void setAsyncAccessLog(AsyncAccessLog asyncAccessLog) {
+		this.asyncAccessLog = asyncAccessLog;
+	}
+
+	@Override
+	public void setShutdownTimeout(long shutdownTimeout, TimeUnit timeUnit) {
+		Assert.notNull(timeUnit, "TimeUnit must not be null");
+		this.shutdownTimeout = timeUnit.toMillis(shutdownTimeout);
+	}
+
+	/**
+	 * Return the maximum time that a graceful shutdown waits for active requests to
+	 * complete.
+	 * @return the timeout in milliseconds
+	 */
+	public long getShutdownTimeout() {
+		return this.shutdownTimeout;
+	}
+
 	public String getServerHeader() {
 		return this.serverHeader;
 	}
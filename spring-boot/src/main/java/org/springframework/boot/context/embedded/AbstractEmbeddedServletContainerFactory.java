@@ -29,6 +29,7 @@ import org.apache.commons.logging.LogFactory;
 
 import org.springframework.boot.ApplicationHome;
 import org.springframework.boot.ApplicationTemp;
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
 import org.springframework.util.Assert;
 
 /**
@@ -164,6 +165,33 @@ public abstract class AbstractEmbeddedServletContainerFactory
 		return dir;
 	}
 
+	/**
+	 * Create the {@link AccessLogWriter} for the {@link #getAsyncAccessLog()
+	 * asynchronous access log}. The writer is not started.
+	 * @return the writer or {@code null} if the asynchronous access log is not enabled
+	 */
+	protected final AccessLogWriter createAsyncAccessLogWriter() {
+		AsyncAccessLog accessLog = getAsyncAccessLog();
+		if (accessLog == null || !accessLog.isEnabled()) {
+			return null;
+		}
+		return new AccessLogWriter(accessLog.getDirectory(), accessLog.getPrefix(),
+				accessLog.getSuffix(), accessLog.getBufferSize(),
+				accessLog.getMaxFileSize(), accessLog.isRotate());
+	}
+
+	/**
+	 * Create the {@link GracefulShutdown} used to track the requests that are processed
+	 * by the container.
+	 * @return the graceful shutdown or {@code null} if graceful shutdown is not enabled
+	 */
+	protected final GracefulShutdown createGracefulShutdown() {
+		if (getShutdownTimeout() <= 0) {
+			return null;
+		}
+		return new GracefulShutdown(getShutdownTimeout());
+	}
+
 	/**
 	 * Returns the absolute temp dir for given servlet container.
 	 * @param prefix servlet container name
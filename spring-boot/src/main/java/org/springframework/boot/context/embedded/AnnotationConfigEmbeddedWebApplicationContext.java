@@ -18,6 +18,7 @@ package org.springframework.boot.context.embedded;
 
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
 import org.springframework.context.annotation.AnnotationConfigUtils;
 import org.springframework.context.annotation.AnnotationScopeMetadataResolver;
@@ -67,6 +68,20 @@ public class AnnotationConfigEmbeddedWebApplicationContext
 		this.scanner = new ClassPathBeanDefinitionScanner(this);
 	}
 
+	/**
+	 * Create a new {@link AnnotationConfigEmbeddedWebApplicationContext} with the given
+	 * {@link DefaultListableBeanFactory}. The context needs to be populated through
+	 * {@link #register} calls and then manually {@linkplain #refresh refreshed}.
+	 * @param beanFactory the bean factory to use for this context
+	 * @since 2.0.0
+	 */
+	public AnnotationConfigEmbeddedWebApplicationContext(
+			DefaultListableBeanFactory beanFactory) {
+		super(beanFactory);
+		this.reader = new AnnotatedBeanDefinitionReader(this);
+		this.scanner = new ClassPathBeanDefinitionScanner(this);
+	}
+
 	/**
 	 * Create a new {@link AnnotationConfigEmbeddedWebApplicationContext}, deriving bean
 	 * definitions from the given annotated classes and automatically refreshing the
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.io.File;
+
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
+
+/**
+ * Simple container-independent abstraction for the configuration of an access log that
+ * is written asynchronously by an {@link AccessLogWriter}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class AsyncAccessLog {
+
+	/**
+	 * Enable the asynchronous access log.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Directory in which the log file is created. Can be relative to the working
+	 * directory.
+	 */
+	private File directory = new File("logs");
+
+	/**
+	 * Log file name prefix.
+	 */
+	private String prefix = "access_log";
+
+	/**
+	 * Log file name suffix.
+	 */
+	private String suffix = ".log";
+
+	/**
+	 * Number of requests that can be waiting to be written. Further requests are not
+	 * logged until the writer has caught up.
+	 */
+	private int bufferSize = 8192;
+
+	/**
+	 * Maximum size in bytes of the log file before it is rolled over. Use a value of 0
+	 * to indicate no limit.
+	 */
+	private long maxFileSize = 10 * 1024 * 1024;
+
+	/**
+	 * Roll the log file over when the date changes.
+	 */
+	private boolean rotate = true;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public File getDirectory() {
+		return this.directory;
+	}
+
+	public void setDirectory(File directory) {
+		this.directory = directory;
+	}
+
+	public String getPrefix() {
+		return this.prefix;
+	}
+
+	public void setPrefix(String prefix) {
+		this.prefix = prefix;
+	}
+
+	public String getSuffix() {
+		return this.suffix;
+	}
+
+	public void setSuffix(String suffix) {
+		this.suffix = suffix;
+	}
+
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	public void setBufferSize(int bufferSize) {
+		this.bufferSize = bufferSize;
+	}
+
+	public long getMaxFileSize() {
+		return this.maxFileSize;
+	}
+
+	public void setMaxFileSize(long maxFileSize) {
+		this.maxFileSize = maxFileSize;
+	}
+
+	public boolean isRotate() {
+		return this.rotate;
+	}
+
+	public void setRotate(boolean rotate) {
+		this.rotate = rotate;
+	}
+
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.boot.web.servlet.ErrorPage;
@@ -172,6 +173,40 @@ public interface ConfigurableEmbeddedServletContainer extends ErrorPageRegistry
 	 */
 	void setCompression(Compression compression);
 
+	/**
+	 * Sets the HTTP/2 configuration that will be applied to the container's default
+	 * connector.
+	 * @param http2 the HTTP/2 configuration
+	 */
+	void setHttp2(Http2 http2);
+
+	/**
+	 * Sets the {@link Executor} that should be used to process requests instead of the
+	 * container's own thread pool. Wrap the executor in an {@link InstrumentedExecutor}
+	 * to bound the number of concurrent requests and to track its usage. An
+	 * {@link InstrumentedExecutor} is {@link InstrumentedExecutor#shutdown() shut down}
+	 * when the container stops, any other executor is left for the caller to manage.
+	 * @param executor the executor or {@code null} to use the container's default
+	 */
+	void setExecutor(Executor executor);
+
+	/**
+	 * Sets the configuration of the container-independent access log that is written
+	 * asynchronously.
+	 * @param asyncAccessLog the access log configuration
+	 */
+	void setAsyncAccessLog(AsyncAccessLog asyncAccessLog);
+
+	/**
+	 * Sets the maximum time that a graceful shutdown waits for active requests to
+	 * complete. If 0 or negative then graceful shutdown is disabled and the container is
+	 * stopped immediately (default 0).
+	 * @param shutdownTimeout the shutdown timeout
+	 * @param timeUnit the time unit
+	 * @see EmbeddedServletContainer#shutDownGracefully()
+	 */
+	void setShutdownTimeout(long shutdownTimeout, TimeUnit timeUnit);
+
 	/**
 	 * Sets the server header value.
 	 * @param serverHeader the server header value
@@ -44,6 +44,32 @@ public interface EmbeddedServletContainer {
 	 */
 	void stop() throws EmbeddedServletContainerException;
 
+	/**
+	 * Gracefully shuts down the embedded servlet container. New requests are no longer
+	 * accepted and the call blocks until the requests that are being processed have
+	 * completed or the shutdown timeout has elapsed. The container should be
+	 * {@link #stop() stopped} afterwards. Calling this method on a container that does
+	 * not have graceful shutdown enabled has no effect. The default implementation
+	 * returns {@code true} without waiting.
+	 * @return {@code true} if all active requests completed, otherwise {@code false}
+	 * @throws EmbeddedServletContainerException if the container cannot stop accepting
+	 * requests
+	 * @since 2.0.0
+	 */
+	default boolean shutDownGracefully() throws EmbeddedServletContainerException {
+		return true;
+	}
+
+	/**
+	 * Return the {@link GracefulShutdown} that tracks the requests being processed by
+	 * the container. The default implementation returns {@code null}.
+	 * @return the graceful shutdown or {@code null} if graceful shutdown is not enabled
+	 * @since 2.0.0
+	 */
+	default GracefulShutdown getGracefulShutdown() {
+		return null;
+	}
+
 	/**
 	 * Return the port this server is listening on.
 	 * @return the port (or -1 if none)
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Factory methods for the {@link Executor executors} that can be used to process the
+ * requests of an embedded servlet container.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see ConfigurableEmbeddedServletContainer#setExecutor(Executor)
+ */
+public final class EmbeddedServletContainerExecutors {
+
+	private static final Method VIRTUAL_THREAD_PER_TASK_EXECUTOR = ReflectionUtils
+			.findMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
+
+	private EmbeddedServletContainerExecutors() {
+	}
+
+	/**
+	 * Return whether the JVM supports virtual threads.
+	 * @return {@code true} if virtual threads are supported
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+	}
+
+	/**
+	 * Create an {@link InstrumentedExecutor} that runs each task in a new virtual
+	 * thread.
+	 * @param maxConcurrency the maximum number of tasks running concurrently or
+	 * {@link InstrumentedExecutor#UNBOUNDED}
+	 * @param queueCapacity the maximum number of tasks waiting to run or
+	 * {@link InstrumentedExecutor#UNBOUNDED}
+	 * @return the executor
+	 * @throws IllegalStateException if the JVM does not support virtual threads
+	 */
+	public static InstrumentedExecutor virtualThreads(int maxConcurrency,
+			int queueCapacity) {
+		if (!isVirtualThreadSupported()) {
+			throw new IllegalStateException(
+					"Virtual threads are not supported by this JVM ("
+							+ System.getProperty("java.version") + ")");
+		}
+		Executor executor = (Executor) ReflectionUtils
+				.invokeMethod(VIRTUAL_THREAD_PER_TASK_EXECUTOR, null);
+		return new InstrumentedExecutor(executor, maxConcurrency, queueCapacity);
+	}
+
+	/**
+	 * Create an {@link InstrumentedExecutor} that runs tasks on a pool of daemon
+	 * platform threads. Threads are created on demand and discarded once they have
+	 * been idle for 60 seconds.
+	 * @param threadNamePrefix the prefix of the names of the threads
+	 * @param maxThreads the maximum number of threads
+	 * @param queueCapacity the maximum number of tasks waiting for a thread or
+	 * {@link InstrumentedExecutor#UNBOUNDED}
+	 * @return the executor
+	 */
+	public static InstrumentedExecutor platformThreads(String threadNamePrefix,
+			int maxThreads, int queueCapacity) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				threadNamePrefix);
+		threadFactory.setDaemon(true);
+		return new InstrumentedExecutor(Executors.newCachedThreadPool(threadFactory),
+				maxThreads, queueCapacity);
+	}
+
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import org.springframework.boot.context.embedded.GracefulShutdown.State;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event published when the context is closed and the {@link EmbeddedServletContainer}
+ * is shut down gracefully. The event is published once as the graceful shutdown begins
+ * and again once the active requests have completed or the shutdown timeout has
+ * elapsed. In both cases the container has not yet been stopped and the beans in the
+ * context have not yet been destroyed.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see EmbeddedServletContainer#shutDownGracefully()
+ */
+@SuppressWarnings("serial")
+public class EmbeddedServletContainerShutdownEvent extends ApplicationEvent {
+
+	private final EmbeddedWebApplicationContext applicationContext;
+
+	private final GracefulShutdown gracefulShutdown;
+
+	private final State state;
+
+	private final int activeRequests;
+
+	public EmbeddedServletContainerShutdownEvent(
+			EmbeddedWebApplicationContext applicationContext,
+			EmbeddedServletContainer source, State state) {
+		super(source);
+		this.applicationContext = applicationContext;
+		this.gracefulShutdown = source.getGracefulShutdown();
+		this.state = state;
+		this.activeRequests = this.gracefulShutdown.getActiveRequests();
+	}
+
+	/**
+	 * Access the {@link EmbeddedServletContainer}.
+	 * @return the embedded servlet container
+	 */
+	public EmbeddedServletContainer getEmbeddedServletContainer() {
+		return getSource();
+	}
+
+	/**
+	 * Access the source of the event (an {@link EmbeddedServletContainer}).
+	 * @return the embedded servlet container
+	 */
+	@Override
+	public EmbeddedServletContainer getSource() {
+		return (EmbeddedServletContainer) super.getSource();
+	}
+
+	/**
+	 * Access the application context that is being closed.
+	 * @return the application context
+	 */
+	public EmbeddedWebApplicationContext getApplicationContext() {
+		return this.applicationContext;
+	}
+
+	/**
+	 * Access the {@link GracefulShutdown} that tracks the progress of the shutdown.
+	 * @return the graceful shutdown
+	 */
+	public GracefulShutdown getGracefulShutdown() {
+		return this.gracefulShutdown;
+	}
+
+	/**
+	 * Return the state of the graceful shutdown when the event was published. Either
+	 * {@link State#DRAINING}, {@link State#DRAINED} or {@link State#TIMED_OUT}.
+	 * @return the state
+	 */
+	public State getState() {
+		return this.state;
+	}
+
+	/**
+	 * Return the number of requests that were being processed when the event was
+	 * published.
+	 * @return the number of active requests
+	 */
+	public int getActiveRequests() {
+		return this.activeRequests;
+	}
+
+}
@@ -36,6 +36,10 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.Scope;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.context.embedded.GracefulShutdown.State;
+import org.springframework.boot.startup.StartupRecorder;
+import org.springframework.boot.startup.StartupStep;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.boot.web.servlet.ServletContextInitializerBeans;
@@ -105,6 +109,22 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 
 	private String namespace;
 
+	/**
+	 * Create a new {@link EmbeddedWebApplicationContext}.
+	 */
+	public EmbeddedWebApplicationContext() {
+	}
+
+	/**
+	 * Create a new {@link EmbeddedWebApplicationContext} with the given
+	 * {@link DefaultListableBeanFactory}.
+	 * @param beanFactory the bean factory to use for this context
+	 * @since 2.0.0
+	 */
+	public EmbeddedWebApplicationContext(DefaultListableBeanFactory beanFactory) {
+		super(beanFactory);
+	}
+
 	/**
 	 * Register ServletContextAwareProcessor.
 	 * @see ServletContextAwareProcessor
@@ -149,6 +169,20 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 		}
 	}
 
+	@Override
+	protected void doClose() {
+		if (isActive()) {
+			try {
+				shutDownEmbeddedServletContainerGracefully();
+			}
+			catch (RuntimeException ex) {
+				logger.warn("Exception thrown during graceful shutdown of the embedded "
+						+ "servlet container", ex);
+			}
+		}
+		super.doClose();
+	}
+
 	@Override
 	protected void onClose() {
 		super.onClose();
@@ -160,8 +194,16 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 		ServletContext localServletContext = getServletContext();
 		if (localContainer == null && localServletContext == null) {
 			EmbeddedServletContainerFactory containerFactory = getEmbeddedServletContainerFactory();
-			this.embeddedServletContainer = containerFactory
-					.getEmbeddedServletContainer(getSelfInitializer());
+			StartupStep step = getStartupRecorder()
+					.start("spring.boot.embedded-container.create")
+					.tag("factory", containerFactory.getClass().getName());
+			try {
+				this.embeddedServletContainer = containerFactory
+						.getEmbeddedServletContainer(getSelfInitializer());
+			}
+			finally {
+				step.end();
+			}
 		}
 		else if (localServletContext != null) {
 			try {
@@ -294,11 +336,39 @@ public class EmbeddedWebApplicationContext extends GenericWebApplicationContext
 	private EmbeddedServletContainer startEmbeddedServletContainer() {
 		EmbeddedServletContainer localContainer = this.embeddedServletContainer;
 		if (localContainer != null) {
-			localContainer.start();
+			StartupStep step = getStartupRecorder()
+					.start("spring.boot.embedded-container.start")
+					.tag("container", localContainer.getClass().getName());
+			try {
+				localContainer.start();
+			}
+			finally {
+				step.end();
+			}
 		}
 		return localContainer;
 	}
 
+	private StartupRecorder getStartupRecorder() {
+		ConfigurableListableBeanFactory beanFactory = getBeanFactory();
+		if (beanFactory.containsSingleton(StartupRecorder.BEAN_NAME)) {
+			return beanFactory.getBean(StartupRecorder.BEAN_NAME, StartupRecorder.class);
+		}
+		return StartupRecorder.NONE;
+	}
+
+	private void shutDownEmbeddedServletContainerGracefully() {
+		EmbeddedServletContainer localContainer = this.embeddedServletContainer;
+		if (localContainer == null || localContainer.getGracefulShutdown() == null) {
+			return;
+		}
+		publishEvent(new EmbeddedServletContainerShutdownEvent(this, localContainer,
+				State.DRAINING));
+		localContainer.shutDownGracefully();
+		publishEvent(new EmbeddedServletContainerShutdownEvent(this, localContainer,
+				localContainer.getGracefulShutdown().getState()));
+	}
+
 	private void stopAndReleaseEmbeddedServletContainer() {
 		EmbeddedServletContainer localContainer = this.embeddedServletContainer;
 		if (localContainer != null) {
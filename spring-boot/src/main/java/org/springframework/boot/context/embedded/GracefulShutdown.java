@@ -0,0 +1,196 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletRequest;
+
+import org.springframework.util.Assert;
+
+/**
+ * Tracks the requests that are being processed by an {@link EmbeddedServletContainer}
+ * so that, once the container has stopped accepting new requests, it can wait for the
+ * active requests to complete before it is stopped.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see EmbeddedServletContainer#shutDownGracefully()
+ */
+public class GracefulShutdown {
+
+	private final long timeout;
+
+	private final AtomicInteger activeRequests = new AtomicInteger();
+
+	private final Object monitor = new Object();
+
+	private volatile State state = State.RUNNING;
+
+	/**
+	 * Create a new {@link GracefulShutdown} instance.
+	 * @param timeout the maximum time, in milliseconds, to wait for active requests to
+	 * complete
+	 */
+	public GracefulShutdown(long timeout) {
+		Assert.isTrue(timeout > 0, "Timeout must be greater than 0");
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Record that the processing of a request has started.
+	 */
+	public void requestStarted() {
+		this.activeRequests.incrementAndGet();
+	}
+
+	/**
+	 * Record that the processing of a request has completed.
+	 */
+	public void requestCompleted() {
+		if (this.activeRequests.decrementAndGet() == 0 && this.state == State.DRAINING) {
+			synchronized (this.monitor) {
+				this.monitor.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Record that the initial dispatch of a request has returned. The request is
+	 * complete unless it has started asynchronous processing, in which case it will be
+	 * complete once the asynchronous processing has completed.
+	 * @param request the request
+	 */
+	public void requestDispatched(ServletRequest request) {
+		if (request.isAsyncStarted()) {
+			request.getAsyncContext().addListener(new CompletionListener());
+		}
+		else {
+			requestCompleted();
+		}
+	}
+
+	/**
+	 * Wait for the active requests to complete. Should only be called once the container
+	 * has stopped accepting new requests.
+	 * @return {@code true} if all active requests completed or {@code false} if the
+	 * timeout elapsed first
+	 */
+	public boolean awaitDrained() {
+		synchronized (this.monitor) {
+			this.state = State.DRAINING;
+			long deadline = System.currentTimeMillis() + this.timeout;
+			while (this.activeRequests.get() > 0) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					this.state = State.TIMED_OUT;
+					return false;
+				}
+				try {
+					this.monitor.wait(remaining);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					this.state = State.TIMED_OUT;
+					return false;
+				}
+			}
+			this.state = State.DRAINED;
+			return true;
+		}
+	}
+
+	/**
+	 * Return the number of requests that are currently being processed.
+	 * @return the number of active requests
+	 */
+	public int getActiveRequests() {
+		return this.activeRequests.get();
+	}
+
+	/**
+	 * Return the maximum time to wait for active requests to complete.
+	 * @return the timeout in milliseconds
+	 */
+	public long getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * Return the current state of the graceful shutdown.
+	 * @return the state
+	 */
+	public State getState() {
+		return this.state;
+	}
+
+	/**
+	 * The states of a graceful shutdown.
+	 */
+	public enum State {
+
+		/**
+		 * The container is processing requests normally.
+		 */
+		RUNNING,
+
+		/**
+		 * The container is waiting for active requests to complete.
+		 */
+		DRAINING,
+
+		/**
+		 * All active requests completed.
+		 */
+		DRAINED,
+
+		/**
+		 * The timeout elapsed before all active requests completed.
+		 */
+		TIMED_OUT
+
+	}
+
+	/**
+	 * {@link AsyncListener} that records the completion of an asynchronous request.
+	 */
+	private class CompletionListener implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) throws IOException {
+			requestCompleted();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) throws IOException {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) throws IOException {
+			event.getAsyncContext().addListener(this);
+		}
+
+	}
+
+}
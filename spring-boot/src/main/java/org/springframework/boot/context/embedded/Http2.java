@@ -0,0 +1,43 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+/**
+ * Simple container-independent abstraction for HTTP/2 configuration. When SSL is
+ * enabled, {@literal h2} is negotiated using ALPN (which must be supported by the
+ * container and JVM), otherwise connections can be upgraded to cleartext
+ * {@literal h2c}. HTTP/1.1 remains available in both cases.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class Http2 {
+
+	/**
+	 * If HTTP/2 support is enabled.
+	 */
+	private boolean enabled = false;
+
+	public boolean isEnabled() {
+		return this.enabled;
+	}
+
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+}
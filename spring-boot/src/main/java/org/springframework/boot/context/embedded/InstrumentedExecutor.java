@@ -0,0 +1,293 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * An {@link Executor} that limits the number of tasks running concurrently on a
+ * delegate executor and keeps track of its usage. Tasks submitted while the limit is
+ * reached wait in a bounded queue and are picked up by the running tasks' threads as
+ * they complete. Tasks that cannot be queued are rejected with a
+ * {@link RejectedExecutionException}. Once {@link #shutdown() shut down}, no further
+ * tasks are accepted.
+ * <p>
+ * Typically used to process the requests of an embedded servlet container, see
+ * {@link ConfigurableEmbeddedServletContainer#setExecutor(Executor)}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see EmbeddedServletContainerExecutors
+ */
+public class InstrumentedExecutor implements Executor {
+
+	/**
+	 * Value used to indicate that the concurrency or the queue is unbounded.
+	 */
+	public static final int UNBOUNDED = -1;
+
+	private final Executor delegate;
+
+	private final int maxConcurrency;
+
+	private final int queueCapacity;
+
+	private final Deque<Runnable> queue = new ConcurrentLinkedDeque<Runnable>();
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+
+	private final AtomicInteger queuedCount = new AtomicInteger();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	private volatile boolean shutdown;
+
+	/**
+	 * Create a new {@link InstrumentedExecutor} that only tracks the usage of the given
+	 * delegate.
+	 * @param delegate the executor that runs the tasks
+	 */
+	public InstrumentedExecutor(Executor delegate) {
+		this(delegate, UNBOUNDED, UNBOUNDED);
+	}
+
+	/**
+	 * Create a new {@link InstrumentedExecutor} instance.
+	 * @param delegate the executor that runs the tasks
+	 * @param maxConcurrency the maximum number of tasks running concurrently or
+	 * {@link #UNBOUNDED}
+	 * @param queueCapacity the maximum number of tasks waiting to run or
+	 * {@link #UNBOUNDED}
+	 */
+	public InstrumentedExecutor(Executor delegate, int maxConcurrency,
+			int queueCapacity) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(maxConcurrency > 0 || maxConcurrency == UNBOUNDED,
+				"MaxConcurrency must be greater than 0 or UNBOUNDED");
+		Assert.isTrue(queueCapacity >= 0 || queueCapacity == UNBOUNDED,
+				"QueueCapacity must not be negative unless UNBOUNDED");
+		this.delegate = delegate;
+		this.maxConcurrency = maxConcurrency;
+		this.queueCapacity = queueCapacity;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "Task must not be null");
+		if (this.shutdown) {
+			this.rejectedCount.incrementAndGet();
+			throw new RejectedExecutionException("Executor has been shut down");
+		}
+		if (tryAcquire()) {
+			dispatch(task);
+			return;
+		}
+		if (!offer(task)) {
+			this.rejectedCount.incrementAndGet();
+			throw new RejectedExecutionException("Unable to queue task as "
+					+ this.queueCapacity + " tasks are already waiting");
+		}
+		// A running task may have completed before the task was queued
+		drain();
+	}
+
+	/**
+	 * Shut down this executor. No further tasks are accepted and, if the delegate is an
+	 * {@link ExecutorService}, it is {@link ExecutorService#shutdown() shut down}.
+	 * Tasks that are already running are allowed to complete.
+	 */
+	public void shutdown() {
+		this.shutdown = true;
+		if (this.delegate instanceof ExecutorService) {
+			((ExecutorService) this.delegate).shutdown();
+		}
+	}
+
+	/**
+	 * Return whether this executor has been shut down.
+	 * @return {@code true} if the executor has been shut down
+	 */
+	public boolean isShutdown() {
+		return this.shutdown;
+	}
+
+	/**
+	 * Return the delegate executor that runs the tasks.
+	 * @return the delegate
+	 */
+	public Executor getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Return the maximum number of tasks running concurrently.
+	 * @return the maximum concurrency or {@link #UNBOUNDED}
+	 */
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	/**
+	 * Return the maximum number of tasks waiting to run.
+	 * @return the queue capacity or {@link #UNBOUNDED}
+	 */
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Return the number of tasks that are currently running.
+	 * @return the active count
+	 */
+	public int getActiveCount() {
+		return this.activeCount.get();
+	}
+
+	/**
+	 * Return the number of tasks that are currently waiting to run.
+	 * @return the queued count
+	 */
+	public int getQueuedCount() {
+		return this.queuedCount.get();
+	}
+
+	/**
+	 * Return the total number of tasks that have been rejected.
+	 * @return the rejected count
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.get();
+	}
+
+	private boolean tryAcquire() {
+		if (this.maxConcurrency == UNBOUNDED) {
+			this.activeCount.incrementAndGet();
+			return true;
+		}
+		while (true) {
+			int active = this.activeCount.get();
+			if (active >= this.maxConcurrency) {
+				return false;
+			}
+			if (this.activeCount.compareAndSet(active, active + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private void release() {
+		this.activeCount.decrementAndGet();
+	}
+
+	private boolean offer(Runnable task) {
+		if (this.queuedCount.incrementAndGet() > this.queueCapacity
+				&& this.queueCapacity != UNBOUNDED) {
+			this.queuedCount.decrementAndGet();
+			return false;
+		}
+		this.queue.offer(task);
+		return true;
+	}
+
+	private Runnable poll() {
+		Runnable task = this.queue.poll();
+		if (task != null) {
+			this.queuedCount.decrementAndGet();
+		}
+		return task;
+	}
+
+	private void drain() {
+		while (!this.queue.isEmpty() && tryAcquire()) {
+			Runnable task = poll();
+			if (task == null) {
+				release();
+			}
+			else if (!dispatchQueued(task)) {
+				return;
+			}
+		}
+	}
+
+	private boolean dispatchQueued(Runnable task) {
+		try {
+			this.delegate.execute(new Worker(task));
+			return true;
+		}
+		catch (RejectedExecutionException ex) {
+			release();
+			if (this.shutdown) {
+				this.rejectedCount.incrementAndGet();
+			}
+			else {
+				// The task has already been accepted so keep it at the head of the
+				// queue for the next task that completes
+				this.queuedCount.incrementAndGet();
+				this.queue.offerFirst(task);
+			}
+			return false;
+		}
+	}
+
+	private void dispatch(Runnable task) {
+		try {
+			this.delegate.execute(new Worker(task));
+		}
+		catch (RejectedExecutionException ex) {
+			release();
+			this.rejectedCount.incrementAndGet();
+			throw ex;
+		}
+	}
+
+	/**
+	 * Runs a task followed by any queued tasks on the same thread.
+	 */
+	private class Worker implements Runnable {
+
+		private final Runnable task;
+
+		Worker(Runnable task) {
+			this.task = task;
+		}
+
+		@Override
+		public void run() {
+			try {
+				Runnable task = this.task;
+				while (task != null) {
+					task.run();
+					task = poll();
+				}
+			}
+			finally {
+				release();
+				drain();
+			}
+		}
+
+	}
+
+}
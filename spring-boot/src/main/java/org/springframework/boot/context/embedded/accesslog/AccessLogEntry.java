@@ -0,0 +1,75 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.accesslog;
+
+/**
+ * A preallocated and reusable slot of the {@link AccessLogWriter}'s ring buffer that
+ * holds the details of a single request. The fields are written by the thread that
+ * claimed the slot before it is published and read by the writer's thread afterwards.
+ *
+ * @author Agent Local
+ */
+final class AccessLogEntry {
+
+	private volatile long sequence = -1;
+
+	String remoteAddress;
+
+	String method;
+
+	String uri;
+
+	String queryString;
+
+	String protocol;
+
+	int status;
+
+	long bytesSent;
+
+	long timestamp;
+
+	long elapsedTime;
+
+	/**
+	 * Return the sequence of the request held by this entry.
+	 * @return the sequence or {@code -1} if no request has been published yet
+	 */
+	long getSequence() {
+		return this.sequence;
+	}
+
+	/**
+	 * Publish this entry, making its fields visible to the writer's thread.
+	 * @param sequence the sequence claimed by the request
+	 */
+	void publish(long sequence) {
+		this.sequence = sequence;
+	}
+
+	/**
+	 * Release the references held by this entry once it has been formatted.
+	 */
+	void clear() {
+		this.remoteAddress = null;
+		this.method = null;
+		this.uri = null;
+		this.queryString = null;
+		this.protocol = null;
+	}
+
+}
@@ -0,0 +1,359 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.accesslog;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.util.Assert;
+
+/**
+ * Writes access log entries to a file without blocking the threads that process
+ * requests. The details of each request are captured into a preallocated ring buffer
+ * and a background thread periodically formats all pending entries, using the common
+ * log format followed by the time taken to process the request in milliseconds, and
+ * writes them in batches. Entries are dropped, and counted, when the ring buffer is
+ * full.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class AccessLogWriter {
+
+	private static final Log logger = LogFactory.getLog(AccessLogWriter.class);
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+	private final RollingFileChannel file;
+
+	private final AccessLogEntry[] entries;
+
+	private final int mask;
+
+	private final AtomicLong claimed = new AtomicLong();
+
+	private volatile long consumed;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	private final AtomicLong written = new AtomicLong();
+
+	private final Object monitor = new Object();
+
+	private long flushInterval = 100;
+
+	private volatile boolean running;
+
+	private Thread thread;
+
+	/**
+	 * Create a new {@link AccessLogWriter} instance.
+	 * @param directory the directory of the log file
+	 * @param prefix the prefix of the log file name
+	 * @param suffix the suffix of the log file name
+	 * @param bufferSize the number of requests that can be waiting to be written, rounded
+	 * up to the next power of two
+	 * @param maxFileSize the size in bytes at which the log file is rolled over or
+	 * {@code 0} for no limit
+	 * @param rotateDaily if the log file should be rolled over when the date changes
+	 */
+	public AccessLogWriter(File directory, String prefix, String suffix, int bufferSize,
+			long maxFileSize, boolean rotateDaily) {
+		Assert.notNull(directory, "Directory must not be null");
+		Assert.isTrue(bufferSize > 0, "BufferSize must be greater than 0");
+		Assert.isTrue(bufferSize <= 1 << 30, "BufferSize must not exceed 2^30");
+		this.file = new RollingFileChannel(directory, (prefix != null ? prefix : ""),
+				(suffix != null ? suffix : ""), maxFileSize, rotateDaily);
+		int capacity = Integer.highestOneBit(bufferSize);
+		capacity = (capacity < bufferSize ? capacity << 1 : capacity);
+		this.entries = new AccessLogEntry[capacity];
+		for (int i = 0; i < capacity; i++) {
+			this.entries[i] = new AccessLogEntry();
+		}
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Set the interval at which pending entries are written.
+	 * @param flushInterval the interval in milliseconds (default 100)
+	 */
+	public void setFlushInterval(long flushInterval) {
+		Assert.isTrue(flushInterval > 0, "FlushInterval must be greater than 0");
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Start the background thread that writes the log file.
+	 */
+	public void start() {
+		synchronized (this.monitor) {
+			if (this.thread == null) {
+				this.running = true;
+				this.thread = new Thread(new Writer(), "access-log-writer");
+				this.thread.setDaemon(true);
+				this.thread.start();
+			}
+		}
+	}
+
+	/**
+	 * Stop the background thread once all pending entries have been written.
+	 */
+	public void stop() {
+		synchronized (this.monitor) {
+			if (this.thread != null) {
+				this.running = false;
+				LockSupport.unpark(this.thread);
+				try {
+					this.thread.join(TimeUnit.SECONDS.toMillis(10));
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				this.thread = null;
+			}
+		}
+	}
+
+	/**
+	 * Capture the details of a request so that they are written to the log. Never
+	 * blocks.
+	 * @param remoteAddress the address of the client
+	 * @param method the HTTP method
+	 * @param uri the request URI
+	 * @param queryString the query string or {@code null}
+	 * @param protocol the protocol
+	 * @param status the status of the response
+	 * @param bytesSent the number of bytes sent in the body of the response
+	 * @param timestamp the time at which the request was received, in milliseconds since
+	 * the epoch
+	 * @param elapsedTime the time taken to process the request in milliseconds
+	 * @return {@code true} if the request was captured or {@code false} if it was
+	 * dropped because the buffer is full
+	 */
+	public boolean log(String remoteAddress, String method, String uri,
+			String queryString, String protocol, int status, long bytesSent,
+			long timestamp, long elapsedTime) {
+		long sequence;
+		do {
+			sequence = this.claimed.get();
+			if (sequence - this.consumed >= this.entries.length) {
+				this.dropped.incrementAndGet();
+				return false;
+			}
+		}
+		while (!this.claimed.compareAndSet(sequence, sequence + 1));
+		AccessLogEntry entry = this.entries[(int) (sequence & this.mask)];
+		entry.remoteAddress = remoteAddress;
+		entry.method = method;
+		entry.uri = uri;
+		entry.queryString = queryString;
+		entry.protocol = protocol;
+		entry.status = status;
+		entry.bytesSent = bytesSent;
+		entry.timestamp = timestamp;
+		entry.elapsedTime = elapsedTime;
+		entry.publish(sequence);
+		return true;
+	}
+
+	/**
+	 * Return the log file that is currently being written.
+	 * @return the log file
+	 */
+	public File getFile() {
+		return this.file.getFile();
+	}
+
+	/**
+	 * Return the number of requests that can be waiting to be written.
+	 * @return the buffer size
+	 */
+	public int getBufferSize() {
+		return this.entries.length;
+	}
+
+	/**
+	 * Return the total number of requests that have been dropped because the buffer was
+	 * full.
+	 * @return the dropped count
+	 */
+	public long getDroppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * Return the total number of requests that have been written to the log.
+	 * @return the written count
+	 */
+	public long getWrittenCount() {
+		return this.written.get();
+	}
+
+	/**
+	 * Background task that formats and writes the published entries.
+	 */
+	private class Writer implements Runnable {
+
+		private final ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+
+		private final StringBuilder line = new StringBuilder(256);
+
+		private final SimpleDateFormat dateFormat = new SimpleDateFormat(
+				"dd/MMM/yyyy:HH:mm:ss Z", Locale.US);
+
+		private int bufferedLines;
+
+		private long formattedSecond = -1;
+
+		private String formattedDate;
+
+		private long reportedDropped;
+
+		@Override
+		public void run() {
+			try {
+				while (true) {
+					boolean stopping = !AccessLogWriter.this.running;
+					drain();
+					flush();
+					reportDropped();
+					if (stopping) {
+						return;
+					}
+					LockSupport.parkNanos(this, TimeUnit.MILLISECONDS
+							.toNanos(AccessLogWriter.this.flushInterval));
+				}
+			}
+			finally {
+				close();
+			}
+		}
+
+		private void drain() {
+			long next = AccessLogWriter.this.consumed;
+			while (true) {
+				AccessLogEntry entry = AccessLogWriter.this.entries[(int) (next
+						& AccessLogWriter.this.mask)];
+				if (entry.getSequence() != next) {
+					return;
+				}
+				format(entry);
+				entry.clear();
+				AccessLogWriter.this.consumed = ++next;
+				append();
+			}
+		}
+
+		private void format(AccessLogEntry entry) {
+			StringBuilder line = this.line;
+			line.setLength(0);
+			line.append(entry.remoteAddress != null ? entry.remoteAddress : "-");
+			line.append(" - - [").append(formatDate(entry.timestamp)).append("] \"");
+			line.append(entry.method).append(' ').append(entry.uri);
+			if (entry.queryString != null && entry.queryString.length() > 0) {
+				line.append('?').append(entry.queryString);
+			}
+			line.append(' ').append(entry.protocol).append("\" ");
+			line.append(entry.status).append(' ');
+			if (entry.bytesSent > 0) {
+				line.append(entry.bytesSent);
+			}
+			else {
+				line.append('-');
+			}
+			line.append(' ').append(entry.elapsedTime).append('\n');
+		}
+
+		private String formatDate(long timestamp) {
+			long second = timestamp / 1000;
+			if (second != this.formattedSecond) {
+				this.formattedDate = this.dateFormat.format(new Date(timestamp));
+				this.formattedSecond = second;
+			}
+			return this.formattedDate;
+		}
+
+		private void append() {
+			byte[] bytes = this.line.toString().getBytes(UTF_8);
+			if (bytes.length > this.buffer.remaining()) {
+				flush();
+			}
+			if (bytes.length > this.buffer.remaining()) {
+				write(ByteBuffer.wrap(bytes), 1);
+			}
+			else {
+				this.buffer.put(bytes);
+				this.bufferedLines++;
+			}
+		}
+
+		private void flush() {
+			if (this.bufferedLines > 0) {
+				this.buffer.flip();
+				write(this.buffer, this.bufferedLines);
+			}
+			this.buffer.clear();
+			this.bufferedLines = 0;
+		}
+
+		private void write(ByteBuffer bytes, int lines) {
+			try {
+				AccessLogWriter.this.file.write(bytes);
+				AccessLogWriter.this.written.addAndGet(lines);
+			}
+			catch (IOException ex) {
+				logger.error("Failed to write access log to "
+						+ AccessLogWriter.this.file.getFile(), ex);
+			}
+		}
+
+		private void reportDropped() {
+			long dropped = AccessLogWriter.this.dropped.get();
+			if (dropped > this.reportedDropped) {
+				logger.warn("Dropped " + (dropped - this.reportedDropped)
+						+ " access log entries as the buffer of "
+						+ AccessLogWriter.this.entries.length + " entries was full");
+				this.reportedDropped = dropped;
+			}
+		}
+
+		private void close() {
+			try {
+				AccessLogWriter.this.file.close();
+			}
+			catch (IOException ex) {
+				logger.debug("Failed to close access log", ex);
+			}
+		}
+
+	}
+
+}
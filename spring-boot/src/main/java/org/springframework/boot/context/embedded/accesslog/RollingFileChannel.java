@@ -0,0 +1,155 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.accesslog;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Appends batches of bytes to a file using a {@link FileChannel}. The file is rolled
+ * over when it would exceed a maximum size or, optionally, when the date changes. A
+ * rolled over file is renamed by inserting its date and an index between the prefix
+ * and the suffix of the file name. Not thread-safe.
+ *
+ * @author Agent Local
+ */
+class RollingFileChannel {
+
+	private final File directory;
+
+	private final String prefix;
+
+	private final String suffix;
+
+	private final long maxFileSize;
+
+	private final boolean rotateDaily;
+
+	private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+
+	private File file;
+
+	private FileChannel channel;
+
+	private long size;
+
+	private String date;
+
+	RollingFileChannel(File directory, String prefix, String suffix, long maxFileSize,
+			boolean rotateDaily) {
+		this.directory = directory;
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.maxFileSize = maxFileSize;
+		this.rotateDaily = rotateDaily;
+		this.file = new File(directory, prefix + suffix);
+	}
+
+	/**
+	 * Return the file that is currently being written.
+	 * @return the file
+	 */
+	File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Write all remaining bytes of the given buffer, rolling the file over first if
+	 * necessary.
+	 * @param buffer the buffer to write
+	 * @throws IOException if the bytes cannot be written
+	 */
+	void write(ByteBuffer buffer) throws IOException {
+		long now = System.currentTimeMillis();
+		if (this.channel == null) {
+			open();
+		}
+		if (isRolloverRequired(now, buffer.remaining())) {
+			rollover();
+		}
+		while (buffer.hasRemaining()) {
+			this.size += this.channel.write(buffer);
+		}
+	}
+
+	/**
+	 * Close the channel of the current file.
+	 * @throws IOException if the channel cannot be closed
+	 */
+	void close() throws IOException {
+		if (this.channel != null) {
+			try {
+				this.channel.close();
+			}
+			finally {
+				this.channel = null;
+			}
+		}
+	}
+
+	private boolean isRolloverRequired(long now, int length) {
+		if (this.size == 0) {
+			this.date = format(now);
+			return false;
+		}
+		if (this.rotateDaily && !format(now).equals(this.date)) {
+			return true;
+		}
+		return (this.maxFileSize > 0 && this.size + length > this.maxFileSize);
+	}
+
+	private void rollover() throws IOException {
+		close();
+		File rolled = getRolledFile();
+		if (!this.file.renameTo(rolled)) {
+			throw new IOException("Unable to rename " + this.file + " to " + rolled);
+		}
+		open();
+		this.date = format(System.currentTimeMillis());
+	}
+
+	private File getRolledFile() {
+		String name = this.prefix + "." + this.date + ".";
+		int index = 0;
+		File rolled;
+		do {
+			rolled = new File(this.directory, name + (index++) + this.suffix);
+		}
+		while (rolled.exists());
+		return rolled;
+	}
+
+	private void open() throws IOException {
+		if (!this.directory.isDirectory() && !this.directory.mkdirs()) {
+			throw new IOException("Unable to create directory " + this.directory);
+		}
+		this.size = (this.file.exists() ? this.file.length() : 0);
+		this.date = format(this.size > 0 ? this.file.lastModified()
+				: System.currentTimeMillis());
+		this.channel = new FileOutputStream(this.file, true).getChannel();
+	}
+
+	private String format(long time) {
+		return this.dateFormat.format(new Date(time));
+	}
+
+}
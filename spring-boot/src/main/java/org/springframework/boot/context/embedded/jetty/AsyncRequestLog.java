@@ -0,0 +1,58 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.jetty;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.RequestLog;
+import org.eclipse.jetty.server.Response;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
+
+/**
+ * {@link RequestLog} that captures requests into an {@link AccessLogWriter}.
+ *
+ * @author Agent Local
+ */
+class AsyncRequestLog extends AbstractLifeCycle implements RequestLog {
+
+	private final AccessLogWriter writer;
+
+	AsyncRequestLog(AccessLogWriter writer) {
+		this.writer = writer;
+	}
+
+	@Override
+	public void log(Request request, Response response) {
+		long timestamp = request.getTimeStamp();
+		this.writer.log(request.getRemoteAddr(), request.getMethod(),
+				request.getRequestURI(), request.getQueryString(), request.getProtocol(),
+				response.getStatus(), response.getContentCount(), timestamp,
+				System.currentTimeMillis() - timestamp);
+	}
+
+	@Override
+	protected void doStart() throws Exception {
+		this.writer.start();
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		this.writer.stop();
+	}
+
+}
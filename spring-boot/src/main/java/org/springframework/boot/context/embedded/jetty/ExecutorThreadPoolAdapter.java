@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.jetty;
+
+import java.util.concurrent.Executor;
+
+import org.eclipse.jetty.server.AbstractConnector;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import org.springframework.boot.context.embedded.InstrumentedExecutor;
+import org.springframework.util.Assert;
+
+/**
+ * Adapts an {@link Executor} to Jetty's {@link ThreadPool} so that it can be used by
+ * the {@link org.eclipse.jetty.server.Server Server}. Jetty's acceptor and selector
+ * tasks run for as long as the server is started, each permanently using one of the
+ * executor's threads, so the maximum concurrency of an {@link InstrumentedExecutor} must
+ * leave room to process requests. An {@link InstrumentedExecutor} is shut down when the
+ * pool is stopped.
+ *
+ * @author Agent Local
+ */
+class ExecutorThreadPoolAdapter extends AbstractLifeCycle implements ThreadPool {
+
+	private final Executor executor;
+
+	private final Object monitor = new Object();
+
+	ExecutorThreadPoolAdapter(Executor executor) {
+		this.executor = executor;
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		this.executor.execute(command);
+	}
+
+	@Override
+	protected void doStop() throws Exception {
+		if (this.executor instanceof InstrumentedExecutor) {
+			((InstrumentedExecutor) this.executor).shutdown();
+		}
+		synchronized (this.monitor) {
+			this.monitor.notifyAll();
+		}
+	}
+
+	@Override
+	public void join() throws InterruptedException {
+		synchronized (this.monitor) {
+			while (isRunning()) {
+				this.monitor.wait();
+			}
+		}
+	}
+
+	/**
+	 * Check that the executor can run the acceptors and selectors of the given
+	 * connectors and still process at least one request.
+	 * @param connectors the server's connectors
+	 * @throws IllegalStateException if the executor's maximum concurrency is too low
+	 */
+	void checkCapacity(Connector[] connectors) {
+		if (!(this.executor instanceof InstrumentedExecutor)) {
+			return;
+		}
+		int maxConcurrency = ((InstrumentedExecutor) this.executor).getMaxConcurrency();
+		if (maxConcurrency == InstrumentedExecutor.UNBOUNDED) {
+			return;
+		}
+		int acceptors = 0;
+		int selectors = 0;
+		for (Connector connector : connectors) {
+			if (connector instanceof AbstractConnector) {
+				acceptors += ((AbstractConnector) connector).getAcceptors();
+			}
+			if (connector instanceof ServerConnector) {
+				selectors += ((ServerConnector) connector).getSelectorManager()
+						.getSelectorCount();
+			}
+		}
+		Assert.state(maxConcurrency > acceptors + selectors,
+				"Max concurrency of " + maxConcurrency + " leaves no room to process "
+						+ "requests as Jetty needs " + acceptors + " acceptor and "
+						+ selectors + " selector thread(s)");
+	}
+
+	@Override
+	public int getThreads() {
+		if (this.executor instanceof InstrumentedExecutor) {
+			return ((InstrumentedExecutor) this.executor).getActiveCount();
+		}
+		return 0;
+	}
+
+	@Override
+	public int getIdleThreads() {
+		return 0;
+	}
+
+	@Override
+	public boolean isLowOnThreads() {
+		if (this.executor instanceof InstrumentedExecutor) {
+			return ((InstrumentedExecutor) this.executor).getQueuedCount() > 0;
+		}
+		return false;
+	}
+
+}
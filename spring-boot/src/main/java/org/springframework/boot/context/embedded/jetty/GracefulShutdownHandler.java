@@ -0,0 +1,65 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.jetty;
+
+import java.io.IOException;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.HandlerWrapper;
+
+import org.springframework.boot.context.embedded.GracefulShutdown;
+
+/**
+ * {@link HandlerWrapper} that records the requests that are processed by Jetty with a
+ * {@link GracefulShutdown}.
+ *
+ * @author Agent Local
+ */
+class GracefulShutdownHandler extends HandlerWrapper {
+
+	private final GracefulShutdown gracefulShutdown;
+
+	GracefulShutdownHandler(GracefulShutdown gracefulShutdown) {
+		this.gracefulShutdown = gracefulShutdown;
+	}
+
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request,
+			HttpServletResponse response) throws IOException, ServletException {
+		if (baseRequest.getDispatcherType() != DispatcherType.REQUEST) {
+			super.handle(target, baseRequest, request, response);
+			return;
+		}
+		this.gracefulShutdown.requestStarted();
+		try {
+			super.handle(target, baseRequest, request, response);
+		}
+		finally {
+			this.gracefulShutdown.requestDispatched(request);
+		}
+	}
+
+	GracefulShutdown getGracefulShutdown() {
+		return this.gracefulShutdown;
+	}
+
+}
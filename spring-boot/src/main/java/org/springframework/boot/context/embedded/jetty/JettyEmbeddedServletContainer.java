@@ -30,6 +30,7 @@ import org.eclipse.jetty.server.handler.HandlerWrapper;
 
 import org.springframework.boot.context.embedded.EmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerException;
+import org.springframework.boot.context.embedded.GracefulShutdown;
 import org.springframework.boot.context.embedded.PortInUseException;
 import org.springframework.util.Assert;
 import org.springframework.util.ReflectionUtils;
@@ -210,6 +211,32 @@ public class JettyEmbeddedServletContainer implements EmbeddedServletContainer {
 		}
 	}
 
+	@Override
+	public boolean shutDownGracefully() throws EmbeddedServletContainerException {
+		GracefulShutdown gracefulShutdown = getGracefulShutdown();
+		if (gracefulShutdown == null) {
+			return true;
+		}
+		synchronized (this.monitor) {
+			for (Connector connector : this.server.getConnectors()) {
+				if (connector instanceof NetworkConnector) {
+					((NetworkConnector) connector).close();
+				}
+			}
+		}
+		JettyEmbeddedServletContainer.logger
+				.info("Waiting for " + gracefulShutdown.getActiveRequests()
+						+ " active request(s) to complete");
+		return gracefulShutdown.awaitDrained();
+	}
+
+	@Override
+	public GracefulShutdown getGracefulShutdown() {
+		GracefulShutdownHandler handler = this.server
+				.getChildHandlerByClass(GracefulShutdownHandler.class);
+		return (handler != null ? handler.getGracefulShutdown() : null);
+	}
+
 	@Override
 	public int getPort() {
 		Connector[] connectors = this.server.getConnectors();
@@ -34,8 +34,12 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
 import org.eclipse.jetty.http.HttpVersion;
 import org.eclipse.jetty.http.MimeTypes;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.AbstractConnector;
 import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
@@ -51,6 +55,7 @@ import org.eclipse.jetty.server.SessionManager;
 import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.server.handler.ErrorHandler;
 import org.eclipse.jetty.server.handler.HandlerWrapper;
+import org.eclipse.jetty.server.handler.RequestLogHandler;
 import org.eclipse.jetty.server.handler.gzip.GzipHandler;
 import org.eclipse.jetty.server.session.HashSessionManager;
 import org.eclipse.jetty.servlet.ErrorPageErrorHandler;
@@ -69,9 +74,11 @@ import org.springframework.boot.context.embedded.Compression;
 import org.springframework.boot.context.embedded.EmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerException;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.GracefulShutdown;
 import org.springframework.boot.context.embedded.MimeMappings;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.context.embedded.Ssl.ClientAuth;
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
 import org.springframework.boot.web.servlet.ErrorPage;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.ResourceLoaderAware;
@@ -113,6 +120,10 @@ public class JettyEmbeddedServletContainerFactory
 
 	private static final String CONNECTOR_JETTY_8 = "org.eclipse.jetty.server.nio.SelectChannelConnector";
 
+	private static final String HTTP2_CONNECTION_FACTORY = "org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory";
+
+	private static final String ALPN_CONNECTION_FACTORY = "org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory";
+
 	private List<Configuration> configurations = new ArrayList<Configuration>();
 
 	private boolean useForwardHeaders;
@@ -182,22 +193,34 @@ public class JettyEmbeddedServletContainerFactory
 		if (this.useForwardHeaders) {
 			new ForwardHeadersCustomizer().customize(server);
 		}
+		if (server.getThreadPool() instanceof ExecutorThreadPoolAdapter) {
+			((ExecutorThreadPoolAdapter) server.getThreadPool())
+					.checkCapacity(server.getConnectors());
+		}
 		return getJettyEmbeddedServletContainer(server);
 	}
 
 	private Server createServer(InetSocketAddress address) {
+		ThreadPool serverThreadPool = getThreadPool();
+		if (serverThreadPool == null && getExecutor() != null) {
+			serverThreadPool = new ExecutorThreadPoolAdapter(getExecutor());
+		}
 		Server server;
 		if (ClassUtils.hasConstructor(Server.class, ThreadPool.class)) {
-			server = new Jetty9ServerFactory().createServer(getThreadPool());
+			server = new Jetty9ServerFactory().createServer(serverThreadPool);
 		}
 		else {
-			server = new Jetty8ServerFactory().createServer(getThreadPool());
+			server = new Jetty8ServerFactory().createServer(serverThreadPool);
 		}
 		server.setConnectors(new Connector[] { createConnector(address, server) });
 		return server;
 	}
 
 	private AbstractConnector createConnector(InetSocketAddress address, Server server) {
+		if (isHttp2Enabled()) {
+			return new Jetty93Http2ConnectorFactory().createConnector(server, address,
+					this.acceptors, this.selectors);
+		}
 		if (ClassUtils.isPresent(CONNECTOR_JETTY_8, getClass().getClassLoader())) {
 			return new Jetty8ConnectorFactory().createConnector(server, address,
 					this.acceptors, this.selectors);
@@ -206,6 +229,17 @@ public class JettyEmbeddedServletContainerFactory
 				this.acceptors, this.selectors);
 	}
 
+	private boolean isHttp2Enabled() {
+		if (getHttp2() == null || !getHttp2().isEnabled()) {
+			return false;
+		}
+		Assert.state(
+				ClassUtils.isPresent(HTTP2_CONNECTION_FACTORY,
+						getClass().getClassLoader()),
+				"HTTP/2 is enabled, but Jetty's http2-server is not on the classpath");
+		return true;
+	}
+
 	private Handler addHandlerWrappers(Handler handler) {
 		if (getCompression() != null && getCompression().getEnabled()) {
 			handler = applyWrapper(handler, createGzipHandler());
@@ -213,6 +247,16 @@ public class JettyEmbeddedServletContainerFactory
 		if (StringUtils.hasText(getServerHeader())) {
 			handler = applyWrapper(handler, new ServerHeaderHandler(getServerHeader()));
 		}
+		AccessLogWriter accessLogWriter = createAsyncAccessLogWriter();
+		if (accessLogWriter != null) {
+			RequestLogHandler requestLogHandler = new RequestLogHandler();
+			requestLogHandler.setRequestLog(new AsyncRequestLog(accessLogWriter));
+			handler = applyWrapper(handler, requestLogHandler);
+		}
+		GracefulShutdown gracefulShutdown = createGracefulShutdown();
+		if (gracefulShutdown != null) {
+			handler = applyWrapper(handler, new GracefulShutdownHandler(gracefulShutdown));
+		}
 		return handler;
 	}
 
@@ -237,6 +281,14 @@ public class JettyEmbeddedServletContainerFactory
 	}
 
 	private SslServerConnectorFactory getSslServerConnectorFactory() {
+		if (isHttp2Enabled()) {
+			Assert.state(
+					ClassUtils.isPresent(ALPN_CONNECTION_FACTORY,
+							getClass().getClassLoader()),
+					"HTTP/2 and SSL are enabled, but Jetty's alpn-server is not on the "
+							+ "classpath");
+			return new Jetty93Http2SslServerConnectorFactory();
+		}
 		if (ClassUtils.isPresent("org.eclipse.jetty.server.ssl.SslSocketConnector",
 				null)) {
 			return new Jetty8SslServerConnectorFactory();
@@ -642,7 +694,8 @@ public class JettyEmbeddedServletContainerFactory
 
 	/**
 	 * Set a Jetty {@link ThreadPool} that should be used by the {@link Server}. If set to
-	 * {@code null} (default), the {@link Server} creates a {@link ThreadPool} implicitly.
+	 * {@code null} (default), the {@link Server} uses the {@link #getExecutor() executor}
+	 * or, if none has been set, creates a {@link ThreadPool} implicitly.
 	 * @param threadPool a Jetty ThreadPool to be used
 	 */
 	public void setThreadPool(ThreadPool threadPool) {
@@ -703,6 +756,35 @@ public class JettyEmbeddedServletContainerFactory
 		}
 	}
 
+	/**
+	 * {@link SslServerConnectorFactory} for Jetty 9.3 and later that negotiates HTTP/2
+	 * using ALPN, falling back to HTTP/1.1.
+	 */
+	private static class Jetty93Http2SslServerConnectorFactory
+			implements SslServerConnectorFactory {
+
+		@Override
+		public ServerConnector getConnector(Server server,
+				SslContextFactory sslContextFactory, int port) {
+			HttpConfiguration config = new HttpConfiguration();
+			config.addCustomizer(new SecureRequestCustomizer());
+			HttpConnectionFactory http = new HttpConnectionFactory(config);
+			HTTP2ServerConnectionFactory h2 = new HTTP2ServerConnectionFactory(config);
+			ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory(
+					h2.getProtocol(), http.getProtocol());
+			alpn.setDefaultProtocol(http.getProtocol());
+			sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+			sslContextFactory.setUseCipherSuitesOrder(true);
+			SslConnectionFactory ssl = new SslConnectionFactory(sslContextFactory,
+					alpn.getProtocol());
+			ServerConnector serverConnector = new ServerConnector(server, ssl, alpn, h2,
+					http);
+			serverConnector.setPort(port);
+			return serverConnector;
+		}
+
+	}
+
 	/**
 	 * {@link SslServerConnectorFactory} for Jetty 8.
 	 */
@@ -898,7 +980,7 @@ public class JettyEmbeddedServletContainerFactory
 	private static class Jetty9ConnectorFactory implements ConnectorFactory {
 
 		@Override
-		public AbstractConnector createConnector(Server server, InetSocketAddress address,
+		public ServerConnector createConnector(Server server, InetSocketAddress address,
 				int acceptors, int selectors) {
 			ServerConnector connector = new ServerConnector(server, acceptors, selectors);
 			connector.setHost(address.getHostName());
@@ -915,6 +997,26 @@ public class JettyEmbeddedServletContainerFactory
 
 	}
 
+	/**
+	 * {@link ConnectorFactory} for Jetty 9.3 and later that also accepts connections
+	 * upgraded to cleartext HTTP/2 ({@literal h2c}).
+	 */
+	private static class Jetty93Http2ConnectorFactory implements ConnectorFactory {
+
+		@Override
+		public AbstractConnector createConnector(Server server, InetSocketAddress address,
+				int acceptors, int selectors) {
+			ServerConnector connector = new Jetty9ConnectorFactory()
+					.createConnector(server, address, acceptors, selectors);
+			HttpConnectionFactory http = connector
+					.getConnectionFactory(HttpConnectionFactory.class);
+			connector.addConnectionFactory(
+					new HTTP2CServerConnectionFactory(http.getHttpConfiguration()));
+			return connector;
+		}
+
+	}
+
 	private interface ServerFactory {
 
 		Server createServer(ThreadPool threadPool);
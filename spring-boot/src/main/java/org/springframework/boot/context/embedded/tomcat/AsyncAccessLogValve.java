@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.tomcat;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.AccessLog;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.LifecycleState;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
+
+/**
+ * {@link AccessLog} {@link ValveBase Valve} that captures requests into an
+ * {@link AccessLogWriter}.
+ *
+ * @author Agent Local
+ */
+class AsyncAccessLogValve extends ValveBase implements AccessLog {
+
+	private final AccessLogWriter writer;
+
+	private boolean requestAttributesEnabled;
+
+	AsyncAccessLogValve(AccessLogWriter writer) {
+		super(true);
+		this.writer = writer;
+	}
+
+	@Override
+	public void invoke(Request request, Response response)
+			throws IOException, ServletException {
+		getNext().invoke(request, response);
+	}
+
+	@Override
+	public void log(Request request, Response response, long time) {
+		if (getState().isAvailable()) {
+			this.writer.log(request.getRemoteAddr(), request.getMethod(),
+					request.getRequestURI(), request.getQueryString(),
+					request.getProtocol(), response.getStatus(),
+					response.getBytesWritten(false),
+					request.getCoyoteRequest().getStartTime(), time);
+		}
+	}
+
+	@Override
+	public void setRequestAttributesEnabled(boolean requestAttributesEnabled) {
+		this.requestAttributesEnabled = requestAttributesEnabled;
+	}
+
+	@Override
+	public boolean getRequestAttributesEnabled() {
+		return this.requestAttributesEnabled;
+	}
+
+	@Override
+	protected synchronized void startInternal() throws LifecycleException {
+		this.writer.start();
+		setState(LifecycleState.STARTING);
+	}
+
+	@Override
+	protected synchronized void stopInternal() throws LifecycleException {
+		setState(LifecycleState.STOPPING);
+		this.writer.stop();
+	}
+
+}
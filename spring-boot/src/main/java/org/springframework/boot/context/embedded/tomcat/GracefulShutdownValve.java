@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.tomcat;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.ValveBase;
+
+import org.springframework.boot.context.embedded.GracefulShutdown;
+
+/**
+ * {@link ValveBase Valve} that records the requests that are processed by Tomcat with a
+ * {@link GracefulShutdown}.
+ *
+ * @author Agent Local
+ */
+class GracefulShutdownValve extends ValveBase {
+
+	private static final String TRACKED_NOTE = GracefulShutdownValve.class.getName()
+			+ ".TRACKED";
+
+	private final GracefulShutdown gracefulShutdown;
+
+	GracefulShutdownValve(GracefulShutdown gracefulShutdown) {
+		super(true);
+		this.gracefulShutdown = gracefulShutdown;
+	}
+
+	@Override
+	public void invoke(Request request, Response response)
+			throws IOException, ServletException {
+		if (request.getNote(TRACKED_NOTE) != null) {
+			getNext().invoke(request, response);
+			return;
+		}
+		request.setNote(TRACKED_NOTE, Boolean.TRUE);
+		this.gracefulShutdown.requestStarted();
+		try {
+			getNext().invoke(request, response);
+		}
+		finally {
+			this.gracefulShutdown.requestDispatched(request);
+		}
+	}
+
+	GracefulShutdown getGracefulShutdown() {
+		return this.gracefulShutdown;
+	}
+
+}
@@ -16,8 +16,12 @@
 
 package org.springframework.boot.context.embedded.tomcat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.naming.NamingException;
@@ -28,6 +32,7 @@ import org.apache.catalina.Engine;
 import org.apache.catalina.LifecycleException;
 import org.apache.catalina.LifecycleState;
 import org.apache.catalina.Service;
+import org.apache.catalina.Valve;
 import org.apache.catalina.connector.Connector;
 import org.apache.catalina.startup.Tomcat;
 import org.apache.commons.logging.Log;
@@ -36,6 +41,8 @@ import org.apache.naming.ContextBindings;
 
 import org.springframework.boot.context.embedded.EmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerException;
+import org.springframework.boot.context.embedded.GracefulShutdown;
+import org.springframework.boot.context.embedded.InstrumentedExecutor;
 import org.springframework.util.Assert;
 
 /**
@@ -62,6 +69,8 @@ public class TomcatEmbeddedServletContainer implements EmbeddedServletContainer
 
 	private final boolean autoStart;
 
+	private final GracefulShutdown gracefulShutdown;
+
 	/**
 	 * Create a new {@link TomcatEmbeddedServletContainer} instance.
 	 * @param tomcat the underlying Tomcat server
@@ -79,9 +88,19 @@ public class TomcatEmbeddedServletContainer implements EmbeddedServletContainer
 		Assert.notNull(tomcat, "Tomcat Server must not be null");
 		this.tomcat = tomcat;
 		this.autoStart = autoStart;
+		this.gracefulShutdown = findGracefulShutdown(tomcat);
 		initialize();
 	}
 
+	private GracefulShutdown findGracefulShutdown(Tomcat tomcat) {
+		for (Valve valve : tomcat.getEngine().getPipeline().getValves()) {
+			if (valve instanceof GracefulShutdownValve) {
+				return ((GracefulShutdownValve) valve).getGracefulShutdown();
+			}
+		}
+		return null;
+	}
+
 	private void initialize() throws EmbeddedServletContainerException {
 		TomcatEmbeddedServletContainer.logger
 				.info("Tomcat initialized with port(s): " + getPortsDescription(false));
@@ -224,6 +243,22 @@ public class TomcatEmbeddedServletContainer implements EmbeddedServletContainer
 		this.tomcat.stop();
 	}
 
+	private void shutDownExecutors() {
+		List<Connector> connectors = new ArrayList<Connector>();
+		for (Service service : this.tomcat.getServer().findServices()) {
+			connectors.addAll(Arrays.asList(service.findConnectors()));
+		}
+		for (Connector[] removedConnectors : this.serviceConnectors.values()) {
+			connectors.addAll(Arrays.asList(removedConnectors));
+		}
+		for (Connector connector : connectors) {
+			Executor executor = connector.getProtocolHandler().getExecutor();
+			if (executor instanceof InstrumentedExecutor) {
+				((InstrumentedExecutor) executor).shutdown();
+			}
+		}
+	}
+
 	private void addPreviouslyRemovedConnectors() {
 		Service[] services = this.tomcat.getServer().findServices();
 		for (Service service : services) {
@@ -274,6 +309,7 @@ public class TomcatEmbeddedServletContainer implements EmbeddedServletContainer
 			try {
 				try {
 					stopTomcat();
+					shutDownExecutors();
 					this.tomcat.destroy();
 				}
 				catch (LifecycleException ex) {
@@ -290,6 +326,27 @@ public class TomcatEmbeddedServletContainer implements EmbeddedServletContainer
 		}
 	}
 
+	@Override
+	public boolean shutDownGracefully() throws EmbeddedServletContainerException {
+		if (this.gracefulShutdown == null) {
+			return true;
+		}
+		synchronized (this.monitor) {
+			for (Connector connector : this.tomcat.getService().findConnectors()) {
+				connector.pause();
+			}
+		}
+		TomcatEmbeddedServletContainer.logger
+				.info("Waiting for " + this.gracefulShutdown.getActiveRequests()
+						+ " active request(s) to complete");
+		return this.gracefulShutdown.awaitDrained();
+	}
+
+	@Override
+	public GracefulShutdown getGracefulShutdown() {
+		return this.gracefulShutdown;
+	}
+
 	private String getPortsDescription(boolean localPort) {
 		StringBuilder ports = new StringBuilder();
 		for (Connector connector : this.tomcat.getService().findConnectors()) {
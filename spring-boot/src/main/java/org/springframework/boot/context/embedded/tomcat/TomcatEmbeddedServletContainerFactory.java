@@ -55,6 +55,7 @@ import org.apache.coyote.ProtocolHandler;
 import org.apache.coyote.http11.AbstractHttp11JsseProtocol;
 import org.apache.coyote.http11.AbstractHttp11Protocol;
 import org.apache.coyote.http11.Http11NioProtocol;
+import org.apache.coyote.http2.Http2Protocol;
 import org.apache.tomcat.util.net.SSLHostConfig;
 
 import org.springframework.boot.context.embedded.AbstractEmbeddedServletContainerFactory;
@@ -62,10 +63,12 @@ import org.springframework.boot.context.embedded.Compression;
 import org.springframework.boot.context.embedded.EmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerException;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory;
+import org.springframework.boot.context.embedded.GracefulShutdown;
 import org.springframework.boot.context.embedded.MimeMappings;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.context.embedded.Ssl.ClientAuth;
 import org.springframework.boot.context.embedded.SslStoreProvider;
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
 import org.springframework.boot.web.servlet.ErrorPage;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.ResourceLoaderAware;
@@ -179,9 +182,17 @@ public class TomcatEmbeddedServletContainerFactory
 
 	private void configureEngine(Engine engine) {
 		engine.setBackgroundProcessorDelay(this.backgroundProcessorDelay);
+		GracefulShutdown gracefulShutdown = createGracefulShutdown();
+		if (gracefulShutdown != null) {
+			engine.getPipeline().addValve(new GracefulShutdownValve(gracefulShutdown));
+		}
 		for (Valve valve : this.engineValves) {
 			engine.getPipeline().addValve(valve);
 		}
+		AccessLogWriter accessLogWriter = createAsyncAccessLogWriter();
+		if (accessLogWriter != null) {
+			engine.getPipeline().addValve(new AsyncAccessLogValve(accessLogWriter));
+		}
 	}
 
 	protected void prepareContext(Host host, ServletContextInitializer[] initializers) {
@@ -313,6 +324,9 @@ public class TomcatEmbeddedServletContainerFactory
 		if (getCompression() != null && getCompression().getEnabled()) {
 			customizeCompression(connector);
 		}
+		if (getHttp2() != null && getHttp2().isEnabled()) {
+			connector.addUpgradeProtocol(new Http2Protocol());
+		}
 		for (TomcatConnectorCustomizer customizer : this.tomcatConnectorCustomizers) {
 			customizer.customize(connector);
 		}
@@ -322,6 +336,9 @@ public class TomcatEmbeddedServletContainerFactory
 		if (getAddress() != null) {
 			protocol.setAddress(getAddress());
 		}
+		if (getExecutor() != null) {
+			protocol.setExecutor(getExecutor());
+		}
 	}
 
 	private void customizeSsl(Connector connector) {
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.undertow;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
+
+/**
+ * {@link HttpHandler} that captures completed exchanges into an
+ * {@link AccessLogWriter}.
+ *
+ * @author Agent Local
+ */
+class AsyncAccessLogHandler implements HttpHandler {
+
+	private final HttpHandler next;
+
+	private final AccessLogWriter writer;
+
+	AsyncAccessLogHandler(HttpHandler next, AccessLogWriter writer) {
+		this.next = next;
+		this.writer = writer;
+	}
+
+	@Override
+	public void handleRequest(HttpServerExchange exchange) throws Exception {
+		exchange.addExchangeCompleteListener(new CompletionListener(
+				System.currentTimeMillis(), System.nanoTime()));
+		this.next.handleRequest(exchange);
+	}
+
+	/**
+	 * {@link ExchangeCompletionListener} that logs the exchange once it is complete.
+	 */
+	private class CompletionListener implements ExchangeCompletionListener {
+
+		private final long timestamp;
+
+		private final long startTime;
+
+		CompletionListener(long timestamp, long startTime) {
+			this.timestamp = timestamp;
+			this.startTime = startTime;
+		}
+
+		@Override
+		public void exchangeEvent(HttpServerExchange exchange,
+				NextListener nextListener) {
+			try {
+				InetSocketAddress sourceAddress = exchange.getSourceAddress();
+				String queryString = exchange.getQueryString();
+				AsyncAccessLogHandler.this.writer.log(
+						(sourceAddress != null
+								? sourceAddress.getAddress().getHostAddress() : null),
+						exchange.getRequestMethod().toString(), exchange.getRequestURI(),
+						(queryString.length() > 0 ? queryString : null),
+						exchange.getProtocol().toString(), exchange.getStatusCode(),
+						exchange.getResponseBytesSent(), this.timestamp,
+						TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime));
+			}
+			finally {
+				nextListener.proceed();
+			}
+		}
+
+	}
+
+}
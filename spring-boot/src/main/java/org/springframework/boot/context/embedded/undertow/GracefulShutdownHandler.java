@@ -0,0 +1,64 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.undertow;
+
+import io.undertow.server.ExchangeCompletionListener;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+
+import org.springframework.boot.context.embedded.GracefulShutdown;
+
+/**
+ * {@link HttpHandler} that records the exchanges that are processed by Undertow with a
+ * {@link GracefulShutdown}.
+ *
+ * @author Agent Local
+ */
+class GracefulShutdownHandler implements HttpHandler {
+
+	private final HttpHandler next;
+
+	private final GracefulShutdown gracefulShutdown;
+
+	private final ExchangeCompletionListener completionListener = new ExchangeCompletionListener() {
+
+		@Override
+		public void exchangeEvent(HttpServerExchange exchange,
+				NextListener nextListener) {
+			try {
+				GracefulShutdownHandler.this.gracefulShutdown.requestCompleted();
+			}
+			finally {
+				nextListener.proceed();
+			}
+		}
+
+	};
+
+	GracefulShutdownHandler(HttpHandler next, GracefulShutdown gracefulShutdown) {
+		this.next = next;
+		this.gracefulShutdown = gracefulShutdown;
+	}
+
+	@Override
+	public void handleRequest(HttpServerExchange exchange) throws Exception {
+		this.gracefulShutdown.requestStarted();
+		exchange.addExchangeCompleteListener(this.completionListener);
+		this.next.handleRequest(exchange);
+	}
+
+}
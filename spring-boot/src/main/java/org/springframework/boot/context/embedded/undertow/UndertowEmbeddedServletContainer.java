@@ -22,6 +22,7 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.servlet.ServletException;
 
@@ -41,11 +42,14 @@ import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.xnio.channels.AcceptingChannel;
 import org.xnio.channels.BoundChannel;
 
 import org.springframework.boot.context.embedded.Compression;
 import org.springframework.boot.context.embedded.EmbeddedServletContainer;
 import org.springframework.boot.context.embedded.EmbeddedServletContainerException;
+import org.springframework.boot.context.embedded.GracefulShutdown;
+import org.springframework.boot.context.embedded.InstrumentedExecutor;
 import org.springframework.boot.context.embedded.PortInUseException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.util.MimeType;
@@ -86,6 +90,8 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 
 	private final String serverHeader;
 
+	private final GracefulShutdown gracefulShutdown;
+
 	private Undertow undertow;
 
 	private boolean started = false;
@@ -132,6 +138,26 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 	public UndertowEmbeddedServletContainer(Builder builder, DeploymentManager manager,
 			String contextPath, boolean useForwardHeaders, boolean autoStart,
 			Compression compression, String serverHeader) {
+		this(builder, manager, contextPath, useForwardHeaders, autoStart, compression,
+				serverHeader, null);
+	}
+
+	/**
+	 * Create a new {@link UndertowEmbeddedServletContainer} instance.
+	 * @param builder the builder
+	 * @param manager the deployment manager
+	 * @param contextPath the root context path
+	 * @param useForwardHeaders if x-forward headers should be used
+	 * @param autoStart if the server should be started
+	 * @param compression compression configuration
+	 * @param serverHeader string to be used in HTTP header
+	 * @param gracefulShutdown graceful shutdown support or {@code null}
+	 * @since 2.0.0
+	 */
+	public UndertowEmbeddedServletContainer(Builder builder, DeploymentManager manager,
+			String contextPath, boolean useForwardHeaders, boolean autoStart,
+			Compression compression, String serverHeader,
+			GracefulShutdown gracefulShutdown) {
 		this.builder = builder;
 		this.manager = manager;
 		this.contextPath = contextPath;
@@ -139,6 +165,7 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 		this.autoStart = autoStart;
 		this.compression = compression;
 		this.serverHeader = serverHeader;
+		this.gracefulShutdown = gracefulShutdown;
 	}
 
 	@Override
@@ -192,6 +219,9 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 		if (StringUtils.hasText(this.serverHeader)) {
 			httpHandler = Handlers.header(httpHandler, "Server", this.serverHeader);
 		}
+		if (this.gracefulShutdown != null) {
+			httpHandler = new GracefulShutdownHandler(httpHandler, this.gracefulShutdown);
+		}
 		this.builder.setHandler(httpHandler);
 		return this.builder.build();
 	}
@@ -308,8 +338,13 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 			if (this.started) {
 				try {
 					this.started = false;
+					Executor executor = this.manager.getDeployment().getDeploymentInfo()
+							.getExecutor();
 					this.manager.stop();
 					this.undertow.stop();
+					if (executor instanceof InstrumentedExecutor) {
+						((InstrumentedExecutor) executor).shutdown();
+					}
 				}
 				catch (Exception ex) {
 					throw new EmbeddedServletContainerException("Unable to stop undertow",
@@ -319,6 +354,31 @@ public class UndertowEmbeddedServletContainer implements EmbeddedServletContaine
 		}
 	}
 
+	@Override
+	public boolean shutDownGracefully() throws EmbeddedServletContainerException {
+		if (this.gracefulShutdown == null) {
+			return true;
+		}
+		synchronized (this.monitor) {
+			if (this.started) {
+				for (BoundChannel channel : extractChannels()) {
+					if (channel instanceof AcceptingChannel) {
+						((AcceptingChannel<?>) channel).suspendAccepts();
+					}
+				}
+			}
+		}
+		UndertowEmbeddedServletContainer.logger
+				.info("Waiting for " + this.gracefulShutdown.getActiveRequests()
+						+ " active request(s) to complete");
+		return this.gracefulShutdown.awaitDrained();
+	}
+
+	@Override
+	public GracefulShutdown getGracefulShutdown() {
+		return this.gracefulShutdown;
+	}
+
 	@Override
 	public int getPort() {
 		List<Port> ports = getActualPorts();
@@ -39,11 +39,14 @@ import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.servlet.ServletContainerInitializer;
 import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
 import javax.servlet.ServletException;
 
 import io.undertow.Undertow;
 import io.undertow.Undertow.Builder;
 import io.undertow.UndertowMessages;
+import io.undertow.UndertowOptions;
 import io.undertow.server.HandlerWrapper;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.handlers.accesslog.AccessLogHandler;
@@ -54,10 +57,12 @@ import io.undertow.server.handlers.resource.Resource;
 import io.undertow.server.handlers.resource.ResourceChangeListener;
 import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.server.handlers.resource.URLResource;
+import io.undertow.server.protocol.http2.Http2UpgradeHandler;
 import io.undertow.server.session.SessionManager;
 import io.undertow.servlet.Servlets;
 import io.undertow.servlet.api.DeploymentInfo;
 import io.undertow.servlet.api.DeploymentManager;
+import io.undertow.servlet.api.ListenerInfo;
 import io.undertow.servlet.api.MimeMapping;
 import io.undertow.servlet.api.ServletContainerInitializerInfo;
 import io.undertow.servlet.api.ServletStackTraces;
@@ -76,6 +81,7 @@ import org.springframework.boot.context.embedded.EmbeddedServletContainerFactory
 import org.springframework.boot.context.embedded.MimeMappings.Mapping;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.context.embedded.Ssl.ClientAuth;
+import org.springframework.boot.context.embedded.accesslog.AccessLogWriter;
 import org.springframework.boot.web.servlet.ErrorPage;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
 import org.springframework.context.ResourceLoaderAware;
@@ -254,6 +260,10 @@ public class UndertowEmbeddedServletContainerFactory
 		else {
 			builder.addHttpListener(port, getListenAddress());
 		}
+		if (getHttp2() != null) {
+			builder.setServerOption(UndertowOptions.ENABLE_HTTP2,
+					getHttp2().isEnabled());
+		}
 		for (UndertowBuilderCustomizer customizer : this.builderCustomizers) {
 			customizer.customize(builder);
 		}
@@ -379,12 +389,22 @@ public class UndertowEmbeddedServletContainerFactory
 		deployment.setServletStackTraces(ServletStackTraces.NONE);
 		deployment.setResourceManager(getDocumentRootResourceManager());
 		configureMimeMappings(deployment);
+		if (getExecutor() != null) {
+			deployment.setExecutor(getExecutor());
+		}
 		for (UndertowDeploymentInfoCustomizer customizer : this.deploymentInfoCustomizers) {
 			customizer.customize(deployment);
 		}
 		if (isAccessLogEnabled()) {
 			configureAccessLog(deployment);
 		}
+		AccessLogWriter asyncAccessLogWriter = createAsyncAccessLogWriter();
+		if (asyncAccessLogWriter != null) {
+			configureAsyncAccessLog(deployment, asyncAccessLogWriter);
+		}
+		if (isHttp2CleartextEnabled()) {
+			configureHttp2Upgrade(deployment);
+		}
 		if (isPersistSession()) {
 			File dir = getValidSessionStoreDir();
 			deployment.setSessionPersistenceManager(new FileSessionPersistence(dir));
@@ -398,6 +418,22 @@ public class UndertowEmbeddedServletContainerFactory
 		return manager;
 	}
 
+	private boolean isHttp2CleartextEnabled() {
+		return getHttp2() != null && getHttp2().isEnabled()
+				&& (getSsl() == null || !getSsl().isEnabled());
+	}
+
+	private void configureHttp2Upgrade(DeploymentInfo deploymentInfo) {
+		deploymentInfo.addOuterHandlerChainWrapper(new HandlerWrapper() {
+
+			@Override
+			public HttpHandler wrap(HttpHandler handler) {
+				return new Http2UpgradeHandler(handler);
+			}
+
+		});
+	}
+
 	private void configureAccessLog(DeploymentInfo deploymentInfo) {
 		deploymentInfo.addInitialHandlerChainWrapper(new HandlerWrapper() {
 
@@ -409,6 +445,21 @@ public class UndertowEmbeddedServletContainerFactory
 		});
 	}
 
+	private void configureAsyncAccessLog(DeploymentInfo deploymentInfo,
+			final AccessLogWriter writer) {
+		deploymentInfo.addOuterHandlerChainWrapper(new HandlerWrapper() {
+
+			@Override
+			public HttpHandler wrap(HttpHandler handler) {
+				return new AsyncAccessLogHandler(handler, writer);
+			}
+
+		});
+		deploymentInfo.addListener(new ListenerInfo(AccessLogWriterLifecycle.class,
+				new ImmediateInstanceFactory<AccessLogWriterLifecycle>(
+						new AccessLogWriterLifecycle(writer))));
+	}
+
 	private AccessLogHandler createAccessLogHandler(HttpHandler handler) {
 		try {
 			createAccessLogDirectoryIfNecessary();
@@ -532,7 +583,8 @@ public class UndertowEmbeddedServletContainerFactory
 	protected UndertowEmbeddedServletContainer getUndertowEmbeddedServletContainer(
 			Builder builder, DeploymentManager manager, int port) {
 		return new UndertowEmbeddedServletContainer(builder, manager, getContextPath(),
-				isUseForwardHeaders(), port >= 0, getCompression(), getServerHeader());
+				isUseForwardHeaders(), port >= 0, getCompression(), getServerHeader(),
+				createGracefulShutdown());
 	}
 
 	@Override
@@ -670,4 +722,29 @@ public class UndertowEmbeddedServletContainerFactory
 
 	}
 
+	/**
+	 * {@link ServletContextListener} that starts and stops an {@link AccessLogWriter}
+	 * with the deployment.
+	 */
+	private static class AccessLogWriterLifecycle
+			implements ServletContextListener {
+
+		private final AccessLogWriter writer;
+
+		AccessLogWriterLifecycle(AccessLogWriter writer) {
+			this.writer = writer;
+		}
+
+		@Override
+		public void contextInitialized(ServletContextEvent event) {
+			this.writer.start();
+		}
+
+		@Override
+		public void contextDestroyed(ServletContextEvent event) {
+			this.writer.stop();
+		}
+
+	}
+
 }
@@ -35,6 +35,8 @@ import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.bind.PropertiesConfigurationFactory;
+import org.springframework.boot.bind.PropertyNameIndex;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ApplicationListener;
@@ -90,6 +92,8 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 
 	private PropertySources propertySources;
 
+	private volatile PropertyNameIndex propertyNameIndex;
+
 	private Validator validator;
 
 	private volatile Validator localValidator;
@@ -214,11 +218,13 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 	@Override
 	public void onApplicationEvent(ContextRefreshedEvent event) {
 		freeLocalValidator();
+		this.propertyNameIndex = null;
 	}
 
 	@Override
 	public void destroy() throws Exception {
 		freeLocalValidator();
+		this.propertyNameIndex = null;
 	}
 
 	private void freeLocalValidator() {
@@ -307,6 +313,7 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 		PropertiesConfigurationFactory<Object> factory = new PropertiesConfigurationFactory<Object>(
 				target);
 		factory.setPropertySources(this.propertySources);
+		factory.setPropertyNameIndex(getPropertyNameIndex());
 		factory.setValidator(determineValidator(bean));
 		// If no explicit conversion service is provided we add one so that (at least)
 		// comma-separated arrays of convertibles can be bound automatically
@@ -331,6 +338,18 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 		}
 	}
 
+	private PropertyNameIndex getPropertyNameIndex() {
+		// Shared by all beans bound during the refresh and rebuilt whenever the
+		// property sources (or the names that they contain) change
+		PropertyNameIndex propertyNameIndex = this.propertyNameIndex;
+		if (propertyNameIndex == null
+				|| !propertyNameIndex.isCurrent(this.propertySources)) {
+			propertyNameIndex = new PropertyNameIndex(this.propertySources);
+			this.propertyNameIndex = propertyNameIndex;
+		}
+		return propertyNameIndex;
+	}
+
 	private String getAnnotationDetails(ConfigurationProperties annotation) {
 		if (annotation == null) {
 			return "";
@@ -369,7 +388,7 @@ public class ConfigurationPropertiesBindingPostProcessor implements BeanPostProc
 
 	private boolean isJsr303Present() {
 		for (String validatorClass : VALIDATOR_CLASSES) {
-			if (!ClassUtils.isPresent(validatorClass,
+			if (!ClassPresenceCache.isPresent(validatorClass,
 					this.applicationContext.getClassLoader())) {
 				return false;
 			}
@@ -0,0 +1,481 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Cache that keeps a compact binary snapshot of each {@link PropertySource} loaded by a
+ * {@link PropertySourceLoader} so that unchanged resources need not be parsed again on
+ * the next start. Snapshots are stored as files in a directory and are keyed by the
+ * resource, its size, its last modified time and a hash of its content. Any mismatch,
+ * unreadable snapshot or unsupported value type simply causes the resource to be parsed
+ * as usual.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see PropertySourcesLoader#setSnapshotCache(PropertySourceSnapshotCache)
+ */
+public class PropertySourceSnapshotCache {
+
+	private static final Log logger = LogFactory
+			.getLog(PropertySourceSnapshotCache.class);
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static final int MAGIC = 0x53425053;
+
+	private static final int VERSION = 1;
+
+	private static final byte NO_SOURCE = 0;
+
+	private static final byte MAP_SOURCE = 1;
+
+	private static final byte PROPERTIES_SOURCE = 2;
+
+	private static final byte STRING = 0;
+
+	private static final byte BOOLEAN = 1;
+
+	private static final byte INTEGER = 2;
+
+	private static final byte LONG = 3;
+
+	private static final byte DOUBLE = 4;
+
+	private static final byte FLOAT = 5;
+
+	private static final byte BIG_INTEGER = 6;
+
+	private static final byte BIG_DECIMAL = 7;
+
+	private final File directory;
+
+	/**
+	 * Create a new {@link PropertySourceSnapshotCache} instance that stores snapshots in
+	 * the specified directory. The directory is created if necessary.
+	 * @param directory the snapshot directory
+	 */
+	public PropertySourceSnapshotCache(File directory) {
+		Assert.notNull(directory, "Directory must not be null");
+		this.directory = directory;
+	}
+
+	/**
+	 * Return the directory used to store snapshots.
+	 * @return the snapshot directory
+	 */
+	public File getDirectory() {
+		return this.directory;
+	}
+
+	/**
+	 * Load a {@link PropertySource} from the given resource, reusing a previously stored
+	 * snapshot if the resource has not changed or delegating to the {@code loader} (and
+	 * storing a new snapshot) otherwise. This method can be called concurrently.
+	 * @param loader the loader used when the resource must be parsed
+	 * @param name the name of the property source
+	 * @param resource the resource to load
+	 * @param profile the profile to load or {@code null}
+	 * @return the property source or {@code null}
+	 * @throws IOException if the resource cannot be loaded
+	 */
+	public PropertySource<?> load(PropertySourceLoader loader, String name,
+			Resource resource, String profile) throws IOException {
+		Key key = getKey(loader, name, resource, profile);
+		if (key == null) {
+			return loader.load(name, resource, profile);
+		}
+		File file = new File(this.directory, key.getFileName());
+		if (file.exists()) {
+			try {
+				Snapshot snapshot = readSnapshot(file, key, name);
+				if (snapshot != null) {
+					logger.trace("Using snapshot of " + key.getResource());
+					return snapshot.getPropertySource();
+				}
+			}
+			catch (IOException ex) {
+				logger.debug("Unable to read snapshot " + file, ex);
+			}
+			catch (RuntimeException ex) {
+				logger.debug("Unable to read snapshot " + file, ex);
+			}
+		}
+		PropertySource<?> propertySource = loader.load(name, resource, profile);
+		try {
+			writeSnapshot(file, key, propertySource);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to write snapshot " + file, ex);
+		}
+		return propertySource;
+	}
+
+	private Key getKey(PropertySourceLoader loader, String name, Resource resource,
+			String profile) {
+		try {
+			String location = resource.getURL().toString();
+			long length = resource.contentLength();
+			long lastModified = resource.lastModified();
+			byte[] content = StreamUtils.copyToByteArray(resource.getInputStream());
+			String hash = DigestUtils.md5DigestAsHex(content);
+			return new Key(loader.getClass().getName(), location, name, profile, length,
+					lastModified, hash);
+		}
+		catch (IOException ex) {
+			// The resource cannot be identified reliably so it isn't cached
+			return null;
+		}
+	}
+
+	private Snapshot readSnapshot(File file, Key key, String name) throws IOException {
+		// Read the whole snapshot so that lengths can be checked against what remains
+		DataInputStream input = new DataInputStream(
+				new ByteArrayInputStream(FileCopyUtils.copyToByteArray(file)));
+		if (input.readInt() != MAGIC || input.readInt() != VERSION
+				|| !key.equals(Key.read(input))) {
+			return null;
+		}
+		byte type = input.readByte();
+		if (type == NO_SOURCE) {
+			return new Snapshot(null);
+		}
+		int size = input.readInt();
+		if (size < 0 || size > input.available()) {
+			throw new IOException("Invalid number of properties " + size);
+		}
+		if (type == PROPERTIES_SOURCE) {
+			Properties properties = new Properties();
+			for (int i = 0; i < size; i++) {
+				properties.put(readNonNullString(input), readValue(input));
+			}
+			return new Snapshot(new PropertiesPropertySource(name, properties));
+		}
+		Map<String, Object> map = new LinkedHashMap<String, Object>(size * 2);
+		for (int i = 0; i < size; i++) {
+			map.put(readNonNullString(input), readValue(input));
+		}
+		return new Snapshot(new MapPropertySource(name, map));
+	}
+
+	private void writeSnapshot(File file, Key key, PropertySource<?> propertySource)
+			throws IOException {
+		byte type = getSourceType(propertySource);
+		if (type == -1) {
+			return;
+		}
+		if (!this.directory.exists() && !this.directory.mkdirs()) {
+			throw new IOException("Unable to create directory " + this.directory);
+		}
+		File temp = File.createTempFile(key.getFileName(), ".tmp", this.directory);
+		try {
+			DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(temp)));
+			try {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				key.write(output);
+				output.writeByte(type);
+				if (propertySource != null) {
+					writeProperties(output, (EnumerablePropertySource<?>) propertySource);
+				}
+			}
+			finally {
+				output.close();
+			}
+			if (!temp.renameTo(file)) {
+				// Another thread or process may have written the same snapshot
+				file.delete();
+				if (!temp.renameTo(file)) {
+					throw new IOException("Unable to rename " + temp + " to " + file);
+				}
+			}
+		}
+		finally {
+			temp.delete();
+		}
+	}
+
+	private byte getSourceType(PropertySource<?> propertySource) {
+		if (propertySource == null) {
+			return NO_SOURCE;
+		}
+		if (!isSupported(propertySource)) {
+			return -1;
+		}
+		return (propertySource instanceof PropertiesPropertySource ? PROPERTIES_SOURCE
+				: MAP_SOURCE);
+	}
+
+	private boolean isSupported(PropertySource<?> propertySource) {
+		Class<?> type = propertySource.getClass();
+		if (type != MapPropertySource.class && type != PropertiesPropertySource.class) {
+			return false;
+		}
+		EnumerablePropertySource<?> enumerable = (EnumerablePropertySource<?>) propertySource;
+		for (String name : enumerable.getPropertyNames()) {
+			if (getValueType(enumerable.getProperty(name)) == -1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void writeProperties(DataOutputStream output,
+			EnumerablePropertySource<?> propertySource) throws IOException {
+		String[] names = propertySource.getPropertyNames();
+		output.writeInt(names.length);
+		for (String name : names) {
+			writeString(output, name);
+			writeValue(output, propertySource.getProperty(name));
+		}
+	}
+
+	private byte getValueType(Object value) {
+		if (value instanceof String) {
+			return STRING;
+		}
+		if (value instanceof Boolean) {
+			return BOOLEAN;
+		}
+		if (value instanceof Integer) {
+			return INTEGER;
+		}
+		if (value instanceof Long) {
+			return LONG;
+		}
+		if (value instanceof Double) {
+			return DOUBLE;
+		}
+		if (value instanceof Float) {
+			return FLOAT;
+		}
+		if (value instanceof BigInteger) {
+			return BIG_INTEGER;
+		}
+		if (value instanceof BigDecimal) {
+			return BIG_DECIMAL;
+		}
+		return -1;
+	}
+
+	private void writeValue(DataOutputStream output, Object value) throws IOException {
+		byte type = getValueType(value);
+		output.writeByte(type);
+		switch (type) {
+		case BOOLEAN:
+			output.writeBoolean((Boolean) value);
+			break;
+		case INTEGER:
+			output.writeInt((Integer) value);
+			break;
+		case LONG:
+			output.writeLong((Long) value);
+			break;
+		case DOUBLE:
+			output.writeDouble((Double) value);
+			break;
+		case FLOAT:
+			output.writeFloat((Float) value);
+			break;
+		default:
+			writeString(output, value.toString());
+		}
+	}
+
+	private Object readValue(DataInputStream input) throws IOException {
+		byte type = input.readByte();
+		switch (type) {
+		case STRING:
+			return readNonNullString(input);
+		case BOOLEAN:
+			return input.readBoolean();
+		case INTEGER:
+			return input.readInt();
+		case LONG:
+			return input.readLong();
+		case DOUBLE:
+			return input.readDouble();
+		case FLOAT:
+			return input.readFloat();
+		case BIG_INTEGER:
+			return new BigInteger(readNonNullString(input));
+		case BIG_DECIMAL:
+			return new BigDecimal(readNonNullString(input));
+		default:
+			throw new IOException("Unknown value type " + type);
+		}
+	}
+
+	private static void writeString(DataOutputStream output, String value)
+			throws IOException {
+		if (value == null) {
+			output.writeInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readNonNullString(DataInputStream input) throws IOException {
+		String value = readString(input);
+		if (value == null) {
+			throw new IOException("Unexpected null string");
+		}
+		return value;
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		int length = input.readInt();
+		if (length == -1) {
+			return null;
+		}
+		if (length < 0 || length > input.available()) {
+			throw new IOException("Invalid string length " + length);
+		}
+		byte[] bytes = new byte[length];
+		input.readFully(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+	/**
+	 * The key of a snapshot.
+	 */
+	private static final class Key {
+
+		private final String loader;
+
+		private final String resource;
+
+		private final String name;
+
+		private final String profile;
+
+		private final long length;
+
+		private final long lastModified;
+
+		private final String hash;
+
+		Key(String loader, String resource, String name, String profile, long length,
+				long lastModified, String hash) {
+			this.loader = loader;
+			this.resource = resource;
+			this.name = name;
+			this.profile = profile;
+			this.length = length;
+			this.lastModified = lastModified;
+			this.hash = hash;
+		}
+
+		public String getResource() {
+			return this.resource;
+		}
+
+		public String getFileName() {
+			String identity = this.loader + "|" + this.resource + "|" + this.name + "|"
+					+ this.profile;
+			return DigestUtils.md5DigestAsHex(identity.getBytes(UTF_8)) + ".snapshot";
+		}
+
+		public void write(DataOutputStream output) throws IOException {
+			writeString(output, this.loader);
+			writeString(output, this.resource);
+			writeString(output, this.name);
+			writeString(output, this.profile);
+			output.writeLong(this.length);
+			output.writeLong(this.lastModified);
+			writeString(output, this.hash);
+		}
+
+		public static Key read(DataInputStream input) throws IOException {
+			return new Key(readString(input), readString(input), readString(input),
+					readString(input), input.readLong(), input.readLong(),
+					readString(input));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return this.loader.equals(other.loader)
+					&& this.resource.equals(other.resource)
+					&& ObjectUtils.nullSafeEquals(this.name, other.name)
+					&& ObjectUtils.nullSafeEquals(this.profile, other.profile)
+					&& this.length == other.length
+					&& this.lastModified == other.lastModified
+					&& this.hash.equals(other.hash);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hash.hashCode();
+		}
+
+	}
+
+	/**
+	 * A snapshot read back from disk.
+	 */
+	private static final class Snapshot {
+
+		private final PropertySource<?> propertySource;
+
+		Snapshot(PropertySource<?> propertySource) {
+			this.propertySource = propertySource;
+		}
+
+		public PropertySource<?> getPropertySource() {
+			return this.propertySource;
+		}
+
+	}
+
+}
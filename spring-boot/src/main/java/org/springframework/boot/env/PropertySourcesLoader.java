@@ -46,6 +46,8 @@ public class PropertySourcesLoader {
 
 	private final List<PropertySourceLoader> loaders;
 
+	private PropertySourceSnapshotCache snapshotCache;
+
 	/**
 	 * Create a new {@link PropertySourceLoader} instance backed by a new
 	 * {@link MutablePropertySources}.
@@ -66,6 +68,16 @@ public class PropertySourcesLoader {
 				getClass().getClassLoader());
 	}
 
+	/**
+	 * Set an optional {@link PropertySourceSnapshotCache} that can be used to avoid
+	 * parsing resources that have not changed since they were last loaded.
+	 * @param snapshotCache the snapshot cache or {@code null}
+	 * @since 2.0.0
+	 */
+	public void setSnapshotCache(PropertySourceSnapshotCache snapshotCache) {
+		this.snapshotCache = snapshotCache;
+	}
+
 	/**
 	 * Load the specified resource (if possible) and add it as the first source.
 	 * @param resource the source resource (may be {@code null}).
@@ -124,7 +136,7 @@ public class PropertySourcesLoader {
 			String sourceName = generatePropertySourceName(name, profile);
 			for (PropertySourceLoader loader : this.loaders) {
 				if (canLoadFileExtension(loader, resource)) {
-					PropertySource<?> specific = loader.load(sourceName, resource,
+					PropertySource<?> specific = load(loader, sourceName, resource,
 							profile);
 					addPropertySource(group, specific, profile);
 					return specific;
@@ -134,6 +146,14 @@ public class PropertySourcesLoader {
 		return null;
 	}
 
+	private PropertySource<?> load(PropertySourceLoader loader, String name,
+			Resource resource, String profile) throws IOException {
+		if (this.snapshotCache != null) {
+			return this.snapshotCache.load(loader, name, resource, profile);
+		}
+		return loader.load(name, resource, profile);
+	}
+
 	private boolean isFile(Resource resource) {
 		return resource != null && resource.exists() && StringUtils
 				.hasText(StringUtils.getFilenameExtension(resource.getFilename()));
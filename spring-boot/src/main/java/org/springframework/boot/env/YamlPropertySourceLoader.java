@@ -30,11 +30,11 @@ import org.yaml.snakeyaml.resolver.Resolver;
 
 import org.springframework.beans.factory.config.YamlProcessor;
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.boot.yaml.SpringProfileDocumentMatcher;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
 import org.springframework.core.io.Resource;
-import org.springframework.util.ClassUtils;
 
 /**
  * Strategy to load '.yml' (or '.yaml') files into a {@link PropertySource}.
@@ -53,7 +53,7 @@ public class YamlPropertySourceLoader implements PropertySourceLoader {
 	@Override
 	public PropertySource<?> load(String name, Resource resource, String profile)
 			throws IOException {
-		if (ClassUtils.isPresent("org.yaml.snakeyaml.Yaml", null)) {
+		if (ClassPresenceCache.isPresent("org.yaml.snakeyaml.Yaml", null)) {
 			Processor processor = new Processor(resource, profile);
 			Map<String, Object> source = processor.process();
 			if (!source.isEmpty()) {
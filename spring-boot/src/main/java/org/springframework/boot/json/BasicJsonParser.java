@@ -21,13 +21,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-import org.springframework.util.StringUtils;
-
 /**
  * Really basic JSON parser for when you have nothing else available. Comes with some
  * limitations with respect to the JSON specification (e.g. only supports String values),
  * so users will probably prefer to have a library handle things instead (Jackson or Snake
  * YAML are supported).
+ * <p>
+ * The input is parsed in a single pass using a cursor over its characters, so no
+ * intermediate tokens or substrings are created for nested structures.
  *
  * @author Dave Syer
  * @author Jean de Klerk
@@ -39,9 +40,11 @@ public class BasicJsonParser implements JsonParser {
 	@Override
 	public Map<String, Object> parseMap(String json) {
 		if (json != null) {
-			json = json.trim();
-			if (json.startsWith("{")) {
-				return parseMapInternal(json);
+			Cursor cursor = new Cursor(json);
+			if (cursor.skipWhitespace() == '{') {
+				Map<String, Object> map = cursor.readMap();
+				cursor.assertEnd();
+				return map;
 			}
 		}
 		throw new IllegalArgumentException("Cannot parse JSON");
@@ -50,112 +53,234 @@ public class BasicJsonParser implements JsonParser {
 	@Override
 	public List<Object> parseList(String json) {
 		if (json != null) {
-			json = json.trim();
-			if (json.startsWith("[")) {
-				return parseListInternal(json);
+			Cursor cursor = new Cursor(json);
+			if (cursor.skipWhitespace() == '[') {
+				List<Object> list = cursor.readList();
+				cursor.assertEnd();
+				return list;
 			}
 		}
 		throw new IllegalArgumentException("Cannot parse JSON");
 	}
 
-	private List<Object> parseListInternal(String json) {
-		List<Object> list = new ArrayList<Object>();
-		json = trimLeadingCharacter(trimTrailingCharacter(json, ']'), '[');
-		for (String value : tokenize(json)) {
-			list.add(parseInternal(value));
-		}
-		return list;
-	}
+	/**
+	 * Cursor used to read JSON values from a {@link String}.
+	 */
+	private static final class Cursor {
 
-	private Object parseInternal(String json) {
-		if (json.startsWith("[")) {
-			return parseListInternal(json);
-		}
-		if (json.startsWith("{")) {
-			return parseMapInternal(json);
-		}
-		if (json.startsWith("\"")) {
-			return trimTrailingCharacter(trimLeadingCharacter(json, '"'), '"');
+		private static final char END = (char) -1;
+
+		private final String json;
+
+		private final int length;
+
+		private int index;
+
+		private StringBuilder buffer;
+
+		Cursor(String json) {
+			this.json = json;
+			this.length = json.length();
 		}
-		try {
-			return Long.valueOf(json);
+
+		public Map<String, Object> readMap() {
+			Map<String, Object> map = new LinkedHashMap<String, Object>();
+			this.index++;
+			if (skipWhitespace() == '}') {
+				this.index++;
+				return map;
+			}
+			while (true) {
+				skipWhitespace();
+				String key = (current() == '"' ? readString() : readUnquoted(':'));
+				if (skipWhitespace() != ':') {
+					throw unexpected();
+				}
+				this.index++;
+				map.put(key, readValue());
+				if (!readSeparator('}')) {
+					return map;
+				}
+			}
 		}
-		catch (NumberFormatException ex) {
-			// ignore
+
+		public List<Object> readList() {
+			List<Object> list = new ArrayList<Object>();
+			this.index++;
+			if (skipWhitespace() == ']') {
+				this.index++;
+				return list;
+			}
+			while (true) {
+				list.add(readValue());
+				if (!readSeparator(']')) {
+					return list;
+				}
+			}
 		}
-		try {
-			return Double.valueOf(json);
+
+		private boolean readSeparator(char close) {
+			char current = skipWhitespace();
+			this.index++;
+			if (current == ',') {
+				return true;
+			}
+			if (current == close) {
+				return false;
+			}
+			throw unexpected(this.index - 1);
 		}
-		catch (NumberFormatException ex) {
-			// ignore
+
+		private Object readValue() {
+			char current = skipWhitespace();
+			if (current == '{') {
+				return readMap();
+			}
+			if (current == '[') {
+				return readList();
+			}
+			if (current == '"') {
+				return readString();
+			}
+			return parseScalar(readUnquoted(END));
 		}
-		return json;
-	}
 
-	private static String trimTrailingCharacter(String string, char c) {
-		if (string.length() > 0 && string.charAt(string.length() - 1) == c) {
-			return string.substring(0, string.length() - 1);
+		private Object parseScalar(String value) {
+			char first = (value.isEmpty() ? END : value.charAt(0));
+			if (first == '-' || first == '+' || first == '.'
+					|| (first >= '0' && first <= '9')) {
+				try {
+					return Long.valueOf(value);
+				}
+				catch (NumberFormatException ex) {
+					// ignore
+				}
+				try {
+					return Double.valueOf(value);
+				}
+				catch (NumberFormatException ex) {
+					// ignore
+				}
+			}
+			return value;
 		}
-		return string;
-	}
 
-	private static String trimLeadingCharacter(String string, char c) {
-		if (string.length() > 0 && string.charAt(0) == c) {
-			return string.substring(1);
+		private String readString() {
+			int start = ++this.index;
+			while (this.index < this.length) {
+				char current = this.json.charAt(this.index);
+				if (current == '"') {
+					return this.json.substring(start, this.index++);
+				}
+				if (current == '\\') {
+					return readEscapedString(start);
+				}
+				this.index++;
+			}
+			throw unexpected();
 		}
-		return string;
-	}
 
-	private Map<String, Object> parseMapInternal(String json) {
-		Map<String, Object> map = new LinkedHashMap<String, Object>();
-		json = trimLeadingCharacter(trimTrailingCharacter(json, '}'), '{');
-		for (String pair : tokenize(json)) {
-			String[] values = StringUtils.trimArrayElements(StringUtils.split(pair, ":"));
-			String key = trimLeadingCharacter(trimTrailingCharacter(values[0], '"'), '"');
-			Object value = null;
-			if (values.length > 0) {
-				String string = trimLeadingCharacter(
-						trimTrailingCharacter(values[1], '"'), '"');
-				value = parseInternal(string);
-			}
-			map.put(key, value);
-		}
-		return map;
-	}
+		private String readEscapedString(int start) {
+			StringBuilder buffer = getBuffer();
+			buffer.append(this.json, start, this.index);
+			while (this.index < this.length) {
+				char current = this.json.charAt(this.index++);
+				if (current == '"') {
+					return buffer.toString();
+				}
+				if (current == '\\') {
+					buffer.append(readEscape());
+				}
+				else {
+					buffer.append(current);
+				}
+			}
+			throw unexpected();
+		}
 
-	private List<String> tokenize(String json) {
-		List<String> list = new ArrayList<String>();
-		int index = 0;
-		int inObject = 0;
-		int inList = 0;
-		StringBuilder build = new StringBuilder();
-		while (index < json.length()) {
-			char current = json.charAt(index);
-			if (current == '{') {
-				inObject++;
+		private char readEscape() {
+			if (this.index >= this.length) {
+				throw unexpected();
 			}
-			if (current == '}') {
-				inObject--;
+			char escaped = this.json.charAt(this.index++);
+			switch (escaped) {
+			case 'b':
+				return '\b';
+			case 'f':
+				return '\f';
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 't':
+				return '\t';
+			case 'u':
+				if (this.index + 4 > this.length) {
+					throw unexpected();
+				}
+				try {
+					char unicode = (char) Integer
+							.parseInt(this.json.substring(this.index, this.index + 4), 16);
+					this.index += 4;
+					return unicode;
+				}
+				catch (NumberFormatException ex) {
+					throw unexpected();
+				}
+			default:
+				return escaped;
 			}
-			if (current == '[') {
-				inList++;
+		}
+
+		private String readUnquoted(char terminator) {
+			int start = this.index;
+			while (this.index < this.length) {
+				char current = this.json.charAt(this.index);
+				if (current == ',' || current == '}' || current == ']'
+						|| current == terminator) {
+					break;
+				}
+				this.index++;
 			}
-			if (current == ']') {
-				inList--;
+			return this.json.substring(start, this.index).trim();
+		}
+
+		public char skipWhitespace() {
+			while (this.index < this.length
+					&& Character.isWhitespace(this.json.charAt(this.index))) {
+				this.index++;
 			}
-			if (current == ',' && inObject == 0 && inList == 0) {
-				list.add(build.toString());
-				build.setLength(0);
+			return current();
+		}
+
+		public void assertEnd() {
+			if (skipWhitespace() != END) {
+				throw unexpected();
 			}
-			else {
-				build.append(current);
+		}
+
+		private char current() {
+			return (this.index < this.length ? this.json.charAt(this.index) : END);
+		}
+
+		private StringBuilder getBuffer() {
+			if (this.buffer == null) {
+				this.buffer = new StringBuilder();
 			}
-			index++;
+			this.buffer.setLength(0);
+			return this.buffer;
+		}
+
+		private IllegalArgumentException unexpected() {
+			return unexpected(this.index);
 		}
-		if (build.length() > 0) {
-			list.add(build.toString());
+
+		private IllegalArgumentException unexpected(int index) {
+			return new IllegalArgumentException("Cannot parse JSON (unexpected "
+					+ (index < this.length ? "character at position " + index
+							: "end of input") + ")");
 		}
-		return list;
+
 	}
 
 }
@@ -16,7 +16,7 @@
 
 package org.springframework.boot.json;
 
-import org.springframework.util.ClassUtils;
+import org.springframework.boot.type.ClassPresenceCache;
 
 /**
  * Factory to create a {@link JsonParser}.
@@ -38,19 +38,20 @@ public abstract class JsonParserFactory {
 	 * @return a {@link JsonParser}
 	 */
 	public static JsonParser getJsonParser() {
-		if (ClassUtils.isPresent("com.fasterxml.jackson.databind.ObjectMapper", null)) {
+		if (ClassPresenceCache.isPresent("com.fasterxml.jackson.databind.ObjectMapper",
+				null)) {
 			return new JacksonJsonParser();
 		}
-		if (ClassUtils.isPresent("com.google.gson.Gson", null)) {
+		if (ClassPresenceCache.isPresent("com.google.gson.Gson", null)) {
 			return new GsonJsonParser();
 		}
-		if (ClassUtils.isPresent("org.yaml.snakeyaml.Yaml", null)) {
+		if (ClassPresenceCache.isPresent("org.yaml.snakeyaml.Yaml", null)) {
 			return new YamlJsonParser();
 		}
-		if (ClassUtils.isPresent("org.json.simple.JSONObject", null)) {
+		if (ClassPresenceCache.isPresent("org.json.simple.JSONObject", null)) {
 			return new JsonSimpleJsonParser();
 		}
-		if (ClassUtils.isPresent("org.json.JSONObject", null)) {
+		if (ClassPresenceCache.isPresent("org.json.JSONObject", null)) {
 			return new JsonJsonParser();
 		}
 		return new BasicJsonParser();
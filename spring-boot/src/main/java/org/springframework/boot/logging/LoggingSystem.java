@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
@@ -113,7 +114,7 @@ public abstract class LoggingSystem {
 			return get(classLoader, loggingSystem);
 		}
 		for (Map.Entry<String, String> entry : SYSTEMS.entrySet()) {
-			if (ClassUtils.isPresent(entry.getKey(), classLoader)) {
+			if (ClassPresenceCache.isPresent(entry.getKey(), classLoader)) {
 				return get(classLoader, entry.getValue());
 			}
 		}
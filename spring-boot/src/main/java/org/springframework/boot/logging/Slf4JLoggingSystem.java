@@ -18,8 +18,8 @@ package org.springframework.boot.logging;
 
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.util.Assert;
-import org.springframework.util.ClassUtils;
 
 /**
  * Abstract base class for {@link LoggingSystem} implementations that utilize SLF4J.
@@ -68,7 +68,7 @@ public abstract class Slf4JLoggingSystem extends AbstractLoggingSystem {
 	}
 
 	protected final boolean isBridgeHandlerAvailable() {
-		return ClassUtils.isPresent(BRIDGE_HANDLER, getClassLoader());
+		return ClassPresenceCache.isPresent(BRIDGE_HANDLER, getClassLoader());
 	}
 
 	private void removeJdkLoggingBridgeHandler() {
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link StartupRecorder} that buffers a bounded number of steps in memory so that they
+ * can later be retrieved as a {@link StartupTimeline}. Once the capacity has been reached
+ * any further steps are ignored.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class BufferingStartupRecorder implements StartupRecorder {
+
+	private static final int DEFAULT_CAPACITY = 10000;
+
+	private final int capacity;
+
+	private final long startTime = System.currentTimeMillis();
+
+	private final long startNanos = System.nanoTime();
+
+	private final AtomicLong ids = new AtomicLong();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final Queue<BufferedStep> steps = new ConcurrentLinkedQueue<BufferedStep>();
+
+	private final ThreadLocal<BufferedStep> current = new ThreadLocal<BufferedStep>();
+
+	/**
+	 * Create a new {@link BufferingStartupRecorder} with a default capacity of 10000.
+	 */
+	public BufferingStartupRecorder() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new {@link BufferingStartupRecorder} with the specified capacity.
+	 * @param capacity the maximum number of steps to buffer
+	 */
+	public BufferingStartupRecorder(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+	}
+
+	@Override
+	public StartupStep start(String name) {
+		Assert.notNull(name, "Name must not be null");
+		if (this.size.incrementAndGet() > this.capacity) {
+			this.size.decrementAndGet();
+			return NONE.start(name);
+		}
+		BufferedStep step = new BufferedStep(this.ids.incrementAndGet(),
+				this.current.get(), name, System.nanoTime());
+		this.steps.add(step);
+		this.current.set(step);
+		return step;
+	}
+
+	/**
+	 * Return a {@link StartupTimeline} of the steps that have ended so far, in the
+	 * order that they were started.
+	 * @return the timeline
+	 */
+	public StartupTimeline getTimeline() {
+		List<StartupTimeline.Event> events = new ArrayList<StartupTimeline.Event>(
+				this.size.get());
+		for (BufferedStep step : this.steps) {
+			StartupTimeline.Event event = step.toEvent();
+			if (event != null) {
+				events.add(event);
+			}
+		}
+		return new StartupTimeline(this.startTime, events);
+	}
+
+	private long toTime(long nanos) {
+		return this.startTime + (nanos - this.startNanos) / 1000000;
+	}
+
+	/**
+	 * A {@link StartupStep} buffered by the recorder.
+	 */
+	private final class BufferedStep implements StartupStep {
+
+		private final long id;
+
+		private final BufferedStep parent;
+
+		private final String name;
+
+		private final long startNanos;
+
+		private final Map<String, String> tags = new LinkedHashMap<String, String>();
+
+		private volatile long endNanos = -1;
+
+		BufferedStep(long id, BufferedStep parent, String name, long startNanos) {
+			this.id = id;
+			this.parent = parent;
+			this.name = name;
+			this.startNanos = startNanos;
+		}
+
+		@Override
+		public StartupStep tag(String key, Object value) {
+			Assert.notNull(key, "Key must not be null");
+			synchronized (this.tags) {
+				this.tags.put(key, String.valueOf(value));
+			}
+			return this;
+		}
+
+		@Override
+		public void end() {
+			if (this.endNanos != -1) {
+				return;
+			}
+			this.endNanos = System.nanoTime();
+			BufferedStep active = BufferingStartupRecorder.this.current.get();
+			if (active != null && active.isWithin(this)) {
+				// Also discard any nested steps that were never ended
+				if (this.parent != null) {
+					BufferingStartupRecorder.this.current.set(this.parent);
+				}
+				else {
+					BufferingStartupRecorder.this.current.remove();
+				}
+			}
+		}
+
+		private boolean isWithin(BufferedStep step) {
+			BufferedStep candidate = this;
+			while (candidate != null) {
+				if (candidate == step) {
+					return true;
+				}
+				candidate = candidate.parent;
+			}
+			return false;
+		}
+
+		public StartupTimeline.Event toEvent() {
+			long endNanos = this.endNanos;
+			if (endNanos == -1) {
+				return null;
+			}
+			Map<String, String> tags;
+			synchronized (this.tags) {
+				tags = (this.tags.isEmpty() ? Collections.<String, String>emptyMap()
+						: Collections.unmodifiableMap(
+								new LinkedHashMap<String, String>(this.tags)));
+			}
+			return new StartupTimeline.Event(this.id,
+					(this.parent == null ? null : this.parent.id), this.name, tags,
+					toTime(this.startNanos), (endNanos - this.startNanos) / 1000000.0);
+		}
+
+	}
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+/**
+ * Records the timestamped and nested {@link StartupStep steps} taken while an
+ * application starts. Steps started on a thread while another step is active on that
+ * thread are nested within it.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see BufferingStartupRecorder
+ */
+public interface StartupRecorder {
+
+	/**
+	 * The name of the singleton bean used to expose the recorder from the application
+	 * context.
+	 */
+	String BEAN_NAME = "springBootStartupRecorder";
+
+	/**
+	 * A {@link StartupRecorder} that does not record anything.
+	 */
+	StartupRecorder NONE = new NoOpStartupRecorder();
+
+	/**
+	 * Start a new step. The returned step must be {@link StartupStep#end() ended} once
+	 * the work that it records is complete.
+	 * @param name the name of the step
+	 * @return the started step
+	 */
+	StartupStep start(String name);
+
+}
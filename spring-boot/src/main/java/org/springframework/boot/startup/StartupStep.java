@@ -0,0 +1,40 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+/**
+ * A single step recorded by a {@link StartupRecorder}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public interface StartupStep {
+
+	/**
+	 * Add a tag to the step.
+	 * @param key the tag key
+	 * @param value the tag value
+	 * @return this step
+	 */
+	StartupStep tag(String key, Object value);
+
+	/**
+	 * End the step.
+	 */
+	void end();
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.util.Assert;
+
+/**
+ * {@link org.springframework.beans.factory.config.BeanPostProcessor} that records a
+ * {@link StartupStep} for the creation of each bean until its application context has
+ * been refreshed. Beans created as dependencies of another bean are recorded as nested
+ * steps.
+ * <p>
+ * A step is started before a bean is instantiated and ended once it has been
+ * initialized. Steps of beans that are no longer being created without having been
+ * initialized (for example because their creation failed or because they were only
+ * instantiated to determine their type) are ended as soon as this is detected and are
+ * tagged as {@code abandoned}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class StartupStepBeanPostProcessor extends InstantiationAwareBeanPostProcessorAdapter
+		implements ApplicationListener<ContextRefreshedEvent> {
+
+	private final StartupRecorder recorder;
+
+	private final ConfigurableApplicationContext applicationContext;
+
+	private final ThreadLocal<LinkedList<BeanStep>> steps = new ThreadLocal<LinkedList<BeanStep>>() {
+
+		@Override
+		protected LinkedList<BeanStep> initialValue() {
+			return new LinkedList<BeanStep>();
+		}
+
+	};
+
+	private volatile boolean recording = true;
+
+	/**
+	 * Create a new {@link StartupStepBeanPostProcessor} instance.
+	 * @param recorder the recorder to use
+	 * @param applicationContext the application context whose beans are recorded
+	 */
+	public StartupStepBeanPostProcessor(StartupRecorder recorder,
+			ConfigurableApplicationContext applicationContext) {
+		Assert.notNull(recorder, "Recorder must not be null");
+		Assert.notNull(applicationContext, "ApplicationContext must not be null");
+		this.recorder = recorder;
+		this.applicationContext = applicationContext;
+	}
+
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName)
+			throws BeansException {
+		if (this.recording) {
+			LinkedList<BeanStep> steps = this.steps.get();
+			endAbandonedSteps(steps);
+			StartupStep step = this.recorder.start("spring.beans.instantiate")
+					.tag("beanName", beanName).tag("beanType", beanClass.getName());
+			steps.push(new BeanStep(beanName, step));
+		}
+		return null;
+	}
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+			throws BeansException {
+		LinkedList<BeanStep> steps = this.steps.get();
+		if (!steps.isEmpty()) {
+			for (Iterator<BeanStep> iterator = steps.iterator(); iterator.hasNext();) {
+				if (iterator.next().getBeanName().equals(beanName)) {
+					// Any step started after this one has been abandoned
+					while (!steps.peek().getBeanName().equals(beanName)) {
+						steps.pop().abandon();
+					}
+					steps.pop().getStep().end();
+					break;
+				}
+			}
+			endAbandonedSteps(steps);
+		}
+		if (steps.isEmpty()) {
+			this.steps.remove();
+		}
+		return bean;
+	}
+
+	private void endAbandonedSteps(LinkedList<BeanStep> steps) {
+		ConfigurableListableBeanFactory beanFactory = this.applicationContext
+				.getBeanFactory();
+		while (!steps.isEmpty() && isAbandoned(beanFactory, steps.peek())) {
+			steps.pop().abandon();
+		}
+	}
+
+	private boolean isAbandoned(ConfigurableListableBeanFactory beanFactory,
+			BeanStep step) {
+		// Inner beans are not tracked so they are only ended with their outer bean
+		String beanName = step.getBeanName();
+		return beanFactory.containsBeanDefinition(beanName)
+				&& !beanFactory.isCurrentlyInCreation(beanName);
+	}
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (event.getApplicationContext() == this.applicationContext) {
+			this.recording = false;
+			LinkedList<BeanStep> steps = this.steps.get();
+			while (!steps.isEmpty()) {
+				steps.pop().abandon();
+			}
+			this.steps.remove();
+		}
+	}
+
+	/**
+	 * The {@link StartupStep} of a bean that is being created.
+	 */
+	private static final class BeanStep {
+
+		private final String beanName;
+
+		private final StartupStep step;
+
+		BeanStep(String beanName, StartupStep step) {
+			this.beanName = beanName;
+			this.step = step;
+		}
+
+		public String getBeanName() {
+			return this.beanName;
+		}
+
+		public StartupStep getStep() {
+			return this.step;
+		}
+
+		public void abandon() {
+			this.step.tag("abandoned", true).end();
+		}
+
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A timeline of the steps recorded by a {@link BufferingStartupRecorder}.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public final class StartupTimeline {
+
+	private final long startTime;
+
+	private final List<Event> events;
+
+	StartupTimeline(long startTime, List<Event> events) {
+		this.startTime = startTime;
+		this.events = Collections.unmodifiableList(events);
+	}
+
+	/**
+	 * Return the time that recording started in milliseconds since the epoch.
+	 * @return the start time
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the recorded events in the order that they were started.
+	 * @return the events
+	 */
+	public List<Event> getEvents() {
+		return this.events;
+	}
+
+	/**
+	 * A single ended step in the timeline.
+	 */
+	public static final class Event {
+
+		private final long id;
+
+		private final Long parentId;
+
+		private final String name;
+
+		private final Map<String, String> tags;
+
+		private final long startTime;
+
+		private final double duration;
+
+		Event(long id, Long parentId, String name, Map<String, String> tags,
+				long startTime, double duration) {
+			this.id = id;
+			this.parentId = parentId;
+			this.name = name;
+			this.tags = tags;
+			this.startTime = startTime;
+			this.duration = duration;
+		}
+
+		/**
+		 * Return the ID of the step.
+		 * @return the ID
+		 */
+		public long getId() {
+			return this.id;
+		}
+
+		/**
+		 * Return the ID of the step that this step is nested in or {@code null} if it is
+		 * a top-level step.
+		 * @return the parent ID or {@code null}
+		 */
+		public Long getParentId() {
+			return this.parentId;
+		}
+
+		/**
+		 * Return the name of the step.
+		 * @return the name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the tags of the step.
+		 * @return the tags
+		 */
+		public Map<String, String> getTags() {
+			return this.tags;
+		}
+
+		/**
+		 * Return the time that the step started in milliseconds since the epoch.
+		 * @return the start time
+		 */
+		public long getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the duration of the step in milliseconds.
+		 * @return the duration
+		 */
+		public double getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public String toString() {
+			return this.name + (this.tags.isEmpty() ? "" : " " + this.tags);
+		}
+
+	}
+
+}
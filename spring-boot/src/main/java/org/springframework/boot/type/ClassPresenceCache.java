@@ -0,0 +1,113 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.type;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Cache of the presence of classes, kept per {@link ClassLoader}. Checking for a class
+ * that is missing is expensive since every location known to the class loader is
+ * searched and a {@link ClassNotFoundException} is created, so both positive and
+ * negative results are remembered. Used in place of
+ * {@link ClassUtils#isPresent(String, ClassLoader)} for the checks that are repeated
+ * while an application starts.
+ * <p>
+ * Entries are softly referenced so that class loaders can still be garbage collected.
+ * The number of checks answered from the cache and the number that had to consult a
+ * class loader are tracked for diagnostic purposes.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public final class ClassPresenceCache {
+
+	private static final ConcurrentMap<ClassLoader, Map<String, Boolean>> cache = new ConcurrentReferenceHashMap<ClassLoader, Map<String, Boolean>>();
+
+	private static final AtomicLong hits = new AtomicLong();
+
+	private static final AtomicLong misses = new AtomicLong();
+
+	private ClassPresenceCache() {
+	}
+
+	/**
+	 * Determine whether the {@link Class} identified by the supplied name is present and
+	 * can be loaded. Equivalent to {@link ClassUtils#isPresent(String, ClassLoader)}
+	 * apart from the result being cached.
+	 * @param className the name of the class to check
+	 * @param classLoader the class loader to use (may be {@code null}, which indicates
+	 * the default class loader)
+	 * @return whether the specified class is present
+	 */
+	public static boolean isPresent(String className, ClassLoader classLoader) {
+		if (classLoader == null) {
+			classLoader = ClassUtils.getDefaultClassLoader();
+		}
+		Map<String, Boolean> presence = getPresence(classLoader);
+		Boolean present = presence.get(className);
+		if (present != null) {
+			hits.incrementAndGet();
+			return present;
+		}
+		misses.incrementAndGet();
+		present = ClassUtils.isPresent(className, classLoader);
+		presence.put(className, present);
+		return present;
+	}
+
+	private static Map<String, Boolean> getPresence(ClassLoader classLoader) {
+		Map<String, Boolean> presence = cache.get(classLoader);
+		if (presence == null) {
+			presence = new ConcurrentHashMap<String, Boolean>();
+			Map<String, Boolean> existing = cache.putIfAbsent(classLoader, presence);
+			if (existing != null) {
+				presence = existing;
+			}
+		}
+		return presence;
+	}
+
+	/**
+	 * Return the number of checks that were answered from the cache.
+	 * @return the number of hits
+	 */
+	public static long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Return the number of checks that had to consult a class loader.
+	 * @return the number of misses
+	 */
+	public static long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Clear the cache. The hit and miss counts are retained.
+	 */
+	public static void clear() {
+		cache.clear();
+	}
+
+}
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.springframework.beans.BeanUtils;
+import org.springframework.boot.type.ClassPresenceCache;
 import org.springframework.http.client.AbstractClientHttpRequestFactoryWrapper;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
@@ -577,7 +578,7 @@ public class RestTemplateBuilder {
 		for (Map.Entry<String, String> candidate : REQUEST_FACTORY_CANDIDATES
 				.entrySet()) {
 			ClassLoader classLoader = getClass().getClassLoader();
-			if (ClassUtils.isPresent(candidate.getKey(), classLoader)) {
+			if (ClassPresenceCache.isPresent(candidate.getKey(), classLoader)) {
 				Class<?> factoryClass = ClassUtils.resolveClassName(candidate.getValue(),
 						classLoader);
 				return (ClientHttpRequestFactory) BeanUtils
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.servlet.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.cache.Cache;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.CachingResourceResolver;
+
+/**
+ * {@link CachingResourceResolver} to be used in front of a
+ * {@link PrecompressedResourceResolver}. The key of a resolved resource includes every
+ * content coding supported by {@link PrecompressedResourceResolver} that the request
+ * accepts, rather than only whether gzip is accepted, so that a Brotli variant is never
+ * served from the cache to a client that only accepts gzip.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class EncodingAwareCachingResourceResolver extends CachingResourceResolver {
+
+	/**
+	 * Create a new {@link EncodingAwareCachingResourceResolver} instance.
+	 * @param cache the cache to use
+	 */
+	public EncodingAwareCachingResourceResolver(Cache cache) {
+		super(cache);
+	}
+
+	@Override
+	protected String computeKey(HttpServletRequest request, String requestPath) {
+		StringBuilder key = new StringBuilder(RESOLVED_RESOURCE_CACHE_KEY_PREFIX);
+		key.append(requestPath);
+		if (request != null) {
+			List<String> accepted = PrecompressedResourceResolver
+					.getAcceptedCodings(request);
+			// Use a consistent order so that equivalent requests share an entry
+			List<String> codings = new ArrayList<String>(
+					PrecompressedResourceResolver.CODINGS);
+			codings.retainAll(accepted);
+			if (!codings.isEmpty()) {
+				key.append("+encoding=");
+				key.append(StringUtils.collectionToCommaDelimitedString(codings));
+			}
+		}
+		return key.toString();
+	}
+
+}
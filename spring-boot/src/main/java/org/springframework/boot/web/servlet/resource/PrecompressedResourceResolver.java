@@ -0,0 +1,411 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.servlet.resource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.resource.GzipResourceResolver;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+/**
+ * {@link GzipResourceResolver} that also serves Brotli and generated gzip variants of a
+ * resource. A precompressed sibling with a {@code .br} (Brotli) extension is preferred
+ * when the client accepts it, then a {@code .gz} sibling as located by
+ * {@link GzipResourceResolver}. Otherwise, if a {@link #setCacheDirectory(File) cache
+ * directory} has been set, a gzip variant of a compressible resource is generated the
+ * first time it is requested and reused until the original resource changes. Every
+ * resolved resource, compressed or not, is served with a {@code Vary: Accept-Encoding}
+ * header.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ * @see EncodingAwareCachingResourceResolver
+ */
+public class PrecompressedResourceResolver extends GzipResourceResolver {
+
+	/**
+	 * The content codings that are supported, in order of preference.
+	 */
+	static final List<String> CODINGS = Collections
+			.unmodifiableList(Arrays.asList("br", "gzip"));
+
+	private static final String BROTLI = "br";
+
+	private static final String GZIP = "gzip";
+
+	private File cacheDirectory;
+
+	private int minResponseSize = 2048;
+
+	private Set<String> mimeTypes = new LinkedHashSet<String>(Arrays.asList("text/html",
+			"text/xml", "text/plain", "text/css", "text/javascript",
+			"application/javascript", "application/json", "image/svg+xml"));
+
+	/**
+	 * Set the directory in which generated gzip variants are cached. Variants are only
+	 * generated when a directory has been set.
+	 * @param cacheDirectory the cache directory or {@code null}
+	 */
+	public void setCacheDirectory(File cacheDirectory) {
+		this.cacheDirectory = cacheDirectory;
+	}
+
+	/**
+	 * Return the directory in which generated gzip variants are cached.
+	 * @return the cache directory or {@code null}
+	 */
+	public File getCacheDirectory() {
+		return this.cacheDirectory;
+	}
+
+	/**
+	 * Delete the gzip variants that have been generated in the cache directory.
+	 */
+	public void clearCache() {
+		if (this.cacheDirectory != null) {
+			FileSystemUtils.deleteRecursively(this.cacheDirectory);
+		}
+	}
+
+	/**
+	 * Set the minimum size of a resource for which a gzip variant is generated.
+	 * @param minResponseSize the minimum size in bytes
+	 */
+	public void setMinResponseSize(int minResponseSize) {
+		this.minResponseSize = minResponseSize;
+	}
+
+	/**
+	 * Set the MIME types of the resources for which a gzip variant is generated.
+	 * @param mimeTypes the MIME types
+	 */
+	public void setMimeTypes(String... mimeTypes) {
+		Assert.notNull(mimeTypes, "MimeTypes must not be null");
+		this.mimeTypes = new LinkedHashSet<String>(Arrays.asList(mimeTypes));
+	}
+
+	@Override
+	protected Resource resolveResourceInternal(HttpServletRequest request,
+			String requestPath, List<? extends Resource> locations,
+			ResourceResolverChain chain) {
+		Resource resource = chain.resolveResource(request, requestPath, locations);
+		if (resource == null || request == null) {
+			return resource;
+		}
+		List<String> acceptedCodings = getAcceptedCodings(request);
+		if (acceptedCodings.contains(BROTLI)) {
+			Resource encoded = getBrotli(resource);
+			if (encoded != null) {
+				return new EncodedResource(resource, encoded, BROTLI);
+			}
+		}
+		if (acceptedCodings.contains(GZIP)) {
+			Resource gzipped = super.resolveResourceInternal(request, requestPath,
+					locations, new ResolvedResourceChain(resource, chain));
+			if (gzipped != resource) {
+				return new EncodedResource(resource, gzipped, GZIP);
+			}
+			if (isCompressible(request, resource)) {
+				Resource generated = getGenerated(resource);
+				if (generated != null) {
+					return new EncodedResource(resource, generated, GZIP);
+				}
+			}
+		}
+		// The response still depends on the accepted codings
+		return new EncodedResource(resource, resource, null);
+	}
+
+	private Resource getBrotli(Resource resource) {
+		if (resource.getFilename() == null) {
+			return null;
+		}
+		try {
+			Resource encoded = resource.createRelative(resource.getFilename() + ".br");
+			return (encoded.exists() && encoded.isReadable() ? encoded : null);
+		}
+		catch (IOException ex) {
+			logger.trace("No Brotli variant for " + resource, ex);
+			return null;
+		}
+	}
+
+	private boolean isCompressible(HttpServletRequest request, Resource resource) {
+		if (this.cacheDirectory == null || resource.getFilename() == null) {
+			return false;
+		}
+		String mimeType = request.getServletContext()
+				.getMimeType(resource.getFilename());
+		if (mimeType == null) {
+			return false;
+		}
+		MediaType mediaType = MediaType.parseMediaType(mimeType);
+		return this.mimeTypes
+				.contains(mediaType.getType() + "/" + mediaType.getSubtype());
+	}
+
+	private Resource getGenerated(Resource resource) {
+		try {
+			if (resource.contentLength() < this.minResponseSize) {
+				return null;
+			}
+			File file = new File(this.cacheDirectory,
+					DigestUtils.md5DigestAsHex(
+							resource.getURL().toString().getBytes("UTF-8")) + "-"
+							+ resource.getFilename() + ".gz");
+			if (!file.exists() || file.lastModified() < resource.lastModified()) {
+				generate(resource, file);
+			}
+			return new FileSystemResource(file);
+		}
+		catch (IOException ex) {
+			logger.debug("Unable to generate gzip variant of " + resource, ex);
+			return null;
+		}
+	}
+
+	private void generate(Resource resource, File file) throws IOException {
+		this.cacheDirectory.mkdirs();
+		// Write to a temporary file first so that a concurrent request never sees a
+		// partially written variant
+		File tempFile = File.createTempFile(file.getName(), ".tmp", this.cacheDirectory);
+		try {
+			InputStream inputStream = resource.getInputStream();
+			try {
+				OutputStream outputStream = new GZIPOutputStream(
+						new FileOutputStream(tempFile));
+				try {
+					StreamUtils.copy(inputStream, outputStream);
+				}
+				finally {
+					outputStream.close();
+				}
+			}
+			finally {
+				inputStream.close();
+			}
+			if (!tempFile.renameTo(file)) {
+				file.delete();
+				if (!tempFile.renameTo(file)) {
+					throw new IOException("Unable to move " + tempFile + " to " + file);
+				}
+			}
+		}
+		finally {
+			tempFile.delete();
+		}
+	}
+
+	/**
+	 * Return the content codings accepted by the given request that are supported by
+	 * this resolver, in the order in which they appear in the request.
+	 * @param request the request
+	 * @return the accepted codings
+	 */
+	static List<String> getAcceptedCodings(HttpServletRequest request) {
+		String header = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+		if (!StringUtils.hasText(header)) {
+			return Collections.emptyList();
+		}
+		List<String> codings = new ArrayList<String>();
+		for (String element : StringUtils.commaDelimitedListToStringArray(header)) {
+			String[] parts = StringUtils.tokenizeToStringArray(element, ";");
+			if (parts.length > 0 && CODINGS.contains(parts[0].toLowerCase())
+					&& !isRejected(parts)) {
+				codings.add(parts[0].toLowerCase());
+			}
+		}
+		return codings;
+	}
+
+	private static boolean isRejected(String[] parts) {
+		for (int i = 1; i < parts.length; i++) {
+			String parameter = StringUtils.trimAllWhitespace(parts[i]);
+			if (parameter.startsWith("q=")) {
+				try {
+					return Double.parseDouble(parameter.substring(2)) == 0;
+				}
+				catch (NumberFormatException ex) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * {@link ResourceResolverChain} that returns a resource that has already been
+	 * resolved.
+	 */
+	private static final class ResolvedResourceChain implements ResourceResolverChain {
+
+		private final Resource resource;
+
+		private final ResourceResolverChain chain;
+
+		ResolvedResourceChain(Resource resource, ResourceResolverChain chain) {
+			this.resource = resource;
+			this.chain = chain;
+		}
+
+		@Override
+		public Resource resolveResource(HttpServletRequest request, String requestPath,
+				List<? extends Resource> locations) {
+			return this.resource;
+		}
+
+		@Override
+		public String resolveUrlPath(String resourcePath,
+				List<? extends Resource> locations) {
+			return this.chain.resolveUrlPath(resourcePath, locations);
+		}
+
+	}
+
+	/**
+	 * An encoded variant of a {@link Resource}. A {@code null} coding indicates that the
+	 * resource is served as is.
+	 */
+	static final class EncodedResource extends AbstractResource
+			implements HttpResource {
+
+		private final Resource original;
+
+		private final Resource encoded;
+
+		private final String coding;
+
+		EncodedResource(Resource original, Resource encoded, String coding) {
+			this.original = original;
+			this.encoded = encoded;
+			this.coding = coding;
+		}
+
+		@Override
+		public InputStream getInputStream() throws IOException {
+			return this.encoded.getInputStream();
+		}
+
+		@Override
+		public boolean exists() {
+			return this.encoded.exists();
+		}
+
+		@Override
+		public boolean isReadable() {
+			return this.encoded.isReadable();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return this.encoded.isOpen();
+		}
+
+		@Override
+		public boolean isFile() {
+			return this.encoded.isFile();
+		}
+
+		@Override
+		public URL getURL() throws IOException {
+			return this.encoded.getURL();
+		}
+
+		@Override
+		public URI getURI() throws IOException {
+			return this.encoded.getURI();
+		}
+
+		@Override
+		public File getFile() throws IOException {
+			return this.encoded.getFile();
+		}
+
+		@Override
+		public long contentLength() throws IOException {
+			return this.encoded.contentLength();
+		}
+
+		@Override
+		public long lastModified() throws IOException {
+			return this.original.lastModified();
+		}
+
+		@Override
+		public Resource createRelative(String relativePath) throws IOException {
+			return this.original.createRelative(relativePath);
+		}
+
+		@Override
+		public String getFilename() {
+			return this.original.getFilename();
+		}
+
+		@Override
+		public String getDescription() {
+			return this.encoded.getDescription();
+		}
+
+		@Override
+		public HttpHeaders getResponseHeaders() {
+			HttpHeaders headers;
+			if (this.original instanceof HttpResource) {
+				headers = ((HttpResource) this.original).getResponseHeaders();
+			}
+			else {
+				headers = new HttpHeaders();
+			}
+			if (this.coding != null) {
+				headers.add(HttpHeaders.CONTENT_ENCODING, this.coding);
+			}
+			headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+			return headers;
+		}
+
+		String getCoding() {
+			return this.coding;
+		}
+
+	}
+
+}
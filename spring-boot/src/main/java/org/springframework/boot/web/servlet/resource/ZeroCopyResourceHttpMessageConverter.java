@@ -0,0 +1,210 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.servlet.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Map;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.HttpOutput;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * {@link ResourceHttpMessageConverter} that hands resources that are files over to the
+ * servlet container so that they can be transferred without being copied through the
+ * JVM's heap. Tomcat's {@literal sendfile} support is used when it is available and
+ * Jetty is given a memory-mapped buffer of the file. Mappings are cached, using soft
+ * references, until the file changes. In every other case, for example
+ * when the response has been wrapped or the resource is in a jar, the resource is
+ * copied as usual.
+ *
+ * @author Agent Local
+ * @since 2.0.0
+ */
+public class ZeroCopyResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+	private static final String TOMCAT_SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+	private static final String TOMCAT_SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+	private static final String TOMCAT_SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+	private static final String TOMCAT_SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+	private static final String TOMCAT_REQUEST_FACADE = "org.apache.catalina.connector.RequestFacade";
+
+	private static final String TOMCAT_RESPONSE_FACADE = "org.apache.catalina.connector.ResponseFacade";
+
+	private static final String JETTY_HTTP_OUTPUT = "org.eclipse.jetty.server.HttpOutput";
+
+	private static final boolean jettyPresent = ClassUtils.isPresent(JETTY_HTTP_OUTPUT,
+			ZeroCopyResourceHttpMessageConverter.class.getClassLoader());
+
+	private final Map<File, MappedFile> mappedFiles = new ConcurrentReferenceHashMap<File, MappedFile>();
+
+	private int minFileSize = 48 * 1024;
+
+	/**
+	 * Set the minimum size of a file for it to be transferred by the container. Smaller
+	 * files are cheaper to copy.
+	 * @param minFileSize the minimum file size in bytes
+	 */
+	public void setMinFileSize(int minFileSize) {
+		this.minFileSize = minFileSize;
+	}
+
+	@Override
+	protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		File file = getFile(resource);
+		if (file != null && outputMessage instanceof ServletServerHttpResponse) {
+			HttpServletResponse response = ((ServletServerHttpResponse) outputMessage)
+					.getServletResponse();
+			if (sendFile(file, getRequest(), response, outputMessage)) {
+				return;
+			}
+		}
+		super.writeContent(resource, outputMessage);
+	}
+
+	private File getFile(Resource resource) {
+		try {
+			if (resource.isFile()) {
+				File file = resource.getFile();
+				return (file.length() >= this.minFileSize ? file : null);
+			}
+		}
+		catch (IOException ex) {
+			// Fall back to copying the resource
+		}
+		return null;
+	}
+
+	private HttpServletRequest getRequest() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes instanceof ServletRequestAttributes) {
+			return ((ServletRequestAttributes) attributes).getRequest();
+		}
+		return null;
+	}
+
+	private boolean sendFile(File file, HttpServletRequest request,
+			HttpServletResponse response, HttpOutputMessage outputMessage)
+			throws IOException {
+		if (request != null && isTomcatSendFileSupported(request, response)) {
+			request.setAttribute(TOMCAT_SENDFILE_FILENAME, file.getCanonicalPath());
+			request.setAttribute(TOMCAT_SENDFILE_START, 0L);
+			request.setAttribute(TOMCAT_SENDFILE_END, file.length());
+			// Write the headers; Tomcat sends the file once the response is committed
+			outputMessage.getBody();
+			return true;
+		}
+		if (jettyPresent && JettyFileSender.isSupported(response)) {
+			ByteBuffer buffer = getMappedBuffer(file);
+			outputMessage.getBody();
+			JettyFileSender.send(buffer, response.getOutputStream());
+			return true;
+		}
+		return false;
+	}
+
+	private ByteBuffer getMappedBuffer(File file) throws IOException {
+		MappedFile mappedFile = this.mappedFiles.get(file);
+		if (mappedFile == null || !mappedFile.isCurrent(file)) {
+			mappedFile = new MappedFile(file);
+			this.mappedFiles.put(file, mappedFile);
+		}
+		// Each response needs its own position and limit
+		return mappedFile.buffer.duplicate();
+	}
+
+	private boolean isTomcatSendFileSupported(HttpServletRequest request,
+			HttpServletResponse response) {
+		// Sendfile bypasses any wrapper that expects to see the body
+		return Boolean.TRUE.equals(request.getAttribute(TOMCAT_SENDFILE_SUPPORT))
+				&& TOMCAT_REQUEST_FACADE.equals(request.getClass().getName())
+				&& TOMCAT_RESPONSE_FACADE.equals(response.getClass().getName());
+	}
+
+	/**
+	 * Sends a file using Jetty's {@link HttpOutput}. Kept in a separate class so that
+	 * Jetty is only required when it is being used.
+	 */
+	private static final class JettyFileSender {
+
+		static boolean isSupported(HttpServletResponse response) throws IOException {
+			return response.getOutputStream() instanceof HttpOutput;
+		}
+
+		static void send(ByteBuffer buffer, ServletOutputStream output)
+				throws IOException {
+			((HttpOutput) output).sendContent(buffer);
+		}
+
+	}
+
+	/**
+	 * A memory-mapped file along with the state of the file when it was mapped.
+	 */
+	private static final class MappedFile {
+
+		private final long lastModified;
+
+		private final long length;
+
+		private final MappedByteBuffer buffer;
+
+		MappedFile(File file) throws IOException {
+			this.lastModified = file.lastModified();
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+			try {
+				FileChannel channel = randomAccessFile.getChannel();
+				this.length = channel.size();
+				this.buffer = channel.map(MapMode.READ_ONLY, 0, this.length);
+			}
+			finally {
+				randomAccessFile.close();
+			}
+		}
+
+		boolean isCurrent(File file) {
+			return file.lastModified() == this.lastModified
+					&& file.length() == this.length;
+		}
+
+	}
+
+}
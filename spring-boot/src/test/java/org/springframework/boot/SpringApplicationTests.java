@@ -39,12 +39,16 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
 import org.springframework.beans.factory.support.DefaultBeanNameGenerator;
+import org.springframework.boot.context.ParallelInstantiationBeanFactory;
 import org.springframework.boot.context.embedded.AnnotationConfigEmbeddedWebApplicationContext;
 import org.springframework.boot.context.embedded.tomcat.TomcatEmbeddedServletContainerFactory;
 import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
 import org.springframework.boot.context.event.ApplicationPreparedEvent;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.startup.BufferingStartupRecorder;
+import org.springframework.boot.startup.StartupRecorder;
+import org.springframework.boot.startup.StartupTimeline;
 import org.springframework.boot.testutil.InternalOutputCapture;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -164,6 +168,35 @@ public class SpringApplicationTests {
 		new SpringApplication(InaccessibleConfiguration.class).run();
 	}
 
+	@Test
+	public void startupRecorderRecordsSteps() throws Exception {
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebEnvironment(false);
+		BufferingStartupRecorder recorder = new BufferingStartupRecorder();
+		application.setStartupRecorder(recorder);
+		this.context = application.run();
+		assertThat(this.context.getBean(StartupRecorder.BEAN_NAME)).isSameAs(recorder);
+		List<String> names = new ArrayList<String>();
+		for (StartupTimeline.Event event : recorder.getTimeline().getEvents()) {
+			names.add(event.getName());
+		}
+		assertThat(names).contains("spring.boot.application.run",
+				"spring.boot.application.environment-prepared",
+				"spring.boot.environment.post-processor", "spring.context.refresh",
+				"spring.beans.instantiate");
+	}
+
+	@Test
+	public void parallelInstantiation() throws Exception {
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		application.setWebEnvironment(false);
+		application.setParallelInstantiation(true);
+		this.context = application.run();
+		assertThat(this.context.getBeanFactory())
+				.isInstanceOf(ParallelInstantiationBeanFactory.class);
+		assertThat(this.context.getBean(ExampleConfig.class)).isNotNull();
+	}
+
 	@Test
 	public void customBanner() throws Exception {
 		SpringApplication application = spy(new SpringApplication(ExampleConfig.class));
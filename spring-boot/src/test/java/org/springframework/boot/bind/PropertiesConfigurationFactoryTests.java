@@ -208,6 +208,26 @@ public class PropertiesConfigurationFactoryTests {
 		assertThat(foo.fooDLQBar).isEqualTo(("baz"));
 	}
 
+	@Test
+	public void bindWithPropertyNameIndex() throws Exception {
+		this.targetName = "foo";
+		MutablePropertySources propertySources = new MutablePropertySources();
+		propertySources.addLast(new SystemEnvironmentPropertySource("systemEnvironment",
+				Collections.<String, Object>singletonMap("FOO_NAME", "blah")));
+		MockPropertySource propertySource = new MockPropertySource();
+		propertySource.setProperty("foo.bar", "baz");
+		propertySource.setProperty("foo.name", "ignored");
+		propertySource.setProperty("foobar.bar", "ignored");
+		propertySources.addLast(propertySource);
+		setupFactory();
+		this.factory.setPropertySources(propertySources);
+		this.factory.setPropertyNameIndex(new PropertyNameIndex(propertySources));
+		this.factory.afterPropertiesSet();
+		Foo foo = this.factory.getObject();
+		assertThat(foo.name).isEqualTo("blah");
+		assertThat(foo.bar).isEqualTo("baz");
+	}
+
 	private Foo createFoo(final String values) throws Exception {
 		setupFactory();
 		return bindFoo(values);
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.bind;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.core.env.CompositePropertySource;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+import org.springframework.mock.env.MockPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertyNameIndex}.
+ *
+ * @author Agent Local
+ */
+public class PropertyNameIndexTests {
+
+	private static final char[] DELIMITERS = { '.', '_', '[' };
+
+	private final MutablePropertySources propertySources = new MutablePropertySources();
+
+	private final MockPropertySource source = new MockPropertySource("test");
+
+	@Before
+	public void setup() {
+		this.source.setProperty("foo.bar", "1");
+		this.source.setProperty("foo", "2");
+		this.source.setProperty("foobar.baz", "3");
+		this.source.setProperty("FOO_BAZ", "4");
+		this.source.setProperty("foo[0]", "5");
+		this.source.setProperty("bar.foo", "6");
+		this.propertySources.addFirst(this.source);
+	}
+
+	@Test
+	public void getPropertyNamesShouldReturnNamesUnderPrefix() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(getPropertyNames(index, this.source, "foo")).containsExactly(
+				"foo.bar", "foo", "FOO_BAZ", "foo[0]");
+	}
+
+	@Test
+	public void getPropertyNamesShouldOnlyMatchGivenDelimiters() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(index.getPropertyNames(this.source, new String[] { "foo" },
+				new char[] { '.' })).containsExactly("foo.bar", "foo");
+	}
+
+	@Test
+	public void getPropertyNamesShouldIgnoreCase() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(getPropertyNames(index, this.source, "FOO.BAR", "foo_baz"))
+				.containsExactly("foo.bar", "FOO_BAZ");
+	}
+
+	@Test
+	public void getPropertyNamesWhenNoMatchShouldReturnEmpty() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(getPropertyNames(index, this.source, "fo", "baz")).isEmpty();
+	}
+
+	@Test
+	public void getPropertyNamesWhenSourceNotIndexedShouldReturnNull()
+			throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(getPropertyNames(index, new MockPropertySource(), "foo")).isNull();
+	}
+
+	@Test
+	public void getPropertyNamesShouldIndexNestedSources() throws Exception {
+		CompositePropertySource composite = new CompositePropertySource("composite");
+		SystemEnvironmentPropertySource nested = new SystemEnvironmentPropertySource(
+				"env", Collections.<String, Object>singletonMap("SPRING_FOO", "bar"));
+		composite.addPropertySource(nested);
+		this.propertySources.addLast(composite);
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(getPropertyNames(index, nested, "spring")).containsExactly(
+				"SPRING_FOO");
+	}
+
+	@Test
+	public void isCurrentWhenUnchangedShouldReturnTrue() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(index.isCurrent(this.propertySources)).isTrue();
+	}
+
+	@Test
+	public void isCurrentWhenPropertyAddedShouldReturnFalse() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		this.source.setProperty("baz", "7");
+		assertThat(index.isCurrent(this.propertySources)).isFalse();
+	}
+
+	@Test
+	public void isCurrentWhenPropertyRemovedShouldReturnFalse() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		this.source.getSource().remove("foo");
+		assertThat(index.isCurrent(this.propertySources)).isFalse();
+	}
+
+	@Test
+	public void isCurrentWhenPropertyRenamedShouldReturnFalse() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		this.source.getSource().remove("foo");
+		this.source.setProperty("baz", "2");
+		assertThat(index.isCurrent(this.propertySources)).isFalse();
+	}
+
+	@Test
+	public void isCurrentWhenKeyOfMapReplacedShouldReturnFalse() throws Exception {
+		Map<String, Object> map = new LinkedHashMap<String, Object>();
+		map.put("foo", "1");
+		map.put("bar", "2");
+		this.propertySources.addLast(new MapPropertySource("map", map));
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(index.isCurrent(this.propertySources)).isTrue();
+		map.remove("bar");
+		map.put("baz", "2");
+		assertThat(index.isCurrent(this.propertySources)).isFalse();
+	}
+
+	@Test
+	public void isCurrentWhenNamesOfSourceNotBackedByMapChangeShouldReturnFalse()
+			throws Exception {
+		NamesPropertySource names = new NamesPropertySource("foo", "bar");
+		this.propertySources.addLast(names);
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		assertThat(index.isCurrent(this.propertySources)).isTrue();
+		names.getSource()[1] = "baz";
+		assertThat(index.isCurrent(this.propertySources)).isFalse();
+	}
+
+	@Test
+	public void isCurrentWhenSourceAddedShouldReturnFalse() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		this.propertySources.addLast(new MockPropertySource("other"));
+		assertThat(index.isCurrent(this.propertySources)).isFalse();
+	}
+
+	@Test
+	public void isCurrentWhenSourceReplacedShouldReturnFalse() throws Exception {
+		PropertyNameIndex index = new PropertyNameIndex(this.propertySources);
+		MockPropertySource replacement = new MockPropertySource("test");
+		replacement.setProperty("foo", "bar");
+		this.propertySources.replace("test", replacement);
+		assertThat(index.isCurrent(this.propertySources)).isFalse();
+	}
+
+	private String[] getPropertyNames(PropertyNameIndex index,
+			EnumerablePropertySource<?> source, String... prefixes) {
+		return index.getPropertyNames(source, prefixes, DELIMITERS);
+	}
+
+	private static class NamesPropertySource extends EnumerablePropertySource<String[]> {
+
+		NamesPropertySource(String... names) {
+			super("names", names);
+		}
+
+		@Override
+		public String[] getPropertyNames() {
+			return getSource().clone();
+		}
+
+		@Override
+		public Object getProperty(String name) {
+			return (Arrays.asList(getSource()).contains(name) ? "value" : null);
+		}
+
+	}
+
+}
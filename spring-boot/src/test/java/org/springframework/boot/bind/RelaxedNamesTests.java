@@ -17,6 +17,7 @@
 package org.springframework.boot.bind;
 
 import java.util.Iterator;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -147,4 +148,54 @@ public class RelaxedNamesTests {
 		assertThat(iterator.next()).isEqualTo("CAMELCASE");
 	}
 
+	@Test
+	public void sameNameShouldShareVariations() throws Exception {
+		assertThat(new RelaxedNames("my-property"))
+				.containsExactlyElementsOf(new RelaxedNames("my-property"));
+	}
+
+	@Test
+	public void recentlyUsedVariationsShouldNotBeEvicted() throws Exception {
+		Set<String> canonicalForms = new RelaxedNames("recently-used")
+				.getCanonicalForms();
+		for (int i = 0; i < 4096; i++) {
+			new RelaxedNames("recently-used");
+			new RelaxedNames("unused-" + i);
+		}
+		assertThat(new RelaxedNames("recently-used").getCanonicalForms())
+				.isSameAs(canonicalForms);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void iteratorShouldNotAllowRemoval() throws Exception {
+		Iterator<String> iterator = new RelaxedNames("my-property").iterator();
+		iterator.next();
+		iterator.remove();
+	}
+
+	@Test
+	public void contains() throws Exception {
+		RelaxedNames names = new RelaxedNames("my-relaxed-property");
+		assertThat(names.contains("MY_RELAXED_PROPERTY")).isTrue();
+		assertThat(names.contains("myRelaxedProperty")).isTrue();
+		assertThat(names.contains("my.relaxed.property")).isFalse();
+		assertThat(names.contains("my-relaxed")).isFalse();
+	}
+
+	@Test
+	public void toCanonicalForm() throws Exception {
+		assertThat(RelaxedNames.toCanonicalForm("My-relaxed_Property.name"))
+				.isEqualTo("myrelaxedpropertyname");
+	}
+
+	@Test
+	public void variationsShouldShareCanonicalForm() throws Exception {
+		RelaxedNames names = RelaxedNames.forCamelCase("myRelaxedProperty");
+		for (String name : names) {
+			assertThat(RelaxedNames.toCanonicalForm(name))
+					.isEqualTo("myrelaxedproperty");
+		}
+		assertThat(names.getCanonicalForms()).containsExactly("myrelaxedproperty");
+	}
+
 }
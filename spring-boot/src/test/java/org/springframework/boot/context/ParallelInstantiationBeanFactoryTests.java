@@ -0,0 +1,288 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.BeanNameAware;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.startup.BufferingStartupRecorder;
+import org.springframework.boot.startup.StartupTimeline.Event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ParallelInstantiationBeanFactory}.
+ *
+ * @author Agent Local
+ */
+public class ParallelInstantiationBeanFactoryTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final ParallelInstantiationBeanFactory beanFactory = new ParallelInstantiationBeanFactory(
+			4);
+
+	@Test
+	public void independentBeansAreInstantiatedConcurrently() {
+		CountDownLatch latch = new CountDownLatch(2);
+		register("one", new RootBeanDefinition(Rendezvous.class))
+				.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		register("two", new RootBeanDefinition(Rendezvous.class))
+				.getConstructorArgumentValues().addGenericArgumentValue(latch);
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.beanFactory.getBean("one", Rendezvous.class).met).isTrue();
+		assertThat(this.beanFactory.getBean("two", Rendezvous.class).met).isTrue();
+	}
+
+	@Test
+	public void declaredDependenciesAreCreatedFirst() {
+		List<String> created = new CopyOnWriteArrayList<String>();
+		register("first", new RootBeanDefinition(Recording.class))
+				.getConstructorArgumentValues().addGenericArgumentValue(created);
+		RootBeanDefinition second = register("second",
+				new RootBeanDefinition(Recording.class));
+		second.getConstructorArgumentValues().addGenericArgumentValue(created);
+		second.setDependsOn("first");
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(created).containsExactly("first", "second");
+		assertThat(this.beanFactory.getCriticalPath()).containsExactly("first",
+				"second");
+	}
+
+	@Test
+	public void autowiredDependencyIsFullyInitialized() {
+		register("provider", new RootBeanDefinition(SlowProvider.class));
+		register("consumer", new RootBeanDefinition(Consumer.class,
+				AutowireCapableBeanFactory.AUTOWIRE_CONSTRUCTOR, false));
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.beanFactory.getBean(Consumer.class).providerInitialized)
+				.isTrue();
+		assertThat(this.beanFactory.getDependenciesForBean("consumer"))
+				.containsExactly("provider");
+	}
+
+	@Test
+	public void circularReferencesAreResolved() {
+		register("left", new RootBeanDefinition(Left.class,
+				AutowireCapableBeanFactory.AUTOWIRE_BY_TYPE, false));
+		register("right", new RootBeanDefinition(Right.class,
+				AutowireCapableBeanFactory.AUTOWIRE_BY_TYPE, false));
+		this.beanFactory.preInstantiateSingletons();
+		Left left = this.beanFactory.getBean(Left.class);
+		Right right = this.beanFactory.getBean(Right.class);
+		assertThat(left.right).isSameAs(right);
+		assertThat(right.left).isSameAs(left);
+	}
+
+	@Test
+	public void creationFailureIsRethrown() {
+		register("ok", new RootBeanDefinition(Object.class));
+		register("failing", new RootBeanDefinition(Failing.class));
+		this.thrown.expect(BeanCreationException.class);
+		this.thrown.expectMessage("failing");
+		this.beanFactory.preInstantiateSingletons();
+	}
+
+	@Test
+	public void beanNeededWhileSingletonMutexIsHeldIsCreatedSequentially() {
+		CountDownLatch started = new CountDownLatch(1);
+		register("slow", new RootBeanDefinition(SlowToStart.class))
+				.getConstructorArgumentValues().addGenericArgumentValue(started);
+		register("factory", new RootBeanDefinition(SlowDependentFactoryBean.class))
+				.getConstructorArgumentValues().addGenericArgumentValue(started);
+		register("consumer", new RootBeanDefinition(Holder.class))
+				.getConstructorArgumentValues()
+				.addGenericArgumentValue(new RuntimeBeanReference("factory"));
+		this.beanFactory.preInstantiateSingletons();
+		assertThat(this.beanFactory.getBean(Holder.class).value)
+				.isSameAs(this.beanFactory.getBean("slow"));
+	}
+
+	@Test
+	public void singletonCreationIsRecorded() {
+		BufferingStartupRecorder recorder = new BufferingStartupRecorder();
+		this.beanFactory.setStartupRecorder(recorder);
+		register("first", new RootBeanDefinition(Object.class));
+		register("second", new RootBeanDefinition(Object.class)).setDependsOn("first");
+		this.beanFactory.preInstantiateSingletons();
+		List<Event> events = recorder.getTimeline().getEvents();
+		assertThat(events).extracting("name").containsOnly(
+				"spring.beans.parallel-instantiation",
+				"spring.beans.parallel-instantiation.create");
+		assertThat(events).extracting("tags").extracting("beanName")
+				.contains("first", "second");
+	}
+
+	private RootBeanDefinition register(String name, RootBeanDefinition definition) {
+		this.beanFactory.registerBeanDefinition(name, definition);
+		return definition;
+	}
+
+	public static class Rendezvous {
+
+		private final boolean met;
+
+		public Rendezvous(CountDownLatch latch) throws InterruptedException {
+			latch.countDown();
+			this.met = latch.await(10, TimeUnit.SECONDS);
+		}
+
+	}
+
+	public static class Recording implements BeanNameAware, InitializingBean {
+
+		private final List<String> created;
+
+		private String name;
+
+		public Recording(List<String> created) {
+			this.created = created;
+		}
+
+		@Override
+		public void setBeanName(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public void afterPropertiesSet() throws Exception {
+			Thread.sleep(10);
+			this.created.add(this.name);
+		}
+
+	}
+
+	public static class SlowProvider implements InitializingBean {
+
+		private volatile boolean initialized;
+
+		@Override
+		public void afterPropertiesSet() throws Exception {
+			Thread.sleep(100);
+			this.initialized = true;
+		}
+
+	}
+
+	public static class Consumer {
+
+		private final boolean providerInitialized;
+
+		public Consumer(SlowProvider provider) {
+			this.providerInitialized = provider.initialized;
+		}
+
+	}
+
+	public static class Left {
+
+		private Right right;
+
+		public void setRight(Right right) {
+			this.right = right;
+		}
+
+	}
+
+	public static class Right {
+
+		private Left left;
+
+		public void setLeft(Left left) {
+			this.left = left;
+		}
+
+	}
+
+	public static class SlowToStart {
+
+		public SlowToStart(CountDownLatch started) throws InterruptedException {
+			started.countDown();
+			Thread.sleep(200);
+		}
+
+	}
+
+	public static class SlowDependentFactoryBean
+			implements FactoryBean<SlowToStart>, BeanFactoryAware {
+
+		private final CountDownLatch started;
+
+		private BeanFactory beanFactory;
+
+		public SlowDependentFactoryBean(CountDownLatch started) {
+			this.started = started;
+		}
+
+		@Override
+		public void setBeanFactory(BeanFactory beanFactory) {
+			this.beanFactory = beanFactory;
+		}
+
+		@Override
+		public SlowToStart getObject() throws Exception {
+			this.started.await(10, TimeUnit.SECONDS);
+			return this.beanFactory.getBean("slow", SlowToStart.class);
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return SlowToStart.class;
+		}
+
+		@Override
+		public boolean isSingleton() {
+			return true;
+		}
+
+	}
+
+	public static class Holder {
+
+		private final Object value;
+
+		public Holder(Object value) {
+			this.value = value;
+		}
+
+	}
+
+	public static class Failing {
+
+		public Failing() {
+			throw new IllegalStateException("Failed");
+		}
+
+	}
+
+}
@@ -36,6 +36,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.CachedIntrospectionResults;
@@ -89,6 +90,9 @@ public class ConfigFileApplicationListenerTests {
 	@Rule
 	public InternalOutputCapture out = new InternalOutputCapture();
 
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
 	private ConfigurableApplicationContext context;
 
 	@Before
@@ -146,6 +150,22 @@ public class ConfigFileApplicationListenerTests {
 		assertThat(property).isEqualTo("frompropertiesfile");
 	}
 
+	@Test
+	public void loadPropertiesFileWithSnapshotLocation() throws Exception {
+		File snapshots = new File(this.temp.getRoot(), "snapshots");
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(this.environment,
+				"spring.config.snapshot-location:" + snapshots.getAbsolutePath());
+		this.initializer.setSearchNames("testproperties");
+		this.initializer.postProcessEnvironment(this.environment, this.application);
+		assertThat(snapshots.list()).isNotEmpty();
+		ConfigurableEnvironment environment = new StandardEnvironment();
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(environment,
+				"spring.config.snapshot-location:" + snapshots.getAbsolutePath());
+		this.initializer.postProcessEnvironment(environment, this.application);
+		String property = environment.getProperty("the.property");
+		assertThat(property).isEqualTo("frompropertiesfile");
+	}
+
 	@Test
 	public void loadDefaultPropertiesFile() throws Exception {
 		this.environment.setDefaultProfiles("thedefault");
@@ -830,6 +850,73 @@ public class ConfigFileApplicationListenerTests {
 				.isTrue();
 	}
 
+	@Test
+	public void parallelLookupKeepsLocationAndProfileOrder() throws Exception {
+		ConfigurableEnvironment environment = createManyConfigFilesEnvironment(true);
+		assertThat(environment.getActiveProfiles()).containsExactly("dev", "prod");
+		assertThat(environment.getProperty("only.first")).isEqualTo("first");
+		assertThat(environment.getProperty("all")).isEqualTo("b-second");
+		assertThat(environment.getProperty("profile")).isEqualTo("b-prod");
+		assertThat(environment.getProperty("dev")).isEqualTo("a-dev");
+	}
+
+	@Test
+	public void parallelLookupLoadsSameSourcesAsSerialLookup() throws Exception {
+		List<String> parallel = getConfigFileSourceNames(
+				createManyConfigFilesEnvironment(true));
+		List<String> serial = getConfigFileSourceNames(
+				createManyConfigFilesEnvironment(false));
+		assertThat(parallel).hasSize(7);
+		assertThat(parallel).isEqualTo(serial);
+	}
+
+	private ConfigurableEnvironment createManyConfigFilesEnvironment(
+			boolean parallelLookup) throws Exception {
+		File a = new File(this.temp.getRoot(), "a");
+		File b = new File(this.temp.getRoot(), "b");
+		writeProperties(new File(a, "first.properties"), "only.first=first",
+				"all=a-first", "spring.profiles.active=dev,prod");
+		writeProperties(new File(a, "second.properties"), "all=a-second");
+		writeProperties(new File(a, "first-dev.properties"), "dev=a-dev",
+				"profile=a-dev");
+		writeProperties(new File(b, "first.properties"), "all=b-first");
+		writeProperties(new File(b, "second.properties"), "all=b-second");
+		writeProperties(new File(b, "second-dev.properties"), "profile=b-dev");
+		writeProperties(new File(b, "second-prod.properties"), "profile=b-prod");
+		ConfigurableEnvironment environment = new StandardEnvironment();
+		TestPropertySourceUtils.addInlinedPropertiesToEnvironment(environment,
+				"spring.config.name=first,second",
+				"spring.config.location=file:" + a.getAbsolutePath() + "/,file:"
+						+ b.getAbsolutePath() + "/",
+				"spring.config.parallel-lookup=" + parallelLookup);
+		this.initializer.postProcessEnvironment(environment, this.application);
+		return environment;
+	}
+
+	private void writeProperties(File file, String... lines) throws Exception {
+		file.getParentFile().mkdirs();
+		OutputStream out = new FileOutputStream(file);
+		try {
+			out.write(StringUtils.arrayToDelimitedString(lines, "\n").getBytes());
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	private List<String> getConfigFileSourceNames(ConfigurableEnvironment environment) {
+		MutablePropertySources sources = new MutablePropertySources(
+				environment.getPropertySources());
+		ConfigurationPropertySources.finishAndRelocate(sources);
+		List<String> names = new ArrayList<String>();
+		for (org.springframework.core.env.PropertySource<?> source : sources) {
+			if (source.getName().startsWith("applicationConfig: [file:")) {
+				names.add(source.getName());
+			}
+		}
+		return names;
+	}
+
 	private Condition<ConfigurableEnvironment> matchingPropertySource(
 			final String sourceName) {
 		return new Condition<ConfigurableEnvironment>(
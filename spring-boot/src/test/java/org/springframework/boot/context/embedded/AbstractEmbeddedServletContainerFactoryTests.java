@@ -16,16 +16,20 @@
 
 package org.springframework.boot.context.embedded;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
 import java.net.ServerSocket;
+import java.net.Socket;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -43,8 +47,16 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPInputStream;
 
@@ -765,6 +777,131 @@ public abstract class AbstractEmbeddedServletContainerFactoryTests {
 		assertThat(inputStreamFactory.wasCompressionUsed()).isTrue();
 	}
 
+	@Test
+	public void http2CleartextUpgrade() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		Http2 http2 = new Http2();
+		http2.setEnabled(true);
+		factory.setHttp2(http2);
+		this.container = factory
+				.getEmbeddedServletContainer(exampleServletRegistration());
+		this.container.start();
+		assertThat(getH2cUpgradeResponseStatusLine()).startsWith("HTTP/1.1 101");
+	}
+
+	@Test
+	public void http2CleartextUpgradeIgnoredWhenHttp2IsDisabled() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		this.container = factory
+				.getEmbeddedServletContainer(exampleServletRegistration());
+		this.container.start();
+		assertThat(getH2cUpgradeResponseStatusLine()).startsWith("HTTP/1.1 200");
+	}
+
+	@Test
+	public void requestsAreProcessedByConfiguredExecutor() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		final AtomicInteger dispatched = new AtomicInteger();
+		final Executor threads = Executors.newCachedThreadPool();
+		factory.setExecutor(new InstrumentedExecutor(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				dispatched.incrementAndGet();
+				threads.execute(command);
+			}
+
+		}, 50, 100));
+		this.container = factory
+				.getEmbeddedServletContainer(exampleServletRegistration());
+		this.container.start();
+		assertThat(getResponse(getLocalUrl("/hello"))).isEqualTo("Hello World");
+		assertThat(dispatched.get()).isGreaterThan(0);
+	}
+
+	@Test
+	public void instrumentedExecutorIsShutDownWhenContainerStops() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		ExecutorService threads = Executors.newCachedThreadPool();
+		InstrumentedExecutor executor = new InstrumentedExecutor(threads, 50, 100);
+		factory.setExecutor(executor);
+		this.container = factory
+				.getEmbeddedServletContainer(exampleServletRegistration());
+		this.container.start();
+		assertThat(getResponse(getLocalUrl("/hello"))).isEqualTo("Hello World");
+		this.container.stop();
+		assertThat(executor.isShutdown()).isTrue();
+		assertThat(threads.isShutdown()).isTrue();
+	}
+
+	@Test
+	public void asyncAccessLogRecordsRequest() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		File directory = this.temporaryFolder.newFolder();
+		AsyncAccessLog accessLog = new AsyncAccessLog();
+		accessLog.setEnabled(true);
+		accessLog.setDirectory(directory);
+		factory.setAsyncAccessLog(accessLog);
+		this.container = factory
+				.getEmbeddedServletContainer(exampleServletRegistration());
+		this.container.start();
+		assertThat(getResponse(getLocalUrl("/hello?a=b"))).isEqualTo("Hello World");
+		this.container.stop();
+		String log = new String(
+				FileCopyUtils.copyToByteArray(new File(directory, "access_log.log")),
+				"UTF-8");
+		assertThat(log).containsOnlyOnce("\"GET /hello?a=b HTTP/1.1\" 200 11 ");
+		assertThat(log).endsWith("\n");
+	}
+
+	@Test
+	public void shutDownGracefullyWaitsForActiveRequestToComplete() throws Exception {
+		AbstractEmbeddedServletContainerFactory factory = getFactory();
+		factory.setShutdownTimeout(30, TimeUnit.SECONDS);
+		CountDownLatch requestStarted = new CountDownLatch(1);
+		CountDownLatch releaseRequest = new CountDownLatch(1);
+		final EmbeddedServletContainer container = factory.getEmbeddedServletContainer(
+				blockingServletRegistration(requestStarted, releaseRequest));
+		this.container = container;
+		this.container.start();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> response = executor.submit(new Callable<String>() {
+
+				@Override
+				public String call() throws Exception {
+					return getResponse(getLocalUrl("/blocking"));
+				}
+
+			});
+			assertThat(requestStarted.await(30, TimeUnit.SECONDS)).isTrue();
+			assertThat(container.getGracefulShutdown().getActiveRequests()).isEqualTo(1);
+			Future<Boolean> shutdown = executor.submit(new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() throws Exception {
+					return container.shutDownGracefully();
+				}
+
+			});
+			try {
+				shutdown.get(200, TimeUnit.MILLISECONDS);
+				fail("Shutdown did not wait for the active request");
+			}
+			catch (TimeoutException ex) {
+				// Expected
+			}
+			releaseRequest.countDown();
+			assertThat(shutdown.get(30, TimeUnit.SECONDS)).isTrue();
+			assertThat(response.get(30, TimeUnit.SECONDS)).isEqualTo("Hello World");
+			assertThat(container.getGracefulShutdown().getActiveRequests()).isZero();
+		}
+		finally {
+			releaseRequest.countDown();
+			executor.shutdownNow();
+		}
+	}
+
 	@Test
 	public void mimeMappingsAreCorrectlyConfigured() throws Exception {
 		AbstractEmbeddedServletContainerFactory factory = getFactory();
@@ -927,6 +1064,25 @@ public abstract class AbstractEmbeddedServletContainerFactoryTests {
 		return testContent;
 	}
 
+	private String getH2cUpgradeResponseStatusLine() throws IOException {
+		Socket socket = new Socket("localhost", this.container.getPort());
+		try {
+			socket.setSoTimeout(5000);
+			OutputStream outputStream = socket.getOutputStream();
+			outputStream.write(("GET /hello HTTP/1.1\r\n" + "Host: localhost\r\n"
+					+ "Connection: Upgrade, HTTP2-Settings\r\n" + "Upgrade: h2c\r\n"
+					+ "HTTP2-Settings: AAMAAABkAARAAAAAAAIAAAAA\r\n\r\n")
+							.getBytes("US-ASCII"));
+			outputStream.flush();
+			BufferedReader reader = new BufferedReader(
+					new InputStreamReader(socket.getInputStream(), "US-ASCII"));
+			return reader.readLine();
+		}
+		finally {
+			socket.close();
+		}
+	}
+
 	protected abstract Map<String, String> getActualMimeMappings();
 
 	protected Collection<MimeMappings.Mapping> getExpectedMimeMappings() {
@@ -1072,6 +1228,29 @@ public abstract class AbstractEmbeddedServletContainerFactoryTests {
 		return bean;
 	}
 
+	@SuppressWarnings("serial")
+	private ServletContextInitializer blockingServletRegistration(
+			final CountDownLatch requestStarted, final CountDownLatch releaseRequest) {
+		ServletRegistrationBean bean = new ServletRegistrationBean(new ExampleServlet() {
+
+			@Override
+			public void service(ServletRequest request, ServletResponse response)
+					throws ServletException, IOException {
+				requestStarted.countDown();
+				try {
+					releaseRequest.await(30, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				super.service(request, response);
+			}
+
+		}, "/blocking");
+		bean.setName("blocking");
+		return bean;
+	}
+
 	protected final void doWithBlockedPort(BlockedPortAction action) throws IOException {
 		int port = SocketUtils.findAvailableTcpPort(40000);
 		ServerSocket serverSocket = new ServerSocket();
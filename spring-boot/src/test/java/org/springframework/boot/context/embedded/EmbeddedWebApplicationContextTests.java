@@ -18,7 +18,9 @@ package org.springframework.boot.context.embedded;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Properties;
 
 import javax.servlet.DispatcherType;
@@ -40,6 +42,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InOrder;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import org.springframework.beans.MutablePropertyValues;
 import org.springframework.beans.factory.BeanCreationException;
@@ -48,6 +52,7 @@ import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.beans.factory.config.ConstructorArgumentValues;
 import org.springframework.beans.factory.config.Scope;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.context.embedded.GracefulShutdown.State;
 import org.springframework.boot.web.servlet.DelegatingFilterProxyRegistrationBean;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletContextInitializer;
@@ -75,6 +80,7 @@ import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.withSettings;
 
@@ -178,6 +184,60 @@ public class EmbeddedWebApplicationContextTests {
 		verify(escf.getContainer()).stop();
 	}
 
+	@Test
+	public void gracefulShutdownOnClose() throws Exception {
+		addEmbeddedServletContainerFactoryBean();
+		this.context.registerBeanDefinition("listener",
+				new RootBeanDefinition(MockShutdownListener.class));
+		this.context.refresh();
+		EmbeddedServletContainer container = getEmbeddedServletContainerFactory()
+				.getContainer();
+		final GracefulShutdown gracefulShutdown = new GracefulShutdown(1000);
+		given(container.getGracefulShutdown()).willReturn(gracefulShutdown);
+		given(container.shutDownGracefully()).willAnswer(new Answer<Boolean>() {
+
+			@Override
+			public Boolean answer(InvocationOnMock invocation) throws Throwable {
+				return gracefulShutdown.awaitDrained();
+			}
+
+		});
+		MockShutdownListener listener = this.context.getBean(MockShutdownListener.class);
+		this.context.close();
+		InOrder ordered = inOrder(container);
+		ordered.verify(container).shutDownGracefully();
+		ordered.verify(container).stop();
+		assertThat(listener.getEvents()).hasSize(2);
+		assertThat(listener.getEvents().get(0).getState()).isEqualTo(State.DRAINING);
+		assertThat(listener.getEvents().get(1).getState()).isEqualTo(State.DRAINED);
+		assertThat(listener.getEvents().get(1).getApplicationContext())
+				.isEqualTo(this.context);
+	}
+
+	@Test
+	public void failedGracefulShutdownStillClosesContext() throws Exception {
+		addEmbeddedServletContainerFactoryBean();
+		this.context.refresh();
+		EmbeddedServletContainer container = getEmbeddedServletContainerFactory()
+				.getContainer();
+		given(container.getGracefulShutdown()).willReturn(new GracefulShutdown(1000));
+		given(container.shutDownGracefully())
+				.willThrow(new IllegalStateException("Failed"));
+		this.context.close();
+		verify(container).stop();
+		assertThat(this.context.isActive()).isFalse();
+	}
+
+	@Test
+	public void noGracefulShutdownOnCloseByDefault() throws Exception {
+		addEmbeddedServletContainerFactoryBean();
+		this.context.refresh();
+		MockEmbeddedServletContainerFactory escf = getEmbeddedServletContainerFactory();
+		this.context.close();
+		verify(escf.getContainer(), never()).shutDownGracefully();
+		verify(escf.getContainer()).stop();
+	}
+
 	@Test
 	public void cannotSecondRefresh() throws Exception {
 		addEmbeddedServletContainerFactoryBean();
@@ -521,6 +581,22 @@ public class EmbeddedWebApplicationContextTests {
 
 	}
 
+	public static class MockShutdownListener
+			implements ApplicationListener<EmbeddedServletContainerShutdownEvent> {
+
+		private final List<EmbeddedServletContainerShutdownEvent> events = new ArrayList<EmbeddedServletContainerShutdownEvent>();
+
+		@Override
+		public void onApplicationEvent(EmbeddedServletContainerShutdownEvent event) {
+			this.events.add(event);
+		}
+
+		public List<EmbeddedServletContainerShutdownEvent> getEvents() {
+			return this.events;
+		}
+
+	}
+
 	@Order(10)
 	protected static class OrderedFilter extends GenericFilterBean {
 
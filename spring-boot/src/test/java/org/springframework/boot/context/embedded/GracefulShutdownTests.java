@@ -0,0 +1,129 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.boot.context.embedded.GracefulShutdown.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link GracefulShutdown}.
+ *
+ * @author Agent Local
+ */
+public class GracefulShutdownTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	public void invalidTimeout() {
+		this.thrown.expect(IllegalArgumentException.class);
+		new GracefulShutdown(0);
+	}
+
+	@Test
+	public void drainedImmediatelyWhenNoRequestsAreActive() {
+		GracefulShutdown gracefulShutdown = new GracefulShutdown(1000);
+		assertThat(gracefulShutdown.getState()).isEqualTo(State.RUNNING);
+		assertThat(gracefulShutdown.awaitDrained()).isTrue();
+		assertThat(gracefulShutdown.getState()).isEqualTo(State.DRAINED);
+	}
+
+	@Test
+	public void waitsForActiveRequestsToComplete() throws Exception {
+		final GracefulShutdown gracefulShutdown = new GracefulShutdown(10000);
+		gracefulShutdown.requestStarted();
+		gracefulShutdown.requestStarted();
+		Future<Boolean> drained = awaitDrained(gracefulShutdown);
+		gracefulShutdown.requestCompleted();
+		assertThat(gracefulShutdown.getActiveRequests()).isEqualTo(1);
+		assertThat(drained.isDone()).isFalse();
+		gracefulShutdown.requestCompleted();
+		assertThat(drained.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(gracefulShutdown.getState()).isEqualTo(State.DRAINED);
+	}
+
+	@Test
+	public void timesOutWhenRequestsDoNotComplete() {
+		GracefulShutdown gracefulShutdown = new GracefulShutdown(50);
+		gracefulShutdown.requestStarted();
+		assertThat(gracefulShutdown.awaitDrained()).isFalse();
+		assertThat(gracefulShutdown.getState()).isEqualTo(State.TIMED_OUT);
+		assertThat(gracefulShutdown.getActiveRequests()).isEqualTo(1);
+	}
+
+	@Test
+	public void synchronousRequestIsCompleteWhenDispatched() {
+		GracefulShutdown gracefulShutdown = new GracefulShutdown(1000);
+		gracefulShutdown.requestStarted();
+		gracefulShutdown.requestDispatched(new MockHttpServletRequest());
+		assertThat(gracefulShutdown.getActiveRequests()).isEqualTo(0);
+	}
+
+	@Test
+	public void asynchronousRequestIsCompleteWhenAsyncProcessingCompletes()
+			throws Exception {
+		GracefulShutdown gracefulShutdown = new GracefulShutdown(10000);
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAsyncSupported(true);
+		gracefulShutdown.requestStarted();
+		request.startAsync();
+		gracefulShutdown.requestDispatched(request);
+		assertThat(gracefulShutdown.getActiveRequests()).isEqualTo(1);
+		Future<Boolean> drained = awaitDrained(gracefulShutdown);
+		request.getAsyncContext().complete();
+		assertThat(drained.get(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(gracefulShutdown.getActiveRequests()).isEqualTo(0);
+	}
+
+	private Future<Boolean> awaitDrained(final GracefulShutdown gracefulShutdown)
+			throws InterruptedException {
+		Future<Boolean> drained = this.executor.submit(new Callable<Boolean>() {
+
+			@Override
+			public Boolean call() throws Exception {
+				return gracefulShutdown.awaitDrained();
+			}
+
+		});
+		while (gracefulShutdown.getState() != State.DRAINING && !drained.isDone()) {
+			Thread.sleep(10);
+		}
+		return drained;
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+/**
+ * Tests for {@link InstrumentedExecutor} and {@link EmbeddedServletContainerExecutors}.
+ *
+ * @author Agent Local
+ */
+public class InstrumentedExecutorTests {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private final ExecutorService delegate = Executors.newCachedThreadPool();
+
+	@After
+	public void shutdown() {
+		this.delegate.shutdownNow();
+	}
+
+	@Test
+	public void invalidMaxConcurrency() {
+		this.thrown.expect(IllegalArgumentException.class);
+		new InstrumentedExecutor(this.delegate, 0, 10);
+	}
+
+	@Test
+	public void unboundedExecutorRunsAllTasks() throws Exception {
+		InstrumentedExecutor executor = new InstrumentedExecutor(this.delegate);
+		CountDownLatch latch = new CountDownLatch(100);
+		for (int i = 0; i < 100; i++) {
+			executor.execute(new CountDownTask(latch));
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(executor.getQueuedCount()).isEqualTo(0);
+		assertThat(executor.getRejectedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void tasksAreQueuedOnceMaxConcurrencyIsReached() throws Exception {
+		InstrumentedExecutor executor = new InstrumentedExecutor(this.delegate, 2, 5);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(4);
+		for (int i = 0; i < 4; i++) {
+			executor.execute(new BlockingTask(release, done));
+		}
+		assertThat(executor.getActiveCount()).isEqualTo(2);
+		assertThat(executor.getQueuedCount()).isEqualTo(2);
+		release.countDown();
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(executor.getQueuedCount()).isEqualTo(0);
+		assertThat(executor.getRejectedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void tasksAreRejectedOnceQueueIsFull() throws Exception {
+		InstrumentedExecutor executor = new InstrumentedExecutor(this.delegate, 1, 1);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(2);
+		executor.execute(new BlockingTask(release, done));
+		executor.execute(new BlockingTask(release, done));
+		try {
+			executor.execute(new BlockingTask(release, done));
+			throw new AssertionError("Expected RejectedExecutionException");
+		}
+		catch (RejectedExecutionException ex) {
+			// Expected
+		}
+		assertThat(executor.getRejectedCount()).isEqualTo(1);
+		release.countDown();
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void concurrencyIsNeverExceeded() throws Exception {
+		InstrumentedExecutor executor = new InstrumentedExecutor(this.delegate, 4,
+				InstrumentedExecutor.UNBOUNDED);
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final CountDownLatch latch = new CountDownLatch(500);
+		for (int i = 0; i < 500; i++) {
+			executor.execute(new Runnable() {
+
+				@Override
+				public void run() {
+					int current = running.incrementAndGet();
+					int max = maxRunning.get();
+					while (current > max && !maxRunning.compareAndSet(max, current)) {
+						max = maxRunning.get();
+					}
+					Thread.yield();
+					running.decrementAndGet();
+					latch.countDown();
+				}
+
+			});
+		}
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxRunning.get()).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	public void queuedTasksRunWhenTaskFails() throws Exception {
+		InstrumentedExecutor executor = new InstrumentedExecutor(this.delegate, 1,
+				InstrumentedExecutor.UNBOUNDED);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(1);
+		executor.execute(new FailingTask(release));
+		executor.execute(new CountDownTask(done));
+		release.countDown();
+		assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	public void rejectionByDelegateIsCounted() {
+		InstrumentedExecutor executor = new InstrumentedExecutor(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				throw new RejectedExecutionException();
+			}
+
+		});
+		try {
+			executor.execute(new CountDownTask(new CountDownLatch(1)));
+			throw new AssertionError("Expected RejectedExecutionException");
+		}
+		catch (RejectedExecutionException ex) {
+			// Expected
+		}
+		assertThat(executor.getRejectedCount()).isEqualTo(1);
+		assertThat(executor.getActiveCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void shutdownRejectsTasksAndShutsDownDelegate() {
+		InstrumentedExecutor executor = new InstrumentedExecutor(this.delegate);
+		executor.shutdown();
+		assertThat(executor.isShutdown()).isTrue();
+		assertThat(this.delegate.isShutdown()).isTrue();
+		this.thrown.expect(RejectedExecutionException.class);
+		this.thrown.expectMessage("shut down");
+		executor.execute(new CountDownTask(new CountDownLatch(1)));
+	}
+
+	@Test
+	public void platformThreads() throws Exception {
+		InstrumentedExecutor executor = EmbeddedServletContainerExecutors
+				.platformThreads("test-exec-", 10, 10);
+		assertThat(executor.getMaxConcurrency()).isEqualTo(10);
+		assertThat(executor.getQueueCapacity()).isEqualTo(10);
+		final CountDownLatch latch = new CountDownLatch(1);
+		final StringBuilder threadName = new StringBuilder();
+		executor.execute(new Runnable() {
+
+			@Override
+			public void run() {
+				threadName.append(Thread.currentThread().getName());
+				latch.countDown();
+			}
+
+		});
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(threadName.toString()).startsWith("test-exec-");
+	}
+
+	@Test
+	public void virtualThreadsWhenNotSupported() {
+		assumeFalse(EmbeddedServletContainerExecutors.isVirtualThreadSupported());
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Virtual threads are not supported");
+		EmbeddedServletContainerExecutors.virtualThreads(InstrumentedExecutor.UNBOUNDED,
+				InstrumentedExecutor.UNBOUNDED);
+	}
+
+	private static class CountDownTask implements Runnable {
+
+		private final CountDownLatch latch;
+
+		CountDownTask(CountDownLatch latch) {
+			this.latch = latch;
+		}
+
+		@Override
+		public void run() {
+			this.latch.countDown();
+		}
+
+	}
+
+	private static class BlockingTask implements Runnable {
+
+		private final CountDownLatch release;
+
+		private final CountDownLatch done;
+
+		BlockingTask(CountDownLatch release, CountDownLatch done) {
+			this.release = release;
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			this.done.countDown();
+		}
+
+	}
+
+	private static class FailingTask implements Runnable {
+
+		private final CountDownLatch release;
+
+		FailingTask(CountDownLatch release) {
+			this.release = release;
+		}
+
+		@Override
+		public void run() {
+			try {
+				this.release.await();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			throw new IllegalStateException("Failed");
+		}
+
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.embedded.accesslog;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link AccessLogWriter}.
+ *
+ * @author Agent Local
+ */
+public class AccessLogWriterTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void invalidBufferSize() {
+		this.thrown.expect(IllegalArgumentException.class);
+		new AccessLogWriter(this.temp.getRoot(), "access", ".log", 0, 0, false);
+	}
+
+	@Test
+	public void bufferSizeIsRoundedUpToPowerOfTwo() {
+		AccessLogWriter writer = new AccessLogWriter(this.temp.getRoot(), "access",
+				".log", 1000, 0, false);
+		assertThat(writer.getBufferSize()).isEqualTo(1024);
+	}
+
+	@Test
+	public void entriesAreFormattedAndWrittenWhenStopped() throws Exception {
+		AccessLogWriter writer = new AccessLogWriter(this.temp.getRoot(), "access",
+				".log", 16, 0, false);
+		writer.start();
+		long timestamp = System.currentTimeMillis();
+		assertThat(writer.log("127.0.0.1", "GET", "/hello", "a=b", "HTTP/1.1", 200, 5,
+				timestamp, 12)).isTrue();
+		assertThat(writer.log(null, "POST", "/form", null, "HTTP/2.0", 302, 0,
+				timestamp, 3)).isTrue();
+		writer.stop();
+		String date = new SimpleDateFormat("dd/MMM/yyyy:HH:mm:ss Z", Locale.US)
+				.format(new Date(timestamp));
+		assertThat(readLines(new File(this.temp.getRoot(), "access.log"))).containsExactly(
+				"127.0.0.1 - - [" + date + "] \"GET /hello?a=b HTTP/1.1\" 200 5 12",
+				"- - - [" + date + "] \"POST /form HTTP/2.0\" 302 - 3");
+		assertThat(writer.getWrittenCount()).isEqualTo(2);
+		assertThat(writer.getDroppedCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void entriesAreWrittenPeriodically() throws Exception {
+		AccessLogWriter writer = new AccessLogWriter(this.temp.getRoot(), "access",
+				".log", 16, 0, false);
+		writer.setFlushInterval(10);
+		writer.start();
+		try {
+			writer.log("127.0.0.1", "GET", "/", null, "HTTP/1.1", 200, 0,
+					System.currentTimeMillis(), 1);
+			long end = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+			while (writer.getWrittenCount() == 0 && System.currentTimeMillis() < end) {
+				Thread.sleep(10);
+			}
+			assertThat(writer.getWrittenCount()).isEqualTo(1);
+		}
+		finally {
+			writer.stop();
+		}
+	}
+
+	@Test
+	public void entriesAreDroppedWhenBufferIsFull() throws Exception {
+		AccessLogWriter writer = new AccessLogWriter(this.temp.getRoot(), "access",
+				".log", 4, 0, false);
+		for (int i = 0; i < 6; i++) {
+			writer.log("127.0.0.1", "GET", "/" + i, null, "HTTP/1.1", 200, 0,
+					System.currentTimeMillis(), 1);
+		}
+		assertThat(writer.getDroppedCount()).isEqualTo(2);
+		writer.start();
+		writer.stop();
+		assertThat(writer.getWrittenCount()).isEqualTo(4);
+		assertThat(writer.log("127.0.0.1", "GET", "/", null, "HTTP/1.1", 200, 0,
+				System.currentTimeMillis(), 1)).isTrue();
+	}
+
+	@Test
+	public void fileIsRolledOverWhenMaxSizeWouldBeExceeded() throws Exception {
+		writeEntry(new AccessLogWriter(this.temp.getRoot(), "access", ".log", 16, 100,
+				false));
+		writeEntry(new AccessLogWriter(this.temp.getRoot(), "access", ".log", 16, 100,
+				false));
+		String today = new SimpleDateFormat("yyyy-MM-dd").format(new Date());
+		assertThat(readLines(new File(this.temp.getRoot(), "access.log"))).hasSize(1);
+		assertThat(readLines(new File(this.temp.getRoot(), "access." + today + ".0.log")))
+				.hasSize(1);
+	}
+
+	@Test
+	public void fileIsRolledOverWhenDateChanges() throws Exception {
+		File file = new File(this.temp.getRoot(), "access.log");
+		writeEntry(new AccessLogWriter(this.temp.getRoot(), "access", ".log", 16, 0,
+				true));
+		long yesterday = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1);
+		assertThat(file.setLastModified(yesterday)).isTrue();
+		writeEntry(new AccessLogWriter(this.temp.getRoot(), "access", ".log", 16, 0,
+				true));
+		String date = new SimpleDateFormat("yyyy-MM-dd").format(new Date(yesterday));
+		assertThat(readLines(file)).hasSize(1);
+		assertThat(readLines(new File(this.temp.getRoot(), "access." + date + ".0.log")))
+				.hasSize(1);
+	}
+
+	private void writeEntry(AccessLogWriter writer) {
+		writer.start();
+		writer.log("127.0.0.1", "GET", "/", null, "HTTP/1.1", 200, 1024,
+				System.currentTimeMillis(), 1);
+		writer.stop();
+	}
+
+	private List<String> readLines(File file) throws Exception {
+		String content = new String(FileCopyUtils.copyToByteArray(file), "UTF-8");
+		return Arrays.asList(content.split("\n"));
+	}
+
+}
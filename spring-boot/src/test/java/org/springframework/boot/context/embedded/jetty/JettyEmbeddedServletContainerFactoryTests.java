@@ -22,6 +22,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import javax.servlet.ServletException;
@@ -45,6 +46,7 @@ import org.mockito.InOrder;
 import org.springframework.boot.context.embedded.AbstractEmbeddedServletContainerFactory;
 import org.springframework.boot.context.embedded.AbstractEmbeddedServletContainerFactoryTests;
 import org.springframework.boot.context.embedded.Compression;
+import org.springframework.boot.context.embedded.InstrumentedExecutor;
 import org.springframework.boot.context.embedded.PortInUseException;
 import org.springframework.boot.context.embedded.Ssl;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
@@ -273,6 +275,18 @@ public class JettyEmbeddedServletContainerFactoryTests
 		assertThat(servletContainer.getServer().getThreadPool()).isNotNull();
 	}
 
+	@Test
+	public void executorWithTooLowMaxConcurrency() throws Exception {
+		JettyEmbeddedServletContainerFactory factory = getFactory();
+		factory.setAcceptors(1);
+		factory.setSelectors(1);
+		factory.setExecutor(
+				new InstrumentedExecutor(Executors.newCachedThreadPool(), 2, 10));
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("leaves no room to process requests");
+		factory.getEmbeddedServletContainer();
+	}
+
 	@Test
 	public void customThreadPool() throws Exception {
 		JettyEmbeddedServletContainerFactory factory = getFactory();
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PropertySourceSnapshotCache}.
+ *
+ * @author Agent Local
+ */
+public class PropertySourceSnapshotCacheTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private PropertySourceSnapshotCache cache;
+
+	private CountingPropertySourceLoader yamlLoader;
+
+	@Before
+	public void setup() throws IOException {
+		this.cache = new PropertySourceSnapshotCache(
+				new File(this.temp.getRoot(), "snapshots"));
+		this.yamlLoader = new CountingPropertySourceLoader(
+				new YamlPropertySourceLoader());
+	}
+
+	@Test
+	public void loadUnchangedResourceUsesSnapshot() throws Exception {
+		Resource resource = createResource("application.yml",
+				"foo:\n  bar: spam\n  count: 3\n  enabled: true\n  ratio: 0.5");
+		PropertySource<?> first = this.cache.load(this.yamlLoader, "test", resource,
+				null);
+		PropertySource<?> second = this.cache.load(this.yamlLoader, "test", resource,
+				null);
+		assertThat(this.yamlLoader.count).isEqualTo(1);
+		assertThat(second).isInstanceOf(MapPropertySource.class);
+		assertThat(second.getName()).isEqualTo("test");
+		assertThat(((MapPropertySource) second).getSource())
+				.isEqualTo(((MapPropertySource) first).getSource());
+		assertThat(((MapPropertySource) second).getPropertyNames())
+				.containsExactly("foo.bar", "foo.count", "foo.enabled", "foo.ratio");
+		assertThat(second.getProperty("foo.count")).isEqualTo(3);
+	}
+
+	@Test
+	public void loadChangedResourceParsesAgain() throws Exception {
+		Resource resource = createResource("application.yml", "foo: bar");
+		this.cache.load(this.yamlLoader, "test", resource, null);
+		File file = resource.getFile();
+		long lastModified = file.lastModified();
+		write(file, "foo: baz");
+		file.setLastModified(lastModified);
+		PropertySource<?> source = this.cache.load(this.yamlLoader, "test", resource,
+				null);
+		assertThat(this.yamlLoader.count).isEqualTo(2);
+		assertThat(source.getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	public void loadDifferentProfileParsesAgain() throws Exception {
+		Resource resource = createResource("application.yml",
+				"foo: bar\n---\nspring.profiles: dev\nfoo: baz");
+		this.cache.load(this.yamlLoader, "test", resource, null);
+		PropertySource<?> source = this.cache.load(this.yamlLoader, "test", resource,
+				"dev");
+		assertThat(this.yamlLoader.count).isEqualTo(2);
+		assertThat(source.getProperty("foo")).isEqualTo("baz");
+	}
+
+	@Test
+	public void loadEmptyResourceUsesSnapshot() throws Exception {
+		Resource resource = createResource("application.yml", "");
+		assertThat(this.cache.load(this.yamlLoader, "test", resource, null)).isNull();
+		assertThat(this.cache.load(this.yamlLoader, "test", resource, null)).isNull();
+		assertThat(this.yamlLoader.count).isEqualTo(1);
+	}
+
+	@Test
+	public void loadPropertiesUsesSnapshot() throws Exception {
+		CountingPropertySourceLoader loader = new CountingPropertySourceLoader(
+				new PropertiesPropertySourceLoader());
+		Resource resource = createResource("application.properties", "foo=bar");
+		this.cache.load(loader, "test", resource, null);
+		PropertySource<?> source = this.cache.load(loader, "test", resource, null);
+		assertThat(loader.count).isEqualTo(1);
+		assertThat(source).isInstanceOf(PropertiesPropertySource.class);
+		assertThat(source.getProperty("foo")).isEqualTo("bar");
+	}
+
+	@Test
+	public void loadWithCorruptSnapshotParsesAgain() throws Exception {
+		Resource resource = createResource("application.yml", "foo: bar");
+		this.cache.load(this.yamlLoader, "test", resource, null);
+		for (File snapshot : this.cache.getDirectory().listFiles()) {
+			write(snapshot, "corrupt");
+		}
+		PropertySource<?> source = this.cache.load(this.yamlLoader, "test", resource,
+				null);
+		assertThat(this.yamlLoader.count).isEqualTo(2);
+		assertThat(source.getProperty("foo")).isEqualTo("bar");
+	}
+
+	@Test
+	public void loadWithNegativeLengthInSnapshotParsesAgain() throws Exception {
+		assertParsesAgainWhenNameLengthIs(-2);
+	}
+
+	@Test
+	public void loadWithLengthBeyondEndOfSnapshotParsesAgain() throws Exception {
+		assertParsesAgainWhenNameLengthIs(Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void loadWithNullNameInSnapshotParsesAgain() throws Exception {
+		assertParsesAgainWhenNameLengthIs(-1);
+	}
+
+	private void assertParsesAgainWhenNameLengthIs(int length) throws Exception {
+		CountingPropertySourceLoader loader = new CountingPropertySourceLoader(
+				new PropertiesPropertySourceLoader());
+		Resource resource = createResource("application.properties", "foo=bar");
+		this.cache.load(loader, "test", resource, null);
+		for (File snapshot : this.cache.getDirectory().listFiles()) {
+			byte[] content = FileCopyUtils.copyToByteArray(snapshot);
+			// The name is the last string but one, followed by the type of its value
+			int offset = content.length - "foo".length() - 4 - "bar".length() - 4 - 1;
+			ByteBuffer.wrap(content).putInt(offset, length);
+			FileCopyUtils.copy(content, snapshot);
+		}
+		PropertySource<?> source = this.cache.load(loader, "test", resource, null);
+		assertThat(loader.count).isEqualTo(2);
+		assertThat(source.getProperty("foo")).isEqualTo("bar");
+	}
+
+	private Resource createResource(String name, String content) throws IOException {
+		File file = this.temp.newFile(name);
+		write(file, content);
+		return new FileSystemResource(file);
+	}
+
+	private void write(File file, String content) throws IOException {
+		FileCopyUtils.copy(content.getBytes("UTF-8"), new FileOutputStream(file));
+	}
+
+	private static class CountingPropertySourceLoader implements PropertySourceLoader {
+
+		private final PropertySourceLoader delegate;
+
+		private int count;
+
+		CountingPropertySourceLoader(PropertySourceLoader delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public String[] getFileExtensions() {
+			return this.delegate.getFileExtensions();
+		}
+
+		@Override
+		public PropertySource<?> load(String name, Resource resource, String profile)
+				throws IOException {
+			this.count++;
+			return this.delegate.load(name, resource, profile);
+		}
+
+	}
+
+}
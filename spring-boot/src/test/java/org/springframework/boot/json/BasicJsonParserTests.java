@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2014 the original author or authors.
+ * Copyright 2012-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,14 @@
 
 package org.springframework.boot.json;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 /**
  * Tests for {@link BasicJsonParser}.
  *
@@ -28,4 +36,43 @@ public class BasicJsonParserTests extends AbstractJsonParserTests {
 		return new BasicJsonParser();
 	}
 
+	@Test
+	public void stringContainingDelimiters() {
+		Map<String, Object> map = getParser()
+				.parseMap("{\"foo\":\"a,b:c}d]\",\"bar\":\"[{\"}");
+		assertThat(map).hasSize(2);
+		assertThat(map.get("foo")).isEqualTo("a,b:c}d]");
+		assertThat(map.get("bar")).isEqualTo("[{");
+	}
+
+	@Test
+	public void stringWithEscapes() {
+		List<Object> list = getParser()
+				.parseList("[\"a\\\"b\", \"c\\\\d\", \"e\\nf\", \"\\u0041\"]");
+		assertThat(list).containsExactly("a\"b", "c\\d", "e\nf", "A");
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void nestedWithWhitespace() {
+		Map<String, Object> map = getParser().parseMap(
+				"{ \"foo\" : { \"bar\" : [ 1 , 2.5 , \"spam\" ] } , \"baz\" : true }");
+		assertThat(map).hasSize(2);
+		assertThat(((Map<String, Object>) map.get("foo")).get("bar"))
+				.isEqualTo(Arrays.<Object>asList(1L, 2.5d, "spam"));
+		assertThat(map.get("baz")).isEqualTo("true");
+	}
+
+	@Test
+	public void mapWithTrailingContentThrowsARuntimeException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		getParser().parseMap("{\"foo\":\"bar\"} spam");
+	}
+
+	@Test
+	public void unterminatedListThrowsARuntimeException() {
+		this.thrown.expect(IllegalArgumentException.class);
+		getParser().parseList("[\"foo\",\"bar\"");
+	}
+
 }
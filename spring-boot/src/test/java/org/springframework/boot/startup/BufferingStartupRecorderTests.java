@@ -0,0 +1,89 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.boot.startup.StartupTimeline.Event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BufferingStartupRecorder}.
+ *
+ * @author Agent Local
+ */
+public class BufferingStartupRecorderTests {
+
+	@Test
+	public void recordsNestedSteps() {
+		BufferingStartupRecorder recorder = new BufferingStartupRecorder();
+		StartupStep outer = recorder.start("outer");
+		recorder.start("first").tag("index", 1).end();
+		recorder.start("second").end();
+		outer.end();
+		recorder.start("after").end();
+		List<Event> events = recorder.getTimeline().getEvents();
+		assertThat(events).extracting("name").containsExactly("outer", "first",
+				"second", "after");
+		long outerId = events.get(0).getId();
+		assertThat(events.get(0).getParentId()).isNull();
+		assertThat(events.get(1).getParentId()).isEqualTo(outerId);
+		assertThat(events.get(1).getTags()).containsEntry("index", "1");
+		assertThat(events.get(2).getParentId()).isEqualTo(outerId);
+		assertThat(events.get(3).getParentId()).isNull();
+		assertThat(events.get(0).getDuration())
+				.isGreaterThanOrEqualTo(events.get(1).getDuration());
+	}
+
+	@Test
+	public void stepsThatHaveNotEndedAreNotIncluded() {
+		BufferingStartupRecorder recorder = new BufferingStartupRecorder();
+		StartupStep outer = recorder.start("outer");
+		recorder.start("inner").end();
+		assertThat(recorder.getTimeline().getEvents()).extracting("name")
+				.containsExactly("inner");
+		outer.end();
+		assertThat(recorder.getTimeline().getEvents()).extracting("name")
+				.containsExactly("outer", "inner");
+	}
+
+	@Test
+	public void endingParentDiscardsUnendedNestedSteps() {
+		BufferingStartupRecorder recorder = new BufferingStartupRecorder();
+		StartupStep outer = recorder.start("outer");
+		recorder.start("abandoned");
+		outer.end();
+		recorder.start("after").end();
+		List<Event> events = recorder.getTimeline().getEvents();
+		assertThat(events).extracting("name").containsExactly("outer", "after");
+		assertThat(events.get(1).getParentId()).isNull();
+	}
+
+	@Test
+	public void stepsBeyondCapacityAreIgnored() {
+		BufferingStartupRecorder recorder = new BufferingStartupRecorder(2);
+		recorder.start("one").end();
+		recorder.start("two").end();
+		recorder.start("three").end();
+		assertThat(recorder.getTimeline().getEvents()).extracting("name")
+				.containsExactly("one", "two");
+	}
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.startup;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.startup.StartupTimeline.Event;
+import org.springframework.context.support.GenericApplicationContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link StartupStepBeanPostProcessor}.
+ *
+ * @author Agent Local
+ */
+public class StartupStepBeanPostProcessorTests {
+
+	private final BufferingStartupRecorder recorder = new BufferingStartupRecorder();
+
+	private final GenericApplicationContext context = new GenericApplicationContext();
+
+	@Before
+	public void setup() {
+		StartupStepBeanPostProcessor postProcessor = new StartupStepBeanPostProcessor(
+				this.recorder, this.context);
+		this.context.getBeanFactory().addBeanPostProcessor(postProcessor);
+		this.context.addApplicationListener(postProcessor);
+	}
+
+	@After
+	public void close() {
+		this.context.close();
+	}
+
+	@Test
+	public void dependenciesAreRecordedAsNestedSteps() {
+		RootBeanDefinition outer = new RootBeanDefinition(Outer.class);
+		outer.getConstructorArgumentValues()
+				.addGenericArgumentValue(new RuntimeBeanReference("inner"));
+		this.context.registerBeanDefinition("outer", outer);
+		this.context.registerBeanDefinition("inner", new RootBeanDefinition(Inner.class));
+		this.context.refresh();
+		List<Event> events = this.recorder.getTimeline().getEvents();
+		assertThat(events).extracting("name").containsOnly("spring.beans.instantiate");
+		Event outerEvent = getEvent(events, "outer");
+		Event innerEvent = getEvent(events, "inner");
+		assertThat(outerEvent.getParentId()).isNull();
+		assertThat(innerEvent.getParentId()).isEqualTo(outerEvent.getId());
+		assertThat(outerEvent.getTags()).doesNotContainKey("abandoned");
+	}
+
+	@Test
+	public void failedCreationIsAbandoned() {
+		this.context.registerBeanDefinition("failing",
+				new RootBeanDefinition(Failing.class));
+		this.context.registerBeanDefinition("inner", new RootBeanDefinition(Inner.class));
+		try {
+			this.context.getBeanFactory().getBean("failing");
+			fail("Did not throw");
+		}
+		catch (BeanCreationException ex) {
+			// Expected
+		}
+		this.context.getBeanFactory().getBean("inner");
+		List<Event> events = this.recorder.getTimeline().getEvents();
+		assertThat(getEvent(events, "failing").getTags()).containsEntry("abandoned",
+				"true");
+		assertThat(getEvent(events, "inner").getParentId()).isNull();
+	}
+
+	@Test
+	public void factoryBeanTypeCheckIsAbandoned() {
+		this.context.registerBeanDefinition("factory",
+				new RootBeanDefinition(TestFactoryBean.class));
+		this.context.registerBeanDefinition("inner", new RootBeanDefinition(Inner.class));
+		assertThat(this.context.getBeanFactory().getType("factory"))
+				.isEqualTo(String.class);
+		this.context.getBeanFactory().getBean("inner");
+		List<Event> events = this.recorder.getTimeline().getEvents();
+		assertThat(getEvent(events, "factory").getTags()).containsEntry("abandoned",
+				"true");
+		assertThat(getEvent(events, "inner").getParentId()).isNull();
+	}
+
+	@Test
+	public void stepsAreNotRecordedOnceRefreshed() {
+		this.context.refresh();
+		this.context.registerBeanDefinition("inner", new RootBeanDefinition(Inner.class));
+		this.context.getBean("inner");
+		assertThat(this.recorder.getTimeline().getEvents()).isEmpty();
+	}
+
+	private Event getEvent(List<Event> events, String beanName) {
+		for (Event event : events) {
+			if (beanName.equals(event.getTags().get("beanName"))) {
+				return event;
+			}
+		}
+		throw new IllegalStateException("No event for bean " + beanName);
+	}
+
+	static class Outer {
+
+		Outer(Inner inner) {
+		}
+
+	}
+
+	static class Inner {
+
+	}
+
+	static class Failing {
+
+		Failing() {
+			throw new IllegalStateException("Failed");
+		}
+
+	}
+
+	static class TestFactoryBean implements FactoryBean<String> {
+
+		@Override
+		public String getObject() {
+			return "test";
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return String.class;
+		}
+
+		@Override
+		public boolean isSingleton() {
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.type;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ClassPresenceCache}.
+ *
+ * @author Agent Local
+ */
+public class ClassPresenceCacheTests {
+
+	private static final String PRESENT = ClassPresenceCacheTests.class.getName();
+
+	private static final String MISSING = "com.example.Missing";
+
+	@Test
+	public void isPresentWhenPresentCachesResult() {
+		CountingClassLoader classLoader = new CountingClassLoader();
+		assertThat(ClassPresenceCache.isPresent(PRESENT, classLoader)).isTrue();
+		int loadCount = classLoader.getLoadCount();
+		assertThat(loadCount).isGreaterThan(0);
+		assertThat(ClassPresenceCache.isPresent(PRESENT, classLoader)).isTrue();
+		assertThat(classLoader.getLoadCount()).isEqualTo(loadCount);
+	}
+
+	@Test
+	public void isPresentWhenMissingCachesResult() {
+		CountingClassLoader classLoader = new CountingClassLoader();
+		assertThat(ClassPresenceCache.isPresent(MISSING, classLoader)).isFalse();
+		int loadCount = classLoader.getLoadCount();
+		assertThat(loadCount).isGreaterThan(0);
+		assertThat(ClassPresenceCache.isPresent(MISSING, classLoader)).isFalse();
+		assertThat(classLoader.getLoadCount()).isEqualTo(loadCount);
+	}
+
+	@Test
+	public void isPresentIsCachedPerClassLoader() {
+		CountingClassLoader first = new CountingClassLoader();
+		CountingClassLoader second = new CountingClassLoader();
+		ClassPresenceCache.isPresent(MISSING, first);
+		ClassPresenceCache.isPresent(MISSING, second);
+		assertThat(first.getLoadCount()).isGreaterThan(0);
+		assertThat(second.getLoadCount()).isEqualTo(first.getLoadCount());
+	}
+
+	@Test
+	public void hitAndMissCounts() {
+		CountingClassLoader classLoader = new CountingClassLoader();
+		long hits = ClassPresenceCache.getHitCount();
+		long misses = ClassPresenceCache.getMissCount();
+		ClassPresenceCache.isPresent(MISSING, classLoader);
+		ClassPresenceCache.isPresent(MISSING, classLoader);
+		ClassPresenceCache.isPresent(MISSING, classLoader);
+		assertThat(ClassPresenceCache.getMissCount() - misses).isEqualTo(1);
+		assertThat(ClassPresenceCache.getHitCount() - hits).isEqualTo(2);
+	}
+
+	@Test
+	public void clearResetsCache() {
+		CountingClassLoader classLoader = new CountingClassLoader();
+		ClassPresenceCache.isPresent(MISSING, classLoader);
+		int loadCount = classLoader.getLoadCount();
+		ClassPresenceCache.clear();
+		ClassPresenceCache.isPresent(MISSING, classLoader);
+		assertThat(classLoader.getLoadCount()).isEqualTo(loadCount * 2);
+	}
+
+	private static class CountingClassLoader extends ClassLoader {
+
+		private final AtomicInteger loadCount = new AtomicInteger();
+
+		CountingClassLoader() {
+			super(ClassPresenceCacheTests.class.getClassLoader());
+		}
+
+		@Override
+		public Class<?> loadClass(String name) throws ClassNotFoundException {
+			this.loadCount.incrementAndGet();
+			return super.loadClass(name);
+		}
+
+		int getLoadCount() {
+			return this.loadCount.get();
+		}
+
+	}
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.servlet.resource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.resource.HttpResource;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link PrecompressedResourceResolver}.
+ *
+ * @author Agent Local
+ */
+public class PrecompressedResourceResolverTests {
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private PrecompressedResourceResolver resolver = new PrecompressedResourceResolver();
+
+	private ResourceResolverChain chain = mock(ResourceResolverChain.class);
+
+	private List<Resource> locations = Collections.emptyList();
+
+	private File content;
+
+	private Resource resource;
+
+	@Before
+	public void setup() throws IOException {
+		this.content = this.temp.newFolder("content");
+		this.resource = new FileSystemResource(
+				write(new File(this.content, "main.css"), 4096));
+		given(this.chain.resolveResource(any(MockHttpServletRequest.class),
+				anyString(), anyListOf(Resource.class))).willReturn(this.resource);
+	}
+
+	@Test
+	public void noAcceptEncodingReturnsOriginal() throws Exception {
+		write(new File(this.content, "main.css.gz"), 10);
+		assertIdentity(resolve(null));
+	}
+
+	@Test
+	public void brotliPreferredWhenAccepted() throws Exception {
+		write(new File(this.content, "main.css.gz"), 10);
+		write(new File(this.content, "main.css.br"), 10);
+		Resource resolved = resolve("gzip, deflate, br");
+		assertThat(resolved.getFile().getName()).isEqualTo("main.css.br");
+		assertThat(((HttpResource) resolved).getResponseHeaders()
+				.getFirst("Content-Encoding")).isEqualTo("br");
+		assertThat(((HttpResource) resolved).getResponseHeaders().getFirst("Vary"))
+				.isEqualTo("Accept-Encoding");
+	}
+
+	@Test
+	public void gzipServedWhenBrotliNotAccepted() throws Exception {
+		write(new File(this.content, "main.css.gz"), 10);
+		write(new File(this.content, "main.css.br"), 10);
+		Resource resolved = resolve("gzip");
+		assertThat(resolved.getFile().getName()).isEqualTo("main.css.gz");
+		assertThat(resolved.getFilename()).isEqualTo("main.css");
+		assertThat(resolved.lastModified()).isEqualTo(this.resource.lastModified());
+		assertThat(((HttpResource) resolved).getResponseHeaders()
+				.getFirst("Content-Encoding")).isEqualTo("gzip");
+		assertThat(((HttpResource) resolved).getResponseHeaders().getFirst("Vary"))
+				.isEqualTo("Accept-Encoding");
+	}
+
+	@Test
+	public void codingWithZeroQualityIsRejected() throws Exception {
+		write(new File(this.content, "main.css.br"), 10);
+		assertIdentity(resolve("br;q=0, identity"));
+	}
+
+	@Test
+	public void gzipVariantIsGeneratedWhenCacheDirectoryIsSet() throws Exception {
+		File cache = this.temp.newFolder("cache");
+		this.resolver.setCacheDirectory(cache);
+		Resource resolved = resolve("gzip");
+		assertThat(resolved).isInstanceOf(HttpResource.class);
+		assertThat(resolved.getFile().getParentFile()).isEqualTo(cache);
+		InputStream inputStream = new GZIPInputStream(resolved.getInputStream());
+		try {
+			assertThat(StreamUtils.copyToByteArray(inputStream))
+					.isEqualTo(FileCopyUtils.copyToByteArray(this.resource.getFile()));
+		}
+		finally {
+			inputStream.close();
+		}
+		assertThat(resolve("gzip").getFile()).isEqualTo(resolved.getFile());
+	}
+
+	@Test
+	public void gzipVariantIsNotGeneratedForSmallResources() throws Exception {
+		this.resolver.setCacheDirectory(this.temp.newFolder("cache"));
+		this.resolver.setMinResponseSize(8192);
+		assertIdentity(resolve("gzip"));
+	}
+
+	@Test
+	public void gzipVariantIsNotGeneratedForIncompressibleMimeType() throws Exception {
+		this.resolver.setCacheDirectory(this.temp.newFolder("cache"));
+		this.resolver.setMimeTypes("text/html");
+		assertIdentity(resolve("gzip"));
+	}
+
+	@Test
+	public void cacheKeyDistinguishesAcceptedCodings() throws Exception {
+		EncodingAwareCachingResourceResolver caching = new EncodingAwareCachingResourceResolver(
+				new ConcurrentMapCache("test"));
+		String none = caching.computeKey(request(null), "main.css");
+		String gzip = caching.computeKey(request("gzip"), "main.css");
+		String both = caching.computeKey(request("br, gzip"), "main.css");
+		assertThat(none).isNotEqualTo(gzip).isNotEqualTo(both);
+		assertThat(gzip).isNotEqualTo(both);
+		assertThat(caching.computeKey(request("gzip, br"), "main.css"))
+				.isEqualTo(both);
+		assertThat(caching.computeKey(request("gzip, deflate"), "main.css"))
+				.isEqualTo(gzip);
+	}
+
+	@Test
+	public void clearCacheDeletesGeneratedVariants() throws Exception {
+		File cache = new File(this.temp.getRoot(), "cache");
+		this.resolver.setCacheDirectory(cache);
+		assertThat(resolve("gzip").getFile()).exists();
+		this.resolver.clearCache();
+		assertThat(cache).doesNotExist();
+	}
+
+	private void assertIdentity(Resource resolved) throws IOException {
+		assertThat(resolved.getFile()).isEqualTo(this.resource.getFile());
+		HttpHeaders headers = ((HttpResource) resolved).getResponseHeaders();
+		assertThat(headers).doesNotContainKey("Content-Encoding");
+		assertThat(headers.getFirst("Vary")).isEqualTo("Accept-Encoding");
+	}
+
+	private Resource resolve(String acceptEncoding) {
+		return this.resolver.resolveResource(request(acceptEncoding), "main.css",
+				this.locations, this.chain);
+	}
+
+	private MockHttpServletRequest request(String acceptEncoding) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET",
+				"/main.css");
+		if (acceptEncoding != null) {
+			request.addHeader("Accept-Encoding", acceptEncoding);
+		}
+		return request;
+	}
+
+	private File write(File file, int size) throws IOException {
+		byte[] bytes = new byte[size];
+		for (int i = 0; i < size; i++) {
+			bytes[i] = (byte) ('a' + (i % 26));
+		}
+		FileCopyUtils.copy(bytes, new FileOutputStream(file));
+		return file;
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2012-2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.web.servlet.resource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.RequestFacade;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.connector.ResponseFacade;
+import org.apache.catalina.core.StandardContext;
+import org.eclipse.jetty.server.HttpOutput;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ZeroCopyResourceHttpMessageConverter}.
+ *
+ * @author Agent Local
+ */
+public class ZeroCopyResourceHttpMessageConverterTests {
+
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+	@Rule
+	public TemporaryFolder temp = new TemporaryFolder();
+
+	private final ZeroCopyResourceHttpMessageConverter converter = new ZeroCopyResourceHttpMessageConverter();
+
+	@Test
+	public void tomcatSendFileIsUsedWhenSupported() throws Exception {
+		File file = createFile(64 * 1024, 'a');
+		Request request = createTomcatRequest();
+		Response response = new Response();
+		response.setConnector(request.getConnector());
+		response.setCoyoteResponse(new org.apache.coyote.Response());
+		write(file, new RequestFacade(request), new ResponseFacade(response));
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+				.isEqualTo(file.getCanonicalPath());
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.start"))
+				.isEqualTo(0L);
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.end"))
+				.isEqualTo(file.length());
+		assertThat(response.getContentWritten()).isZero();
+	}
+
+	@Test
+	public void fileIsCopiedWhenRequestIsNotTomcats() throws Exception {
+		File file = createFile(64 * 1024, 'a');
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAttribute(SENDFILE_SUPPORT, Boolean.TRUE);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		write(file, request, response);
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+				.isNull();
+		assertThat(response.getContentAsByteArray())
+				.isEqualTo(FileCopyUtils.copyToByteArray(file));
+	}
+
+	@Test
+	public void smallFileIsCopied() throws Exception {
+		File file = createFile(1024, 'a');
+		Request request = createTomcatRequest();
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		write(file, new RequestFacade(request), response);
+		assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+				.isNull();
+		assertThat(response.getContentAsByteArray())
+				.isEqualTo(FileCopyUtils.copyToByteArray(file));
+	}
+
+	@Test
+	public void jettyIsGivenMappedBufferOfFile() throws Exception {
+		File file = createFile(64 * 1024, 'a');
+		List<byte[]> sent = new ArrayList<byte[]>();
+		HttpServletResponse response = mockJettyResponse(sent);
+		write(file, new MockHttpServletRequest(), response);
+		write(file, new MockHttpServletRequest(), response);
+		assertThat(sent).hasSize(2);
+		assertThat(sent.get(0)).isEqualTo(FileCopyUtils.copyToByteArray(file));
+		assertThat(sent.get(1)).isEqualTo(FileCopyUtils.copyToByteArray(file));
+	}
+
+	@Test
+	public void jettyIsGivenNewMappingWhenFileChanges() throws Exception {
+		File file = createFile(64 * 1024, 'a');
+		List<byte[]> sent = new ArrayList<byte[]>();
+		HttpServletResponse response = mockJettyResponse(sent);
+		write(file, new MockHttpServletRequest(), response);
+		createFile(80 * 1024, 'b');
+		write(file, new MockHttpServletRequest(), response);
+		assertThat(sent).hasSize(2);
+		assertThat(sent.get(1)).isEqualTo(FileCopyUtils.copyToByteArray(file));
+	}
+
+	private Request createTomcatRequest() {
+		Request request = new Request();
+		request.setConnector(new Connector());
+		request.setCoyoteRequest(new org.apache.coyote.Request());
+		request.getMappingData().context = new StandardContext();
+		assertThat(request.getAttribute(SENDFILE_SUPPORT)).isEqualTo(Boolean.TRUE);
+		return request;
+	}
+
+	private HttpServletResponse mockJettyResponse(final List<byte[]> sent)
+			throws IOException {
+		HttpOutput output = mock(HttpOutput.class);
+		willAnswer(new Answer<Void>() {
+
+			@Override
+			public Void answer(InvocationOnMock invocation) throws Throwable {
+				ByteBuffer buffer = (ByteBuffer) invocation.getArguments()[0];
+				byte[] content = new byte[buffer.remaining()];
+				buffer.get(content);
+				sent.add(content);
+				return null;
+			}
+
+		}).given(output).sendContent(any(ByteBuffer.class));
+		HttpServletResponse response = mock(HttpServletResponse.class);
+		given(response.getOutputStream()).willReturn(output);
+		return response;
+	}
+
+	private void write(File file, HttpServletRequest request,
+			HttpServletResponse response) throws IOException {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		try {
+			this.converter.write(new FileSystemResource(file), null,
+					new ServletServerHttpResponse(response));
+		}
+		finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+	}
+
+	private File createFile(int size, char content) throws IOException {
+		byte[] bytes = new byte[size];
+		for (int i = 0; i < size; i++) {
+			bytes[i] = (byte) content;
+		}
+		File file = new File(this.temp.getRoot(), "test.bin");
+		FileCopyUtils.copy(bytes, new FileOutputStream(file));
+		return file;
+	}
+
+}